@@ -0,0 +1,40 @@
+package com.nam.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}: the regular JMH command line, except that the GC profiler
+ * is always attached and results are written as JSON to {@code jmh-result.json} unless
+ * {@code -rf}/{@code -rff} say otherwise. The JSON of two runs is what goes into a pull request.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine);
+        boolean gcProfiled = commandLine.getProfilers().stream()
+                .anyMatch(profiler -> profiler.getKlass().equals("gc") || profiler.getKlass().equals(GCProfiler.class.getName()));
+        if (!gcProfiled) {
+            options.addProfiler(GCProfiler.class);
+        }
+        // Command-line values win over these defaults.
+        options.resultFormat(ResultFormatType.JSON);
+        options.result("jmh-result.json");
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,88 @@
+package com.nam.benchmarks;
+
+import com.nam.model.Course;
+import com.nam.model.Student;
+import com.nam.model.StudentPoint;
+import com.nam.model.Subject;
+import com.nam.repository.GradeWeightPolicyRepository;
+import com.nam.repository.StudentPointRepository;
+import com.nam.repository.StudentRepository;
+import com.nam.service.CourseService;
+import com.nam.service.GradeWeightingServiceImpl;
+import com.nam.service.StudentPointServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-posting a semester's grades: {@link StudentPointServiceImpl#createStudentPoint} on the update
+ * path, which matches every incoming subject and recomputes its weighted average. Repositories
+ * are stubbed and the weighting policy cache is warm, so only the merge loop is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GradeMergeBenchmark {
+
+    @Param({"8", "40"})
+    private int subjects;
+
+    private StudentPointServiceImpl studentPointService;
+    private StudentPoint incoming;
+
+    @Setup
+    public void setUp() {
+        Student student = Student.builder().id(1L).studentId("ST1").build();
+        StudentPoint existing = StudentPoint.builder()
+                .id(1L)
+                .semester("HK1")
+                .year("2023-2024")
+                .student(student)
+                .subjects(new ArrayList<>())
+                .build();
+        List<Subject> posted = new ArrayList<>();
+        for (int i = 0; i < subjects; i++) {
+            Course course = new Course((long) i, "IT" + i, "Subject " + i, 3);
+            existing.getSubjects().add(Subject.builder().course(course).studentPoint(existing).build());
+            posted.add(Subject.builder()
+                    .subjectId(course.getCode())
+                    .point1(7).point2(8).point3(6.5).point4(9)
+                    .build());
+        }
+        incoming = StudentPoint.builder().year("2023-2024").subjects(posted).build();
+
+        StudentPointRepository studentPointRepository = Stubs.of(StudentPointRepository.class, (method, args) ->
+                switch (method.getName()) {
+                    case "getStudentPointBySemesterAndStudentId" -> existing;
+                    case "save" -> args[0];
+                    default -> null;
+                });
+        studentPointService = new StudentPointServiceImpl(
+                studentPointRepository,
+                Stubs.of(StudentRepository.class),
+                new GradeWeightingServiceImpl(Stubs.of(GradeWeightPolicyRepository.class)),
+                Stubs.of(CourseService.class),
+                Stubs.of(ApplicationEventPublisher.class));
+    }
+
+    @Benchmark
+    public StudentPoint mergeSubjects() {
+        return studentPointService.createStudentPoint(incoming, "ST1", "HK1");
+    }
+}
@@ -0,0 +1,131 @@
+package com.nam.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nam.model.Course;
+import com.nam.model.EPaymentStatus;
+import com.nam.model.ERole;
+import com.nam.model.Role;
+import com.nam.model.Student;
+import com.nam.model.StudentPoint;
+import com.nam.model.Subject;
+import com.nam.model.Tuition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies of the student list ({@code Page<Student>}, each student with its grade and
+ * tuition history) and of one semester's grades ({@link StudentPoint} with its subjects),
+ * written with the same builder defaults Spring MVC's message converter uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final int SEMESTERS = 4;
+    private static final int SUBJECTS_PER_SEMESTER = 8;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<Student> studentPage;
+    private StudentPoint studentPoint;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < SUBJECTS_PER_SEMESTER; i++) {
+            courses.add(new Course((long) i, "IT00" + i, "Subject " + i, 3));
+        }
+
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            students.add(student(i, courses));
+        }
+        studentPage = new PageImpl<>(students, PageRequest.of(0, pageSize), 5_000);
+        studentPoint = students.get(0).getStudentPoints().get(0);
+    }
+
+    @Benchmark
+    public byte[] studentPage() throws Exception {
+        return objectMapper.writeValueAsBytes(studentPage);
+    }
+
+    @Benchmark
+    public byte[] studentPoint() throws Exception {
+        return objectMapper.writeValueAsBytes(studentPoint);
+    }
+
+    private static Student student(int index, List<Course> courses) {
+        Student student = Student.builder()
+                .id((long) index)
+                .firstName("Nam")
+                .lastName("Nguyen " + index)
+                .email("student" + index + "@gmail.com")
+                .studentId("ST" + index)
+                .studentClass("CNTT" + index % 4)
+                .roles(Set.of(new Role(1L, ERole.ROLE_STUDENT)))
+                .createdAt(LocalDateTime.of(2023, 9, 1, 8, 0))
+                .studentPoints(new ArrayList<>())
+                .tuitions(new ArrayList<>())
+                .build();
+
+        for (int s = 0; s < SEMESTERS; s++) {
+            StudentPoint point = StudentPoint.builder()
+                    .id((long) index * SEMESTERS + s)
+                    .semester("HK" + (s % 2 + 1))
+                    .year((2022 + s / 2) + "-" + (2023 + s / 2))
+                    .student(student)
+                    .subjects(new ArrayList<>())
+                    .build();
+            for (Course course : courses) {
+                point.getSubjects().add(Subject.builder()
+                        .course(course)
+                        .point1(7).point2(8).point3(6.5).point4(9)
+                        .pointAverage(7.6)
+                        .studentPoint(point)
+                        .build());
+            }
+            student.getStudentPoints().add(point);
+
+            student.getTuitions().add(Tuition.builder()
+                    .id((long) index * SEMESTERS + s)
+                    .student(student)
+                    .totalCredits(3 * SUBJECTS_PER_SEMESTER)
+                    .totalPay(12_000_000)
+                    .amountPaid(12_000_000)
+                    .year(point.getYear())
+                    .semester(point.getSemester())
+                    .dueDate(LocalDate.of(2022 + s / 2, 12, 1))
+                    .paymentStatus(EPaymentStatus.PAID)
+                    .build());
+        }
+        return student;
+    }
+}
@@ -0,0 +1,92 @@
+package com.nam.benchmarks;
+
+import com.nam.service.EmailServiceImpl;
+import com.nam.template.MailTemplate;
+import com.nam.template.MailTemplateRegistry;
+import com.nam.template.RenderedMail;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of producing one tuition reminder: the string concatenation the reminder job used to do,
+ * against the compiled template with and without the registry lookup. Run with {@code -prof gc}
+ * to see the bytes allocated per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MailTemplateBenchmark {
+
+    private MailTemplateRegistry registry;
+    private MailTemplate reminder;
+
+    private String name;
+    private String semester;
+    private String year;
+    private double balance;
+    private LocalDate dueDate;
+
+    @Setup
+    public void setUp() {
+        registry = new MailTemplateRegistry("classpath*:mail-templates/*.txt", Locale.ENGLISH);
+        reminder = registry.get("tuition-reminder");
+        name = "Nguyen Nam";
+        semester = "HK1";
+        year = "2023-2024";
+        balance = 12_500_000;
+        dueDate = LocalDate.of(2023, 12, 1);
+    }
+
+    @Benchmark
+    public RenderedMail concatenation() {
+        return new RenderedMail("Tuition payment reminder - " + semester + " " + year,
+                "Dear " + name + ",\n\n" +
+                "Your tuition for " + semester + " " + year + " has an outstanding balance of "
+                + String.format("%,.0f", balance) + ".\n\n" +
+                "Please complete the payment before " + dueDate + ".\n\n" +
+                "If you have already paid, please ignore this email.\n\n" +
+                "Best regards,\n" +
+                "Nguyen Hoang Nam");
+    }
+
+    @Benchmark
+    public RenderedMail compiledTemplate() {
+        return reminder.render(values());
+    }
+
+    @Benchmark
+    public RenderedMail registryLookupAndRender() {
+        return registry.get("tuition-reminder", Locale.ENGLISH).render(values());
+    }
+
+    // Applied to every recipient address by the reminder and broadcast jobs.
+    @Benchmark
+    public String cleanEmail() {
+        return EmailServiceImpl.cleanEmail(" nguyen.nam@gmail.com\n");
+    }
+
+    private Map<String, Object> values() {
+        return Map.of(
+                "name", name,
+                "semester", semester,
+                "year", year,
+                "balance", String.format("%,.0f", balance),
+                "dueDate", dueDate);
+    }
+}
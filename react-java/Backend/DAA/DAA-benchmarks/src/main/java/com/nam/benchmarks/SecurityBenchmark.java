@@ -0,0 +1,103 @@
+package com.nam.benchmarks;
+
+import com.nam.model.ERole;
+import com.nam.model.Role;
+import com.nam.model.Student;
+import com.nam.model.User;
+import com.nam.repository.UserRepository;
+import com.nam.security.jwt.JwtConstant;
+import com.nam.security.jwt.JwtProvider;
+import com.nam.security.jwt.JwtValidator;
+import com.nam.security.services.UserDetailsImpl;
+import com.nam.security.services.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request security work: signing a token at sign-in, the parse and signature check
+ * {@link JwtValidator} runs on every authenticated request, and the {@link UserDetailsImpl}
+ * it builds from the loaded user. The user lookup is stubbed, so the database is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityBenchmark {
+
+    private JwtProvider jwtProvider;
+    private JwtValidator jwtValidator;
+    private Authentication authentication;
+    private User user;
+    private String bearer;
+    private FilterChain filterChain;
+
+    @Setup
+    public void setUp() {
+        user = Student.builder()
+                .id(1L)
+                .email("nguyen.nam@gmail.com")
+                .password("encoded-password")
+                .roles(Set.of(new Role(1L, ERole.ROLE_STUDENT)))
+                .build();
+        UserRepository userRepository = Stubs.of(UserRepository.class, (method, args) ->
+                method.getName().equals("findByEmail") ? Optional.of(user) : null);
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        jwtProvider = new JwtProvider(meterRegistry);
+        jwtValidator = new JwtValidator(meterRegistry);
+        var userDetailService = ReflectionUtils.findField(JwtValidator.class, "userDetailService");
+        ReflectionUtils.makeAccessible(userDetailService);
+        ReflectionUtils.setField(userDetailService, jwtValidator, new UserDetailsServiceImpl(userRepository));
+
+        authentication = new UsernamePasswordAuthenticationToken(user.getEmail(), null);
+        bearer = "Bearer " + jwtProvider.generateToken(authentication);
+        filterChain = (request, response) -> { };
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String parseToken() {
+        return jwtProvider.getEmailFromToken(bearer);
+    }
+
+    @Benchmark
+    public Authentication validateRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/student/point");
+        request.addHeader(JwtConstant.JWT_HEADER, bearer);
+        jwtValidator.doFilter(request, new MockHttpServletResponse(), filterChain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public UserDetailsImpl buildUserDetails() {
+        return UserDetailsImpl.build(user);
+    }
+}
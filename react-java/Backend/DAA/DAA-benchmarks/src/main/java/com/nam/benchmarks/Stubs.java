@@ -0,0 +1,58 @@
+package com.nam.benchmarks;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Interface stubs for the collaborators a benchmark does not measure. A plain dynamic proxy keeps
+ * mocking frameworks and their per-call bookkeeping out of the numbers.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Answers every call with {@code answer}; a {@code null} answer becomes {@link Optional#empty()}
+     * or the primitive default where the return type needs one.
+     */
+    static <T> T of(Class<T> type, BiFunction<Method, Object[], Object> answer) {
+        Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            Object result = answer.apply(method, args);
+            return result != null ? result : defaultOf(method.getReturnType());
+        });
+        return type.cast(stub);
+    }
+
+    static <T> T of(Class<T> type) {
+        return of(type, (method, args) -> null);
+    }
+
+    private static Object defaultOf(Class<?> type) {
+        if (type == Optional.class) {
+            return Optional.empty();
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == double.class) {
+            return 0d;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,60 @@
+package com.nam.loadtest;
+
+import java.util.List;
+
+/**
+ * What the seeder put in the database, which is all the scenarios need to build valid requests.
+ */
+public class Dataset {
+
+    static final String PASSWORD = "loadtest-password";
+    static final String YEAR = "2023-2024";
+    static final List<String> SEMESTERS = List.of("HK1", "HK2");
+
+    private final String runId;
+    private final List<String> studentIds;
+    private final List<String> studentEmails;
+    private final List<String> teacherEmails;
+    private final List<String> courseCodes;
+    private final List<Long> noticeIds;
+    private final List<Long> tuitionIds;
+
+    public Dataset(String runId, List<String> studentIds, List<String> studentEmails, List<String> teacherEmails,
+                   List<String> courseCodes, List<Long> noticeIds, List<Long> tuitionIds) {
+        this.runId = runId;
+        this.studentIds = studentIds;
+        this.studentEmails = studentEmails;
+        this.teacherEmails = teacherEmails;
+        this.courseCodes = courseCodes;
+        this.noticeIds = noticeIds;
+        this.tuitionIds = tuitionIds;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public List<String> getStudentIds() {
+        return studentIds;
+    }
+
+    public List<String> getStudentEmails() {
+        return studentEmails;
+    }
+
+    public List<String> getTeacherEmails() {
+        return teacherEmails;
+    }
+
+    public List<String> getCourseCodes() {
+        return courseCodes;
+    }
+
+    public List<Long> getNoticeIds() {
+        return noticeIds;
+    }
+
+    public List<Long> getTuitionIds() {
+        return tuitionIds;
+    }
+}
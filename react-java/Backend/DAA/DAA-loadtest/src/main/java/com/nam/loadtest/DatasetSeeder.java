@@ -0,0 +1,192 @@
+package com.nam.loadtest;
+
+import com.nam.model.Course;
+import com.nam.model.EPaymentStatus;
+import com.nam.model.ERole;
+import com.nam.model.Notice;
+import com.nam.model.Role;
+import com.nam.model.Student;
+import com.nam.model.StudentPoint;
+import com.nam.model.Subject;
+import com.nam.model.Teacher;
+import com.nam.model.Tuition;
+import com.nam.repository.CourseRepository;
+import com.nam.repository.RoleRepository;
+import com.nam.repository.UserRepository;
+import com.nam.service.NoticeService;
+import com.nam.service.TuitionSummaryService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Fills an empty database with a realistic, seed-determined dataset through the application's own
+ * repositories: students spread over classes, two graded semesters each, a tuition per semester
+ * in a mix of payment states, a few teachers, and a notice history with some class-targeted
+ * notices. Every user shares one password so the login scenario can pick any of them.
+ */
+public class DatasetSeeder {
+
+    private static final int STUDENTS_PER_CLASS = 40;
+    private static final int SUBJECTS_PER_SEMESTER = 6;
+    private static final int COURSES = 24;
+    private static final int TEACHERS = 20;
+    private static final int CHUNK = 250;
+
+    private final ApplicationContext context;
+    private final TransactionTemplate transactionTemplate;
+    private final Random random;
+
+    public DatasetSeeder(ApplicationContext context, long seed) {
+        this.context = context;
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        this.random = new Random(seed);
+    }
+
+    public Dataset seed(String runId, int studentCount, int noticeCount) {
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        CourseRepository courseRepository = context.getBean(CourseRepository.class);
+
+        Role studentRole = role(roleRepository, ERole.ROLE_STUDENT);
+        Role teacherRole = role(roleRepository, ERole.ROLE_TEACHER);
+        role(roleRepository, ERole.ROLE_ADMIN);
+
+        // One BCrypt hash for everyone: hashing thousands of passwords would dominate the setup.
+        String password = context.getBean(PasswordEncoder.class).encode(Dataset.PASSWORD);
+
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            courses.add(Course.builder().code("LT" + runId + "C" + i).name("Course " + i).credits(2 + i % 3).build());
+        }
+        courses = courseRepository.saveAll(courses);
+
+        List<String> teacherEmails = new ArrayList<>();
+        List<Teacher> teachers = new ArrayList<>();
+        for (int i = 0; i < TEACHERS; i++) {
+            String email = "teacher" + i + "." + runId + "@loadtest.daa";
+            teacherEmails.add(email);
+            teachers.add(Teacher.builder()
+                    .firstName("Teacher")
+                    .lastName(String.valueOf(i))
+                    .email(email)
+                    .password(password)
+                    .roles(Set.of(teacherRole))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        userRepository.saveAll(teachers);
+
+        List<String> studentIds = new ArrayList<>();
+        List<String> studentEmails = new ArrayList<>();
+        List<Long> tuitionIds = new ArrayList<>();
+        for (int from = 0; from < studentCount; from += CHUNK) {
+            List<Student> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(studentCount, from + CHUNK); i++) {
+                chunk.add(student(runId, i, password, studentRole, courses));
+            }
+            List<Student> saved = transactionTemplate.execute(status -> userRepository.saveAll(chunk));
+            for (Student student : saved) {
+                studentIds.add(student.getStudentId());
+                studentEmails.add(student.getEmail());
+                student.getTuitions().forEach(tuition -> tuitionIds.add(tuition.getId()));
+            }
+        }
+        context.getBean(TuitionSummaryService.class).rebuild();
+
+        NoticeService noticeService = context.getBean(NoticeService.class);
+        List<Long> noticeIds = new ArrayList<>();
+        int classes = Math.max(1, studentCount / STUDENTS_PER_CLASS);
+        for (int i = 0; i < noticeCount; i++) {
+            Notice notice = new Notice();
+            notice.setTitle("Notice " + i);
+            notice.setDescription("Load test notice " + i + " of run " + runId);
+            // One in five notices goes to a single class instead of everyone.
+            if (i % 5 == 4) {
+                notice.setTargetClasses(Set.of(className(runId, random.nextInt(classes))));
+            }
+            noticeIds.add(noticeService.createNotice(notice).getId());
+        }
+
+        return new Dataset(runId, studentIds, studentEmails, teacherEmails,
+                courses.stream().map(Course::getCode).toList(), noticeIds, tuitionIds);
+    }
+
+    private Student student(String runId, int index, String password, Role role, List<Course> courses) {
+        Student student = Student.builder()
+                .firstName("Student")
+                .lastName(String.valueOf(index))
+                .email("student" + index + "." + runId + "@loadtest.daa")
+                .password(password)
+                .roles(Set.of(role))
+                .studentId("LT" + runId + "S" + index)
+                .studentClass(className(runId, index / STUDENTS_PER_CLASS))
+                .createdAt(LocalDateTime.now())
+                .studentPoints(new ArrayList<>())
+                .tuitions(new ArrayList<>())
+                .build();
+
+        for (String semester : Dataset.SEMESTERS) {
+            StudentPoint point = StudentPoint.builder()
+                    .semester(semester)
+                    .year(Dataset.YEAR)
+                    .student(student)
+                    .subjects(new ArrayList<>())
+                    .build();
+            int first = random.nextInt(courses.size());
+            int credits = 0;
+            for (int s = 0; s < SUBJECTS_PER_SEMESTER; s++) {
+                Course course = courses.get((first + s) % courses.size());
+                credits += course.getCredits();
+                Subject subject = Subject.builder()
+                        .course(course)
+                        .point1(grade()).point2(grade()).point3(grade()).point4(grade())
+                        .studentPoint(point)
+                        .build();
+                subject.setPointAverage((subject.getPoint1() + subject.getPoint2() + subject.getPoint3() + subject.getPoint4()) / 4);
+                point.getSubjects().add(subject);
+            }
+            student.getStudentPoints().add(point);
+
+            double totalPay = credits * 450_000d;
+            EPaymentStatus status = EPaymentStatus.values()[random.nextInt(EPaymentStatus.values().length)];
+            double amountPaid = switch (status) {
+                case PAID -> totalPay;
+                case PARTIAL -> totalPay / 2;
+                case UNPAID -> 0;
+            };
+            student.getTuitions().add(Tuition.builder()
+                    .student(student)
+                    .totalCredits(credits)
+                    .totalPay(totalPay)
+                    .amountPaid(amountPaid)
+                    .balance(totalPay - amountPaid)
+                    .year(Dataset.YEAR)
+                    .semester(semester)
+                    .dueDate(LocalDate.now().plusDays(random.nextInt(60)))
+                    .paymentStatus(status)
+                    .build());
+        }
+        return student;
+    }
+
+    private double grade() {
+        return Math.round((4 + random.nextDouble() * 6) * 10) / 10.0;
+    }
+
+    static String className(String runId, int index) {
+        return "LT" + runId + "K" + index;
+    }
+
+    private static Role role(RoleRepository roleRepository, ERole name) {
+        return roleRepository.findByName(name).orElseGet(() -> roleRepository.save(new Role(null, name)));
+    }
+}
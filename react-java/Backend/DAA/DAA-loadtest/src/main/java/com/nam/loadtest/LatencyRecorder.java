@@ -0,0 +1,66 @@
+package com.nam.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and outcomes of one scenario or step. Every sample is kept, so the percentiles are
+ * exact; a sixty-second run at a few hundred arrivals per second stays well under a megabyte.
+ */
+public class LatencyRecorder {
+
+    private long[] micros = new long[1024];
+    private int count;
+    private long errors;
+    private long dropped;
+    private final Map<String, Long> outcomes = new TreeMap<>();
+
+    public synchronized void record(long latencyNanos, boolean success, String outcome) {
+        if (count == micros.length) {
+            micros = Arrays.copyOf(micros, count * 2);
+        }
+        micros[count++] = latencyNanos / 1_000;
+        if (!success) {
+            errors++;
+        }
+        outcomes.merge(outcome, 1L, Long::sum);
+    }
+
+    /**
+     * An arrival that was never sent because too many requests were already in flight. It counts
+     * as an error: the system could not keep up with the offered load.
+     */
+    public synchronized void drop() {
+        dropped++;
+        outcomes.merge("dropped", 1L, Long::sum);
+    }
+
+    public synchronized Snapshot snapshot(double seconds) {
+        long[] sorted = Arrays.copyOf(micros, count);
+        Arrays.sort(sorted);
+        long total = count + dropped;
+        double mean = count == 0 ? 0 : Arrays.stream(sorted).average().orElse(0) / 1_000d;
+        return new Snapshot(total, count, errors + dropped, dropped,
+                total == 0 ? 0 : (double) (errors + dropped) / total,
+                seconds == 0 ? 0 : count / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                count == 0 ? 0 : sorted[count - 1] / 1_000d, mean, new TreeMap<>(outcomes));
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000d;
+    }
+
+    /**
+     * Summary written to the JSON report; latencies in milliseconds, throughput in completed requests per second.
+     */
+    public record Snapshot(long requests, long completed, long errors, long dropped, double errorRate,
+                           double throughput, double p50Ms, double p95Ms, double p99Ms, double maxMs,
+                           double meanMs, Map<String, Long> outcomes) {
+    }
+}
@@ -0,0 +1,183 @@
+package com.nam.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.nam.DAA;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Boots the backend on a local database, seeds it, drives the selected scenarios and writes the
+ * results as JSON. Exits with status 1 when a scenario breaks {@code --max-error-rate} or
+ * {@code --max-p99-ms}, so the run can gate a release build.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Scenarios catalog = new Scenarios(objectMapper, options.getImportSize());
+        Map<Scenario, Double> rates = new LinkedHashMap<>();
+        options.getScenarioRates().forEach((name, rate) -> rates.put(catalog.get(name), rate));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DAA.class).run(applicationArgs(options));
+        boolean passed;
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            URI baseUri = URI.create("http://localhost:" + port);
+
+            String runId = "r" + Long.toString(options.getSeed(), 36);
+            long seeding = System.nanoTime();
+            Dataset dataset = new DatasetSeeder(context, options.getSeed()).seed(runId, options.getStudents(), options.getNotices());
+            log("Seeded %d students and %d notices in %d ms", dataset.getStudentIds().size(), dataset.getNoticeIds().size(),
+                    (System.nanoTime() - seeding) / 1_000_000);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(options.getTimeout())
+                    .build();
+            List<String> studentTokens = signIn(client, objectMapper, baseUri, options,
+                    dataset.getStudentEmails().subList(0, Math.min(options.getSessions(), dataset.getStudentEmails().size())));
+            List<String> teacherTokens = signIn(client, objectMapper, baseUri, options, dataset.getTeacherEmails());
+
+            log("Driving %s for %ds after %ds of warmup", options.getScenarioRates(),
+                    options.getDuration().toSeconds(), options.getWarmup().toSeconds());
+            AtomicLong sequence = new AtomicLong();
+            OpenModelDriver driver = new OpenModelDriver(client, options.getMaxInFlight(), options.isPoisson(), options.getSeed());
+            Instant startedAt = Instant.now();
+            driver.run(rates, options.getWarmup(), options.getDuration(), options.getTimeout(), seed ->
+                    new Session(baseUri, options.getTimeout(), dataset, studentTokens, teacherTokens, sequence, seed));
+
+            passed = report(driver, options, objectMapper, startedAt);
+        } finally {
+            context.close();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static boolean report(OpenModelDriver driver, LoadTestOptions options, ObjectMapper objectMapper,
+                                  Instant startedAt) throws Exception {
+        double seconds = options.getDuration().toMillis() / 1_000d;
+        boolean passed = true;
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        System.out.printf("%n%-48s %8s %8s %9s %9s %9s %9s%n", "scenario / step", "requests", "err %", "req/s", "p50 ms", "p95 ms", "p99 ms");
+        for (Map.Entry<String, LatencyRecorder> entry : driver.getScenarioRecorders().entrySet()) {
+            LatencyRecorder.Snapshot total = entry.getValue().snapshot(seconds);
+            print(entry.getKey(), total);
+            List<Map<String, Object>> steps = new ArrayList<>();
+            for (Map.Entry<String, LatencyRecorder> step : driver.getStepRecorders().get(entry.getKey()).entrySet()) {
+                LatencyRecorder.Snapshot snapshot = step.getValue().snapshot(seconds);
+                print("  " + step.getKey(), snapshot);
+                Map<String, Object> stepResult = new LinkedHashMap<>();
+                stepResult.put("name", step.getKey());
+                stepResult.put("result", snapshot);
+                steps.add(stepResult);
+            }
+
+            boolean breached = total.errorRate() > options.getMaxErrorRate()
+                    || options.getMaxP99Ms() > 0 && total.p99Ms() > options.getMaxP99Ms();
+            passed &= !breached;
+
+            Map<String, Object> scenario = new LinkedHashMap<>();
+            scenario.put("name", entry.getKey());
+            scenario.put("ratePerSecond", options.getScenarioRates().get(entry.getKey()));
+            scenario.put("passed", !breached);
+            scenario.put("result", total);
+            scenario.put("steps", steps);
+            scenarios.add(scenario);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("startedAt", startedAt.toString());
+        result.put("database", options.isH2() ? "h2" : options.getJdbcUrl().replaceAll("//[^/]*@", "//"));
+        result.put("options", options.getValues());
+        result.put("passed", passed);
+        result.put("scenarios", scenarios);
+
+        File out = new File(options.getOut());
+        if (out.getParentFile() != null) {
+            out.getParentFile().mkdirs();
+        }
+        objectMapper.writeValue(out, result);
+        log("Results written to %s%s", out.getPath(), passed ? "" : " (thresholds breached)");
+        return passed;
+    }
+
+    private static void print(String name, LatencyRecorder.Snapshot snapshot) {
+        System.out.printf("%-48s %8d %8.2f %9.1f %9.1f %9.1f %9.1f%n", name, snapshot.requests(), snapshot.errorRate() * 100,
+                snapshot.throughput(), snapshot.p50Ms(), snapshot.p95Ms(), snapshot.p99Ms());
+    }
+
+    /**
+     * Signs the given users in through the real endpoint, one at a time so the setup itself cannot
+     * overload a small machine, and keeps their access tokens.
+     */
+    private static List<String> signIn(HttpClient client, ObjectMapper objectMapper, URI baseUri, LoadTestOptions options,
+                                       List<String> emails) throws Exception {
+        Session session = new Session(baseUri, options.getTimeout(), null, List.of(), List.of(), new AtomicLong(), 0);
+        List<String> tokens = new ArrayList<>();
+        for (String email : emails) {
+            String body = objectMapper.writeValueAsString(Map.of("email", email, "password", Dataset.PASSWORD));
+            HttpResponse<String> signedIn = client.send(session.postJson("/auth/signin", null, body), HttpResponse.BodyHandlers.ofString());
+            if (signedIn.statusCode() != 200) {
+                throw new IllegalStateException("Sign-in failed with " + signedIn.statusCode() + ": " + signedIn.body());
+            }
+            JsonNode jwt = objectMapper.readTree(signedIn.body());
+            tokens.add(jwt.get("accessToken").asText());
+        }
+        return tokens;
+    }
+
+    /**
+     * Command-line arguments for the application: a throwaway schema on the chosen database,
+     * random ports, no outgoing mail or payment calls, no scheduled campaigns, and quiet logs.
+     */
+    private static String[] applicationArgs(LoadTestOptions options) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.profiles.active", "loadtest");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("spring.datasource.url", options.getJdbcUrl());
+        properties.put("spring.datasource.username", options.getDbUser());
+        properties.put("spring.datasource.password", options.getDbPassword());
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.show-sql", "false");
+        if (options.isH2()) {
+            properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            properties.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+            properties.put("spring.jpa.properties.hibernate.globally_quoted_identifiers", "true");
+        }
+        properties.put("server.port", "0");
+        properties.put("management.server.port", "0");
+        properties.put("payment.gateway.provider", "stub");
+        properties.put("spring.mail.host", "localhost");
+        properties.put("email.outbox.poll-ms", "3600000");
+        properties.put("tuition.reminder.cron", "-");
+        properties.put("payment.reconcile.cron", "-");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.org.springframework.security.web", "WARN");
+        properties.putAll(options.getApplicationArgs());
+
+        return properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf("[loadtest] " + format + "%n", args);
+    }
+}
@@ -0,0 +1,148 @@
+package com.nam.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line of the load test, {@code --name=value} style. Anything not listed here is handed to
+ * the application unchanged, so every Spring property can still be overridden.
+ */
+public class LoadTestOptions {
+
+    static final String ALL_SCENARIOS = "login-storm,dashboard,grade-entry,bulk-import,notice-feed,payment-check";
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+    private final Map<String, String> applicationArgs = new LinkedHashMap<>();
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("jdbc-url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"),
+            Map.entry("db-user", "sa"),
+            Map.entry("db-password", ""),
+            Map.entry("students", "2000"),
+            Map.entry("notices", "300"),
+            Map.entry("sessions", "100"),
+            Map.entry("scenarios", ALL_SCENARIOS),
+            Map.entry("rate", "5"),
+            Map.entry("arrivals", "poisson"),
+            Map.entry("warmup", "10"),
+            Map.entry("duration", "60"),
+            Map.entry("timeout", "10"),
+            Map.entry("max-in-flight", "500"),
+            Map.entry("import-size", "50"),
+            Map.entry("seed", "42"),
+            Map.entry("out", "target/loadtest-result.json"),
+            Map.entry("max-error-rate", "1"),
+            Map.entry("max-p99-ms", "0"));
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        options.values.putAll(DEFAULTS);
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (DEFAULTS.containsKey(name)) {
+                options.values.put(name, value);
+            } else {
+                options.applicationArgs.put(name, value);
+            }
+        }
+        return options;
+    }
+
+    public String getJdbcUrl() {
+        return values.get("jdbc-url");
+    }
+
+    public String getDbUser() {
+        return values.get("db-user");
+    }
+
+    public String getDbPassword() {
+        return values.get("db-password");
+    }
+
+    public boolean isH2() {
+        return getJdbcUrl().startsWith("jdbc:h2:");
+    }
+
+    public int getStudents() {
+        return intValue("students");
+    }
+
+    public int getNotices() {
+        return intValue("notices");
+    }
+
+    public int getSessions() {
+        return intValue("sessions");
+    }
+
+    /**
+     * Arrival rate per second for each selected scenario: {@code --scenarios=login-storm:50,dashboard}
+     * runs the login storm at 50/s and the dashboard at the default {@code --rate}.
+     */
+    public Map<String, Double> getScenarioRates() {
+        Map<String, Double> rates = new LinkedHashMap<>();
+        for (String spec : values.get("scenarios").split(",")) {
+            String[] parts = spec.trim().split(":");
+            rates.put(parts[0], parts.length > 1 ? Double.parseDouble(parts[1]) : Double.parseDouble(values.get("rate")));
+        }
+        return rates;
+    }
+
+    public boolean isPoisson() {
+        return "poisson".equals(values.get("arrivals"));
+    }
+
+    public Duration getWarmup() {
+        return Duration.ofSeconds(intValue("warmup"));
+    }
+
+    public Duration getDuration() {
+        return Duration.ofSeconds(intValue("duration"));
+    }
+
+    public Duration getTimeout() {
+        return Duration.ofSeconds(intValue("timeout"));
+    }
+
+    public int getMaxInFlight() {
+        return intValue("max-in-flight");
+    }
+
+    public int getImportSize() {
+        return intValue("import-size");
+    }
+
+    public long getSeed() {
+        return Long.parseLong(values.get("seed"));
+    }
+
+    public String getOut() {
+        return values.get("out");
+    }
+
+    public double getMaxErrorRate() {
+        return Double.parseDouble(values.get("max-error-rate"));
+    }
+
+    public double getMaxP99Ms() {
+        return Double.parseDouble(values.get("max-p99-ms"));
+    }
+
+    public Map<String, String> getValues() {
+        return values;
+    }
+
+    public Map<String, String> getApplicationArgs() {
+        return applicationArgs;
+    }
+
+    private int intValue(String name) {
+        return Integer.parseInt(values.get(name));
+    }
+}
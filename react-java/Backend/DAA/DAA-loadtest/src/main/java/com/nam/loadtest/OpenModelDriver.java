@@ -0,0 +1,165 @@
+package com.nam.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Open-model load: arrivals follow a fixed schedule per scenario (Poisson or evenly spaced) no
+ * matter how slowly the server answers, the way real users keep arriving. Latency is measured
+ * from the scheduled arrival, not from when a request finally got sent, so a stalled server shows
+ * up in the percentiles instead of quietly lowering the offered load. Arrivals beyond
+ * {@code maxInFlight} outstanding journeys are dropped and reported as errors.
+ */
+public class OpenModelDriver {
+
+    private final HttpClient client;
+    private final int maxInFlight;
+    private final boolean poisson;
+    private final long seed;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Map<String, LatencyRecorder> scenarioRecorders = new LinkedHashMap<>();
+    private final Map<String, Map<String, LatencyRecorder>> stepRecorders = new LinkedHashMap<>();
+
+    public OpenModelDriver(HttpClient client, int maxInFlight, boolean poisson, long seed) {
+        this.client = client;
+        this.maxInFlight = maxInFlight;
+        this.poisson = poisson;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs every scenario at its rate for {@code warmup + duration}; only arrivals scheduled after
+     * the warmup are recorded. Returns once the last recorded journey has finished or timed out.
+     */
+    public void run(Map<Scenario, Double> rates, Duration warmup, Duration duration, Duration timeout,
+                    LongFunction<Session> sessions) throws InterruptedException {
+        for (Scenario scenario : rates.keySet()) {
+            scenarioRecorders.put(scenario.getName(), new LatencyRecorder());
+            Map<String, LatencyRecorder> steps = new LinkedHashMap<>();
+            scenario.getSteps().forEach(step -> steps.put(step.getName(), new LatencyRecorder()));
+            stepRecorders.put(scenario.getName(), steps);
+        }
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        List<Thread> generators = new ArrayList<>();
+        for (Map.Entry<Scenario, Double> entry : rates.entrySet()) {
+            Scenario scenario = entry.getKey();
+            double rate = entry.getValue();
+            if (rate <= 0) {
+                continue;
+            }
+            Thread generator = new Thread(() -> generate(scenario, rate, start, measureFrom, end, sessions),
+                    "arrivals-" + scenario.getName());
+            generator.start();
+            generators.add(generator);
+        }
+        for (Thread generator : generators) {
+            generator.join();
+        }
+
+        long drainUntil = System.nanoTime() + timeout.toNanos() * (1 + maxStepCount(rates));
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+            Thread.sleep(50);
+        }
+    }
+
+    public Map<String, LatencyRecorder> getScenarioRecorders() {
+        return scenarioRecorders;
+    }
+
+    public Map<String, Map<String, LatencyRecorder>> getStepRecorders() {
+        return stepRecorders;
+    }
+
+    private void generate(Scenario scenario, double rate, long start, long measureFrom, long end,
+                          LongFunction<Session> sessions) {
+        Random arrivals = new Random(seed ^ scenario.getName().hashCode());
+        double offsetSeconds = 0;
+        while (true) {
+            offsetSeconds += poisson ? -Math.log(1 - arrivals.nextDouble()) / rate : 1 / rate;
+            long scheduled = start + (long) (offsetSeconds * 1_000_000_000L);
+            long sessionSeed = arrivals.nextLong();
+            if (scheduled >= end) {
+                return;
+            }
+            for (long wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+
+            boolean measured = scheduled >= measureFrom;
+            if (inFlight.incrementAndGet() > maxInFlight) {
+                inFlight.decrementAndGet();
+                if (measured) {
+                    scenarioRecorders.get(scenario.getName()).drop();
+                }
+                continue;
+            }
+            execute(scenario, sessions.apply(sessionSeed), 0, scheduled, scheduled, measured);
+        }
+    }
+
+    private void execute(Scenario scenario, Session session, int index, long stepStart, long arrival, boolean measured) {
+        List<Scenario.Step> steps = scenario.getSteps();
+        if (index == steps.size()) {
+            finish(scenario, arrival, measured, true, "ok");
+            return;
+        }
+
+        Scenario.Step step = steps.get(index);
+        HttpRequest request;
+        try {
+            request = step.request(session);
+        } catch (RuntimeException e) {
+            finish(scenario, arrival, measured, false, e.getClass().getSimpleName());
+            return;
+        }
+
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            long now = System.nanoTime();
+            boolean success;
+            String outcome;
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                success = false;
+                outcome = cause.getClass().getSimpleName();
+            } else {
+                success = step.accept(response);
+                outcome = String.valueOf(response.statusCode());
+            }
+            if (measured) {
+                stepRecorders.get(scenario.getName()).get(step.getName()).record(now - stepStart, success, outcome);
+            }
+            if (success) {
+                execute(scenario, session, index + 1, now, arrival, measured);
+            } else {
+                finish(scenario, arrival, measured, false, step.getName() + " " + outcome);
+            }
+        });
+    }
+
+    private void finish(Scenario scenario, long arrival, boolean measured, boolean success, String outcome) {
+        if (measured) {
+            scenarioRecorders.get(scenario.getName()).record(System.nanoTime() - arrival, success, outcome);
+        }
+        inFlight.decrementAndGet();
+    }
+
+    private static int maxStepCount(Map<Scenario, Double> rates) {
+        return rates.keySet().stream().mapToInt(scenario -> scenario.getSteps().size()).max().orElse(1);
+    }
+}
@@ -0,0 +1,58 @@
+package com.nam.loadtest;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * One user journey: the requests a single arrival sends, one after the other. Each step is timed
+ * on its own; the scenario latency is the whole journey measured from its scheduled arrival.
+ */
+public class Scenario {
+
+    private final String name;
+    private final List<Step> steps;
+
+    public Scenario(String name, List<Step> steps) {
+        this.name = name;
+        this.steps = steps;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    public static class Step {
+        private final String name;
+        private final Function<Session, HttpRequest> request;
+        private final Predicate<HttpResponse<String>> check;
+
+        public Step(String name, Function<Session, HttpRequest> request) {
+            this(name, request, response -> response.statusCode() < 400);
+        }
+
+        public Step(String name, Function<Session, HttpRequest> request, Predicate<HttpResponse<String>> check) {
+            this.name = name;
+            this.request = request;
+            this.check = check;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public HttpRequest request(Session session) {
+            return request.apply(session);
+        }
+
+        public boolean accept(HttpResponse<String> response) {
+            return check.test(response);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.nam.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The journeys the load test can drive, built against the real endpoints of AuthController,
+ * StudentController, NoticeController, TuitionController and PaymentController.
+ */
+public class Scenarios {
+
+    private final ObjectMapper objectMapper;
+    private final int importSize;
+
+    public Scenarios(ObjectMapper objectMapper, int importSize) {
+        this.objectMapper = objectMapper;
+        this.importSize = importSize;
+    }
+
+    public Scenario get(String name) {
+        return switch (name) {
+            case "login-storm" -> loginStorm();
+            case "dashboard" -> dashboard();
+            case "grade-entry" -> gradeEntry();
+            case "bulk-import" -> bulkImport();
+            case "notice-feed" -> noticeFeed();
+            case "payment-check" -> paymentCheck();
+            default -> throw new IllegalArgumentException("Unknown scenario " + name + ", expected one of " + LoadTestOptions.ALL_SCENARIOS);
+        };
+    }
+
+    // Everyone signing in at the start of a registration window: BCrypt plus a refresh token per request.
+    private Scenario loginStorm() {
+        return new Scenario("login-storm", List.of(
+                new Scenario.Step("POST /auth/signin", session -> session.postJson("/auth/signin", null,
+                        json(Map.of("email", session.pick(session.getDataset().getStudentEmails()), "password", Dataset.PASSWORD))),
+                        response -> response.statusCode() == 200)));
+    }
+
+    // A teacher's landing page: the student list, the notice board and the tuition summary of the term.
+    private Scenario dashboard() {
+        return new Scenario("dashboard", List.of(
+                new Scenario.Step("GET /student/getStudentList", session -> {
+                    int pages = Math.max(1, session.getDataset().getStudentIds().size() / 20);
+                    return session.get("/student/getStudentList?pageNumber=" + session.getRandom().nextInt(pages) + "&pageSize=20",
+                            session.teacherToken());
+                }),
+                new Scenario.Step("GET /notice/all", session -> session.get("/notice/all?page=0&size=20", session.teacherToken())),
+                new Scenario.Step("GET /tuition/summary/{year}/{semester}", session ->
+                        session.get("/tuition/summary/" + Dataset.YEAR + "/" + session.pick(Dataset.SEMESTERS), session.teacherToken()))));
+    }
+
+    // A teacher posting a semester's grades for one student; concurrent posts for the same student retry.
+    private Scenario gradeEntry() {
+        return new Scenario("grade-entry", List.of(
+                new Scenario.Step("POST /student/subject/{studentId}/{semester}", session -> {
+                    List<Map<String, Object>> subjects = new ArrayList<>();
+                    List<String> courses = session.getDataset().getCourseCodes();
+                    int first = session.getRandom().nextInt(courses.size());
+                    for (int i = 0; i < 6; i++) {
+                        Map<String, Object> subject = new LinkedHashMap<>();
+                        subject.put("subjectId", courses.get((first + i) % courses.size()));
+                        subject.put("subjectName", "Course");
+                        subject.put("credits", 3);
+                        subject.put("point1", grade(session));
+                        subject.put("point2", grade(session));
+                        subject.put("point3", grade(session));
+                        subject.put("point4", grade(session));
+                        subjects.add(subject);
+                    }
+                    String path = "/student/subject/" + session.pick(session.getDataset().getStudentIds()) + "/" + session.pick(Dataset.SEMESTERS);
+                    return session.postJson(path, session.teacherToken(), json(Map.of("year", Dataset.YEAR, "subjects", subjects)));
+                })));
+    }
+
+    // The registrar uploading a batch of new students as a JSON file; the endpoint answers 200 either way.
+    private Scenario bulkImport() {
+        return new Scenario("bulk-import", List.of(
+                new Scenario.Step("POST /student/upload", session -> {
+                    List<Map<String, Object>> students = new ArrayList<>();
+                    for (int i = 0; i < importSize; i++) {
+                        long n = session.nextSequence();
+                        String studentId = "IM" + session.getDataset().getRunId() + "S" + n;
+                        students.add(Map.of(
+                                "firstName", "Imported",
+                                "lastName", String.valueOf(n),
+                                "email", "import" + n + "." + session.getDataset().getRunId() + "@loadtest.daa",
+                                "studentId", studentId,
+                                "studentClass", "IM" + session.getDataset().getRunId()));
+                    }
+                    return multipart(session, "/student/upload", "students.json", json(students));
+                }, response -> response.statusCode() == 200 && response.body().startsWith("File uploaded successfully"))));
+    }
+
+    // A student opening the notice board: personal feed, the unread badge, then marking a few as read.
+    private Scenario noticeFeed() {
+        return new Scenario("notice-feed", List.of(
+                new Scenario.Step("GET /notice/feed", session -> session.get("/notice/feed?page=0&size=20", session.studentToken())),
+                new Scenario.Step("GET /notice/unread", session -> session.get("/notice/unread", session.studentToken())),
+                new Scenario.Step("POST /notice/read", session -> session.postJson("/notice/read", session.studentToken(),
+                        json(List.of(session.pick(session.getDataset().getNoticeIds()),
+                                session.pick(session.getDataset().getNoticeIds()))))
+                )));
+    }
+
+    // The provider redirecting a student back after paying: a tuition lookup, then a blocking call to
+    // the payment gateway (set payment.gateway.stub.latency-ms to stand in for the provider).
+    private Scenario paymentCheck() {
+        return new Scenario("payment-check", List.of(
+                new Scenario.Step("GET /api/payments", session -> session.get("/api/payments?payment_id=pay_lt_" + session.nextSequence()
+                        + "&tuition_id=" + session.pick(session.getDataset().getTuitionIds()), null))));
+    }
+
+    private HttpRequest multipart(Session session, String path, String filename, String content) {
+        String boundary = "daa-loadtest-" + session.nextSequence();
+        String body = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + filename + "\"\r\n"
+                + "Content-Type: application/json\r\n\r\n"
+                + content + "\r\n"
+                + "--" + boundary + "--\r\n";
+        return session.request(path)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .header("Authorization", "Bearer " + session.teacherToken())
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static double grade(Session session) {
+        return Math.round((4 + session.getRandom().nextDouble() * 6) * 10) / 10.0;
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.nam.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Everything one arrival needs to build its requests. The random source is seeded per arrival
+ * from the scenario's seeded arrival stream, so a rerun with the same seed sends the same
+ * requests in the same order.
+ */
+public class Session {
+
+    private final URI baseUri;
+    private final Duration timeout;
+    private final Dataset dataset;
+    private final List<String> studentTokens;
+    private final List<String> teacherTokens;
+    private final AtomicLong sequence;
+    private final SplittableRandom random;
+
+    public Session(URI baseUri, Duration timeout, Dataset dataset, List<String> studentTokens,
+                   List<String> teacherTokens, AtomicLong sequence, long seed) {
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+        this.dataset = dataset;
+        this.studentTokens = studentTokens;
+        this.teacherTokens = teacherTokens;
+        this.sequence = sequence;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public Dataset getDataset() {
+        return dataset;
+    }
+
+    public SplittableRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * A number no other arrival of this run gets, for rows that must be unique.
+     */
+    public long nextSequence() {
+        return sequence.incrementAndGet();
+    }
+
+    public <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    public HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout);
+    }
+
+    public HttpRequest get(String path, String token) {
+        HttpRequest.Builder builder = request(path).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    public HttpRequest postJson(String path, String token, String json) {
+        HttpRequest.Builder builder = request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    public String studentToken() {
+        return pick(studentTokens);
+    }
+
+    public String teacherToken() {
+        return pick(teacherTokens);
+    }
+}
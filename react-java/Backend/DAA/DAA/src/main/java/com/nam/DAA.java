@@ -2,8 +2,13 @@ package com.nam;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
-@SpringBootApplication
+// R2DBC is only used by the optional reactive read path, which builds its own pool (see
+// ReactiveReadConfig); Boot's would fail to start without spring.r2dbc.url and would add a second
+// transaction manager next to JPA's.
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 public class DAA {
 
     public static void main(String[] args) {
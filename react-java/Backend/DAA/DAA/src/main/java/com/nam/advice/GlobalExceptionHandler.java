@@ -1,5 +1,10 @@
 package com.nam.advice;
 
+import com.nam.exception.GatewayUnavailableException;
+import com.nam.exception.GradeException;
+import com.nam.exception.NoticeException;
+import com.nam.exception.PaymentGatewayException;
+import com.nam.exception.TuitionException;
 import com.nam.exception.UserException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,4 +19,29 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
 
+    @ExceptionHandler(GradeException.class)
+    public ResponseEntity<String> handleGradeException(GradeException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(TuitionException.class)
+    public ResponseEntity<String> handleTuitionException(TuitionException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(NoticeException.class)
+    public ResponseEntity<String> handleNoticeException(NoticeException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(GatewayUnavailableException.class)
+    public ResponseEntity<String> handleGatewayUnavailableException(GatewayUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(PaymentGatewayException.class)
+    public ResponseEntity<String> handlePaymentGatewayException(PaymentGatewayException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(ex.getMessage());
+    }
+
 }
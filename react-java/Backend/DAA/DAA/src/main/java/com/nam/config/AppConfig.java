@@ -1,11 +1,15 @@
 package com.nam.config;
 
+import com.nam.metrics.TimedPasswordEncoder;
 import com.nam.security.jwt.AuthEntryPointJwt;
 import com.nam.security.jwt.JwtValidator;
 import com.nam.security.services.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
@@ -35,18 +39,29 @@ public class AppConfig {
 
     private final AuthEntryPointJwt unauthorizedHandler;
 
-    public AppConfig(UserDetailsServiceImpl userDetailsServiceImpl, AuthEntryPointJwt unauthorizedHandler) {
+    private final MeterRegistry meterRegistry;
+
+    public AppConfig(UserDetailsServiceImpl userDetailsServiceImpl, AuthEntryPointJwt unauthorizedHandler,
+                     MeterRegistry meterRegistry) {
         this.userDetailsServiceImpl = userDetailsServiceImpl;
         this.unauthorizedHandler = unauthorizedHandler;
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
     public JwtValidator authenticationJwtTokenFilter() {
-        return new JwtValidator();
+        return new JwtValidator(meterRegistry);
     }
 
     @Bean
     CorsConfigurationSource corsConfigurationSource() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", corsConfiguration());
+        return source;
+    }
+
+    // Shared with the reactive read server, which answers the same browser origins on its own port.
+    static CorsConfiguration corsConfiguration() {
         CorsConfiguration cfg = new CorsConfiguration();
         cfg.setAllowedOrigins(Arrays.asList("http://localhost:3000", "https://studywithnam.vercel.app"));
         cfg.setAllowedMethods(Collections.singletonList("*"));
@@ -54,9 +69,7 @@ public class AppConfig {
         cfg.setAllowedHeaders(Collections.singletonList("*"));
         cfg.setExposedHeaders(Arrays.asList("Authorization"));
         cfg.setMaxAge(3600L);
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/**", cfg);
-        return source;
+        return cfg;
     }
 
     @Bean
@@ -83,10 +96,19 @@ public class AppConfig {
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
-                .authorizeHttpRequests(auth -> auth.requestMatchers("/api/auth/**").permitAll()
+                // Only health and the Prometheus scrape are exposed, and only on the management port.
+                .authorizeHttpRequests(auth -> auth.requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
+                        .requestMatchers("/api/auth/**").permitAll()
+                        // Each sweep spends the provider's API quota; only the cron and admins start one.
+                        .requestMatchers(HttpMethod.POST, "/api/payments/reconcile").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/payments/gateway/health").authenticated()
                         .requestMatchers("/api/**").permitAll()
                         .requestMatchers("/auth/**").permitAll()
+                        // Closing a semester freezes its grades for good.
+                        .requestMatchers(HttpMethod.POST, "/student/transcript/*/*/close").authenticated()
                         .requestMatchers("/student/**").permitAll()
+                        // EventSource cannot send the Authorization header; the stream checks its ticket itself.
+                        .requestMatchers(HttpMethod.GET, "/live").permitAll()
                         .anyRequest().authenticated()
                 )
                 .authenticationProvider(authProvider())
@@ -98,7 +120,7 @@ public class AppConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
 }
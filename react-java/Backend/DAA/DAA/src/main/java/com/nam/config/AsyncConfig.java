@@ -0,0 +1,98 @@
+package com.nam.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Dedicated, bounded pools for background work so batch jobs never compete with
+ * Tomcat request threads or exhaust the JDBC pool. In virtual-thread mode the bounds stay, since
+ * they size SMTP connections and database load, but the threads are virtual.
+ */
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    private final boolean virtualThreads;
+
+    public AsyncConfig(@Value("${" + VirtualThreadConfig.ENABLED_PROPERTY + ":false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor gradeRecomputeExecutor(@Value("${grade.recompute.parallelism:2}") int parallelism) {
+        return boundedExecutor("grade-recompute-", parallelism);
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor tuitionBillingExecutor(@Value("${tuition.billing.parallelism:1}") int parallelism) {
+        return boundedExecutor("tuition-billing-", parallelism);
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor paymentWebhookExecutor(@Value("${payment.webhook.workers:4}") int workers,
+                                                         @Value("${payment.webhook.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = boundedExecutor("payment-webhook-", workers);
+        executor.setQueueCapacity(queueCapacity);
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor paymentReconcileJobExecutor() {
+        return boundedExecutor("payment-reconcile-job-", 1);
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor paymentReconcileExecutor(@Value("${payment.reconcile.parallelism:8}") int parallelism) {
+        return boundedExecutor("payment-reconcile-", parallelism);
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor tuitionReminderJobExecutor() {
+        return boundedExecutor("tuition-reminder-job-", 1);
+    }
+
+    // One thread per concurrent SMTP connection.
+    @Bean
+    public ThreadPoolTaskExecutor tuitionReminderMailExecutor(@Value("${tuition.reminder.connections:4}") int connections) {
+        return boundedExecutor("tuition-reminder-mail-", connections);
+    }
+
+    // One thread per concurrent SMTP connection used by the email outbox.
+    @Bean
+    public ThreadPoolTaskExecutor emailOutboxExecutor(@Value("${email.outbox.connections:4}") int connections) {
+        return boundedExecutor("email-outbox-", connections);
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor noticeBroadcastJobExecutor(@Value("${notice.broadcast.parallel-broadcasts:2}") int broadcasts) {
+        return boundedExecutor("notice-broadcast-job-", broadcasts);
+    }
+
+    // One thread per concurrent SMTP connection used by notice broadcasts.
+    @Bean
+    public ThreadPoolTaskExecutor noticeBroadcastMailExecutor(@Value("${notice.broadcast.connections:4}") int connections) {
+        return boundedExecutor("notice-broadcast-mail-", connections);
+    }
+
+    // Writes queued live events to SSE connections; idle connections need no thread.
+    @Bean
+    public ThreadPoolTaskExecutor liveUpdateExecutor(@Value("${live.dispatch-threads:4}") int threads) {
+        return boundedExecutor("live-update-", threads);
+    }
+
+    private ThreadPoolTaskExecutor boundedExecutor(String threadNamePrefix, int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        if (virtualThreads) {
+            executor.setThreadFactory(VirtualThreadConfig.threadFactory(threadNamePrefix));
+        }
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -1,30 +1,80 @@
 package com.nam.config;
 
+import com.nam.metrics.TimedJavaMailSender;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
+import java.time.Duration;
 import java.util.Properties;
 
 @Configuration
 public class EmailConfig {
+
+    @Value("${spring.mail.host:smtp.gmail.com}")
+    private String host;
+
+    @Value("${spring.mail.port:587}")
+    private int port;
+
+    @Value("${spring.mail.username:}")
+    private String username;
+
+    @Value("${spring.mail.password:}")
+    private String password;
+
+    @Value("${spring.mail.properties.mail.smtp.auth:true}")
+    private boolean auth;
+
+    @Value("${spring.mail.properties.mail.smtp.starttls.enable:true}")
+    private boolean starttls;
+
+    @Value("${spring.mail.properties.mail.debug:false}")
+    private boolean debug;
+
+    // Outbox workers must not hang on an unresponsive server.
+    @Value("${email.smtp.timeout-ms:10000}")
+    private int timeoutMs;
+
     @Bean
-    public JavaMailSender configureJavaMailSender() {
+    public JavaMailSender configureJavaMailSender(MeterRegistry meterRegistry) {
 
         JavaMailSenderImpl javaMailSenderImpl = new JavaMailSenderImpl();
-        javaMailSenderImpl.setHost("smtp.gmail.com");
-        javaMailSenderImpl.setUsername("testjavamail1406@gmail.com");
-        javaMailSenderImpl.setPassword("fyicrdqylpgptbjz");
-        javaMailSenderImpl.setPort(587);
+        javaMailSenderImpl.setHost(host);
+        javaMailSenderImpl.setPort(port);
+        if (!username.isEmpty()) {
+            javaMailSenderImpl.setUsername(username);
+            javaMailSenderImpl.setPassword(password);
+        }
 
         Properties props = javaMailSenderImpl.getJavaMailProperties();
         props.put("mail.transport.protocol", "smtp");
-        props.put("mail.smtp.auth", "true");
-        props.put("mail.smtp.starttls.enable", "true");
-        props.put("mail.debug", "true");
+        props.put("mail.smtp.auth", String.valueOf(auth));
+        props.put("mail.smtp.starttls.enable", String.valueOf(starttls));
+        props.put("mail.smtp.connectiontimeout", String.valueOf(timeoutMs));
+        props.put("mail.smtp.timeout", String.valueOf(timeoutMs));
+        props.put("mail.smtp.writetimeout", String.valueOf(timeoutMs));
+        props.put("mail.debug", String.valueOf(debug));
 
-        return javaMailSenderImpl;
+        return new TimedJavaMailSender(javaMailSenderImpl, meterRegistry);
 
     }
+
+    /**
+     * Global send-rate governor shared by everything that mails in bulk; one permit per recipient,
+     * so the whole application stays within the SMTP provider's quota.
+     */
+    @Bean
+    public RateLimiter mailRateLimiter(@Value("${email.rate.recipients-per-second:50}") int recipientsPerSecond) {
+        return RateLimiter.of("mail", RateLimiterConfig.custom()
+                .limitForPeriod(recipientsPerSecond)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ofMinutes(10))
+                .build());
+    }
 }
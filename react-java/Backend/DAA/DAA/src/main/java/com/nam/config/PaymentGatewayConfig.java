@@ -0,0 +1,97 @@
+package com.nam.config;
+
+import com.nam.gateway.GuardedPaymentGateway;
+import com.nam.gateway.PaymentGateway;
+import com.nam.gateway.RazorpayPaymentGateway;
+import com.nam.gateway.StubPaymentGateway;
+import com.nam.gateway.WebhookSignatureVerifier;
+import com.razorpay.RazorpayException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * Builds the single shared {@link PaymentGateway}. {@code payment.gateway.provider=stub} swaps the
+ * provider for a local stub; either way callers get the guarded (bulkhead, timeout, circuit
+ * breaker, metrics) instance.
+ */
+@Configuration
+public class PaymentGatewayConfig {
+
+    @Value("${razorpay.api.key}")
+    private String apiKey;
+
+    @Value("${razorpay.api.secret}")
+    private String apiSecret;
+
+    @Value("${razorpay.webhook.secret}")
+    private String webhookSecret;
+
+    @Value("${payment.gateway.stub.latency-ms:0}")
+    private long stubLatencyMillis;
+
+    @Value("${payment.gateway.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    @Value("${payment.gateway.max-concurrent-calls:20}")
+    private int maxConcurrentCalls;
+
+    @Value("${payment.gateway.circuit.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${payment.gateway.circuit.sliding-window-size:20}")
+    private int slidingWindowSize;
+
+    @Value("${payment.gateway.circuit.open-seconds:30}")
+    private long openSeconds;
+
+    @Value("${" + VirtualThreadConfig.ENABLED_PROPERTY + ":false}")
+    private boolean virtualThreads;
+
+    @Bean
+    @ConditionalOnProperty(name = "payment.gateway.provider", havingValue = "stub")
+    public StubPaymentGateway stubPaymentGateway() {
+        return new StubPaymentGateway(stubLatencyMillis);
+    }
+
+    @Bean
+    @Primary
+    public GuardedPaymentGateway paymentGateway(ObjectProvider<StubPaymentGateway> stubPaymentGateway,
+                                                ObjectProvider<MeterRegistry> meterRegistry) throws RazorpayException {
+        PaymentGateway delegate = stubPaymentGateway.getIfAvailable();
+        if (delegate == null) {
+            delegate = new RazorpayPaymentGateway(apiKey, apiSecret);
+        }
+
+        Duration timeout = Duration.ofMillis(timeoutMillis);
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("payment-gateway", CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(timeout)
+                .slowCallRateThreshold(100)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(Math.min(slidingWindowSize, 10))
+                .waitDurationInOpenState(Duration.ofSeconds(openSeconds))
+                .build());
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        if (virtualThreads) {
+            return new GuardedPaymentGateway(delegate, circuitBreaker, registry, timeout, maxConcurrentCalls,
+                    VirtualThreadConfig.threadFactory("payment-gateway-"));
+        }
+        return new GuardedPaymentGateway(delegate, circuitBreaker, registry, timeout, maxConcurrentCalls);
+    }
+
+    @Bean
+    public WebhookSignatureVerifier webhookSignatureVerifier() {
+        return new WebhookSignatureVerifier(webhookSecret);
+    }
+}
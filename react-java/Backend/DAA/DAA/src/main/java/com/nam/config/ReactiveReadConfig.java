@@ -0,0 +1,107 @@
+package com.nam.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nam.reactive.ReactiveReadHandler;
+import com.nam.reactive.ReactiveReadRepository;
+import com.nam.reactive.ReactiveReadServer;
+import com.nam.security.jwt.JwtProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import java.time.Duration;
+
+/**
+ * Opt-in mode, {@code reactive.read.enabled=true}: the notice feeds, the student list, the profile
+ * and transcripts are also served by WebFlux routes over R2DBC, on a Netty server on
+ * {@code reactive.read.port} next to Tomcat. Reads there hold no thread while the database works,
+ * so thousands of clients share a few event-loop threads and a small connection pool. Writes, and
+ * every other endpoint, stay on the MVC controllers and JPA.
+ */
+@Configuration
+@ConditionalOnProperty(name = ReactiveReadConfig.ENABLED_PROPERTY, havingValue = "true")
+public class ReactiveReadConfig {
+
+    static final String ENABLED_PROPERTY = "reactive.read.enabled";
+
+    /**
+     * The R2DBC URL for the same database as a JDBC URL, e.g. {@code jdbc:postgresql://db:5432/daa}
+     * becomes {@code r2dbc:postgresql://db:5432/daa}. JDBC driver parameters are dropped, except for
+     * H2, whose settings are part of the database name.
+     */
+    static String r2dbcUrl(String jdbcUrl) {
+        if (jdbcUrl.startsWith("jdbc:h2:mem:")) {
+            return "r2dbc:h2:mem:///" + jdbcUrl.substring("jdbc:h2:mem:".length());
+        }
+        if (jdbcUrl.startsWith("jdbc:postgresql:") || jdbcUrl.startsWith("jdbc:mysql:")) {
+            String url = "r2dbc:" + jdbcUrl.substring("jdbc:".length());
+            int query = url.indexOf('?');
+            return query < 0 ? url : url.substring(0, query);
+        }
+        throw new IllegalStateException("Cannot derive an R2DBC URL from " + jdbcUrl + "; set reactive.read.r2dbc-url");
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReactiveReadRepository reactiveReadRepository(@Value("${reactive.read.r2dbc-url:}") String r2dbcUrl,
+                                                         @Value("${spring.datasource.url}") String jdbcUrl,
+                                                         @Value("${spring.datasource.username:}") String username,
+                                                         @Value("${spring.datasource.password:}") String password,
+                                                         @Value("${reactive.read.pool-size:10}") int poolSize) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions
+                .parse(StringUtils.hasText(r2dbcUrl) ? r2dbcUrl : r2dbcUrl(jdbcUrl))
+                .mutate();
+        if (StringUtils.hasText(username)) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (StringUtils.hasText(password)) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .name("reactive-read")
+                .initialSize(1)
+                .maxSize(poolSize)
+                .maxAcquireTime(Duration.ofSeconds(30))
+                .build());
+        return new ReactiveReadRepository(pool);
+    }
+
+    @Bean
+    public MeterBinder reactiveReadPoolMetrics(ReactiveReadRepository repository) {
+        return new ConnectionPoolMetrics(repository.getConnectionPool(), "reactive-read", Tags.empty());
+    }
+
+    @Bean
+    public ReactiveReadHandler reactiveReadHandler(ReactiveReadRepository repository, JwtProvider jwtProvider,
+                                                   ObjectMapper objectMapper,
+                                                   @Value("${notice.feed.page-size:20}") int defaultPageSize,
+                                                   @Value("${notice.feed.max-page-size:100}") int maxPageSize,
+                                                   @Value("${notice.feed.active-limit:5000}") int activeLimit) {
+        return new ReactiveReadHandler(repository, jwtProvider, objectMapper, defaultPageSize, maxPageSize, activeLimit);
+    }
+
+    @Bean
+    public ReactiveReadServer reactiveReadServer(ReactiveReadHandler handler,
+                                                 @Value("${reactive.read.port:5455}") int port,
+                                                 @Value("${reactive.read.event-loop-threads:4}") int eventLoopThreads) {
+        UrlBasedCorsConfigurationSource cors = new UrlBasedCorsConfigurationSource();
+        cors.registerCorsConfiguration("/**", AppConfig.corsConfiguration());
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .webFilter(new CorsWebFilter(cors))
+                .build();
+        return new ReactiveReadServer(port, eventLoopThreads, RouterFunctions.toHttpHandler(handler.routes(), strategies));
+    }
+}
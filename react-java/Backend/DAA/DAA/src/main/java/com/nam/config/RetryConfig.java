@@ -0,0 +1,13 @@
+package com.nam.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.annotation.EnableRetry;
+
+/**
+ * Retry advice is ordered just before the transaction advice, so every retry
+ * attempt of a {@code @Retryable @Transactional} method runs in a fresh transaction.
+ */
+@Configuration
+@EnableRetry
+public class RetryConfig {
+}
@@ -0,0 +1,83 @@
+package com.nam.config;
+
+import com.nam.metrics.VirtualThreadPinningMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Opt-in mode, {@code spring.threads.virtual.enabled=true}: Tomcat serves every request on its own
+ * virtual thread, so blocking on JDBC, BCrypt, SMTP or the payment gateway no longer uses up a
+ * fixed worker pool. Database work then queues for one of the Hikari pool's connections in
+ * {@link ConnectionPermitDataSource}, and {@link VirtualThreadPinningMonitor} reports threads that
+ * block while pinned. The background pools in {@link AsyncConfig} and the payment gateway keep
+ * their bounds but run on virtual threads too.
+ * <p>
+ * A virtual thread that blocks inside a {@code synchronized} block pins its carrier, so our own
+ * code never holds a monitor across JDBC, SMTP or a join: such sections use a
+ * {@link java.util.concurrent.locks.ReentrantLock} instead.
+ */
+@Configuration
+@ConditionalOnProperty(name = VirtualThreadConfig.ENABLED_PROPERTY, havingValue = "true")
+public class VirtualThreadConfig {
+
+    static final String ENABLED_PROPERTY = "spring.threads.virtual.enabled";
+
+    public static ThreadFactory threadFactory(String threadNamePrefix) {
+        return Thread.ofVirtual().name(threadNamePrefix, 1).factory();
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newThreadPerTaskExecutor(threadFactory("http-")));
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionPermitDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    // An unset size is only resolved when the pool starts; Hikari's default is 10.
+                    int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : 10;
+                    return new ConnectionPermitDataSource(hikari, poolSize, hikari.getConnectionTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionPermitMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConnectionPermitDataSource permits) {
+                Gauge.builder("db.connection.permits.available", permits, ConnectionPermitDataSource::getAvailablePermits)
+                        .description("Connections not handed out to callers")
+                        .register(registry);
+                Gauge.builder("db.connection.permits.waiting", permits, ConnectionPermitDataSource::getQueueLength)
+                        .description("Callers queued for a database connection")
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                                                   @Value("${virtual-threads.pinned-threshold-ms:20}") long thresholdMillis) {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(thresholdMillis));
+        monitor.start();
+        return monitor;
+    }
+}
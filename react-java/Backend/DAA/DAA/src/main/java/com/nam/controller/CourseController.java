@@ -0,0 +1,36 @@
+package com.nam.controller;
+
+import com.nam.model.Course;
+import com.nam.payload.response.CourseStatisticsResponse;
+import com.nam.repository.CourseRepository;
+import com.nam.service.CourseService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/course")
+@RequiredArgsConstructor
+public class CourseController {
+
+    private final CourseService courseService;
+    private final CourseRepository courseRepository;
+
+    @PostMapping("/save")
+    public ResponseEntity<Course> saveCourse(@RequestBody Course course) {
+        return new ResponseEntity<>(courseService.saveCourse(course), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/all")
+    public ResponseEntity<List<Course>> getAllCourses() {
+        return new ResponseEntity<>(courseService.getAllCourses(), HttpStatus.OK);
+    }
+
+    @GetMapping("/statistics")
+    public ResponseEntity<List<CourseStatisticsResponse>> getCourseStatistics() {
+        return new ResponseEntity<>(courseRepository.getCourseStatistics(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,37 @@
+package com.nam.controller;
+
+import com.nam.exception.GradeException;
+import com.nam.model.GradeWeightPolicy;
+import com.nam.payload.response.JobProgress;
+import com.nam.service.GradeRecomputeService;
+import com.nam.service.GradeWeightingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/grade-weight")
+@RequiredArgsConstructor
+public class GradeWeightController {
+
+    private final GradeWeightingService gradeWeightingService;
+    private final GradeRecomputeService gradeRecomputeService;
+
+    @GetMapping("/{subjectId}/{year}")
+    public ResponseEntity<GradeWeightPolicy> getPolicy(@PathVariable String subjectId, @PathVariable String year) {
+        return new ResponseEntity<>(gradeWeightingService.getPolicy(subjectId, year), HttpStatus.OK);
+    }
+
+    /**
+     * Saves the policy and starts recomputing every affected average in the background.
+     * Poll {@code /jobs/{jobId}} for progress.
+     */
+    @PutMapping("/{subjectId}/{year}")
+    public ResponseEntity<JobProgress> savePolicy(@PathVariable String subjectId, @PathVariable String year,
+                                                  @RequestBody GradeWeightPolicy policy) throws GradeException {
+        gradeWeightingService.savePolicy(subjectId, year, policy);
+        JobProgress progress = gradeRecomputeService.recomputeSubjectAverages(subjectId, year);
+        return new ResponseEntity<>(progress, HttpStatus.ACCEPTED);
+    }
+}
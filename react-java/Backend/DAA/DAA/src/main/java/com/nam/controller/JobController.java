@@ -0,0 +1,26 @@
+package com.nam.controller;
+
+import com.nam.payload.response.JobProgress;
+import com.nam.service.JobRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/jobs")
+@RequiredArgsConstructor
+public class JobController {
+
+    private final JobRegistry jobRegistry;
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<JobProgress> getJobProgress(@PathVariable String jobId) {
+        return jobRegistry.find(jobId)
+                .map(progress -> new ResponseEntity<>(progress, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+}
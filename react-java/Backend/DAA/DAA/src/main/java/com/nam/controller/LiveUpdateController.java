@@ -0,0 +1,56 @@
+package com.nam.controller;
+
+import com.nam.exception.UserException;
+import com.nam.model.User;
+import com.nam.payload.response.LiveTicketResponse;
+import com.nam.security.jwt.JwtProvider;
+import com.nam.service.LiveUpdateService;
+import com.nam.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/live")
+@RequiredArgsConstructor
+public class LiveUpdateController {
+
+    private final UserService userService;
+
+    private final LiveUpdateService liveUpdateService;
+
+    private final JwtProvider jwtProvider;
+
+    /**
+     * Event stream of notices, the caller's grades and payments, and their class's events.
+     * Replaces polling; the client reconnects when the server closes the stream. Browsers'
+     * EventSource cannot set headers, so it passes a ticket from {@code POST /live/ticket} instead.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(name = "Authorization", required = false) String jwt,
+                                @RequestParam(name = "ticket", required = false) String ticket) throws UserException {
+        User user;
+        if (jwt != null) {
+            user = userService.findUserProfileByJwt(jwt);
+        } else if (ticket != null) {
+            user = userService.findUserProfileByLiveTicket(ticket);
+        } else {
+            throw new UserException("An Authorization header or a live ticket is required");
+        }
+        return liveUpdateService.subscribe(user);
+    }
+
+    /**
+     * A ticket valid for one minute, to open the stream with; fetch a new one before every reconnect.
+     */
+    @PostMapping("/ticket")
+    public ResponseEntity<LiveTicketResponse> ticket(@RequestHeader("Authorization") String jwt) throws UserException {
+        User user = userService.findUserProfileByJwt(jwt);
+        LiveTicketResponse res = new LiveTicketResponse(jwtProvider.generateLiveTicket(user.getEmail()),
+                JwtProvider.LIVE_TICKET_VALIDITY_MS / 1000);
+        return new ResponseEntity<>(res, HttpStatus.CREATED);
+    }
+}
@@ -1,13 +1,25 @@
 package com.nam.controller;
 
+import com.nam.exception.NoticeException;
+import com.nam.exception.UserException;
 import com.nam.model.Notice;
-import com.nam.repository.NoticeRepository;
+import com.nam.model.NoticeBroadcast;
+import com.nam.model.User;
+import com.nam.payload.response.NoticeFeedPage;
+import com.nam.payload.response.NoticeReadReceipt;
+import com.nam.payload.response.NoticeUnreadCount;
+import com.nam.service.NoticeBroadcastService;
+import com.nam.service.NoticeReadService;
+import com.nam.service.NoticeService;
+import com.nam.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,24 +27,101 @@ import java.util.List;
 @RequiredArgsConstructor
 public class NoticeController {
 
-    private final NoticeRepository noticeRepository;
+    private final NoticeService noticeService;
 
-    @PostMapping("/create")
-    public ResponseEntity<Notice> createNotice(@RequestBody Notice notice) {
-        notice.setCreatedAt(LocalDateTime.now());
+    private final NoticeReadService noticeReadService;
 
-        noticeRepository.save(notice);
+    private final NoticeBroadcastService noticeBroadcastService;
 
-        return new ResponseEntity<>(notice, HttpStatus.CREATED);
+    private final UserService userService;
 
+    /**
+     * Notices with no target roles, classes or students go to everyone; otherwise to the union of the targets.
+     * With {@code email=true} the notice is also emailed to them in the background.
+     */
+    @PostMapping("/create")
+    public ResponseEntity<Notice> createNotice(@RequestBody Notice notice,
+                                               @RequestParam(defaultValue = "false") boolean email) throws NoticeException {
+        Notice created = noticeService.createNotice(notice);
+        if (email) {
+            noticeBroadcastService.start(created.getId());
+        }
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
+    /**
+     * Starts emailing the notice, or resumes a broadcast that stopped on an SMTP error.
+     */
+    @PostMapping("/{id}/email")
+    public ResponseEntity<NoticeBroadcast> emailNotice(@PathVariable Long id) throws NoticeException {
+        return new ResponseEntity<>(noticeBroadcastService.start(id), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/{id}/email")
+    public ResponseEntity<NoticeBroadcast> getBroadcast(@PathVariable Long id) throws NoticeException {
+        return ResponseEntity.ok(noticeBroadcastService.getBroadcast(id));
+    }
+
+    /**
+     * Newest-first page of the notices addressed to everyone. Clients should revalidate with
+     * {@code If-None-Match}; an unchanged first page is answered with 304 from memory.
+     */
     @GetMapping("/all")
-    public ResponseEntity<List<Notice>> getAllNotice() {
+    public ResponseEntity<byte[]> getAllNotice(@RequestParam(defaultValue = "0") int page,
+                                               @RequestParam(defaultValue = "0") int size,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return feedResponse(noticeService.getFeed(page, size), ifNoneMatch, CacheControl.noCache());
+    }
 
-        List<Notice> notices = noticeRepository.findAll();
-        return new ResponseEntity<>(notices, HttpStatus.OK);
+    /**
+     * Newest-first page of the recent notices visible to the caller, targeted ones included.
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<byte[]> getFeed(@RequestHeader("Authorization") String jwt,
+                                          @RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "0") int size,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws UserException {
+        NoticeFeedPage feed = noticeService.getFeed(userService.findUserProfileByJwt(jwt), page, size);
+        return feedResponse(feed, ifNoneMatch, CacheControl.noCache().cachePrivate());
     }
-}
 
+    /**
+     * Unread badge of the caller, answered from memory.
+     */
+    @GetMapping("/unread")
+    public ResponseEntity<NoticeUnreadCount> getUnreadCount(@RequestHeader("Authorization") String jwt) throws UserException {
+        User user = userService.findUserProfileByJwt(jwt);
+        return ResponseEntity.ok(new NoticeUnreadCount(noticeReadService.getUnreadCount(user)));
+    }
 
+    @PostMapping("/read")
+    public ResponseEntity<NoticeUnreadCount> markRead(@RequestHeader("Authorization") String jwt,
+                                                      @RequestBody List<Long> noticeIds) throws UserException {
+        User user = userService.findUserProfileByJwt(jwt);
+        return ResponseEntity.ok(new NoticeUnreadCount(noticeReadService.markRead(user, noticeIds)));
+    }
+
+    @PostMapping("/read-all")
+    public ResponseEntity<NoticeUnreadCount> markAllRead(@RequestHeader("Authorization") String jwt) throws UserException {
+        User user = userService.findUserProfileByJwt(jwt);
+        return ResponseEntity.ok(new NoticeUnreadCount(noticeReadService.markAllRead(user)));
+    }
+
+    @GetMapping("/{id}/receipts")
+    public ResponseEntity<NoticeReadReceipt> getReceipt(@PathVariable Long id) {
+        return ResponseEntity.ok(noticeReadService.getReceipt(id));
+    }
+
+    private static ResponseEntity<byte[]> feedResponse(NoticeFeedPage feed, String ifNoneMatch, CacheControl cacheControl) {
+        if (ifNoneMatch != null && (ifNoneMatch.contains(feed.getEtag()) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(feed.getEtag())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(feed.getEtag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(feed.getBody());
+    }
+}
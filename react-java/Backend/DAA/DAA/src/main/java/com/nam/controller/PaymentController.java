@@ -1,105 +1,104 @@
 package com.nam.controller;
 
+import com.nam.exception.PaymentGatewayException;
 import com.nam.exception.TuitionException;
-import com.nam.model.Tuition;
+import com.nam.gateway.GuardedPaymentGateway;
+import com.nam.gateway.PaymentLinkState;
+import com.nam.gateway.PaymentState;
 import com.nam.payload.response.ApiResponse;
+import com.nam.payload.response.GatewayHealthResponse;
+import com.nam.payload.response.JobProgress;
 import com.nam.payload.response.PaymentLinkResponse;
 import com.nam.repository.TuitionRepository;
+import com.nam.service.PaymentLinkService;
+import com.nam.service.PaymentReconciliationService;
+import com.nam.service.PaymentWebhookService;
+import com.nam.service.TuitionPaymentService;
 import com.nam.service.UserService;
-import com.razorpay.Payment;
-import com.razorpay.PaymentLink;
-import com.razorpay.RazorpayClient;
-import com.razorpay.RazorpayException;
 import lombok.RequiredArgsConstructor;
-import org.json.JSONObject;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
-import java.util.Optional;
-
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
 public class PaymentController {
-    @Value("${razorpay.api.key}")
-    String apiKey;
-
-    @Value("${razorpay.api.secret}")
-    String apiSecret;
-
     private final UserService userService;
     private final TuitionRepository tuitionRepository;
+    private final GuardedPaymentGateway paymentGateway;
+    private final PaymentLinkService paymentLinkService;
+    private final PaymentWebhookService paymentWebhookService;
+    private final PaymentReconciliationService paymentReconciliationService;
+    private final TuitionPaymentService tuitionPaymentService;
 
 
     @PostMapping("/payments/{tuitionId}")
     public ResponseEntity<PaymentLinkResponse> createPaymentLink(@PathVariable Long tuitionId,
-                                                                 @RequestHeader("Authorization") String jwt) throws TuitionException, RazorpayException {
-        Optional<Tuition> opt = tuitionRepository.findById(tuitionId);
-        Tuition tuition = new Tuition();
-        if (opt.isPresent()) {
-            tuition = opt.get();
-        }
-
-        try {
-            RazorpayClient razorpay = new RazorpayClient(apiKey, apiSecret);
-            JSONObject paymentLinkRequest = new JSONObject();
-            paymentLinkRequest.put("amount", tuition.getTotalPay());
-            paymentLinkRequest.put("currency", "USD");
-
-            JSONObject customer = new JSONObject();
-            customer.put("name", tuition.getStudent().getFirstName());
-            customer.put("email", tuition.getStudent().getEmail());
-            paymentLinkRequest.put("customer", customer);
-
-            JSONObject notify = new JSONObject();
-            notify.put("sms", true);
-            notify.put("email", true);
-            paymentLinkRequest.put("notify", notify);
-
-            paymentLinkRequest.put("callback_url", "http://localhost:3000/payment/" + tuitionId);
-            paymentLinkRequest.put("callback_method", "get");
-
-            PaymentLink payment = razorpay.paymentLink.create(paymentLinkRequest);
-
-            PaymentLinkResponse res = new PaymentLinkResponse(payment.get("id"), payment.get("short_url"));
-            return new ResponseEntity<PaymentLinkResponse>(res, HttpStatus.CREATED);
-        } catch (Exception e) {
-            throw new RazorpayException(e.getMessage());
-        }
+                                                                 @RequestHeader("Authorization") String jwt) throws TuitionException, PaymentGatewayException {
+        PaymentLinkResponse res = paymentLinkService.getOrCreatePaymentLink(tuitionId);
+        return new ResponseEntity<PaymentLinkResponse>(res, HttpStatus.CREATED);
     }
 
+    /**
+     * Callback after checkout. The tuition is taken from the notes the gateway holds for the payment,
+     * or for the payment link it was made through; {@code tuition_id} must match it, so a payment can
+     * never be credited to another tuition from this URL.
+     */
     @GetMapping("/payments")
-    public ResponseEntity<ApiResponse> redirect(@RequestParam(name = "payment_id") String paymentId, @RequestParam(name = "tuition_id") Long tuitionId)
-            throws TuitionException, RazorpayException {
-        Optional<Tuition> opt = tuitionRepository.findById(tuitionId);
-        Tuition tuition = new Tuition();
-        if (opt.isPresent()) {
-            tuition = opt.get();
+    public ResponseEntity<ApiResponse> redirect(@RequestParam(name = "payment_id") String paymentId, @RequestParam(name = "tuition_id") Long tuitionId,
+                                                @RequestParam(name = "razorpay_payment_link_id", required = false) String paymentLinkId)
+            throws TuitionException, PaymentGatewayException {
+        if (!tuitionRepository.existsById(tuitionId)) {
+            throw new TuitionException("Tuition not found with id " + tuitionId);
         }
 
-        RazorpayClient razorpay = new RazorpayClient(apiKey, apiSecret);
+        PaymentState payment = paymentGateway.fetchPayment(paymentId);
+        if (!tuitionId.equals(tuitionIdOf(payment, paymentLinkId))) {
+            throw new TuitionException("Payment " + paymentId + " was not made for tuition " + tuitionId);
+        }
+        if (payment.isCaptured() && payment.getAmount() > 0) {
+            tuitionPaymentService.recordPayment(tuitionId, payment.getAmount(), paymentId);
+        }
 
-        try {
-            Payment payment = razorpay.payments.fetch(paymentId);
+        ApiResponse res = ApiResponse.builder().message("Your tuition has been paid").status(true)
+                .build();
 
-            if (payment.get("status").equals("captured")) {
+        return new ResponseEntity<ApiResponse>(res, HttpStatus.ACCEPTED);
+    }
 
+    private Long tuitionIdOf(PaymentState payment, String paymentLinkId) throws PaymentGatewayException {
+        if (payment.getTuitionId() != null || paymentLinkId == null) {
+            return payment.getTuitionId();
+        }
+        PaymentLinkState link = paymentGateway.fetchPaymentLink(paymentLinkId);
+        boolean madeThroughLink = link.getPayments().stream().anyMatch(p -> payment.getId().equals(p.getId()));
+        return madeThroughLink ? link.getTuitionId() : null;
+    }
 
-                tuition.setPaymentStatus("Đã thanh toán");
-                tuition.setPayAt(LocalDateTime.now());
-                tuitionRepository.save(tuition);
-            }
+    /**
+     * Starts (or joins) a reconciliation run; admins only, it also runs nightly. Poll {@code /jobs/{jobId}} for progress.
+     */
+    @PostMapping("/payments/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<JobProgress> reconcile() {
+        return new ResponseEntity<>(paymentReconciliationService.reconcile(), HttpStatus.ACCEPTED);
+    }
 
-            ApiResponse res = ApiResponse.builder().message("Your tuition has been paid").status(true)
-                    .build();
+    @GetMapping("/payments/gateway/health")
+    public ResponseEntity<GatewayHealthResponse> gatewayHealth() {
+        return new ResponseEntity<>(paymentGateway.health(), HttpStatus.OK);
+    }
 
-            return new ResponseEntity<ApiResponse>(res, HttpStatus.ACCEPTED);
-        } catch (Exception e) {
-            throw new RazorpayException(e.getMessage());
-        }
+    /**
+     * Provider webhook: verified and stored, then applied asynchronously. Redeliveries are acknowledged too.
+     */
+    @PostMapping("/payments/webhook")
+    public ResponseEntity<Void> webhook(@RequestBody String payload,
+                                       @RequestHeader(name = "X-Razorpay-Signature", required = false) String signature,
+                                       @RequestHeader(name = "X-Razorpay-Event-Id", required = false) String eventId) {
+        paymentWebhookService.receive(payload, signature, eventId);
+        return new ResponseEntity<>(HttpStatus.OK);
     }
 }
-
@@ -0,0 +1,25 @@
+package com.nam.controller;
+
+import com.nam.payload.response.JobProgress;
+import com.nam.service.ClassReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/report")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final ClassReportService classReportService;
+
+    @PostMapping("/classes")
+    public ResponseEntity<JobProgress> generateClassReports(@RequestParam(required = false) String semester) {
+        JobProgress progress = classReportService.generateClassReports(semester);
+        return new ResponseEntity<>(progress, HttpStatus.ACCEPTED);
+    }
+}
@@ -0,0 +1,72 @@
+package com.nam.controller;
+
+import com.nam.exception.GradeException;
+import com.nam.model.SemesterSnapshot;
+import com.nam.model.StudentPoint;
+import com.nam.service.TranscriptService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/student/transcript")
+@RequiredArgsConstructor
+public class TranscriptController {
+
+    private final TranscriptService transcriptService;
+
+    @PostMapping("/{studentId}/{semester}/close")
+    public ResponseEntity<SemesterSnapshot> closeSemester(@PathVariable String studentId, @PathVariable String semester) throws GradeException {
+        SemesterSnapshot snapshot = transcriptService.closeSemester(studentId, semester);
+        return new ResponseEntity<>(snapshot, HttpStatus.CREATED);
+    }
+
+    /**
+     * Closed semesters are answered from pre-serialized bytes with a strong ETag; only the open
+     * semester is loaded and serialized live.
+     */
+    @GetMapping("/{studentId}/{semester}")
+    public ResponseEntity<?> getTranscript(@PathVariable String studentId, @PathVariable String semester,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) throws GradeException {
+        Optional<SemesterSnapshot> opt = transcriptService.findSnapshot(studentId, semester);
+        if (opt.isEmpty()) {
+            StudentPoint studentPoint = transcriptService.getLiveTranscript(studentId, semester);
+            return new ResponseEntity<>(studentPoint, HttpStatus.OK);
+        }
+
+        SemesterSnapshot snapshot = opt.get();
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip") && snapshot.getGzipBody() != null;
+        // Each encoding is a distinct representation, so it needs its own strong validator.
+        String etag = gzip ? gzipEtag(snapshot.getEtag()) : snapshot.getEtag();
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(snapshot.getGzipBody());
+        }
+        return builder.contentType(MediaType.APPLICATION_JSON).body(snapshot.getBody());
+    }
+
+    private static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+}
@@ -2,33 +2,93 @@ package com.nam.controller;
 
 import com.nam.exception.TuitionException;
 import com.nam.exception.UserException;
+import com.nam.model.CreditPrice;
 import com.nam.model.Tuition;
-import com.nam.repository.StudentRepository;
-import com.nam.repository.TuitionRepository;
+import com.nam.model.TuitionPayment;
+import com.nam.model.TuitionSummary;
+import com.nam.payload.response.JobProgress;
+import com.nam.service.CreditPriceService;
+import com.nam.service.TuitionBillingService;
+import com.nam.service.TuitionPaymentService;
+import com.nam.service.TuitionReminderService;
+import com.nam.service.TuitionSummaryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/tuition")
 @RequiredArgsConstructor
 public class TuitionController {
 
-    private final TuitionRepository tuitionRepository;
+    private final CreditPriceService creditPriceService;
+
+    private final TuitionBillingService tuitionBillingService;
+
+    private final TuitionPaymentService tuitionPaymentService;
+
+    private final TuitionSummaryService tuitionSummaryService;
 
-    private final StudentRepository studentRepository;
+    private final TuitionReminderService tuitionReminderService;
 
     @PostMapping("/{studentId}/{semester}")
-    public ResponseEntity<Tuition> createTuition(@PathVariable String studentId, @RequestBody Tuition tuition, @PathVariable String semester) throws UserException, TuitionException {
+    public ResponseEntity<Tuition> createTuition(@PathVariable String studentId, @RequestBody Tuition tuition, @PathVariable String semester) throws UserException {
+        return new ResponseEntity<>(tuitionBillingService.createTuition(studentId, semester, tuition), HttpStatus.CREATED);
+    }
+
+    @PutMapping("/credit-price/{year}")
+    public ResponseEntity<CreditPrice> saveCreditPrice(@PathVariable String year, @RequestBody CreditPrice creditPrice) throws TuitionException {
+        return new ResponseEntity<>(creditPriceService.saveCreditPrice(year, creditPrice), HttpStatus.OK);
+    }
+
+    /**
+     * Bills every registered student of the semester in the background.
+     * Poll {@code /jobs/{jobId}} for progress; running it again only bills students that were missed.
+     */
+    @PostMapping("/billing/{year}/{semester}")
+    public ResponseEntity<JobProgress> billSemester(@PathVariable String year, @PathVariable String semester) throws TuitionException {
+        JobProgress progress = tuitionBillingService.billSemester(year, semester);
+        return new ResponseEntity<>(progress, HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Starts the reminder campaign now instead of waiting for the daily run; already reminded tuitions are skipped.
+     */
+    @PostMapping("/reminders")
+    public ResponseEntity<JobProgress> sendReminders() {
+        return new ResponseEntity<>(tuitionReminderService.sendReminders(), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/{tuitionId}/ledger")
+    public ResponseEntity<List<TuitionPayment>> getLedger(@PathVariable Long tuitionId) {
+        return new ResponseEntity<>(tuitionPaymentService.getLedger(tuitionId), HttpStatus.OK);
+    }
 
-        tuition.setSemester(semester);
+    @GetMapping("/summary/{year}")
+    public ResponseEntity<List<TuitionSummary>> getSummaries(@PathVariable String year) {
+        return new ResponseEntity<>(tuitionSummaryService.getSummaries(year), HttpStatus.OK);
+    }
 
-        tuition.setStudent(studentRepository.findByStudentId(studentId));
+    @GetMapping("/summary/{year}/{semester}")
+    public ResponseEntity<List<TuitionSummary>> getSummaries(@PathVariable String year, @PathVariable String semester) {
+        return new ResponseEntity<>(tuitionSummaryService.getSummaries(year, semester), HttpStatus.OK);
+    }
 
-        tuitionRepository.save(tuition);
+    @GetMapping("/summary/{year}/{semester}/{studentClass}")
+    public ResponseEntity<TuitionSummary> getSummary(@PathVariable String year, @PathVariable String semester,
+                                                     @PathVariable String studentClass) throws TuitionException {
+        return new ResponseEntity<>(tuitionSummaryService.getSummary(year, semester, studentClass), HttpStatus.OK);
+    }
 
-        return new ResponseEntity<>(tuition, HttpStatus.CREATED);
+    /**
+     * Recomputes every summary row from the tuition table, for repairs after manual data fixes.
+     */
+    @PostMapping("/summary/rebuild")
+    public ResponseEntity<List<TuitionSummary>> rebuildSummaries() {
+        return new ResponseEntity<>(tuitionSummaryService.rebuild(), HttpStatus.OK);
     }
 
-}
\ No newline at end of file
+}
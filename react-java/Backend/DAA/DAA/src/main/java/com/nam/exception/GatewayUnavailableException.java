@@ -0,0 +1,12 @@
+package com.nam.exception;
+
+/**
+ * The payment gateway call was not attempted or was abandoned: the circuit is open, every
+ * outbound slot is busy, or the gateway did not answer in time.
+ */
+public class GatewayUnavailableException extends PaymentGatewayException {
+
+    public GatewayUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.nam.exception;
+
+public class GradeException extends Exception {
+
+    public GradeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.nam.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNAUTHORIZED)
+public class InvalidWebhookSignatureException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidWebhookSignatureException() {
+        super("Invalid webhook signature");
+    }
+}
@@ -0,0 +1,8 @@
+package com.nam.exception;
+
+public class NoticeException extends Exception {
+
+    public NoticeException(String message) {
+        super(message);
+    }
+}
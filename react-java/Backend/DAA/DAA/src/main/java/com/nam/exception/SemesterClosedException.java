@@ -0,0 +1,14 @@
+package com.nam.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class SemesterClosedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SemesterClosedException(String studentId, String semester) {
+        super(String.format("Semester [%s] of student [%s] is closed", semester, studentId));
+    }
+}
@@ -0,0 +1,14 @@
+package com.nam.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnknownCourseException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UnknownCourseException(String code) {
+        super(String.format("Unknown course code [%s]", code));
+    }
+}
@@ -0,0 +1,161 @@
+package com.nam.gateway;
+
+import com.nam.exception.GatewayUnavailableException;
+import com.nam.exception.PaymentGatewayException;
+import com.nam.model.Tuition;
+import com.nam.payload.response.GatewayHealthResponse;
+import com.nam.payload.response.PaymentLinkResponse;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wraps a {@link PaymentGateway} so that a slow or failing provider cannot hold request threads
+ * or database connections hostage. Every call runs on a small dedicated pool whose size is the
+ * bulkhead (no queue: when all slots are busy the call is rejected at once), the caller waits at
+ * most {@code timeout}, and a circuit breaker stops calling a provider that keeps failing.
+ * Latency is recorded per operation and outcome in {@code payment.gateway.calls}.
+ */
+public class GuardedPaymentGateway implements PaymentGateway, AutoCloseable {
+
+    static final String METRIC_NAME = "payment.gateway.calls";
+
+    @FunctionalInterface
+    private interface GatewayCall<T> {
+        T call() throws PaymentGatewayException;
+    }
+
+    private final PaymentGateway delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+    private final int maxConcurrentCalls;
+    private final ThreadPoolExecutor executor;
+
+    public GuardedPaymentGateway(PaymentGateway delegate, CircuitBreaker circuitBreaker, MeterRegistry meterRegistry,
+                                 Duration timeout, int maxConcurrentCalls) {
+        this(delegate, circuitBreaker, meterRegistry, timeout, maxConcurrentCalls, daemonThreads());
+    }
+
+    public GuardedPaymentGateway(PaymentGateway delegate, CircuitBreaker circuitBreaker, MeterRegistry meterRegistry,
+                                 Duration timeout, int maxConcurrentCalls, ThreadFactory threadFactory) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+
+        this.executor = new ThreadPoolExecutor(maxConcurrentCalls, maxConcurrentCalls, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public PaymentLinkResponse createPaymentLink(Tuition tuition, String callbackUrl, LocalDateTime expiresAt) throws PaymentGatewayException {
+        return call("createPaymentLink", () -> delegate.createPaymentLink(tuition, callbackUrl, expiresAt));
+    }
+
+    @Override
+    public PaymentState fetchPayment(String paymentId) throws PaymentGatewayException {
+        return call("fetchPayment", () -> delegate.fetchPayment(paymentId));
+    }
+
+    @Override
+    public PaymentLinkState fetchPaymentLink(String paymentLinkId) throws PaymentGatewayException {
+        return call("fetchPaymentLink", () -> delegate.fetchPaymentLink(paymentLinkId));
+    }
+
+    public GatewayHealthResponse health() {
+        CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+        long calls = 0;
+        double totalMillis = 0;
+        double maxMillis = 0;
+        for (Timer timer : meterRegistry.find(METRIC_NAME).timers()) {
+            calls += timer.count();
+            totalMillis += timer.totalTime(TimeUnit.MILLISECONDS);
+            maxMillis = Math.max(maxMillis, timer.max(TimeUnit.MILLISECONDS));
+        }
+        return GatewayHealthResponse.builder()
+                .circuitState(circuitBreaker.getState().name())
+                .failureRate(metrics.getFailureRate())
+                .slowCallRate(metrics.getSlowCallRate())
+                .inFlightCalls(executor.getActiveCount())
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .totalCalls(calls)
+                .meanLatencyMillis(calls == 0 ? 0 : totalMillis / calls)
+                .maxLatencyMillis(maxMillis)
+                .build();
+    }
+
+    private <T> T call(String operation, GatewayCall<T> call) throws PaymentGatewayException {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            record(operation, "rejected", 0);
+            throw new GatewayUnavailableException("Payment gateway is unavailable, please retry later");
+        }
+
+        long started = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(call::call);
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.releasePermission();
+            record(operation, "rejected", 0);
+            throw new GatewayUnavailableException("Payment gateway is busy, please retry later");
+        }
+
+        try {
+            T result = future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            long elapsed = System.nanoTime() - started;
+            circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+            record(operation, "success", elapsed);
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            long elapsed = System.nanoTime() - started;
+            circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, e);
+            record(operation, "timeout", elapsed);
+            throw new GatewayUnavailableException("Payment gateway did not answer within " + timeout.toMillis() + " ms");
+        } catch (ExecutionException e) {
+            long elapsed = System.nanoTime() - started;
+            Throwable cause = e.getCause();
+            circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, cause);
+            record(operation, "error", elapsed);
+            if (cause instanceof PaymentGatewayException gatewayException) {
+                throw gatewayException;
+            }
+            throw new PaymentGatewayException(String.valueOf(cause.getMessage()), cause);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            circuitBreaker.releasePermission();
+            Thread.currentThread().interrupt();
+            throw new GatewayUnavailableException("Interrupted while waiting for the payment gateway");
+        }
+    }
+
+    private void record(String operation, String outcome, long elapsedNanos) {
+        Timer.builder(METRIC_NAME)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "payment-gateway-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.nam.gateway;
+
+import com.nam.exception.PaymentGatewayException;
+import com.nam.model.Tuition;
+import com.nam.payload.response.PaymentLinkResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbound calls to the payment provider. Implementations must be thread-safe and are shared
+ * by every request.
+ */
+public interface PaymentGateway {
+    public PaymentLinkResponse createPaymentLink(Tuition tuition, String callbackUrl, LocalDateTime expiresAt) throws PaymentGatewayException;
+
+    public PaymentState fetchPayment(String paymentId) throws PaymentGatewayException;
+
+    public PaymentLinkState fetchPaymentLink(String paymentLinkId) throws PaymentGatewayException;
+}
@@ -0,0 +1,29 @@
+package com.nam.gateway;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Provider-side view of a payment link: {@code created}, {@code partially_paid}, {@code paid},
+ * {@code expired} or {@code cancelled}, the amount paid so far, the tuition from its notes and
+ * every payment made through it, each with its own id and amount.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentLinkState {
+    public static final String PAID = "paid";
+
+    private String id;
+    private String status;
+    private double amountPaid;
+    private Long tuitionId;
+    private List<PaymentState> payments = List.of();
+
+    public boolean isPaid() {
+        return PAID.equals(status);
+    }
+}
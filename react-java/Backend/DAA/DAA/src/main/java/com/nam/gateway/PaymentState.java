@@ -0,0 +1,25 @@
+package com.nam.gateway;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Provider-side view of a single payment; {@code amount} is in the same unit the link was created with.
+ * {@code tuitionId} is the {@code notes.tuition_id} the payment carries, when the provider copied it there.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentState {
+    public static final String CAPTURED = "captured";
+
+    private String id;
+    private String status;
+    private double amount;
+    private Long tuitionId;
+
+    public boolean isCaptured() {
+        return CAPTURED.equals(status);
+    }
+}
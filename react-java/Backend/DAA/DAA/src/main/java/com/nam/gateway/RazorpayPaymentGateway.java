@@ -0,0 +1,97 @@
+package com.nam.gateway;
+
+import com.nam.exception.PaymentGatewayException;
+import com.nam.model.Tuition;
+import com.nam.payload.response.PaymentLinkResponse;
+import com.razorpay.PaymentLink;
+import com.razorpay.RazorpayClient;
+import com.razorpay.RazorpayException;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Razorpay implementation. The SDK keeps its HTTP client in a static field and rebuilds it on
+ * every {@code new RazorpayClient}, so a single client is created up front and reused to keep
+ * pooled connections alive.
+ */
+public class RazorpayPaymentGateway implements PaymentGateway {
+
+    private final RazorpayClient razorpay;
+
+    public RazorpayPaymentGateway(String apiKey, String apiSecret) throws RazorpayException {
+        this.razorpay = new RazorpayClient(apiKey, apiSecret);
+    }
+
+    @Override
+    public PaymentLinkResponse createPaymentLink(Tuition tuition, String callbackUrl, LocalDateTime expiresAt) throws PaymentGatewayException {
+        JSONObject paymentLinkRequest = new JSONObject();
+        paymentLinkRequest.put("amount", tuition.getBalance());
+        paymentLinkRequest.put("currency", "USD");
+        paymentLinkRequest.put("expire_by", expiresAt.atZone(ZoneId.systemDefault()).toEpochSecond());
+
+        JSONObject customer = new JSONObject();
+        customer.put("name", tuition.getStudent().getFirstName());
+        customer.put("email", tuition.getStudent().getEmail());
+        paymentLinkRequest.put("customer", customer);
+
+        JSONObject notify = new JSONObject();
+        notify.put("sms", true);
+        notify.put("email", true);
+        paymentLinkRequest.put("notify", notify);
+
+        // Webhooks map the payment back to the tuition through this note.
+        JSONObject notes = new JSONObject();
+        notes.put("tuition_id", String.valueOf(tuition.getId()));
+        paymentLinkRequest.put("notes", notes);
+
+        paymentLinkRequest.put("callback_url", callbackUrl);
+        paymentLinkRequest.put("callback_method", "get");
+
+        try {
+            PaymentLink payment = razorpay.paymentLink.create(paymentLinkRequest);
+            return new PaymentLinkResponse(payment.get("id"), payment.get("short_url"));
+        } catch (RazorpayException e) {
+            throw new PaymentGatewayException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public PaymentState fetchPayment(String paymentId) throws PaymentGatewayException {
+        try {
+            JSONObject payment = razorpay.payments.fetch(paymentId).toJson();
+            return new PaymentState(paymentId, payment.optString("status", null), payment.optDouble("amount", 0),
+                    tuitionIdOf(payment));
+        } catch (RazorpayException e) {
+            throw new PaymentGatewayException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public PaymentLinkState fetchPaymentLink(String paymentLinkId) throws PaymentGatewayException {
+        try {
+            JSONObject link = razorpay.paymentLink.fetch(paymentLinkId).toJson();
+            Long tuitionId = tuitionIdOf(link);
+            JSONArray entries = link.optJSONArray("payments");
+            List<PaymentState> payments = new ArrayList<>();
+            for (int i = 0; entries != null && i < entries.length(); i++) {
+                JSONObject entry = entries.getJSONObject(i);
+                payments.add(new PaymentState(entry.optString("payment_id", null), entry.optString("status", null),
+                        entry.optDouble("amount", 0), tuitionId));
+            }
+            return new PaymentLinkState(paymentLinkId, link.optString("status", null), link.optDouble("amount_paid", 0),
+                    tuitionId, payments);
+        } catch (RazorpayException e) {
+            throw new PaymentGatewayException(e.getMessage(), e);
+        }
+    }
+
+    private static Long tuitionIdOf(JSONObject entity) {
+        JSONObject notes = entity.optJSONObject("notes");
+        return notes != null && notes.has("tuition_id") ? notes.optLong("tuition_id") : null;
+    }
+}
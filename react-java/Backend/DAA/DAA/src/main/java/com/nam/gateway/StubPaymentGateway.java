@@ -0,0 +1,92 @@
+package com.nam.gateway;
+
+import com.nam.exception.PaymentGatewayException;
+import com.nam.model.Tuition;
+import com.nam.payload.response.PaymentLinkResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local gateway for tests and load runs: no network and an optional fixed latency standing in for
+ * the provider's response time. Links it created stay {@code created} until {@link #payLink}
+ * simulates the student paying all or part of the amount; payments it does not know are reported
+ * captured with no amount and no tuition.
+ */
+public class StubPaymentGateway implements PaymentGateway {
+
+    private final long latencyMillis;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, PaymentLinkState> links = new ConcurrentHashMap<>();
+    private final Map<String, Double> linkAmounts = new ConcurrentHashMap<>();
+    private final Map<String, PaymentState> payments = new ConcurrentHashMap<>();
+
+    public StubPaymentGateway(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public PaymentLinkResponse createPaymentLink(Tuition tuition, String callbackUrl, LocalDateTime expiresAt) throws PaymentGatewayException {
+        simulateLatency();
+        String linkId = "plink_stub_" + tuition.getId() + "_" + sequence.incrementAndGet();
+        links.put(linkId, new PaymentLinkState(linkId, "created", 0, tuition.getId(), List.of()));
+        linkAmounts.put(linkId, tuition.getBalance());
+        return new PaymentLinkResponse(linkId, "http://localhost/stub/pay/" + linkId);
+    }
+
+    @Override
+    public PaymentState fetchPayment(String paymentId) throws PaymentGatewayException {
+        simulateLatency();
+        return payments.getOrDefault(paymentId, new PaymentState(paymentId, PaymentState.CAPTURED, 0, null));
+    }
+
+    @Override
+    public PaymentLinkState fetchPaymentLink(String paymentLinkId) throws PaymentGatewayException {
+        simulateLatency();
+        PaymentLinkState link = links.get(paymentLinkId);
+        if (link == null) {
+            throw new PaymentGatewayException("Payment link " + paymentLinkId + " does not exist");
+        }
+        return link;
+    }
+
+    public Collection<PaymentLinkState> links() {
+        return Collections.unmodifiableCollection(links.values());
+    }
+
+    public PaymentState payLink(String paymentLinkId) {
+        PaymentLinkState link = links.get(paymentLinkId);
+        return payLink(paymentLinkId, linkAmounts.getOrDefault(paymentLinkId, 0.0) - link.getAmountPaid());
+    }
+
+    public synchronized PaymentState payLink(String paymentLinkId, double amount) {
+        PaymentLinkState link = links.get(paymentLinkId);
+        PaymentState payment = new PaymentState("pay_stub_" + sequence.incrementAndGet(), PaymentState.CAPTURED, amount,
+                link.getTuitionId());
+        payments.put(payment.getId(), payment);
+
+        List<PaymentState> linkPayments = new ArrayList<>(link.getPayments());
+        linkPayments.add(payment);
+        double amountPaid = link.getAmountPaid() + amount;
+        String status = amountPaid >= linkAmounts.getOrDefault(paymentLinkId, 0.0) ? PaymentLinkState.PAID : "partially_paid";
+        links.put(paymentLinkId, new PaymentLinkState(paymentLinkId, status, amountPaid, link.getTuitionId(), List.copyOf(linkPayments)));
+        return payment;
+    }
+
+    private void simulateLatency() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
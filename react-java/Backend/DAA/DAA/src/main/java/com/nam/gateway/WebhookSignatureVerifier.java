@@ -0,0 +1,41 @@
+package com.nam.gateway;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Checks the provider's {@code HMAC-SHA256(body, webhookSecret)} signature locally, without a
+ * gateway round trip.
+ */
+public class WebhookSignatureVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+
+    public WebhookSignatureVerifier(String webhookSecret) {
+        this.key = new SecretKeySpec(webhookSecret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    public boolean verify(String payload, String signature) {
+        if (payload == null || signature == null) {
+            return false;
+        }
+        byte[] expected = HexFormat.of().formatHex(sign(payload)).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.nam.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.MailException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every SMTP round trip in {@code mail.send} (one sample per call, which may carry a
+ * whole chunk of messages) and the number of messages handed over in {@code mail.messages}.
+ */
+public class TimedJavaMailSender implements JavaMailSender {
+
+    static final String METRIC_NAME = "mail.send";
+    static final String MESSAGES_METRIC_NAME = "mail.messages";
+
+    @FunctionalInterface
+    private interface MailCall {
+        void send() throws MailException;
+    }
+
+    private final JavaMailSender delegate;
+    private final Timer successTimer;
+    private final Timer errorTimer;
+    private final Counter sentMessages;
+    private final Counter failedMessages;
+
+    public TimedJavaMailSender(JavaMailSender delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.successTimer = Timer.builder(METRIC_NAME).tag("outcome", "success").register(meterRegistry);
+        this.errorTimer = Timer.builder(METRIC_NAME).tag("outcome", "error").register(meterRegistry);
+        this.sentMessages = Counter.builder(MESSAGES_METRIC_NAME).tag("outcome", "success").register(meterRegistry);
+        this.failedMessages = Counter.builder(MESSAGES_METRIC_NAME).tag("outcome", "error").register(meterRegistry);
+    }
+
+    @Override
+    public MimeMessage createMimeMessage() {
+        return delegate.createMimeMessage();
+    }
+
+    @Override
+    public MimeMessage createMimeMessage(InputStream contentStream) throws MailException {
+        return delegate.createMimeMessage(contentStream);
+    }
+
+    @Override
+    public void send(MimeMessage mimeMessage) throws MailException {
+        record(1, () -> delegate.send(mimeMessage));
+    }
+
+    @Override
+    public void send(MimeMessage... mimeMessages) throws MailException {
+        record(mimeMessages.length, () -> delegate.send(mimeMessages));
+    }
+
+    @Override
+    public void send(MimeMessagePreparator mimeMessagePreparator) throws MailException {
+        record(1, () -> delegate.send(mimeMessagePreparator));
+    }
+
+    @Override
+    public void send(MimeMessagePreparator... mimeMessagePreparators) throws MailException {
+        record(mimeMessagePreparators.length, () -> delegate.send(mimeMessagePreparators));
+    }
+
+    @Override
+    public void send(SimpleMailMessage simpleMessage) throws MailException {
+        record(1, () -> delegate.send(simpleMessage));
+    }
+
+    @Override
+    public void send(SimpleMailMessage... simpleMessages) throws MailException {
+        record(simpleMessages.length, () -> delegate.send(simpleMessages));
+    }
+
+    // A partly failed chunk counts as an error as a whole; the callers work out which messages went through.
+    private void record(int messages, MailCall call) {
+        long started = System.nanoTime();
+        try {
+            call.send();
+            successTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            sentMessages.increment(messages);
+        } catch (MailException e) {
+            errorTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            failedMessages.increment(messages);
+            throw e;
+        }
+    }
+}
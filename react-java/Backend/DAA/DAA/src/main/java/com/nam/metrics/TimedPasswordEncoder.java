@@ -0,0 +1,53 @@
+package com.nam.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long hashing and matching take in {@code security.password}. BCrypt is deliberately
+ * slow, so this is the number to watch when sizing sign-in capacity or changing the cost factor.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    static final String METRIC_NAME = "security.password";
+
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Timer mismatchTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodeTimer = timer(meterRegistry, "encode", "success");
+        this.matchTimer = timer(meterRegistry, "matches", "match");
+        this.mismatchTimer = timer(meterRegistry, "matches", "mismatch");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long started = System.nanoTime();
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        (matches ? matchTimer : mismatchTimer).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation, String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,76 @@
+package com.nam.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Watches for virtual threads that block while pinned to their carrier, typically inside a
+ * {@code synchronized} block of a JDBC driver or of our own code, using the JDK's
+ * {@code jdk.VirtualThreadPinned} event. Every pin longer than the threshold is timed in
+ * {@code jvm.threads.virtual.pinned}; the first one per call site is logged with its stack.
+ */
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    static final String METRIC_NAME = "jvm.threads.virtual.pinned";
+    private static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 25;
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private final RecordingStream stream = new RecordingStream();
+    private final Timer pinned;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.pinned = Timer.builder(METRIC_NAME)
+                .description("Time virtual threads spent blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+        stream.enable(EVENT_NAME).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT_NAME, this::onPinned);
+    }
+
+    public void start() {
+        stream.startAsync();
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        String site = frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(VirtualThreadPinningMonitor::describe)
+                .filter(frame -> !frame.startsWith("java.") && !frame.startsWith("jdk.") && !frame.startsWith("sun."))
+                .findFirst()
+                .orElse("unknown");
+        if (reportedSites.add(site)) {
+            logger.warn("Virtual thread pinned for {} ms at {}; replace the monitor held here with a lock:\n\t{}",
+                    event.getDuration().toMillis(), site,
+                    frames.stream().limit(LOGGED_FRAMES).map(VirtualThreadPinningMonitor::describe).collect(Collectors.joining("\n\t")));
+        }
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
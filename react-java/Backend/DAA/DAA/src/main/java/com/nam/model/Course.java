@@ -0,0 +1,23 @@
+package com.nam.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(columnNames = "code")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Course {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String code;
+    private String name;
+    private int credits;
+}
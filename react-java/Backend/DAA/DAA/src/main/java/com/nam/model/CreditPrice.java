@@ -0,0 +1,26 @@
+package com.nam.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(columnNames = "year")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreditPrice {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    private String year;
+    private double pricePerCredit;
+
+    private LocalDateTime updatedAt;
+}
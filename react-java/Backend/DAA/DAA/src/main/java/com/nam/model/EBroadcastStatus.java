@@ -0,0 +1,8 @@
+package com.nam.model;
+
+public enum EBroadcastStatus {
+    RUNNING,
+    COMPLETED,
+    // Stopped on an SMTP error; starting the broadcast again resumes after the cursor.
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.nam.model;
+
+public enum EOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    // Gave up after email.outbox.max-attempts; left for an operator to inspect.
+    DEAD
+}
@@ -0,0 +1,17 @@
+package com.nam.model;
+
+public enum EPaymentStatus {
+    UNPAID("Chưa thanh toán"),
+    PARTIAL("Thanh toán một phần"),
+    PAID("Đã thanh toán");
+
+    private final String label;
+
+    EPaymentStatus(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,7 @@
+package com.nam.model;
+
+public enum EReminderStatus {
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.nam.model;
+
+public enum ETuitionPaymentType {
+    PAYMENT,
+    REFUND
+}
@@ -0,0 +1,8 @@
+package com.nam.model;
+
+public enum EWebhookStatus {
+    PENDING,
+    PROCESSING,
+    PROCESSED,
+    FAILED
+}
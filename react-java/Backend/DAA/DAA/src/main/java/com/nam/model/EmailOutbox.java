@@ -0,0 +1,44 @@
+package com.nam.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outgoing mail, written in the transaction that produced it and sent later by the outbox worker.
+ * A failed send goes back to {@code PENDING} with a later {@code nextAttemptAt}; after the last
+ * allowed attempt it stays {@code DEAD}.
+ */
+@Entity
+@Table(indexes = {
+        @Index(columnList = "status, next_attempt_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    private String recipient;
+    private String subject;
+
+    @Column(length = 65535)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    private EOutboxStatus status;
+    private int attempts;
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime claimedAt;
+    private LocalDateTime sentAt;
+}
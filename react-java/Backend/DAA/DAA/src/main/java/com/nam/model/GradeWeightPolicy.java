@@ -0,0 +1,36 @@
+package com.nam.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"subject_id", "year"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GradeWeightPolicy {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    @Column(name = "subject_id")
+    private String subjectId;
+    private String year;
+
+    private double weight1;
+    private double weight2;
+    private double weight3;
+    private double weight4;
+
+    private LocalDateTime updatedAt;
+
+    public double totalWeight() {
+        return weight1 + weight2 + weight3 + weight4;
+    }
+}
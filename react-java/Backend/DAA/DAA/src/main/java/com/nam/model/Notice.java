@@ -1,18 +1,31 @@
 package com.nam.model;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 
+/**
+ * A notice is shown to everyone unless it targets roles, classes or students, in which case it is
+ * shown to the union of them. The targeted user ids are resolved once, when the notice is posted,
+ * and stored as a serialized RoaringBitmap in {@code audience}. The targets are accepted when a
+ * notice is posted but never serialized, so one recipient cannot see who else it was sent to.
+ */
 @Entity
+@Table(indexes = {
+        @Index(columnList = "created_at, id"),
+        @Index(columnList = "broadcast, created_at")
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -24,7 +37,46 @@ public class Notice {
     private Long id;
     private String title;
     private String description;
+    @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
+    @Enumerated(EnumType.STRING)
+    @CollectionTable(name = "notice_target_roles", joinColumns = @JoinColumn(name = "notice_id"))
+    @Column(name = "role", length = 20)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private Set<ERole> targetRoles = new HashSet<>();
 
-}
\ No newline at end of file
+    @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
+    @CollectionTable(name = "notice_target_classes", joinColumns = @JoinColumn(name = "notice_id"))
+    @Column(name = "student_class")
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private Set<String> targetClasses = new HashSet<>();
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
+    @CollectionTable(name = "notice_target_students", joinColumns = @JoinColumn(name = "notice_id"))
+    @Column(name = "student_id")
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private Set<String> targetStudentIds = new HashSet<>();
+
+    @Column(name = "broadcast")
+    private boolean broadcast;
+
+    @JsonIgnore
+    @Column(length = 16777215)
+    private byte[] audience;
+
+    // Flushed in batches by NoticeReadService; the live figure is on /notice/{id}/receipts.
+    @JsonIgnore
+    @Column(name = "read_count")
+    private long readCount;
+
+    public boolean hasTargets() {
+        return (targetRoles != null && !targetRoles.isEmpty())
+                || (targetClasses != null && !targetClasses.isEmpty())
+                || (targetStudentIds != null && !targetStudentIds.isEmpty());
+    }
+}
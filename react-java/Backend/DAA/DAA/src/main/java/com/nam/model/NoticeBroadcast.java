@@ -0,0 +1,46 @@
+package com.nam.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of emailing one notice. Recipients are walked in id order and {@code cursor} is the
+ * last id whose page was handed to the mail server, so a stopped or interrupted broadcast
+ * continues from there instead of starting over.
+ */
+@Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(columnNames = "id_notice")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NoticeBroadcast {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_notice")
+    @JsonIgnore
+    private Notice notice;
+
+    @Enumerated(EnumType.STRING)
+    private EBroadcastStatus status;
+
+    @Column(name = "recipient_cursor")
+    private long cursor;
+    private long sentCount;
+    private long failedCount;
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+}
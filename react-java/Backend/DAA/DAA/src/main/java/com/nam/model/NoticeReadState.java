@@ -0,0 +1,46 @@
+package com.nam.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Which notices one user has read: every visible notice with an id up to {@code watermark}, plus
+ * the newer ids in {@code exceptions}, a serialized RoaringBitmap. Reading the oldest unread notice
+ * advances the watermark and drops the exceptions it passes, so the row stays small.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NoticeReadState implements Persistable<Long> {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    private long watermark;
+
+    @Column(length = 1048576)
+    private byte[] exceptions;
+
+    private LocalDateTime updatedAt;
+
+    // Set on rows built from memory that have never been stored, so saving them is a plain INSERT
+    // instead of a merge that selects the row first.
+    @Transient
+    private boolean created;
+
+    @Override
+    public Long getId() {
+        return userId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return created;
+    }
+}
@@ -0,0 +1,44 @@
+package com.nam.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inbox row for a payment provider webhook, stored verbatim before it is applied.
+ * The unique event id makes provider redeliveries no-ops.
+ */
+@Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(columnNames = "event_id")
+}, indexes = {
+        @Index(columnList = "status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentWebhookEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    @Column(name = "event_id")
+    private String eventId;
+    private String eventType;
+
+    @Column(length = 1048576)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    private EWebhookStatus status;
+    private int attempts;
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime receivedAt;
+    private LocalDateTime claimedAt;
+    private LocalDateTime processedAt;
+}
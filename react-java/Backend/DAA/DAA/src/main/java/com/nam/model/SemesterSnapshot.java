@@ -0,0 +1,42 @@
+package com.nam.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable, pre-serialized transcript of a closed semester. {@code body} is the exact JSON the
+ * live endpoint would produce; {@code gzipBody} is the same bytes gzip-compressed.
+ */
+@Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"student_id", "semester"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SemesterSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    @Column(name = "student_id")
+    private String studentId;
+    private String semester;
+    private String year;
+
+    @JsonIgnore
+    @Column(length = 16777215)
+    private byte[] body;
+
+    @JsonIgnore
+    @Column(length = 16777215)
+    private byte[] gzipBody;
+
+    private String etag;
+    private LocalDateTime createdAt;
+}
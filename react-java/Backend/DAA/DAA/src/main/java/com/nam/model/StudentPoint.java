@@ -8,6 +8,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+// Databases with duplicate rows need db/student-point-dedup.sql before this constraint can be added.
+@Table(uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"id_student", "semester"})
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,12 +29,16 @@ public class StudentPoint {
 
     private String semester;
     private String year;
+    private boolean closed;
 
     @ManyToOne
     @JoinColumn(name = "id_student")
     @JsonIgnore
     private Student student;
 
+    @Version
+    @JsonIgnore
+    private Long version;
 
 }
 
@@ -4,7 +4,16 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
+/**
+ * One student's grades in one course. Course code, name and credits live once in {@link Course};
+ * the transient fields only carry them in from request bodies until the course is resolved.
+ */
 @Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"id_studentpoint", "course_id"})
+}, indexes = {
+        @Index(columnList = "course_id")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -15,9 +24,18 @@ public class Subject {
     @GeneratedValue(strategy = GenerationType.AUTO)
     private Long id;
 
+    @ManyToOne
+    @JoinColumn(name = "course_id")
+    @JsonIgnore
+    private Course course;
+
+    @Transient
     private String subjectId;
+    @Transient
     private String subjectName;
+    @Transient
     private int credits;
+
     private double point1;
     private double point2;
     private double point3;
@@ -30,4 +48,19 @@ public class Subject {
     @JsonIgnore
     private StudentPoint studentPoint;
 
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    public String getSubjectId() {
+        return course != null ? course.getCode() : subjectId;
+    }
+
+    public String getSubjectName() {
+        return course != null ? course.getName() : subjectName;
+    }
+
+    public int getCredits() {
+        return course != null ? course.getCredits() : credits;
+    }
 }
@@ -2,18 +2,23 @@ package com.nam.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
+import lombok.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"id_student", "year", "semester"})
+}, indexes = {
+        @Index(columnList = "payment_status"),
+        @Index(columnList = "due_date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@Builder
 public class Tuition {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
@@ -27,12 +32,23 @@ public class Tuition {
     private int totalCredits;
     private double totalPay;
     private double amountPaid;
+    // totalPay - amountPaid, moved together with every ledger entry.
+    private double balance;
     private LocalDateTime payAt;
+    @Column(name = "due_date")
+    private LocalDate dueDate;
 
     private String year;
     private String semester;
 
-    private String paymentStatus;
+    // Rows from before the enum hold free-text labels; migrate them with db/tuition-payment-status-migration.sql.
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status")
+    private EPaymentStatus paymentStatus;
+
+    private String paymentLinkId;
+    private String paymentLinkUrl;
+    private LocalDateTime paymentLinkExpiresAt;
 }
 
 
@@ -0,0 +1,48 @@
+package com.nam.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a tuition's append-only payment ledger. Entries are never updated or deleted;
+ * the running totals live on {@link Tuition} and are moved in the same transaction as the insert.
+ * A gateway reference is recorded at most once per entry type, which makes replays harmless.
+ */
+@Entity
+@Immutable
+@Table(uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"gateway_reference", "type"})
+}, indexes = {
+        @Index(columnList = "id_tuition")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TuitionPayment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_tuition")
+    @JsonIgnore
+    private Tuition tuition;
+
+    @Enumerated(EnumType.STRING)
+    private ETuitionPaymentType type;
+
+    // Always positive; the type gives the direction.
+    private double amount;
+
+    @Column(name = "gateway_reference")
+    private String gatewayReference;
+
+    private double balanceAfter;
+    private LocalDateTime createdAt;
+}
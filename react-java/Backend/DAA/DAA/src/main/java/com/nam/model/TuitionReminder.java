@@ -0,0 +1,52 @@
+package com.nam.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Send state of the payment reminder for one tuition and one due date. The row is committed as
+ * {@code SENDING} before the mail goes out, so a concurrent campaign skips it instead of mailing
+ * the student twice. A {@code FAILED} row is claimed again by later campaigns until it used up
+ * {@code tuition.reminder.max-attempts}; a row left in {@code SENDING} past
+ * {@code tuition.reminder.stuck-after-seconds} is taken for a crashed send and marked {@code FAILED}.
+ */
+@Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"id_tuition", "due_date"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TuitionReminder {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_tuition")
+    @JsonIgnore
+    private Tuition tuition;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    private EReminderStatus status;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private int attempts;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime claimedAt;
+    private LocalDateTime sentAt;
+}
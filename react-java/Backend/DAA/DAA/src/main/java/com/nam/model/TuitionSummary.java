@@ -0,0 +1,44 @@
+package com.nam.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated tuition totals of one class in one semester, kept in step with every tuition
+ * creation and ledger entry so finance dashboards read a single row instead of scanning tuitions.
+ * Students without a class are counted under the empty string.
+ */
+@Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"year", "semester", "student_class"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TuitionSummary {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    private String year;
+    private String semester;
+
+    @Column(name = "student_class")
+    private String studentClass;
+
+    private long tuitionCount;
+    private long unpaidCount;
+    private long partialCount;
+    private long paidCount;
+
+    private double totalBilled;
+    private double totalPaid;
+    // totalBilled - totalPaid
+    private double outstanding;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,13 @@
+package com.nam.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BroadcastRecipientRow {
+    private Long id;
+    private String email;
+}
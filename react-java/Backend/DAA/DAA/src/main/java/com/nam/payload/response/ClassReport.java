@@ -0,0 +1,52 @@
+package com.nam.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClassReport {
+    private String studentClass;
+    private String semester;
+    private List<StudentSummary> students = new ArrayList<>();
+    private Statistics statistics;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class StudentSummary {
+        private String studentId;
+        private String firstName;
+        private String lastName;
+        private List<SemesterSummary> semesters = new ArrayList<>();
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SemesterSummary {
+        private String semester;
+        private String year;
+        private double average;
+        private int totalCredits;
+        private int earnedCredits;
+        private List<String> failingSubjects = new ArrayList<>();
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Statistics {
+        private int studentCount;
+        private int gradedStudentCount;
+        private double classAverage;
+        private double minAverage;
+        private double maxAverage;
+        private int studentsWithFailingSubjects;
+    }
+}
@@ -0,0 +1,25 @@
+package com.nam.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One flattened Student x StudentPoint x Subject row of a class report query. Grade columns are
+ * null for students without points in the requested semester.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClassReportRow {
+    private Long id;
+    private String studentId;
+    private String firstName;
+    private String lastName;
+    private String studentClass;
+    private String semester;
+    private String year;
+    private String subjectId;
+    private Integer credits;
+    private Double pointAverage;
+}
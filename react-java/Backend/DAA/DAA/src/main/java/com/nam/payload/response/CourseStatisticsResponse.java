@@ -0,0 +1,16 @@
+package com.nam.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CourseStatisticsResponse {
+    private String code;
+    private String name;
+    private int credits;
+    private long enrolments;
+    private Double averagePoint;
+}
@@ -0,0 +1,21 @@
+package com.nam.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class GatewayHealthResponse {
+    private String circuitState;
+    private float failureRate;
+    private float slowCallRate;
+    private int inFlightCalls;
+    private int maxConcurrentCalls;
+    private long totalCalls;
+    private double meanLatencyMillis;
+    private double maxLatencyMillis;
+}
@@ -0,0 +1,81 @@
+package com.nam.payload.response;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live progress of a background job. Workers update the counters concurrently;
+ * controllers serialize the same instance as a snapshot.
+ */
+@Getter
+public class JobProgress {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String jobId;
+    private final String name;
+    private final LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile Status status = Status.RUNNING;
+    private volatile String error;
+
+    private final AtomicLong totalSteps = new AtomicLong();
+    private final AtomicLong completedSteps = new AtomicLong();
+    private final AtomicLong processedItems = new AtomicLong();
+    private final AtomicLong failedItems = new AtomicLong();
+    private final Map<String, AtomicLong> timingsMillis = new ConcurrentHashMap<>();
+
+    public JobProgress(String jobId, String name) {
+        this.jobId = jobId;
+        this.name = name;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    public void addSteps(long steps) {
+        totalSteps.addAndGet(steps);
+    }
+
+    public void stepDone(long items) {
+        processedItems.addAndGet(items);
+        completedSteps.incrementAndGet();
+    }
+
+    public void itemsFailed(long items) {
+        failedItems.addAndGet(items);
+    }
+
+    public void addTiming(String phase, long millis) {
+        timingsMillis.computeIfAbsent(phase, k -> new AtomicLong()).addAndGet(millis);
+    }
+
+    public void complete() {
+        if (status == Status.RUNNING) {
+            status = Status.COMPLETED;
+            finishedAt = LocalDateTime.now();
+        }
+    }
+
+    public void fail(Throwable cause) {
+        error = cause.getMessage();
+        status = Status.FAILED;
+        finishedAt = LocalDateTime.now();
+    }
+
+    public boolean isFinished() {
+        return status != Status.RUNNING;
+    }
+
+    public long getElapsedMillis() {
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        return Duration.between(startedAt, end).toMillis();
+    }
+}
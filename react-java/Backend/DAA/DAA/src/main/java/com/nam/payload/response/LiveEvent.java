@@ -0,0 +1,35 @@
+package com.nam.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.function.LongPredicate;
+
+/**
+ * Something a connected client should hear about, published on the application event bus and
+ * pushed to every live connection subscribed to {@code topic} once the publishing transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class LiveEvent {
+    public static final String TOPIC_ALL = "all";
+
+    private final String topic;
+    // SSE event name, e.g. "notice", "grade" or "payment".
+    private final String type;
+    private final Object data;
+    // Narrows the topic to the user ids it accepts; null means every subscriber of the topic.
+    private final LongPredicate audience;
+
+    public LiveEvent(String topic, String type, Object data) {
+        this(topic, type, data, null);
+    }
+
+    public static String userTopic(Long userId) {
+        return "user:" + userId;
+    }
+
+    public static String classTopic(String studentClass) {
+        return "class:" + studentClass;
+    }
+}
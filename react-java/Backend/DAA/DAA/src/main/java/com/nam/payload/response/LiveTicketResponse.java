@@ -0,0 +1,16 @@
+package com.nam.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A short-lived ticket for {@code GET /live?ticket=...}; browsers' EventSource cannot send an Authorization header.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LiveTicketResponse {
+    private String ticket;
+    private long expiresInSeconds;
+}
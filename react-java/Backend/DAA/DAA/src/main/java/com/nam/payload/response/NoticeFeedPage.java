@@ -0,0 +1,16 @@
+package com.nam.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One page of the notice feed, already serialized as a JSON array, with a strong ETag over those bytes.
+ */
+@Getter
+@AllArgsConstructor
+public class NoticeFeedPage {
+    private final int page;
+    private final int size;
+    private final byte[] body;
+    private final String etag;
+}
@@ -0,0 +1,13 @@
+package com.nam.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NoticeReadReceipt {
+    private Long noticeId;
+    private long readCount;
+}
@@ -0,0 +1,40 @@
+package com.nam.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReconciliationReport {
+    private String jobId;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long checked;
+    private long corrected;
+    private long gatewayErrors;
+    private List<Discrepancy> discrepancies;
+
+    public enum Action {
+        MARKED_PAID,
+        REPORTED,
+        GATEWAY_ERROR
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Discrepancy {
+        private Long tuitionId;
+        private String paymentLinkId;
+        private String gatewayStatus;
+        private Action action;
+        private String message;
+    }
+}
@@ -0,0 +1,14 @@
+package com.nam.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TuitionBillingRow {
+    private Long studentId;
+    private String studentClass;
+    private Long totalCredits;
+}
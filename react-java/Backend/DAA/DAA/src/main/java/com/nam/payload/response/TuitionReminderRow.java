@@ -0,0 +1,23 @@
+package com.nam.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TuitionReminderRow {
+    private Long tuitionId;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private String year;
+    private String semester;
+    private Double balance;
+    private LocalDate dueDate;
+    // The earlier FAILED reminder for this due date being retried, if any.
+    private Long reminderId;
+}
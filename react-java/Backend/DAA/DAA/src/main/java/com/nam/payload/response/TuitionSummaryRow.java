@@ -0,0 +1,20 @@
+package com.nam.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TuitionSummaryRow {
+    private String year;
+    private String semester;
+    private String studentClass;
+    private Long tuitionCount;
+    private Long unpaidCount;
+    private Long partialCount;
+    private Long paidCount;
+    private Double totalBilled;
+    private Double totalPaid;
+}
@@ -0,0 +1,231 @@
+package com.nam.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nam.model.Notice;
+import com.nam.model.SemesterSnapshot;
+import com.nam.security.jwt.JwtProvider;
+import com.nam.service.TranscriptServiceImpl;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Functional routes for the high fan-in reads, at the same paths and with the same JSON, ETags
+ * and status codes as {@code NoticeController}, {@code StudentController}, {@code UserController}
+ * and {@code TranscriptController}. Nothing here blocks: every request is a chain of R2DBC queries
+ * on the event loop.
+ */
+public class ReactiveReadHandler {
+
+    private static final String EMAIL_ATTRIBUTE = ReactiveReadHandler.class.getName() + ".email";
+
+    private final ReactiveReadRepository repository;
+    private final JwtProvider jwtProvider;
+    private final ObjectMapper objectMapper;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int activeLimit;
+
+    public ReactiveReadHandler(ReactiveReadRepository repository, JwtProvider jwtProvider, ObjectMapper objectMapper,
+                               int defaultPageSize, int maxPageSize, int activeLimit) {
+        this.repository = repository;
+        this.jwtProvider = jwtProvider;
+        this.objectMapper = objectMapper;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.activeLimit = activeLimit;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/student/getStudentList", this::getStudentList)
+                .GET("/student/transcript/{studentId}/{semester}", this::getTranscript)
+                .add(RouterFunctions.route()
+                        .GET("/notice/all", this::getAllNotice)
+                        .GET("/notice/feed", this::getFeed)
+                        .GET("/api/users/profile", this::getUserProfile)
+                        .filter(authenticated())
+                        .build())
+                .build();
+    }
+
+    /**
+     * Newest-first page of the notices addressed to everyone.
+     */
+    public Mono<ServerResponse> getAllNotice(ServerRequest request) {
+        int pageSize = pageSize(intParam(request, "size", 0));
+        int page = Math.max(intParam(request, "page", 0), 0);
+        return repository.findBroadcastNotices(page * pageSize, pageSize)
+                .collectList()
+                .flatMap(notices -> feedResponse(request, notices, CacheControl.noCache()));
+    }
+
+    /**
+     * Newest-first page of the recent notices visible to the caller. The window is streamed from the
+     * database and checked against each notice's serialized audience in place, and the query is
+     * cancelled as soon as the page is full.
+     */
+    public Mono<ServerResponse> getFeed(ServerRequest request) {
+        int pageSize = pageSize(intParam(request, "size", 0));
+        int page = Math.max(intParam(request, "page", 0), 0);
+        return repository.findUserByEmail(email(request))
+                .flatMap(user -> {
+                    int userId = Math.toIntExact(user.getId());
+                    return repository.streamRecentNotices(activeLimit)
+                            .filter(notice -> notice.isBroadcast()
+                                    || new ImmutableRoaringBitmap(ByteBuffer.wrap(notice.getAudience())).contains(userId))
+                            .skip((long) page * pageSize)
+                            .take(pageSize)
+                            .collectList()
+                            .flatMap(notices -> feedResponse(request, notices, CacheControl.noCache().cachePrivate()));
+                })
+                .switchIfEmpty(Mono.defer(() -> userNotFound(request)));
+    }
+
+    public Mono<ServerResponse> getStudentList(ServerRequest request) {
+        int pageNumber;
+        int pageSize;
+        try {
+            pageNumber = Integer.parseInt(request.queryParam("pageNumber").orElseThrow());
+            pageSize = Integer.parseInt(request.queryParam("pageSize").orElseThrow());
+        } catch (RuntimeException e) {
+            return ServerResponse.badRequest().bodyValue("pageNumber and pageSize are required numbers");
+        }
+        if (pageNumber < 0 || pageSize < 1) {
+            return ServerResponse.badRequest().bodyValue("Page index must not be negative and page size must be positive");
+        }
+        return Mono.zip(repository.findStudents(pageNumber * pageSize, pageSize), repository.countStudents())
+                .flatMap(page -> json(ServerResponse.ok(),
+                        new PageImpl<>(page.getT1(), PageRequest.of(pageNumber, pageSize), page.getT2())));
+    }
+
+    public Mono<ServerResponse> getUserProfile(ServerRequest request) {
+        return repository.findUserByEmail(email(request))
+                .flatMap(user -> json(ServerResponse.status(HttpStatus.ACCEPTED), user))
+                .switchIfEmpty(Mono.defer(() -> userNotFound(request)));
+    }
+
+    /**
+     * Closed semesters from their stored snapshot, gzip-encoded when the client accepts it; the open
+     * semester from the live grades.
+     */
+    public Mono<ServerResponse> getTranscript(ServerRequest request) {
+        String studentId = request.pathVariable("studentId");
+        String semester = request.pathVariable("semester");
+        return repository.findSnapshot(studentId, semester)
+                .flatMap(snapshot -> snapshotResponse(request, snapshot))
+                .switchIfEmpty(Mono.defer(() -> repository.findStudentPoint(studentId, semester)
+                        .flatMap(studentPoint -> json(ServerResponse.ok(), studentPoint))
+                        .switchIfEmpty(Mono.defer(() -> ServerResponse.badRequest()
+                                .bodyValue("No points found for student " + studentId + " in semester " + semester)))));
+    }
+
+    private Mono<ServerResponse> snapshotResponse(ServerRequest request, SemesterSnapshot snapshot) {
+        String acceptEncoding = request.headers().firstHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip") && snapshot.getGzipBody() != null;
+        // Each encoding is a distinct representation, so it needs its own strong validator.
+        String etag = gzip ? gzipEtag(snapshot.getEtag()) : snapshot.getEtag();
+
+        if (notModified(request, etag)) {
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ServerResponse.BodyBuilder builder = ServerResponse.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").bodyValue(snapshot.getGzipBody());
+        }
+        return builder.bodyValue(snapshot.getBody());
+    }
+
+    private Mono<ServerResponse> feedResponse(ServerRequest request, List<Notice> notices, CacheControl cacheControl) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(notices);
+        } catch (JsonProcessingException e) {
+            return Mono.error(new IllegalStateException("Could not serialize notice feed", e));
+        }
+        String etag = TranscriptServiceImpl.etagOf(body);
+        if (notModified(request, etag)) {
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ServerResponse.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body);
+    }
+
+    private Mono<ServerResponse> json(ServerResponse.BodyBuilder builder, Object value) {
+        try {
+            return builder.contentType(MediaType.APPLICATION_JSON).bodyValue(objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            return Mono.error(new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), e));
+        }
+    }
+
+    /**
+     * Resolves the caller's email from the {@code Authorization} header once, before the handler
+     * runs; a missing or invalid token is answered with 401.
+     */
+    private HandlerFilterFunction<ServerResponse, ServerResponse> authenticated() {
+        return (request, next) -> {
+            String jwt = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+            if (jwt == null || !jwt.startsWith("Bearer ")) {
+                return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+            }
+            String email;
+            try {
+                email = jwtProvider.getEmailFromToken(jwt);
+            } catch (RuntimeException e) {
+                return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+            }
+            request.attributes().put(EMAIL_ATTRIBUTE, email);
+            return next.handle(request);
+        };
+    }
+
+    private static String email(ServerRequest request) {
+        return (String) request.attributes().get(EMAIL_ATTRIBUTE);
+    }
+
+    private static Mono<ServerResponse> userNotFound(ServerRequest request) {
+        return ServerResponse.badRequest().bodyValue("User Not Found with email: " + email(request));
+    }
+
+    private static boolean notModified(ServerRequest request, String etag) {
+        String ifNoneMatch = request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+        return ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"));
+    }
+
+    private static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    private int pageSize(int size) {
+        return size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+    }
+}
@@ -0,0 +1,343 @@
+package com.nam.reactive;
+
+import com.nam.model.Course;
+import com.nam.model.EPaymentStatus;
+import com.nam.model.ERole;
+import com.nam.model.Notice;
+import com.nam.model.Role;
+import com.nam.model.SemesterSnapshot;
+import com.nam.model.Student;
+import com.nam.model.StudentPoint;
+import com.nam.model.Subject;
+import com.nam.model.Teacher;
+import com.nam.model.Tuition;
+import com.nam.model.User;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Blob;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only R2DBC queries over the JPA schema, mapped into the same model classes the MVC
+ * controllers return so that both stacks serialize to identical JSON. Associations are filled with
+ * one {@code IN} query per level instead of per row. Writes stay on JPA.
+ */
+public class ReactiveReadRepository implements AutoCloseable {
+
+    private static final String USER_COLUMNS = "u.id, u.first_name, u.last_name, u.password, u.email, u.created_at";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient client;
+
+    public ReactiveReadRepository(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+        this.client = DatabaseClient.create(connectionPool);
+    }
+
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    @Override
+    public void close() {
+        connectionPool.dispose();
+    }
+
+    /**
+     * Untargeted notices, newest first, as {@code NoticeRepository.findByBroadcastTrueOrderByCreatedAtDescIdDesc}.
+     */
+    public Flux<Notice> findBroadcastNotices(int offset, int limit) {
+        return client.sql("SELECT id, title, description, created_at FROM notice WHERE broadcast = :broadcast"
+                        + " ORDER BY created_at DESC, id DESC LIMIT :limit OFFSET :offset")
+                .bind("broadcast", true)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(row -> notice(row, true))
+                .all();
+    }
+
+    /**
+     * The most recent {@code limit} notices, newest first, each with its serialized audience and
+     * without its targets. Rows are streamed, so a subscriber that stops early stops the query.
+     */
+    public Flux<Notice> streamRecentNotices(int limit) {
+        return client.sql("SELECT id, title, description, created_at, broadcast, audience FROM notice"
+                        + " ORDER BY created_at DESC, id DESC LIMIT :limit")
+                .bind("limit", limit)
+                .map(row -> new RawNotice(notice(row, Boolean.TRUE.equals(row.get("broadcast", Boolean.class))), row.get("audience")))
+                .all()
+                .concatMap(raw -> raw.audience == null
+                        ? Mono.just(raw.notice)
+                        : bytes(raw.audience).map(audience -> {
+                            raw.notice.setAudience(audience);
+                            return raw.notice;
+                        }));
+    }
+
+    public Mono<Long> countStudents() {
+        return client.sql("SELECT COUNT(*) AS total FROM student")
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    /**
+     * A page of students with their roles, grades and tuitions, in id order.
+     */
+    public Mono<List<Student>> findStudents(int offset, int limit) {
+        return client.sql("SELECT " + USER_COLUMNS + ", s.student_id, s.student_class FROM student s"
+                        + " JOIN users u ON u.id = s.id ORDER BY s.id LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveReadRepository::student)
+                .all()
+                .collectList()
+                .flatMap(this::withDetails);
+    }
+
+    /**
+     * The user signed in as {@code email}, as the subtype {@code UserRepository.findByEmail} would return.
+     */
+    public Mono<User> findUserByEmail(String email) {
+        return client.sql("SELECT " + USER_COLUMNS + ", s.id AS student_row, s.student_id, s.student_class,"
+                        + " t.id AS teacher_row FROM users u LEFT JOIN student s ON s.id = u.id"
+                        + " LEFT JOIN teacher t ON t.id = u.id WHERE u.email = :email")
+                .bind("email", email)
+                .map(row -> {
+                    if (row.get("student_row") != null) {
+                        return (User) student(row);
+                    }
+                    if (row.get("teacher_row") != null) {
+                        return fillUser(Teacher.builder(), row).build();
+                    }
+                    return fillUser(User.builder(), row).build();
+                })
+                .one()
+                .flatMap(user -> {
+                    if (user instanceof Student student) {
+                        return withDetails(List.of(student)).thenReturn(user);
+                    }
+                    return withRoles(List.of(user)).thenReturn(user);
+                });
+    }
+
+    public Mono<SemesterSnapshot> findSnapshot(String studentId, String semester) {
+        return client.sql("SELECT id, student_id, semester, year, body, gzip_body, etag, created_at FROM semester_snapshot"
+                        + " WHERE student_id = :studentId AND semester = :semester")
+                .bind("studentId", studentId)
+                .bind("semester", semester)
+                .map(row -> new RawSnapshot(SemesterSnapshot.builder()
+                        .id(row.get("id", Long.class))
+                        .studentId(row.get("student_id", String.class))
+                        .semester(row.get("semester", String.class))
+                        .year(row.get("year", String.class))
+                        .etag(row.get("etag", String.class))
+                        .createdAt(row.get("created_at", LocalDateTime.class))
+                        .build(), row.get("body"), row.get("gzip_body")))
+                .one()
+                .flatMap(raw -> Mono.zip(bytes(raw.body), raw.gzipBody == null ? Mono.just(new byte[0]) : bytes(raw.gzipBody))
+                        .map(bodies -> {
+                            raw.snapshot.setBody(bodies.getT1());
+                            raw.snapshot.setGzipBody(raw.gzipBody == null ? null : bodies.getT2());
+                            return raw.snapshot;
+                        }));
+    }
+
+    /**
+     * The grades of one student in one semester, as {@code StudentPointRepository.getStudentPointBySemesterAndStudentId}.
+     */
+    public Mono<StudentPoint> findStudentPoint(String studentId, String semester) {
+        return client.sql("SELECT sp.id, sp.id_student, sp.semester, sp.year, sp.closed FROM student_point sp"
+                        + " JOIN student s ON s.id = sp.id_student WHERE s.student_id = :studentId AND sp.semester = :semester")
+                .bind("studentId", studentId)
+                .bind("semester", semester)
+                .map(ReactiveReadRepository::studentPoint)
+                .one()
+                .flatMap(point -> withSubjects(List.of(point)).thenReturn(point));
+    }
+
+    private Mono<List<Student>> withDetails(List<Student> students) {
+        if (students.isEmpty()) {
+            return Mono.just(students);
+        }
+        List<Long> ids = students.stream().map(Student::getId).toList();
+        Map<Long, Student> byId = students.stream().collect(Collectors.toMap(Student::getId, Function.identity()));
+        Mono<Void> points = client.sql("SELECT id, id_student, semester, year, closed FROM student_point"
+                        + " WHERE id_student IN (:ids) ORDER BY id")
+                .bind("ids", ids)
+                .map(row -> Map.entry(row.get("id_student", Long.class), studentPoint(row)))
+                .all()
+                .doOnNext(point -> byId.get(point.getKey()).getStudentPoints().add(point.getValue()))
+                .map(Map.Entry::getValue)
+                .collectList()
+                .flatMap(this::withSubjects);
+        Mono<Void> tuitions = client.sql("SELECT id, id_student, total_credits, total_pay, amount_paid, balance, pay_at,"
+                        + " due_date, year, semester, payment_status, payment_link_id, payment_link_url,"
+                        + " payment_link_expires_at FROM tuition WHERE id_student IN (:ids) ORDER BY id")
+                .bind("ids", ids)
+                .map(row -> Map.entry(row.get("id_student", Long.class), tuition(row)))
+                .all()
+                .doOnNext(tuition -> byId.get(tuition.getKey()).getTuitions().add(tuition.getValue()))
+                .then();
+        return withRoles(students).then(points).then(tuitions).thenReturn(students);
+    }
+
+    private Mono<Void> withRoles(Collection<? extends User> users) {
+        Map<Long, User> byId = users.stream().collect(Collectors.toMap(User::getId, Function.identity()));
+        return client.sql("SELECT ur.user_id, r.id, r.name FROM user_roles ur JOIN roles r ON r.id = ur.role_id"
+                        + " WHERE ur.user_id IN (:ids)")
+                .bind("ids", new ArrayList<>(byId.keySet()))
+                .map(row -> Map.entry(row.get("user_id", Long.class),
+                        new Role(row.get("id", Long.class), ERole.valueOf(row.get("name", String.class)))))
+                .all()
+                .doOnNext(role -> byId.get(role.getKey()).getRoles().add(role.getValue()))
+                .then();
+    }
+
+    private Mono<Void> withSubjects(List<StudentPoint> points) {
+        if (points.isEmpty()) {
+            return Mono.empty();
+        }
+        Map<Long, StudentPoint> byId = points.stream().collect(Collectors.toMap(StudentPoint::getId, Function.identity()));
+        return client.sql("SELECT sb.id, sb.id_studentpoint, sb.point1, sb.point2, sb.point3, sb.point4, sb.point_average,"
+                        + " sb.note, c.id AS course_id, c.code, c.name, c.credits FROM subject sb"
+                        + " LEFT JOIN course c ON c.id = sb.course_id WHERE sb.id_studentpoint IN (:ids) ORDER BY sb.id")
+                .bind("ids", new ArrayList<>(byId.keySet()))
+                .map(row -> Map.entry(row.get("id_studentpoint", Long.class), subject(row)))
+                .all()
+                .doOnNext(subject -> byId.get(subject.getKey()).getSubjects().add(subject.getValue()))
+                .then();
+    }
+
+    private static Notice notice(Readable row, boolean broadcast) {
+        Notice notice = new Notice();
+        notice.setId(row.get("id", Long.class));
+        notice.setTitle(row.get("title", String.class));
+        notice.setDescription(row.get("description", String.class));
+        notice.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        notice.setBroadcast(broadcast);
+        return notice;
+    }
+
+    private static Student student(Readable row) {
+        Student student = fillUser(Student.builder(), row)
+                .studentId(row.get("student_id", String.class))
+                .studentClass(row.get("student_class", String.class))
+                .build();
+        student.setStudentPoints(new ArrayList<>());
+        student.setTuitions(new ArrayList<>());
+        return student;
+    }
+
+    private static <B extends User.UserBuilder<?, ?>> B fillUser(B builder, Readable row) {
+        builder.id(row.get("id", Long.class))
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .password(row.get("password", String.class))
+                .email(row.get("email", String.class))
+                .roles(new HashSet<>())
+                .createdAt(row.get("created_at", LocalDateTime.class));
+        return builder;
+    }
+
+    private static StudentPoint studentPoint(Readable row) {
+        return StudentPoint.builder()
+                .id(row.get("id", Long.class))
+                .semester(row.get("semester", String.class))
+                .year(row.get("year", String.class))
+                .closed(Boolean.TRUE.equals(row.get("closed", Boolean.class)))
+                .subjects(new ArrayList<>())
+                .build();
+    }
+
+    private static Subject subject(Readable row) {
+        Long courseId = row.get("course_id", Long.class);
+        return Subject.builder()
+                .id(row.get("id", Long.class))
+                .course(courseId == null ? null : Course.builder()
+                        .id(courseId)
+                        .code(row.get("code", String.class))
+                        .name(row.get("name", String.class))
+                        .credits(intValue(row, "credits"))
+                        .build())
+                .point1(doubleValue(row, "point1"))
+                .point2(doubleValue(row, "point2"))
+                .point3(doubleValue(row, "point3"))
+                .point4(doubleValue(row, "point4"))
+                .pointAverage(doubleValue(row, "point_average"))
+                .note(row.get("note", String.class))
+                .build();
+    }
+
+    private static Tuition tuition(Readable row) {
+        String status = row.get("payment_status", String.class);
+        return Tuition.builder()
+                .id(row.get("id", Long.class))
+                .totalCredits(intValue(row, "total_credits"))
+                .totalPay(doubleValue(row, "total_pay"))
+                .amountPaid(doubleValue(row, "amount_paid"))
+                .balance(doubleValue(row, "balance"))
+                .payAt(row.get("pay_at", LocalDateTime.class))
+                .dueDate(row.get("due_date", LocalDate.class))
+                .year(row.get("year", String.class))
+                .semester(row.get("semester", String.class))
+                .paymentStatus(status == null ? null : EPaymentStatus.valueOf(status))
+                .paymentLinkId(row.get("payment_link_id", String.class))
+                .paymentLinkUrl(row.get("payment_link_url", String.class))
+                .paymentLinkExpiresAt(row.get("payment_link_expires_at", LocalDateTime.class))
+                .build();
+    }
+
+    private static int intValue(Readable row, String column) {
+        return Optional.ofNullable(row.get(column, Integer.class)).orElse(0);
+    }
+
+    private static double doubleValue(Readable row, String column) {
+        return Optional.ofNullable(row.get(column, Double.class)).orElse(0.0);
+    }
+
+    /**
+     * Binary columns come back as {@code ByteBuffer} from PostgreSQL and MySQL, but as a streamed
+     * {@link Blob} where the column is a LOB.
+     */
+    private static Mono<byte[]> bytes(Object value) {
+        if (value instanceof byte[] array) {
+            return Mono.just(array);
+        }
+        if (value instanceof ByteBuffer buffer) {
+            byte[] array = new byte[buffer.remaining()];
+            buffer.get(array);
+            return Mono.just(array);
+        }
+        if (value instanceof Blob blob) {
+            return Flux.from(blob.stream())
+                    .collect(ByteArrayOutputStream::new, (out, buffer) -> {
+                        byte[] chunk = new byte[buffer.remaining()];
+                        buffer.get(chunk);
+                        out.writeBytes(chunk);
+                    })
+                    .map(ByteArrayOutputStream::toByteArray);
+        }
+        return Mono.error(new IllegalStateException("Unexpected binary column type " + value.getClass().getName()));
+    }
+
+    private record RawNotice(Notice notice, Object audience) {
+    }
+
+    private record RawSnapshot(SemesterSnapshot snapshot, Object body, Object gzipBody) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.nam.reactive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * A Netty server next to Tomcat that serves the reactive read routes on its own port, with a fixed,
+ * small number of event-loop threads. Started after the application context is refreshed and
+ * stopped before it closes, like the servlet container.
+ */
+public class ReactiveReadServer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveReadServer.class);
+
+    private final int port;
+    private final int eventLoopThreads;
+    private final HttpHandler httpHandler;
+
+    private LoopResources loopResources;
+    private WebServer webServer;
+
+    public ReactiveReadServer(int port, int eventLoopThreads, HttpHandler httpHandler) {
+        this.port = port;
+        this.eventLoopThreads = eventLoopThreads;
+        this.httpHandler = httpHandler;
+    }
+
+    @Override
+    public void start() {
+        loopResources = LoopResources.create("reactive-read", eventLoopThreads, true);
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory(port);
+        factory.addServerCustomizers(server -> server.runOn(loopResources));
+        webServer = factory.getWebServer(httpHandler);
+        webServer.start();
+        logger.info("Reactive read routes listening on port {} with {} event-loop threads", webServer.getPort(), eventLoopThreads);
+    }
+
+    @Override
+    public void stop() {
+        if (webServer != null) {
+            webServer.stop();
+            webServer = null;
+        }
+        if (loopResources != null) {
+            loopResources.dispose();
+            loopResources = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return webServer != null;
+    }
+
+    /**
+     * The bound port, which differs from the configured one when that was 0.
+     */
+    public int getPort() {
+        return webServer != null ? webServer.getPort() : port;
+    }
+}
@@ -0,0 +1,18 @@
+package com.nam.repository;
+
+import com.nam.model.Course;
+import com.nam.payload.response.CourseStatisticsResponse;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CourseRepository extends JpaRepository<Course, Long> {
+    public Optional<Course> findByCode(String code);
+
+    @Query("SELECT new com.nam.payload.response.CourseStatisticsResponse(c.code, c.name, c.credits, COUNT(s.id), AVG(s.pointAverage))" +
+            " FROM Subject s JOIN s.course c" +
+            " GROUP BY c.id, c.code, c.name, c.credits")
+    public List<CourseStatisticsResponse> getCourseStatistics();
+}
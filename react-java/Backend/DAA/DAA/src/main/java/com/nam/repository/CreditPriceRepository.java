@@ -0,0 +1,10 @@
+package com.nam.repository;
+
+import com.nam.model.CreditPrice;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface CreditPriceRepository extends JpaRepository<CreditPrice, Long> {
+    Optional<CreditPrice> findByYear(String year);
+}
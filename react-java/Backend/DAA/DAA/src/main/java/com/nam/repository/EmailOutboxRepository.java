@@ -0,0 +1,40 @@
+package com.nam.repository;
+
+import com.nam.model.EOutboxStatus;
+import com.nam.model.EmailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.status = :pending AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt, e.id")
+    List<Long> findDueIds(@Param("pending") EOutboxStatus pending, @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.status = :sending AND e.claimedAt < :before ORDER BY e.id")
+    List<Long> findStuckIds(@Param("sending") EOutboxStatus sending, @Param("before") LocalDateTime before, Pageable pageable);
+
+    /**
+     * Moves a due message to SENDING; only the worker that gets 1 back may send it.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :sending, e.attempts = e.attempts + 1, e.claimedAt = :now" +
+            " WHERE e.id = :id AND e.status = :pending")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now,
+              @Param("pending") EOutboxStatus pending, @Param("sending") EOutboxStatus sending);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :sent, e.sentAt = :now, e.lastError = null WHERE e.id IN :ids AND e.status = :sending")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+                 @Param("sending") EOutboxStatus sending, @Param("sent") EOutboxStatus sent);
+
+    long countByStatus(EOutboxStatus status);
+}
@@ -1,7 +1,16 @@
 package com.nam.repository;
 
 import com.nam.model.Email;
+import com.nam.payload.response.BroadcastRecipientRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface EmailRepository extends JpaRepository<Email, Long> {
+    @Query("SELECT new com.nam.payload.response.BroadcastRecipientRow(e.id, e.registerEmail) FROM Email e" +
+            " WHERE e.id > :afterId ORDER BY e.id")
+    List<BroadcastRecipientRow> findRecipientsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
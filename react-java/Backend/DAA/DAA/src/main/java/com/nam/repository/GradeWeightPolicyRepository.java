@@ -0,0 +1,10 @@
+package com.nam.repository;
+
+import com.nam.model.GradeWeightPolicy;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface GradeWeightPolicyRepository extends JpaRepository<GradeWeightPolicy, Long> {
+    public Optional<GradeWeightPolicy> findBySubjectIdAndYear(String subjectId, String year);
+}
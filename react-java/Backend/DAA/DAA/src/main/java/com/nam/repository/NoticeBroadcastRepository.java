@@ -0,0 +1,56 @@
+package com.nam.repository;
+
+import com.nam.model.EBroadcastStatus;
+import com.nam.model.NoticeBroadcast;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface NoticeBroadcastRepository extends JpaRepository<NoticeBroadcast, Long> {
+    Optional<NoticeBroadcast> findByNoticeId(Long noticeId);
+
+    @Query("SELECT b.notice.id FROM NoticeBroadcast b WHERE b.status = :status")
+    List<Long> findNoticeIdsByStatus(@Param("status") EBroadcastStatus status);
+
+    /**
+     * Takes over a failed broadcast, or a running one whose owner stopped reporting progress before
+     * {@code staleBefore}; only the caller that gets 1 back may send.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE NoticeBroadcast b SET b.status = :running, b.lastError = null, b.finishedAt = null, b.updatedAt = :now" +
+            " WHERE b.id = :id AND (b.status = :failed OR (b.status = :running AND b.updatedAt < :staleBefore))")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore,
+              @Param("running") EBroadcastStatus running, @Param("failed") EBroadcastStatus failed);
+
+    /**
+     * Records a page as handed to the mail server.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE NoticeBroadcast b SET b.cursor = :cursor, b.sentCount = b.sentCount + :sent," +
+            " b.failedCount = b.failedCount + :failed, b.updatedAt = :now WHERE b.id = :id")
+    int advance(@Param("id") Long id, @Param("cursor") long cursor, @Param("sent") long sent,
+                @Param("failed") long failed, @Param("now") LocalDateTime now);
+
+    /**
+     * Shows a running broadcast is still alive while a page is sending, so the sweep leaves it alone.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE NoticeBroadcast b SET b.updatedAt = :now WHERE b.id = :id AND b.status = :running")
+    int heartbeat(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("running") EBroadcastStatus running);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE NoticeBroadcast b SET b.status = :status, b.lastError = :error, b.updatedAt = :now," +
+            " b.finishedAt = :now WHERE b.id = :id")
+    int finish(@Param("id") Long id, @Param("status") EBroadcastStatus status, @Param("error") String error,
+               @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,21 @@
+package com.nam.repository;
+
+import com.nam.model.NoticeReadState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface NoticeReadStateRepository extends JpaRepository<NoticeReadState, Long> {
+    /**
+     * Locks the stored read states, in user id order, so flushes from several instances merge into
+     * them one at a time instead of overwriting each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM NoticeReadState s WHERE s.userId IN :userIds ORDER BY s.userId")
+    List<NoticeReadState> findAllForUpdate(@Param("userIds") Collection<Long> userIds);
+}
@@ -1,7 +1,31 @@
 package com.nam.repository;
 
 import com.nam.model.Notice;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 public interface NoticeRepository extends JpaRepository<Notice, Long> {
+    List<Notice> findAllByOrderByCreatedAtDescIdDesc(Pageable pageable);
+
+    List<Notice> findByBroadcastTrueOrderByCreatedAtDescIdDesc(Pageable pageable);
+
+    /**
+     * Ids of the notices created since {@code since}; a range scan of the (created_at, id) index.
+     */
+    @Query("SELECT n.id FROM Notice n WHERE n.createdAt >= :since")
+    List<Long> findIdsCreatedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT n.readCount FROM Notice n WHERE n.id = :id")
+    Optional<Long> findReadCount(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Notice n SET n.readCount = n.readCount + :delta WHERE n.id = :id")
+    int addReadCount(@Param("id") Long id, @Param("delta") long delta);
 }
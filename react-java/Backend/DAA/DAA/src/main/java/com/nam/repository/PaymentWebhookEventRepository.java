@@ -0,0 +1,40 @@
+package com.nam.repository;
+
+import com.nam.model.EWebhookStatus;
+import com.nam.model.PaymentWebhookEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface PaymentWebhookEventRepository extends JpaRepository<PaymentWebhookEvent, Long> {
+    Optional<PaymentWebhookEvent> findByEventId(String eventId);
+
+    @Query("SELECT e.id FROM PaymentWebhookEvent e WHERE e.status = :status ORDER BY e.id")
+    List<Long> findIdsByStatus(@Param("status") EWebhookStatus status, Pageable pageable);
+
+    /**
+     * Moves a pending event to PROCESSING; only the worker that gets 1 back may apply it.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE PaymentWebhookEvent e SET e.status = :processing, e.attempts = e.attempts + 1, e.claimedAt = :now" +
+            " WHERE e.id = :id AND e.status = :pending")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now,
+              @Param("pending") EWebhookStatus pending, @Param("processing") EWebhookStatus processing);
+
+    /**
+     * Hands events claimed by a worker that died before finishing back to the queue.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE PaymentWebhookEvent e SET e.status = :pending WHERE e.status = :processing AND e.claimedAt < :before")
+    int releaseStale(@Param("before") LocalDateTime before,
+                     @Param("pending") EWebhookStatus pending, @Param("processing") EWebhookStatus processing);
+}
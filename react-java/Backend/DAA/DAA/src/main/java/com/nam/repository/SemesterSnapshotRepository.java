@@ -0,0 +1,10 @@
+package com.nam.repository;
+
+import com.nam.model.SemesterSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface SemesterSnapshotRepository extends JpaRepository<SemesterSnapshot, Long> {
+    public Optional<SemesterSnapshot> findByStudentIdAndSemester(String studentId, String semester);
+}
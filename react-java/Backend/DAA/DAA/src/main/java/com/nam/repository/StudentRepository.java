@@ -1,10 +1,15 @@
 package com.nam.repository;
 
 import com.nam.model.Student;
+import com.nam.payload.response.ClassReportRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
     public Student findByStudentId(String studentId);
@@ -12,4 +17,40 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     @Query("SELECT s FROM Student s")
     public Page<Student> findAllWithPagination(Pageable pageable);
 
+    @Query("SELECT DISTINCT s.studentClass FROM Student s WHERE s.studentClass IS NOT NULL ORDER BY s.studentClass")
+    public List<String> findAllStudentClasses();
+
+    @Query("SELECT s.id FROM Student s WHERE s.studentClass IN :classes")
+    public List<Long> findIdsByStudentClasses(@Param("classes") Collection<String> classes);
+
+    @Query("SELECT s.id FROM Student s WHERE s.studentId IN :studentIds")
+    public List<Long> findIdsByStudentIds(@Param("studentIds") Collection<String> studentIds);
+
+    /**
+     * Loads a whole partition of classes in one round trip, for one semester.
+     */
+    @Query("SELECT new com.nam.payload.response.ClassReportRow(s.id, s.studentId, s.firstName, s.lastName, s.studentClass," +
+            " sp.semester, sp.year, c.code, c.credits, sub.pointAverage)" +
+            " FROM Student s" +
+            " LEFT JOIN s.studentPoints sp ON sp.semester = :semester" +
+            " LEFT JOIN sp.subjects sub" +
+            " LEFT JOIN sub.course c" +
+            " WHERE s.studentClass IN :classes" +
+            " ORDER BY s.studentClass, s.id, sp.semester")
+    public List<ClassReportRow> getClassReportRows(@Param("classes") Collection<String> classes, @Param("semester") String semester);
+
+    /**
+     * As {@link #getClassReportRows}, for every semester. A separate query because PostgreSQL cannot
+     * type a {@code :semester IS NULL} test on a null parameter.
+     */
+    @Query("SELECT new com.nam.payload.response.ClassReportRow(s.id, s.studentId, s.firstName, s.lastName, s.studentClass," +
+            " sp.semester, sp.year, c.code, c.credits, sub.pointAverage)" +
+            " FROM Student s" +
+            " LEFT JOIN s.studentPoints sp" +
+            " LEFT JOIN sp.subjects sub" +
+            " LEFT JOIN sub.course c" +
+            " WHERE s.studentClass IN :classes" +
+            " ORDER BY s.studentClass, s.id, sp.semester")
+    public List<ClassReportRow> getClassReportRowsAllSemesters(@Param("classes") Collection<String> classes);
+
 }
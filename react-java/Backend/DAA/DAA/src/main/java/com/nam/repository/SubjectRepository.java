@@ -2,6 +2,33 @@ package com.nam.repository;
 
 import com.nam.model.Subject;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface SubjectRepository extends JpaRepository<Subject, Long> {
+
+    @Query("SELECT MIN(s.id) FROM Subject s WHERE s.course.code = :subjectId AND s.studentPoint.year = :year")
+    public Long findMinIdBySubjectIdAndYear(@Param("subjectId") String subjectId, @Param("year") String year);
+
+    @Query("SELECT MAX(s.id) FROM Subject s WHERE s.course.code = :subjectId AND s.studentPoint.year = :year")
+    public Long findMaxIdBySubjectIdAndYear(@Param("subjectId") String subjectId, @Param("year") String year);
+
+    /**
+     * Set-based recompute of one id range; runs in its own short transaction so only the rows
+     * of the chunk are locked while it executes. Bumps the version like an entity update would, so a
+     * grade upsert that loaded a row before the recompute fails its optimistic check and retries
+     * instead of overwriting the new average.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Subject s SET s.pointAverage = s.point1 * :w1 + s.point2 * :w2 + s.point3 * :w3 + s.point4 * :w4," +
+            " s.version = COALESCE(s.version, 0) + 1" +
+            " WHERE s.id BETWEEN :fromId AND :toId AND s.course.id = :courseId" +
+            " AND s.studentPoint.id IN (SELECT sp.id FROM StudentPoint sp WHERE sp.year = :year AND sp.closed = false)")
+    public int updatePointAverageInRange(@Param("courseId") Long courseId, @Param("year") String year,
+                                         @Param("fromId") Long fromId, @Param("toId") Long toId,
+                                         @Param("w1") double w1, @Param("w2") double w2,
+                                         @Param("w3") double w3, @Param("w4") double w4);
 }
@@ -0,0 +1,17 @@
+package com.nam.repository;
+
+import com.nam.model.ETuitionPaymentType;
+import com.nam.model.TuitionPayment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface TuitionPaymentRepository extends JpaRepository<TuitionPayment, Long> {
+    Optional<TuitionPayment> findByGatewayReferenceAndType(String gatewayReference, ETuitionPaymentType type);
+
+    @Query("SELECT p FROM TuitionPayment p WHERE p.tuition.id = :tuitionId ORDER BY p.id")
+    List<TuitionPayment> findLedger(@Param("tuitionId") Long tuitionId);
+}
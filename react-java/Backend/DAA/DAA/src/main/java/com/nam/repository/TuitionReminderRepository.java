@@ -0,0 +1,42 @@
+package com.nam.repository;
+
+import com.nam.model.EReminderStatus;
+import com.nam.model.TuitionReminder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface TuitionReminderRepository extends JpaRepository<TuitionReminder, Long> {
+    List<TuitionReminder> findByTuitionId(Long tuitionId);
+
+    @Modifying
+    @Query("UPDATE TuitionReminder r SET r.status = :status, r.sentAt = :sentAt WHERE r.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("status") EReminderStatus status, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE TuitionReminder r SET r.status = :status, r.lastError = :error WHERE r.id = :id")
+    int markFailed(@Param("id") Long id, @Param("status") EReminderStatus status, @Param("error") String error);
+
+    /**
+     * Claims a FAILED reminder for another attempt; returns 0 when another campaign got there first.
+     */
+    @Modifying
+    @Query("UPDATE TuitionReminder r SET r.status = :sending, r.attempts = r.attempts + 1, r.claimedAt = :now, r.email = :email" +
+            " WHERE r.id = :id AND r.status = :failed")
+    int reclaim(@Param("id") Long id, @Param("email") String email, @Param("now") LocalDateTime now,
+                @Param("sending") EReminderStatus sending, @Param("failed") EReminderStatus failed);
+
+    /**
+     * Marks reminders left in SENDING by a crashed campaign as FAILED, so they are retried while attempts remain.
+     */
+    @Modifying
+    @Query("UPDATE TuitionReminder r SET r.status = :failed, r.lastError = :error" +
+            " WHERE r.status = :sending AND COALESCE(r.claimedAt, r.createdAt) < :before")
+    int releaseStale(@Param("before") LocalDateTime before, @Param("error") String error,
+                     @Param("sending") EReminderStatus sending, @Param("failed") EReminderStatus failed);
+}
@@ -1,7 +1,106 @@
 package com.nam.repository;
 
+import com.nam.model.EPaymentStatus;
+import com.nam.model.EReminderStatus;
 import com.nam.model.Tuition;
+import com.nam.payload.response.TuitionBillingRow;
+import com.nam.payload.response.TuitionLinkRow;
+import com.nam.payload.response.TuitionReminderRow;
+import com.nam.payload.response.TuitionSummaryRow;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 public interface TuitionRepository extends JpaRepository<Tuition, Long> {
+
+    /**
+     * Next keyset page of students registered in the semester who have no tuition yet, with their
+     * registered credits summed in the database. Already billed students are skipped, so a billing
+     * run can be repeated or resumed after a failure.
+     */
+    @Query("SELECT new com.nam.payload.response.TuitionBillingRow(st.id, st.studentClass, SUM(c.credits))" +
+            " FROM StudentPoint sp" +
+            " JOIN sp.student st" +
+            " JOIN sp.subjects sub" +
+            " JOIN sub.course c" +
+            " WHERE sp.year = :year AND sp.semester = :semester AND st.id > :afterId" +
+            " AND NOT EXISTS (SELECT t.id FROM Tuition t WHERE t.student = st AND t.year = :year AND t.semester = :semester)" +
+            " GROUP BY st.id, st.studentClass" +
+            " ORDER BY st.id")
+    List<TuitionBillingRow> findUnbilledCredits(@Param("year") String year, @Param("semester") String semester,
+                                                @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Next keyset page of unpaid tuitions that have a gateway payment link to compare against.
+     */
+    @Query("SELECT new com.nam.payload.response.TuitionLinkRow(t.id, t.paymentLinkId)" +
+            " FROM Tuition t" +
+            " WHERE t.id > :afterId AND t.paymentLinkId IS NOT NULL" +
+            " AND (t.paymentStatus IS NULL OR t.paymentStatus <> :paid)" +
+            " ORDER BY t.id")
+    List<TuitionLinkRow> findUnpaidWithPaymentLink(@Param("afterId") Long afterId, @Param("paid") EPaymentStatus paid, Pageable pageable);
+
+    /**
+     * Next keyset page of tuitions still owing money whose due date falls in the window and that
+     * have no reminder for that due date yet, or only a FAILED one with attempts left.
+     */
+    @Query("SELECT new com.nam.payload.response.TuitionReminderRow(t.id, st.email, st.firstName, st.lastName," +
+            " t.year, t.semester, t.balance, t.dueDate, r.id)" +
+            " FROM Tuition t" +
+            " JOIN t.student st" +
+            " LEFT JOIN TuitionReminder r ON r.tuition = t AND r.dueDate = t.dueDate" +
+            " WHERE t.id > :afterId AND t.dueDate BETWEEN :from AND :to" +
+            " AND (t.paymentStatus IS NULL OR t.paymentStatus <> :paid)" +
+            " AND st.email IS NOT NULL" +
+            " AND (r.id IS NULL OR (r.status = :failed AND r.attempts < :maxAttempts))" +
+            " ORDER BY t.id")
+    List<TuitionReminderRow> findReminderCandidates(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                    @Param("paid") EPaymentStatus paid, @Param("failed") EReminderStatus failed,
+                                                    @Param("maxAttempts") int maxAttempts, @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+
+    /**
+     * Recomputes the summary of every (year, semester, class) from the tuitions themselves.
+     * Only used to repair {@link com.nam.model.TuitionSummary} rows.
+     */
+    @Query("SELECT new com.nam.payload.response.TuitionSummaryRow(t.year, t.semester, COALESCE(st.studentClass, ''), COUNT(t)," +
+            " SUM(CASE WHEN t.paymentStatus = :unpaid OR t.paymentStatus IS NULL THEN 1L ELSE 0L END)," +
+            " SUM(CASE WHEN t.paymentStatus = :partial THEN 1L ELSE 0L END)," +
+            " SUM(CASE WHEN t.paymentStatus = :paid THEN 1L ELSE 0L END)," +
+            " SUM(t.totalPay), SUM(t.amountPaid))" +
+            " FROM Tuition t" +
+            " JOIN t.student st" +
+            " GROUP BY t.year, t.semester, COALESCE(st.studentClass, '')")
+    List<TuitionSummaryRow> summarize(@Param("unpaid") EPaymentStatus unpaid, @Param("partial") EPaymentStatus partial,
+                                      @Param("paid") EPaymentStatus paid);
+
+    /**
+     * Locks the tuition row so ledger entries for one tuition are appended one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Tuition t WHERE t.id = :id")
+    Optional<Tuition> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * When the last payment landed, or null; a payment link created before it asks for a stale amount.
+     */
+    @Query("SELECT t.payAt FROM Tuition t WHERE t.id = :id")
+    LocalDateTime findPayAt(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Tuition t SET t.paymentLinkId = :linkId, t.paymentLinkUrl = :url, t.paymentLinkExpiresAt = :expiresAt" +
+            " WHERE t.id = :id")
+    int updatePaymentLink(@Param("id") Long id, @Param("linkId") String linkId, @Param("url") String url,
+                          @Param("expiresAt") LocalDateTime expiresAt);
 }
@@ -0,0 +1,36 @@
+package com.nam.repository;
+
+import com.nam.model.TuitionSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface TuitionSummaryRepository extends JpaRepository<TuitionSummary, Long> {
+    Optional<TuitionSummary> findByYearAndSemesterAndStudentClass(String year, String semester, String studentClass);
+
+    List<TuitionSummary> findByYearAndSemesterOrderByStudentClass(String year, String semester);
+
+    List<TuitionSummary> findByYearOrderBySemesterAscStudentClassAsc(String year);
+
+    boolean existsByYearAndSemesterAndStudentClass(String year, String semester, String studentClass);
+
+    /**
+     * Adds the deltas to the summary row in a single statement, so concurrent writers never lose
+     * each other's increments.
+     */
+    @Modifying
+    @Query("UPDATE TuitionSummary s SET s.tuitionCount = s.tuitionCount + :tuitions," +
+            " s.unpaidCount = s.unpaidCount + :unpaid, s.partialCount = s.partialCount + :partial, s.paidCount = s.paidCount + :paid," +
+            " s.totalBilled = s.totalBilled + :billed, s.totalPaid = s.totalPaid + :collected," +
+            " s.outstanding = s.outstanding + :billed - :collected, s.updatedAt = :now" +
+            " WHERE s.year = :year AND s.semester = :semester AND s.studentClass = :studentClass")
+    int addDelta(@Param("year") String year, @Param("semester") String semester, @Param("studentClass") String studentClass,
+                 @Param("tuitions") long tuitions, @Param("unpaid") long unpaid, @Param("partial") long partial,
+                 @Param("paid") long paid, @Param("billed") double billed, @Param("collected") double collected,
+                 @Param("now") LocalDateTime now);
+}
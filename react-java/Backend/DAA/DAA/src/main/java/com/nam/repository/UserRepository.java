@@ -1,11 +1,24 @@
 package com.nam.repository;
 
+import com.nam.model.ERole;
 import com.nam.model.User;
+import com.nam.payload.response.BroadcastRecipientRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
 public interface UserRepository extends JpaRepository<User, Long> {
     public Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+
+    @Query("SELECT DISTINCT u.id FROM User u JOIN u.roles r WHERE r.name IN :roles")
+    public List<Long> findIdsByRoles(@Param("roles") Collection<ERole> roles);
+
+    @Query("SELECT new com.nam.payload.response.BroadcastRecipientRow(u.id, u.email) FROM User u" +
+            " WHERE u.id IN :ids ORDER BY u.id")
+    public List<BroadcastRecipientRow> findRecipientsByIds(@Param("ids") Collection<Long> ids);
+}
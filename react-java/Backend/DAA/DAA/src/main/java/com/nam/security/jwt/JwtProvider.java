@@ -1,34 +1,51 @@
 package com.nam.security.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JwtProvider {
+    static final String METRIC_NAME = "security.jwt";
+
+    // Tickets are only good for opening the live stream: they travel in the URL and end up in access logs.
+    static final String SCOPE_CLAIM = "scope";
+    static final String LIVE_SCOPE = "live";
+    public static final long LIVE_TICKET_VALIDITY_MS = 60000;
+
     SecretKey key = Keys.hmacShaKeyFor(JwtConstant.SECRET_KEY.getBytes());
 
-    public String generateToken(Authentication auth) {
-        String jwt = Jwts.builder()
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(new Date().getTime() + 3600000))
-                .claim("email", auth.getName())
-                .signWith(key).compact();
+    private final Timer generateTimer;
+    private final Timer parseTimer;
+    private final Timer parseRejectedTimer;
 
-        return jwt;
+    public JwtProvider(MeterRegistry meterRegistry) {
+        this.generateTimer = timer(meterRegistry, "generate", "success");
+        this.parseTimer = timer(meterRegistry, "parse", "success");
+        this.parseRejectedTimer = timer(meterRegistry, "parse", "rejected");
+    }
+
+    public String generateToken(Authentication auth) {
+        return generateTokenByEmail(auth.getName());
     }
 
     public String generateTokenByEmail(String email) {
+        long started = System.nanoTime();
         String jwt = Jwts.builder()
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(new Date().getTime() + 3600000))
                 .claim("email", email)
                 .signWith(key).compact();
+        record(generateTimer, started);
 
         return jwt;
     }
@@ -36,10 +53,66 @@ public class JwtProvider {
     public String getEmailFromToken(String jwt) {
         jwt = jwt.substring(7);
 
-        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody();
+        long started = System.nanoTime();
+        Claims claims;
+        try {
+            claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody();
+            if (claims.get(SCOPE_CLAIM) != null) {
+                throw new JwtException("Scoped tokens are not access tokens");
+            }
+        } catch (RuntimeException e) {
+            record(parseRejectedTimer, started);
+            throw e;
+        }
+        record(parseTimer, started);
 
         String email = String.valueOf(claims.get("email"));
 
         return email;
     }
+
+    public String generateLiveTicket(String email) {
+        long started = System.nanoTime();
+        String ticket = Jwts.builder()
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(new Date().getTime() + LIVE_TICKET_VALIDITY_MS))
+                .claim("email", email)
+                .claim(SCOPE_CLAIM, LIVE_SCOPE)
+                .signWith(key).compact();
+        record(generateTimer, started);
+
+        return ticket;
+    }
+
+    public String getEmailFromLiveTicket(String ticket) {
+        long started = System.nanoTime();
+        Claims claims;
+        try {
+            claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(ticket).getBody();
+            if (!LIVE_SCOPE.equals(claims.get(SCOPE_CLAIM))) {
+                throw new JwtException("Not a live ticket");
+            }
+        } catch (RuntimeException e) {
+            record(parseRejectedTimer, started);
+            throw e;
+        }
+        record(parseTimer, started);
+
+        return String.valueOf(claims.get("email"));
+    }
+
+    /**
+     * Latency of signing and verifying tokens in {@code security.jwt}, tagged by operation and
+     * outcome; shared with {@link JwtValidator}, which verifies the token of every request.
+     */
+    static Timer timer(MeterRegistry meterRegistry, String operation, String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    static void record(Timer timer, long startedNanos) {
+        timer.record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
 }
@@ -2,8 +2,11 @@ package com.nam.security.jwt;
 
 import com.nam.security.services.UserDetailsServiceImpl;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,6 +27,13 @@ public class JwtValidator extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailService;
 
+    private final Timer validateTimer;
+    private final Timer validateRejectedTimer;
+
+    public JwtValidator(MeterRegistry meterRegistry) {
+        this.validateTimer = JwtProvider.timer(meterRegistry, "validate", "success");
+        this.validateRejectedTimer = JwtProvider.timer(meterRegistry, "validate", "rejected");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -31,9 +41,20 @@ public class JwtValidator extends OncePerRequestFilter {
 
         if (jwt != null) {
             jwt = jwt.substring(7);
+            long started = System.nanoTime();
             try {
-                SecretKey key = Keys.hmacShaKeyFor(JwtConstant.SECRET_KEY.getBytes());
-                Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody();
+                Claims claims;
+                try {
+                    SecretKey key = Keys.hmacShaKeyFor(JwtConstant.SECRET_KEY.getBytes());
+                    claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody();
+                    if (claims.get(JwtProvider.SCOPE_CLAIM) != null) {
+                        throw new JwtException("Scoped tokens are not access tokens");
+                    }
+                } catch (RuntimeException e) {
+                    JwtProvider.record(validateRejectedTimer, started);
+                    throw e;
+                }
+                JwtProvider.record(validateTimer, started);
 
                 String email = String.valueOf(claims.get("email"));
 
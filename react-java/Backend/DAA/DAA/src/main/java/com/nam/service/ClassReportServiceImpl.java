@@ -0,0 +1,248 @@
+package com.nam.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nam.payload.response.ClassReport;
+import com.nam.payload.response.ClassReportRow;
+import com.nam.payload.response.JobProgress;
+import com.nam.repository.StudentRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Term-end class reports. Classes are split into partitions on a dedicated fork-join pool (never
+ * the common pool or Tomcat's); each partition is loaded with a single set-based query and its
+ * reports are written to {@code report.output-dir/<jobId>/<class>.csv|json}.
+ */
+@Service
+public class ClassReportServiceImpl implements ClassReportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassReportServiceImpl.class);
+
+    private final StudentRepository studentRepository;
+    private final JobRegistry jobRegistry;
+    private final ObjectMapper objectMapper;
+    private final ForkJoinPool reportPool;
+
+    @Value("${report.output-dir:reports}")
+    private String outputDir = "reports";
+
+    @Value("${report.classes-per-partition:4}")
+    private int classesPerPartition = 4;
+
+    @Value("${report.pass-mark:4.0}")
+    private double passMark = 4.0;
+
+    public ClassReportServiceImpl(StudentRepository studentRepository, JobRegistry jobRegistry, ObjectMapper objectMapper,
+                                  @Value("${report.parallelism:2}") int parallelism) {
+        this.studentRepository = studentRepository;
+        this.jobRegistry = jobRegistry;
+        this.objectMapper = objectMapper;
+        this.reportPool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reportPool.shutdown();
+    }
+
+    @Override
+    public JobProgress generateClassReports(String semester) {
+        JobProgress progress = jobRegistry.start("class-report " + (semester == null ? "all" : semester));
+        Path jobDir = Paths.get(outputDir, progress.getJobId());
+
+        long start = System.currentTimeMillis();
+        List<String> classes = studentRepository.findAllStudentClasses();
+        progress.addTiming("listClasses", System.currentTimeMillis() - start);
+        progress.addSteps((classes.size() + classesPerPartition - 1) / classesPerPartition);
+
+        reportPool.execute(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                try {
+                    Files.createDirectories(jobDir);
+                    invokeAll(new PartitionTask(classes, semester, jobDir, progress));
+                    progress.complete();
+                    logger.info("Class report {} finished: {} students in {} ms",
+                            progress.getJobId(), progress.getProcessedItems(), progress.getElapsedMillis());
+                } catch (IOException | RuntimeException e) {
+                    logger.error("Class report {} failed", progress.getJobId(), e);
+                    progress.fail(e);
+                }
+            }
+        });
+        return progress;
+    }
+
+    private class PartitionTask extends RecursiveAction {
+        private final List<String> classes;
+        private final String semester;
+        private final Path jobDir;
+        private final JobProgress progress;
+
+        PartitionTask(List<String> classes, String semester, Path jobDir, JobProgress progress) {
+            this.classes = classes;
+            this.semester = semester;
+            this.jobDir = jobDir;
+            this.progress = progress;
+        }
+
+        @Override
+        protected void compute() {
+            if (classes.size() > classesPerPartition) {
+                // Split on partition boundaries so the step count matches what was announced.
+                int partitions = (classes.size() + classesPerPartition - 1) / classesPerPartition;
+                int mid = (partitions / 2) * classesPerPartition;
+                invokeAll(new PartitionTask(classes.subList(0, mid), semester, jobDir, progress),
+                        new PartitionTask(classes.subList(mid, classes.size()), semester, jobDir, progress));
+                return;
+            }
+
+            long start = System.currentTimeMillis();
+            List<ClassReportRow> rows = semester == null
+                    ? studentRepository.getClassReportRowsAllSemesters(classes)
+                    : studentRepository.getClassReportRows(classes, semester);
+            progress.addTiming("query", System.currentTimeMillis() - start);
+
+            start = System.currentTimeMillis();
+            Map<String, List<ClassReportRow>> rowsByClass = new LinkedHashMap<>();
+            for (ClassReportRow row : rows) {
+                rowsByClass.computeIfAbsent(row.getStudentClass(), k -> new ArrayList<>()).add(row);
+            }
+            int students = 0;
+            for (Map.Entry<String, List<ClassReportRow>> entry : rowsByClass.entrySet()) {
+                ClassReport report = buildReport(entry.getKey(), semester, entry.getValue(), passMark);
+                writeReport(report, jobDir);
+                students += report.getStudents().size();
+            }
+            progress.addTiming("write", System.currentTimeMillis() - start);
+            progress.stepDone(students);
+        }
+    }
+
+    /**
+     * Folds rows (ordered by student, then semester) into per-student semester summaries and
+     * class statistics. Semester averages are weighted by course credits.
+     */
+    static ClassReport buildReport(String studentClass, String semester, List<ClassReportRow> rows, double passMark) {
+        Map<Long, ClassReport.StudentSummary> students = new LinkedHashMap<>();
+        Map<String, double[]> weightedSums = new LinkedHashMap<>();
+
+        for (ClassReportRow row : rows) {
+            ClassReport.StudentSummary student = students.computeIfAbsent(row.getId(), id -> {
+                ClassReport.StudentSummary summary = new ClassReport.StudentSummary();
+                summary.setStudentId(row.getStudentId());
+                summary.setFirstName(row.getFirstName());
+                summary.setLastName(row.getLastName());
+                return summary;
+            });
+            if (row.getSemester() == null || row.getPointAverage() == null) {
+                continue;
+            }
+
+            List<ClassReport.SemesterSummary> semesters = student.getSemesters();
+            ClassReport.SemesterSummary current = semesters.isEmpty() ? null : semesters.get(semesters.size() - 1);
+            if (current == null || !current.getSemester().equals(row.getSemester())) {
+                current = new ClassReport.SemesterSummary();
+                current.setSemester(row.getSemester());
+                current.setYear(row.getYear());
+                semesters.add(current);
+            }
+
+            int credits = row.getCredits() == null ? 0 : row.getCredits();
+            current.setTotalCredits(current.getTotalCredits() + credits);
+            if (row.getPointAverage() >= passMark) {
+                current.setEarnedCredits(current.getEarnedCredits() + credits);
+            } else {
+                current.getFailingSubjects().add(row.getSubjectId());
+            }
+
+            // [sum(point * credits), sum(credits), sum(point), count]
+            double[] sums = weightedSums.computeIfAbsent(row.getId() + "|" + row.getSemester(), k -> new double[4]);
+            sums[0] += row.getPointAverage() * credits;
+            sums[1] += credits;
+            sums[2] += row.getPointAverage();
+            sums[3] += 1;
+            current.setAverage(sums[1] > 0 ? sums[0] / sums[1] : sums[2] / sums[3]);
+        }
+
+        ClassReport.Statistics statistics = new ClassReport.Statistics();
+        statistics.setStudentCount(students.size());
+        statistics.setMinAverage(Double.NaN);
+        statistics.setMaxAverage(Double.NaN);
+        double total = 0;
+        int graded = 0;
+        for (ClassReport.StudentSummary student : students.values()) {
+            boolean failing = false;
+            if (!student.getSemesters().isEmpty()) {
+                statistics.setGradedStudentCount(statistics.getGradedStudentCount() + 1);
+            }
+            // Without a semester filter this averages every graded semester of every student.
+            for (ClassReport.SemesterSummary summary : student.getSemesters()) {
+                total += summary.getAverage();
+                graded++;
+                statistics.setMinAverage(Double.isNaN(statistics.getMinAverage()) ? summary.getAverage() : Math.min(statistics.getMinAverage(), summary.getAverage()));
+                statistics.setMaxAverage(Double.isNaN(statistics.getMaxAverage()) ? summary.getAverage() : Math.max(statistics.getMaxAverage(), summary.getAverage()));
+                failing |= !summary.getFailingSubjects().isEmpty();
+            }
+            if (failing) {
+                statistics.setStudentsWithFailingSubjects(statistics.getStudentsWithFailingSubjects() + 1);
+            }
+        }
+        statistics.setClassAverage(graded > 0 ? total / graded : Double.NaN);
+
+        return new ClassReport(studentClass, semester, new ArrayList<>(students.values()), statistics);
+    }
+
+    private void writeReport(ClassReport report, Path jobDir) {
+        String fileName = report.getStudentClass().replaceAll("[^\\p{Alnum}._-]", "_");
+        try {
+            objectMapper.writeValue(jobDir.resolve(fileName + ".json").toFile(), report);
+
+            try (BufferedWriter writer = Files.newBufferedWriter(jobDir.resolve(fileName + ".csv"), StandardCharsets.UTF_8)) {
+                writer.write("studentId,firstName,lastName,semester,year,average,totalCredits,earnedCredits,failingSubjects");
+                writer.newLine();
+                for (ClassReport.StudentSummary student : report.getStudents()) {
+                    for (ClassReport.SemesterSummary summary : student.getSemesters()) {
+                        writer.write(String.join(",",
+                                csv(student.getStudentId()), csv(student.getFirstName()), csv(student.getLastName()),
+                                csv(summary.getSemester()), csv(summary.getYear()),
+                                String.format(Locale.ROOT, "%.2f", summary.getAverage()),
+                                String.valueOf(summary.getTotalCredits()), String.valueOf(summary.getEarnedCredits()),
+                                csv(String.join(" ", summary.getFailingSubjects()))));
+                        writer.newLine();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,15 @@
+package com.nam.service;
+
+import com.nam.model.Course;
+
+import java.util.List;
+
+public interface CourseService {
+    public Course findByCode(String code);
+
+    public Course resolve(String code, String name, int credits);
+
+    public Course saveCourse(Course course);
+
+    public List<Course> getAllCourses();
+}
@@ -0,0 +1,122 @@
+package com.nam.service;
+
+import com.nam.exception.UnknownCourseException;
+import com.nam.model.Course;
+import com.nam.repository.CourseRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Course catalog with an in-memory, read-through cache keyed by course code. The cache holds plain
+ * values, not entities, and hands every caller its own {@link Course}, so no instance is shared
+ * between sessions. Only committed courses are ever cached, so a rolled-back grade entry cannot
+ * leave a dangling reference behind.
+ */
+@Service
+public class CourseServiceImpl implements CourseService {
+
+    private final CourseRepository courseRepository;
+
+    private final Map<String, CachedCourse> courses = new ConcurrentHashMap<>();
+
+    public CourseServiceImpl(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (Course course : courseRepository.findAll()) {
+            courses.put(course.getCode(), CachedCourse.of(course));
+        }
+    }
+
+    @Override
+    public Course findByCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        CachedCourse cached = courses.get(code);
+        if (cached != null) {
+            return cached.toCourse();
+        }
+        Course course = courseRepository.findByCode(code).orElse(null);
+        if (course != null) {
+            cacheAfterCommit(course);
+        }
+        return course;
+    }
+
+    /**
+     * Looks the course up by code, registering it in the caller's transaction when the caller
+     * supplies a name for a code the catalog does not know yet. A racing registration of the same
+     * code fails on the unique constraint with a DataIntegrityViolationException; the grade upsert
+     * retries on it and then finds the course the other writer committed.
+     */
+    @Override
+    public Course resolve(String code, String name, int credits) {
+        Course course = findByCode(code);
+        if (course != null) {
+            return course;
+        }
+        if (code == null || name == null) {
+            throw new UnknownCourseException(code);
+        }
+
+        Course newCourse = courseRepository.saveAndFlush(Course.builder().code(code).name(name).credits(credits).build());
+        cacheAfterCommit(newCourse);
+        return newCourse;
+    }
+
+    @Override
+    @Transactional
+    public Course saveCourse(Course course) {
+        Course existCourse = courseRepository.findByCode(course.getCode())
+                .orElseGet(() -> Course.builder().code(course.getCode()).build());
+        existCourse.setName(course.getName());
+        existCourse.setCredits(course.getCredits());
+
+        Course saveCourse = courseRepository.save(existCourse);
+        cacheAfterCommit(saveCourse);
+        return saveCourse;
+    }
+
+    @Override
+    public List<Course> getAllCourses() {
+        return courseRepository.findAll(Sort.by("code"));
+    }
+
+    private void cacheAfterCommit(Course course) {
+        CachedCourse cached = CachedCourse.of(course);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            courses.put(cached.code(), cached);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                courses.put(cached.code(), cached);
+            }
+        });
+    }
+
+    private record CachedCourse(Long id, String code, String name, int credits) {
+
+        static CachedCourse of(Course course) {
+            return new CachedCourse(course.getId(), course.getCode(), course.getName(), course.getCredits());
+        }
+
+        // Detached but with its id, which is all a Subject's foreign key needs.
+        Course toCourse() {
+            return Course.builder().id(id).code(code).name(name).credits(credits).build();
+        }
+    }
+}
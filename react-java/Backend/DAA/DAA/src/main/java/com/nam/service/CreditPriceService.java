@@ -0,0 +1,10 @@
+package com.nam.service;
+
+import com.nam.exception.TuitionException;
+import com.nam.model.CreditPrice;
+
+public interface CreditPriceService {
+    public CreditPrice getCreditPrice(String year) throws TuitionException;
+
+    public CreditPrice saveCreditPrice(String year, CreditPrice creditPrice) throws TuitionException;
+}
@@ -0,0 +1,46 @@
+package com.nam.service;
+
+import com.nam.exception.TuitionException;
+import com.nam.model.CreditPrice;
+import com.nam.repository.CreditPriceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+public class CreditPriceServiceImpl implements CreditPriceService {
+
+    private final CreditPriceRepository creditPriceRepository;
+
+    // Read-through cache keyed by academic year; unknown years are not cached.
+    private final Map<String, CreditPrice> prices = new ConcurrentHashMap<>();
+
+    @Override
+    public CreditPrice getCreditPrice(String year) throws TuitionException {
+        CreditPrice creditPrice = prices.computeIfAbsent(year, k -> creditPriceRepository.findByYear(k).orElse(null));
+        if (creditPrice == null) {
+            throw new TuitionException("No credit price configured for year " + year);
+        }
+        return creditPrice;
+    }
+
+    @Override
+    public CreditPrice saveCreditPrice(String year, CreditPrice creditPrice) throws TuitionException {
+        if (creditPrice.getPricePerCredit() < 0) {
+            throw new TuitionException("Credit price must not be negative");
+        }
+
+        CreditPrice savePrice = creditPriceRepository.findByYear(year)
+                .orElseGet(() -> CreditPrice.builder().year(year).build());
+        savePrice.setPricePerCredit(creditPrice.getPricePerCredit());
+        savePrice.setUpdatedAt(LocalDateTime.now());
+
+        savePrice = creditPriceRepository.save(savePrice);
+        prices.put(year, savePrice);
+        return savePrice;
+    }
+}
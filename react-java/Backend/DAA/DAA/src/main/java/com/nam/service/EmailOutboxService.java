@@ -0,0 +1,15 @@
+package com.nam.service;
+
+import com.nam.model.EmailOutbox;
+
+public interface EmailOutboxService {
+    /**
+     * Queues a plain-text mail in the caller's transaction; nothing is sent unless it commits.
+     */
+    public EmailOutbox enqueue(String to, String subject, String text);
+
+    /**
+     * Sends the messages that are due and returns how many were attempted.
+     */
+    public int drain();
+}
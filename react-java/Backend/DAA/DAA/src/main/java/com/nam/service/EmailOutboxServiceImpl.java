@@ -0,0 +1,209 @@
+package com.nam.service;
+
+import com.nam.model.EOutboxStatus;
+import com.nam.model.EmailOutbox;
+import com.nam.repository.EmailOutboxRepository;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Transactional email outbox. Callers only insert a row, so a request never waits on SMTP and an
+ * outage never loses a mail. The worker claims due rows, sends them in chunks of
+ * {@code email.outbox.messages-per-connection} over one SMTP connection each on the bounded
+ * {@code emailOutboxExecutor} within the global {@code mailRateLimiter}, and reschedules failures
+ * with exponential backoff. A row still {@code SENDING} after {@code email.outbox.stuck-after-seconds}
+ * counts as a failed attempt, and a row that used up {@code email.outbox.max-attempts} is parked
+ * as {@code DEAD}.
+ */
+@Service
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxServiceImpl.class);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender javaMailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor emailOutboxExecutor;
+    private final RateLimiter mailRateLimiter;
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    @Value("${email.outbox.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${email.outbox.messages-per-connection:50}")
+    private int messagesPerConnection = 50;
+
+    @Value("${email.outbox.max-attempts:8}")
+    private int maxAttempts = 8;
+
+    @Value("${email.outbox.backoff-ms:30000}")
+    private long backoffMs = 30_000;
+
+    @Value("${email.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs = 3_600_000;
+
+    @Value("${email.outbox.stuck-after-seconds:600}")
+    private long stuckAfterSeconds = 600;
+
+    @Value("${email.outbox.from:no-reply@daa.edu.vn}")
+    private String from = "no-reply@daa.edu.vn";
+
+    public EmailOutboxServiceImpl(EmailOutboxRepository emailOutboxRepository, JavaMailSender javaMailSender,
+                                  PlatformTransactionManager transactionManager,
+                                  @Qualifier("emailOutboxExecutor") ThreadPoolTaskExecutor emailOutboxExecutor,
+                                  RateLimiter mailRateLimiter) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.javaMailSender = javaMailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.emailOutboxExecutor = emailOutboxExecutor;
+        this.mailRateLimiter = mailRateLimiter;
+    }
+
+    @Override
+    @Transactional
+    public EmailOutbox enqueue(String to, String subject, String text) {
+        LocalDateTime now = LocalDateTime.now();
+        return emailOutboxRepository.save(EmailOutbox.builder()
+                .recipient(EmailServiceImpl.cleanEmail(to))
+                .subject(subject)
+                .body(text)
+                .status(EOutboxStatus.PENDING)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-ms:1000}")
+    public void poll() {
+        drain();
+    }
+
+    @Override
+    public int drain() {
+        drainLock.lock();
+        try {
+            return drainQueue();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private int drainQueue() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Long id : emailOutboxRepository.findStuckIds(EOutboxStatus.SENDING, now.minusSeconds(stuckAfterSeconds),
+                PageRequest.of(0, batchSize))) {
+            failed(id, "Send did not finish within " + stuckAfterSeconds + "s");
+        }
+
+        int attempted = 0;
+        while (true) {
+            List<Long> due = emailOutboxRepository.findDueIds(EOutboxStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, batchSize));
+            List<Long> claimed = new ArrayList<>(due.size());
+            for (Long id : due) {
+                if (emailOutboxRepository.claim(id, LocalDateTime.now(), EOutboxStatus.PENDING, EOutboxStatus.SENDING) == 1) {
+                    claimed.add(id);
+                }
+            }
+            if (!claimed.isEmpty()) {
+                send(emailOutboxRepository.findAllById(claimed));
+                attempted += claimed.size();
+            }
+            // A short page means the queue is drained; new rows wait for the next poll.
+            if (due.size() < batchSize) {
+                return attempted;
+            }
+        }
+    }
+
+    private void send(List<EmailOutbox> messages) {
+        List<CompletableFuture<Map<Long, String>>> chunks = new ArrayList<>();
+        for (int from = 0; from < messages.size(); from += messagesPerConnection) {
+            List<EmailOutbox> chunk = messages.subList(from, Math.min(from + messagesPerConnection, messages.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> sendChunk(chunk), emailOutboxExecutor));
+        }
+        Map<Long, String> failed = new HashMap<>();
+        chunks.forEach(chunk -> failed.putAll(chunk.join()));
+
+        List<Long> sent = messages.stream().map(EmailOutbox::getId).filter(id -> !failed.containsKey(id)).toList();
+        if (!sent.isEmpty()) {
+            emailOutboxRepository.markSent(sent, LocalDateTime.now(), EOutboxStatus.SENDING, EOutboxStatus.SENT);
+        }
+        failed.forEach(this::failed);
+    }
+
+    /**
+     * Sends one chunk over a single SMTP connection and returns the messages that failed, with the reason.
+     */
+    private Map<Long, String> sendChunk(List<EmailOutbox> chunk) {
+        Map<SimpleMailMessage, Long> messages = new IdentityHashMap<>();
+        for (EmailOutbox outbox : chunk) {
+            mailRateLimiter.acquirePermission();
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(from);
+            message.setTo(outbox.getRecipient());
+            message.setSubject(outbox.getSubject());
+            message.setText(outbox.getBody());
+            messages.put(message, outbox.getId());
+        }
+
+        Map<Long, String> failed = new HashMap<>();
+        try {
+            javaMailSender.send(messages.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(id -> failed.put(id, LastErrors.truncate(e.getMessage())));
+            }
+            e.getFailedMessages().forEach((message, cause) -> failed.put(messages.get(message), LastErrors.truncate(cause.getMessage())));
+        } catch (MailException e) {
+            messages.values().forEach(id -> failed.put(id, LastErrors.truncate(e.getMessage())));
+        }
+        if (!failed.isEmpty()) {
+            logger.warn("{} of {} outbox emails failed to send", failed.size(), chunk.size());
+        }
+        return failed;
+    }
+
+    private void failed(Long id, String error) {
+        transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.findById(id).ifPresent(outbox -> {
+            outbox.setLastError(error);
+            if (outbox.getAttempts() >= maxAttempts) {
+                outbox.setStatus(EOutboxStatus.DEAD);
+                logger.error("Outbox email {} to {} is dead after {} attempts: {}", id, outbox.getRecipient(), outbox.getAttempts(), error);
+            } else {
+                outbox.setStatus(EOutboxStatus.PENDING);
+                outbox.setNextAttemptAt(LocalDateTime.now().plusNanos(backoffOf(outbox.getAttempts()) * 1_000_000));
+            }
+        }));
+    }
+
+    /**
+     * {@code backoff-ms} after the first attempt, doubling with every further one up to {@code max-backoff-ms}.
+     */
+    long backoffOf(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(backoffMs << doublings, maxBackoffMs);
+    }
+}
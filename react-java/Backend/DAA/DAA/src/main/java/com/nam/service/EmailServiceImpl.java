@@ -2,39 +2,40 @@ package com.nam.service;
 
 import com.nam.model.Email;
 import com.nam.repository.EmailRepository;
+import com.nam.template.MailTemplateRegistry;
+import com.nam.template.RenderedMail;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender javaMailSender;
+    private final EmailOutboxService emailOutboxService;
     private final EmailRepository emailRepository;
+    private final MailTemplateRegistry mailTemplateRegistry;
+
+    private static final Pattern INVALID_EMAIL_CHARS = Pattern.compile("[\\p{Cntrl}\\s]");
 
     public static String cleanEmail(String email) {
         // Loại bỏ các ký tự không hợp lệ từ địa chỉ email
-        return email.replaceAll("[\\p{Cntrl}\\s]", "");
+        return INVALID_EMAIL_CHARS.matcher(email).replaceAll("");
     }
 
+    /**
+     * Stores the registration and queues the thank-you mail in the same transaction; the outbox
+     * worker delivers it.
+     */
     @Override
+    @Transactional
     public void sendEmail(Email registerEmail) {
 
         emailRepository.save(registerEmail);
-        SimpleMailMessage newEmail = new SimpleMailMessage();
-        newEmail.setTo(registerEmail.getRegisterEmail());
-        newEmail.setSubject("Thank you for registering");
-        newEmail.setText("Dear " + registerEmail.getRegisterEmail() + ",\n\n" +
-                "Thank you for registering to the Student Application project" + ".\n\n" +
-                "We will keep you informed about any updates regarding the project student application.\n\n" +
-                "If there are any changes or important information, we will notify you promptly.\n\n" +
-                "Please feel free to contact us if you have any questions or concerns.\n\n" +
-                "Thank you again for your participation!\n\n" +
-                "Best regards,\n" +
-                "Nguyen Hoang Nam");
-
-        javaMailSender.send(newEmail);
+        RenderedMail mail = mailTemplateRegistry.render("registration", Map.of("email", registerEmail.getRegisterEmail()));
+        emailOutboxService.enqueue(registerEmail.getRegisterEmail(), mail.getSubject(), mail.getBody());
     }
 }
@@ -0,0 +1,7 @@
+package com.nam.service;
+
+import com.nam.payload.response.JobProgress;
+
+public interface GradeRecomputeService {
+    public JobProgress recomputeSubjectAverages(String subjectId, String year);
+}
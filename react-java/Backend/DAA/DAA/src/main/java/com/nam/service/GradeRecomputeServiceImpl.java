@@ -0,0 +1,106 @@
+package com.nam.service;
+
+import com.nam.model.Course;
+import com.nam.model.GradeWeightPolicy;
+import com.nam.payload.response.JobProgress;
+import com.nam.repository.SubjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recomputes {@code Subject.pointAverage} after a weighting policy change. The affected id range
+ * is split into fixed-size chunks that are updated in parallel by a bounded pool, one short
+ * bulk UPDATE transaction per chunk, with an optional pause between chunks to leave headroom
+ * for live grade entry.
+ */
+@Service
+public class GradeRecomputeServiceImpl implements GradeRecomputeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradeRecomputeServiceImpl.class);
+
+    private final SubjectRepository subjectRepository;
+    private final GradeWeightingService gradeWeightingService;
+    private final CourseService courseService;
+    private final JobRegistry jobRegistry;
+    private final ThreadPoolTaskExecutor gradeRecomputeExecutor;
+
+    @Value("${grade.recompute.chunk-size:1000}")
+    private long chunkSize = 1000;
+
+    @Value("${grade.recompute.throttle-ms:10}")
+    private long throttleMs = 10;
+
+    public GradeRecomputeServiceImpl(SubjectRepository subjectRepository, GradeWeightingService gradeWeightingService,
+                                     CourseService courseService, JobRegistry jobRegistry,
+                                     @Qualifier("gradeRecomputeExecutor") ThreadPoolTaskExecutor gradeRecomputeExecutor) {
+        this.subjectRepository = subjectRepository;
+        this.gradeWeightingService = gradeWeightingService;
+        this.courseService = courseService;
+        this.jobRegistry = jobRegistry;
+        this.gradeRecomputeExecutor = gradeRecomputeExecutor;
+    }
+
+    @Override
+    public JobProgress recomputeSubjectAverages(String subjectId, String year) {
+        JobProgress progress = jobRegistry.start("grade-recompute " + subjectId + " " + year);
+
+        Course course = courseService.findByCode(subjectId);
+        Long minId = subjectRepository.findMinIdBySubjectIdAndYear(subjectId, year);
+        Long maxId = subjectRepository.findMaxIdBySubjectIdAndYear(subjectId, year);
+        if (course == null || minId == null || maxId == null) {
+            progress.complete();
+            return progress;
+        }
+
+        GradeWeightPolicy policy = gradeWeightingService.getPolicy(subjectId, year);
+        double total = policy.totalWeight();
+        double w1 = policy.getWeight1() / total;
+        double w2 = policy.getWeight2() / total;
+        double w3 = policy.getWeight3() / total;
+        double w4 = policy.getWeight4() / total;
+
+        long chunks = (maxId - minId) / chunkSize + 1;
+        progress.addSteps(chunks);
+        AtomicLong remaining = new AtomicLong(chunks);
+
+        for (long fromId = minId; fromId <= maxId; fromId += chunkSize) {
+            long chunkFrom = fromId;
+            long chunkTo = Math.min(fromId + chunkSize - 1, maxId);
+
+            gradeRecomputeExecutor.execute(() -> {
+                try {
+                    if (!progress.isFinished()) {
+                        int updated = subjectRepository.updatePointAverageInRange(course.getId(), year, chunkFrom, chunkTo, w1, w2, w3, w4);
+                        progress.stepDone(updated);
+                        throttle();
+                    }
+                } catch (RuntimeException e) {
+                    logger.error("Grade recompute {} failed on ids [{}, {}]", progress.getJobId(), chunkFrom, chunkTo, e);
+                    progress.fail(e);
+                } finally {
+                    if (remaining.decrementAndGet() == 0) {
+                        progress.complete();
+                    }
+                }
+            });
+        }
+        return progress;
+    }
+
+    private void throttle() {
+        if (throttleMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(throttleMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.nam.service;
+
+import com.nam.exception.GradeException;
+import com.nam.model.GradeWeightPolicy;
+import com.nam.model.Subject;
+
+public interface GradeWeightingService {
+    public GradeWeightPolicy getPolicy(String subjectId, String year);
+
+    public GradeWeightPolicy savePolicy(String subjectId, String year, GradeWeightPolicy policy) throws GradeException;
+
+    public double computeAverage(Subject subject, String year);
+}
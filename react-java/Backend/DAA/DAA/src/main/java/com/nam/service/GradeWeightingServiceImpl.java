@@ -0,0 +1,70 @@
+package com.nam.service;
+
+import com.nam.exception.GradeException;
+import com.nam.model.GradeWeightPolicy;
+import com.nam.model.Subject;
+import com.nam.repository.GradeWeightPolicyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+public class GradeWeightingServiceImpl implements GradeWeightingService {
+
+    // Equal weights: the historical mean of point1..point4.
+    static final GradeWeightPolicy DEFAULT_POLICY = GradeWeightPolicy.builder()
+            .weight1(1).weight2(1).weight3(1).weight4(1)
+            .build();
+
+    private final GradeWeightPolicyRepository gradeWeightPolicyRepository;
+
+    // Read-through cache; misses are cached as DEFAULT_POLICY so grade entry never re-queries.
+    private final Map<String, GradeWeightPolicy> policies = new ConcurrentHashMap<>();
+
+    @Override
+    public GradeWeightPolicy getPolicy(String subjectId, String year) {
+        if (subjectId == null || year == null) {
+            return DEFAULT_POLICY;
+        }
+        return policies.computeIfAbsent(key(subjectId, year), k ->
+                gradeWeightPolicyRepository.findBySubjectIdAndYear(subjectId, year).orElse(DEFAULT_POLICY));
+    }
+
+    @Override
+    public GradeWeightPolicy savePolicy(String subjectId, String year, GradeWeightPolicy policy) throws GradeException {
+        if (policy.getWeight1() < 0 || policy.getWeight2() < 0 || policy.getWeight3() < 0 || policy.getWeight4() < 0) {
+            throw new GradeException("Grade weights must not be negative");
+        }
+        if (policy.totalWeight() <= 0) {
+            throw new GradeException("At least one grade weight must be positive");
+        }
+
+        GradeWeightPolicy savePolicy = gradeWeightPolicyRepository.findBySubjectIdAndYear(subjectId, year)
+                .orElseGet(() -> GradeWeightPolicy.builder().subjectId(subjectId).year(year).build());
+        savePolicy.setWeight1(policy.getWeight1());
+        savePolicy.setWeight2(policy.getWeight2());
+        savePolicy.setWeight3(policy.getWeight3());
+        savePolicy.setWeight4(policy.getWeight4());
+        savePolicy.setUpdatedAt(LocalDateTime.now());
+
+        savePolicy = gradeWeightPolicyRepository.save(savePolicy);
+        policies.put(key(subjectId, year), savePolicy);
+        return savePolicy;
+    }
+
+    @Override
+    public double computeAverage(Subject subject, String year) {
+        GradeWeightPolicy policy = getPolicy(subject.getSubjectId(), year);
+        return (subject.getPoint1() * policy.getWeight1() + subject.getPoint2() * policy.getWeight2()
+                + subject.getPoint3() * policy.getWeight3() + subject.getPoint4() * policy.getWeight4())
+                / policy.totalWeight();
+    }
+
+    private static String key(String subjectId, String year) {
+        return subjectId + '|' + year;
+    }
+}
@@ -0,0 +1,44 @@
+package com.nam.service;
+
+import com.nam.payload.response.JobProgress;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory registry of background jobs started on this node, so clients can poll their progress.
+ */
+@Component
+public class JobRegistry {
+
+    private static final int MAX_FINISHED_JOBS = 100;
+
+    private final Map<String, JobProgress> jobs = new ConcurrentHashMap<>();
+
+    public JobProgress start(String name) {
+        pruneFinished();
+        JobProgress progress = new JobProgress(UUID.randomUUID().toString(), name);
+        jobs.put(progress.getJobId(), progress);
+        return progress;
+    }
+
+    public Optional<JobProgress> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void pruneFinished() {
+        long finished = jobs.values().stream().filter(JobProgress::isFinished).count();
+        if (finished <= MAX_FINISHED_JOBS) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(JobProgress::isFinished)
+                .sorted(Comparator.comparing(JobProgress::getFinishedAt))
+                .limit(finished - MAX_FINISHED_JOBS)
+                .forEach(job -> jobs.remove(job.getJobId()));
+    }
+}
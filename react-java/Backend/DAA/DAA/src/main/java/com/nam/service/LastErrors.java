@@ -0,0 +1,17 @@
+package com.nam.service;
+
+/**
+ * Error messages kept on outbox, reminder, broadcast and webhook rows, whose {@code last_error}
+ * columns hold 1000 characters.
+ */
+final class LastErrors {
+
+    static final int MAX_LENGTH = 1000;
+
+    private LastErrors() {
+    }
+
+    static String truncate(String message) {
+        return message == null || message.length() <= MAX_LENGTH ? message : message.substring(0, MAX_LENGTH);
+    }
+}
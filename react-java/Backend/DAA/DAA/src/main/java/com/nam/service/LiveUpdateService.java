@@ -0,0 +1,10 @@
+package com.nam.service;
+
+import com.nam.model.User;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface LiveUpdateService {
+    public SseEmitter subscribe(User user);
+
+    public int getConnectionCount();
+}
@@ -0,0 +1,192 @@
+package com.nam.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nam.model.Student;
+import com.nam.model.User;
+import com.nam.payload.response.LiveEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-Sent Events hub. Every connection subscribes to the broadcast topic, its user topic and,
+ * for students, its class topic. Idle connections hold no thread: the servlet request is async and
+ * only a small dispatch pool writes. Each event is serialized once and offered to a bounded queue
+ * per connection; a connection whose queue is full is too slow to keep up and is closed, and the
+ * client's EventSource reconnects.
+ */
+@Service
+public class LiveUpdateServiceImpl implements LiveUpdateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateServiceImpl.class);
+
+    private final ObjectMapper objectMapper;
+    private final Executor liveUpdateExecutor;
+    private final int bufferSize;
+    private final long timeoutMs;
+
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<Connection>> topics = new ConcurrentHashMap<>();
+
+    public LiveUpdateServiceImpl(ObjectMapper objectMapper,
+                                 @Qualifier("liveUpdateExecutor") Executor liveUpdateExecutor,
+                                 @Value("${live.buffer-size:64}") int bufferSize,
+                                 @Value("${live.timeout-ms:1800000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.liveUpdateExecutor = liveUpdateExecutor;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public SseEmitter subscribe(User user) {
+        List<String> subscribed = new ArrayList<>();
+        subscribed.add(LiveEvent.TOPIC_ALL);
+        subscribed.add(LiveEvent.userTopic(user.getId()));
+        if (user instanceof Student student && student.getStudentClass() != null) {
+            subscribed.add(LiveEvent.classTopic(student.getStudentClass()));
+        }
+
+        Connection connection = new Connection(createEmitter(timeoutMs), user.getId(), subscribed, bufferSize);
+        connection.emitter.onCompletion(() -> remove(connection));
+        connection.emitter.onTimeout(() -> remove(connection));
+        connection.emitter.onError(e -> remove(connection));
+
+        connections.add(connection);
+        for (String topic : subscribed) {
+            topics.computeIfAbsent(topic, k -> ConcurrentHashMap.newKeySet()).add(connection);
+        }
+        enqueue(connection, SseEmitter.event().name("ready").data(subscribed));
+        return connection.emitter;
+    }
+
+    @Override
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * Runs after the publisher's transaction commits, or right away when it had none, so clients
+     * never hear about a change that was rolled back.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLiveEvent(LiveEvent event) {
+        Set<Connection> subscribers = topics.get(event.getTopic());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event.getData());
+        } catch (JsonProcessingException e) {
+            logger.warn("Live {} event on {} could not be serialized", event.getType(), event.getTopic(), e);
+            return;
+        }
+        SseEmitter.SseEventBuilder message = SseEmitter.event().name(event.getType()).data(json, MediaType.APPLICATION_JSON);
+        for (Connection connection : subscribers) {
+            if (event.getAudience() == null || event.getAudience().test(connection.userId)) {
+                enqueue(connection, message);
+            }
+        }
+    }
+
+    // Keeps proxies and load balancers from closing quiet connections.
+    @Scheduled(fixedDelayString = "${live.heartbeat-ms:25000}")
+    public void heartbeat() {
+        SseEmitter.SseEventBuilder ping = SseEmitter.event().comment("ping");
+        for (Connection connection : connections) {
+            enqueue(connection, ping);
+        }
+    }
+
+    protected SseEmitter createEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void enqueue(Connection connection, SseEmitter.SseEventBuilder message) {
+        if (!connection.queue.offer(message)) {
+            logger.debug("Dropping slow live connection with {} queued events", connection.queue.size());
+            remove(connection);
+            try {
+                connection.emitter.complete();
+            } catch (RuntimeException e) {
+                logger.debug("Closing dropped live connection failed", e);
+            }
+            return;
+        }
+        schedule(connection);
+    }
+
+    private void schedule(Connection connection) {
+        if (connection.scheduled.compareAndSet(false, true)) {
+            liveUpdateExecutor.execute(() -> drain(connection));
+        }
+    }
+
+    /**
+     * Writes everything queued for one connection. At most one drain per connection runs at a time.
+     */
+    private void drain(Connection connection) {
+        try {
+            SseEmitter.SseEventBuilder message;
+            while ((message = connection.queue.poll()) != null) {
+                connection.emitter.send(message);
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(connection);
+            return;
+        } finally {
+            connection.scheduled.set(false);
+        }
+        if (!connection.queue.isEmpty()) {
+            schedule(connection);
+        }
+    }
+
+    private void remove(Connection connection) {
+        if (!connections.remove(connection)) {
+            return;
+        }
+        for (String topic : connection.topics) {
+            topics.computeIfPresent(topic, (k, subscribers) -> {
+                subscribers.remove(connection);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+        connection.queue.clear();
+    }
+
+    private static final class Connection {
+        private final SseEmitter emitter;
+        private final long userId;
+        private final List<String> topics;
+        private final Queue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Connection(SseEmitter emitter, long userId, List<String> topics, int bufferSize) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.topics = topics;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
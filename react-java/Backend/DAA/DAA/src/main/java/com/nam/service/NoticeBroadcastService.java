@@ -0,0 +1,14 @@
+package com.nam.service;
+
+import com.nam.exception.NoticeException;
+import com.nam.model.NoticeBroadcast;
+
+public interface NoticeBroadcastService {
+    /**
+     * Starts emailing the notice in the background, or resumes a broadcast that stopped. A running
+     * or completed broadcast is returned as it is.
+     */
+    public NoticeBroadcast start(Long noticeId) throws NoticeException;
+
+    public NoticeBroadcast getBroadcast(Long noticeId) throws NoticeException;
+}
@@ -0,0 +1,317 @@
+package com.nam.service;
+
+import com.nam.exception.NoticeException;
+import com.nam.model.EBroadcastStatus;
+import com.nam.model.Notice;
+import com.nam.model.NoticeBroadcast;
+import com.nam.payload.response.BroadcastRecipientRow;
+import com.nam.repository.EmailRepository;
+import com.nam.repository.NoticeBroadcastRepository;
+import com.nam.repository.NoticeRepository;
+import com.nam.repository.UserRepository;
+import com.nam.template.MailTemplateRegistry;
+import com.nam.template.RenderedMail;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Emails a notice to its readers in the background: untargeted notices go to every address in the
+ * {@code Email} table, targeted ones to the users in their audience bitmap. Recipients are read in
+ * keyset pages of {@code notice.broadcast.page-size}, so memory does not grow with the list. Each
+ * page is sent as Bcc messages of {@code recipients-per-message} addresses, several messages per
+ * SMTP connection, under the global {@code mailRateLimiter}.
+ * <p>
+ * The cursor is committed after every page. A broadcast stopped by an SMTP error can be started
+ * again, and one whose instance died is picked up by the sweep; either way sending continues after
+ * the cursor, so at most the page in flight is sent twice. While a page is sending, {@code updatedAt}
+ * is touched every {@code heartbeat-ms}, so a long page under a busy rate limiter is not mistaken
+ * for a dead one; keep it well under {@code stale-after-seconds}.
+ */
+@Service
+public class NoticeBroadcastServiceImpl implements NoticeBroadcastService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoticeBroadcastServiceImpl.class);
+
+    private final NoticeRepository noticeRepository;
+    private final NoticeBroadcastRepository noticeBroadcastRepository;
+    private final EmailRepository emailRepository;
+    private final UserRepository userRepository;
+    private final JavaMailSender javaMailSender;
+    private final ThreadPoolTaskExecutor noticeBroadcastJobExecutor;
+    private final ThreadPoolTaskExecutor noticeBroadcastMailExecutor;
+    private final RateLimiter mailRateLimiter;
+    private final MailTemplateRegistry mailTemplateRegistry;
+
+    // Broadcasts with a job in this process.
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock startLock = new ReentrantLock();
+
+    @Value("${notice.broadcast.page-size:1000}")
+    private int pageSize = 1000;
+
+    @Value("${notice.broadcast.recipients-per-message:50}")
+    private int recipientsPerMessage = 50;
+
+    @Value("${notice.broadcast.messages-per-connection:20}")
+    private int messagesPerConnection = 20;
+
+    @Value("${notice.broadcast.stale-after-seconds:300}")
+    private long staleAfterSeconds = 300;
+
+    @Value("${notice.broadcast.heartbeat-ms:60000}")
+    private long heartbeatMs = 60_000;
+
+    @Value("${notice.broadcast.from:no-reply@daa.edu.vn}")
+    private String from = "no-reply@daa.edu.vn";
+
+    public NoticeBroadcastServiceImpl(NoticeRepository noticeRepository, NoticeBroadcastRepository noticeBroadcastRepository,
+                                      EmailRepository emailRepository, UserRepository userRepository,
+                                      JavaMailSender javaMailSender,
+                                      @Qualifier("noticeBroadcastJobExecutor") ThreadPoolTaskExecutor noticeBroadcastJobExecutor,
+                                      @Qualifier("noticeBroadcastMailExecutor") ThreadPoolTaskExecutor noticeBroadcastMailExecutor,
+                                      RateLimiter mailRateLimiter, MailTemplateRegistry mailTemplateRegistry) {
+        this.noticeRepository = noticeRepository;
+        this.noticeBroadcastRepository = noticeBroadcastRepository;
+        this.emailRepository = emailRepository;
+        this.userRepository = userRepository;
+        this.javaMailSender = javaMailSender;
+        this.noticeBroadcastJobExecutor = noticeBroadcastJobExecutor;
+        this.noticeBroadcastMailExecutor = noticeBroadcastMailExecutor;
+        this.mailRateLimiter = mailRateLimiter;
+        this.mailTemplateRegistry = mailTemplateRegistry;
+    }
+
+    @Override
+    public NoticeBroadcast start(Long noticeId) throws NoticeException {
+        startLock.lock();
+        try {
+            Notice notice = noticeRepository.findById(noticeId)
+                    .orElseThrow(() -> new NoticeException("Notice not found with id " + noticeId));
+
+            LocalDateTime now = LocalDateTime.now();
+            NoticeBroadcast broadcast = noticeBroadcastRepository.findByNoticeId(noticeId).orElse(null);
+            if (broadcast == null) {
+                try {
+                    broadcast = noticeBroadcastRepository.saveAndFlush(NoticeBroadcast.builder()
+                            .notice(notice)
+                            .status(EBroadcastStatus.RUNNING)
+                            .startedAt(now)
+                            .updatedAt(now)
+                            .build());
+                } catch (DataIntegrityViolationException e) {
+                    // Started by another instance in the meantime.
+                    return getBroadcast(noticeId);
+                }
+            } else if (running.contains(broadcast.getId())
+                    || noticeBroadcastRepository.claim(broadcast.getId(), now, now.minusSeconds(staleAfterSeconds),
+                    EBroadcastStatus.RUNNING, EBroadcastStatus.FAILED) == 0) {
+                return broadcast;
+            } else {
+                broadcast = getBroadcast(noticeId);
+            }
+
+            Long broadcastId = broadcast.getId();
+            running.add(broadcastId);
+            noticeBroadcastJobExecutor.execute(() -> run(broadcastId, notice));
+            return broadcast;
+        } finally {
+            startLock.unlock();
+        }
+    }
+
+    @Override
+    public NoticeBroadcast getBroadcast(Long noticeId) throws NoticeException {
+        return noticeBroadcastRepository.findByNoticeId(noticeId)
+                .orElseThrow(() -> new NoticeException("Notice " + noticeId + " has not been emailed"));
+    }
+
+    /**
+     * Resumes broadcasts left running by an instance that stopped.
+     */
+    @Scheduled(fixedDelayString = "${notice.broadcast.sweep-ms:60000}")
+    public void resumeStale() {
+        for (Long noticeId : noticeBroadcastRepository.findNoticeIdsByStatus(EBroadcastStatus.RUNNING)) {
+            try {
+                start(noticeId);
+            } catch (NoticeException e) {
+                logger.warn("Could not resume broadcast of notice {}", noticeId, e);
+            }
+        }
+    }
+
+    private void run(Long broadcastId, Notice notice) {
+        try {
+            long cursor = noticeBroadcastRepository.findById(broadcastId).orElseThrow().getCursor();
+            RoaringBitmap audience = notice.isBroadcast() ? null : NoticeServiceImpl.deserialize(notice.getAudience());
+            // Every recipient gets the same text; render it once per run.
+            RenderedMail mail = mailTemplateRegistry.render("notice", Map.of(
+                    "title", Objects.toString(notice.getTitle(), ""),
+                    "description", Objects.toString(notice.getDescription(), "")));
+            while (true) {
+                RecipientPage page = audience == null ? emailPage(cursor) : audiencePage(audience, cursor);
+                if (page == null) {
+                    break;
+                }
+                long failed = send(broadcastId, notice, mail, page.recipients);
+                cursor = page.last;
+                noticeBroadcastRepository.advance(broadcastId, cursor, page.recipients.size() - failed, failed, LocalDateTime.now());
+            }
+            noticeBroadcastRepository.finish(broadcastId, EBroadcastStatus.COMPLETED, null, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            logger.error("Broadcast of notice {} stopped", notice.getId(), e);
+            noticeBroadcastRepository.finish(broadcastId, EBroadcastStatus.FAILED, LastErrors.truncate(e.getMessage()), LocalDateTime.now());
+        } finally {
+            running.remove(broadcastId);
+        }
+    }
+
+    private RecipientPage emailPage(long cursor) {
+        List<BroadcastRecipientRow> rows = emailRepository.findRecipientsAfter(cursor, PageRequest.of(0, pageSize));
+        if (rows.isEmpty()) {
+            return null;
+        }
+        return new RecipientPage(addresses(rows), rows.get(rows.size() - 1).getId());
+    }
+
+    private RecipientPage audiencePage(RoaringBitmap audience, long cursor) {
+        PeekableIntIterator iterator = audience.getIntIterator();
+        iterator.advanceIfNeeded(Math.toIntExact(cursor + 1));
+        List<Long> ids = new ArrayList<>(pageSize);
+        while (iterator.hasNext() && ids.size() < pageSize) {
+            ids.add((long) iterator.next());
+        }
+        if (ids.isEmpty()) {
+            return null;
+        }
+        return new RecipientPage(addresses(userRepository.findRecipientsByIds(ids)), ids.get(ids.size() - 1));
+    }
+
+    private static List<String> addresses(List<BroadcastRecipientRow> rows) {
+        List<String> addresses = new ArrayList<>(rows.size());
+        for (BroadcastRecipientRow row : rows) {
+            if (row.getEmail() != null && !row.getEmail().isBlank()) {
+                addresses.add(EmailServiceImpl.cleanEmail(row.getEmail()));
+            }
+        }
+        return addresses;
+    }
+
+    /**
+     * Sends one page and returns how many recipients the server rejected. A failure that is not tied
+     * to particular messages, such as a lost connection, is thrown so the broadcast stops before the
+     * cursor moves.
+     */
+    private long send(Long broadcastId, Notice notice, RenderedMail mail, List<String> recipients) {
+        List<CompletableFuture<Long>> connections = new ArrayList<>();
+        int perConnection = recipientsPerMessage * messagesPerConnection;
+        for (int from = 0; from < recipients.size(); from += perConnection) {
+            List<String> chunk = recipients.subList(from, Math.min(from + perConnection, recipients.size()));
+            connections.add(CompletableFuture.supplyAsync(() -> sendOverConnection(notice, mail, chunk), noticeBroadcastMailExecutor));
+        }
+        CompletableFuture<Void> all = CompletableFuture.allOf(connections.toArray(new CompletableFuture[0]));
+        while (!awaitQuietly(all, heartbeatMs)) {
+            noticeBroadcastRepository.heartbeat(broadcastId, LocalDateTime.now(), EBroadcastStatus.RUNNING);
+        }
+        long failed = 0;
+        try {
+            for (CompletableFuture<Long> connection : connections) {
+                failed += connection.join();
+            }
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return failed;
+    }
+
+    /**
+     * Waits up to {@code timeoutMs} and returns whether the future is done; its failure, if any, is
+     * left for the caller's {@code join}.
+     */
+    private static boolean awaitQuietly(CompletableFuture<?> future, long timeoutMs) {
+        try {
+            future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending a broadcast page", e);
+        }
+    }
+
+    private long sendOverConnection(Notice notice, RenderedMail mail, List<String> recipients) {
+        List<SimpleMailMessage> messages = new ArrayList<>();
+        for (int from = 0; from < recipients.size(); from += recipientsPerMessage) {
+            List<String> bcc = recipients.subList(from, Math.min(from + recipientsPerMessage, recipients.size()));
+            bcc.forEach(address -> mailRateLimiter.acquirePermission());
+            messages.add(message(mail, bcc));
+        }
+        try {
+            javaMailSender.send(messages.toArray(new SimpleMailMessage[0]));
+            return 0;
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                throw e;
+            }
+            logger.warn("{} of {} broadcast messages for notice {} were rejected", e.getFailedMessages().size(),
+                    messages.size(), notice.getId());
+            long failed = 0;
+            for (Object message : e.getFailedMessages().keySet()) {
+                String[] bcc = ((SimpleMailMessage) message).getBcc();
+                failed += bcc == null ? 0 : bcc.length;
+            }
+            return failed;
+        }
+    }
+
+    private SimpleMailMessage message(RenderedMail mail, List<String> bcc) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        // Recipients only see the sender, not each other.
+        message.setTo(from);
+        message.setBcc(bcc.toArray(new String[0]));
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getBody());
+        return message;
+    }
+
+    private static final class RecipientPage {
+        private final List<String> recipients;
+        // Cursor value once this page is sent.
+        private final long last;
+
+        private RecipientPage(List<String> recipients, long last) {
+            this.recipients = recipients;
+            this.last = last;
+        }
+    }
+}
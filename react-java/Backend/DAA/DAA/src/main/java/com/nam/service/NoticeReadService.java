@@ -0,0 +1,25 @@
+package com.nam.service;
+
+import com.nam.model.User;
+import com.nam.payload.response.NoticeReadReceipt;
+
+import java.util.Collection;
+
+public interface NoticeReadService {
+    /**
+     * Marks the notices read for the user and returns how many visible notices are still unread.
+     * Ids the user cannot see, or has already read, are ignored.
+     */
+    public int markRead(User user, Collection<Long> noticeIds);
+
+    public int markAllRead(User user);
+
+    public int getUnreadCount(User user);
+
+    public NoticeReadReceipt getReceipt(Long noticeId);
+
+    /**
+     * Writes the read states and read counts changed since the last flush in one transaction.
+     */
+    public void flush();
+}
@@ -0,0 +1,363 @@
+package com.nam.service;
+
+import com.nam.model.NoticeReadState;
+import com.nam.model.User;
+import com.nam.payload.response.NoticeReadReceipt;
+import com.nam.repository.NoticeReadStateRepository;
+import com.nam.repository.NoticeRepository;
+import jakarta.annotation.PreDestroy;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read receipts and unread badges for notices, kept in memory and written behind.
+ * <p>
+ * Every user's read state is loaded once and then only changed in memory; unread counts are
+ * computed from it and the recent-notice window of {@link NoticeService} without touching the
+ * database. Each newly read notice adds one to a striped per-notice counter. The scheduled
+ * {@link #flush()} writes the changed read states and the counter deltas in one transaction, so
+ * after a restart a notice is counted again only if its read was never stored either. Reads
+ * that have not been flushed when the process dies are lost, together with their counts.
+ * <p>
+ * With several instances, each flush merges into the stored row instead of overwriting it (the
+ * higher watermark, the union of the exceptions) and takes the merged state back into memory, so
+ * reads recorded on another instance are neither erased nor counted again here once they have
+ * been flushed.
+ */
+@Service
+public class NoticeReadServiceImpl implements NoticeReadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoticeReadServiceImpl.class);
+
+    private final NoticeService noticeService;
+    private final NoticeRepository noticeRepository;
+    private final NoticeReadStateRepository noticeReadStateRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Mark-read calls share the lock; a flush takes it exclusively only to snapshot, so each
+    // counter delta it writes belongs to a read state written in the same transaction.
+    private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final CounterStripe[] stripes;
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    @Value("${notice.read.load-page-size:1000}")
+    private int loadPageSize = 1000;
+
+    // null until first used
+    private volatile Map<Long, ReadState> states;
+
+    public NoticeReadServiceImpl(NoticeService noticeService, NoticeRepository noticeRepository,
+                                 NoticeReadStateRepository noticeReadStateRepository, PlatformTransactionManager transactionManager,
+                                 @Value("${notice.read.counter-stripes:16}") int stripeCount) {
+        this.noticeService = noticeService;
+        this.noticeRepository = noticeRepository;
+        this.noticeReadStateRepository = noticeReadStateRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = new CounterStripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new CounterStripe();
+        }
+    }
+
+    @Override
+    public int markRead(User user, Collection<Long> noticeIds) {
+        Set<Long> requested = new HashSet<>(noticeIds);
+        Map<Long, ReadState> loaded = states();
+        snapshotLock.readLock().lock();
+        try {
+            ReadState state = loaded.computeIfAbsent(user.getId(), id -> new ReadState(0, new RoaringBitmap()));
+            state.lock.lock();
+            try {
+                List<Long> visible = noticeService.getVisibleNoticeIds(user, state.watermark);
+                boolean changed = false;
+                for (Long id : visible) {
+                    if (requested.contains(id) && state.exceptions.checkedAdd(Math.toIntExact(id))) {
+                        stripeOf(id).add(id, 1);
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    state.compact(visible);
+                    dirty.add(user.getId());
+                }
+                return state.unread(visible);
+            } finally {
+                state.lock.unlock();
+            }
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int markAllRead(User user) {
+        Map<Long, ReadState> loaded = states();
+        snapshotLock.readLock().lock();
+        try {
+            ReadState state = loaded.computeIfAbsent(user.getId(), id -> new ReadState(0, new RoaringBitmap()));
+            state.lock.lock();
+            try {
+                List<Long> visible = noticeService.getVisibleNoticeIds(user, state.watermark);
+                if (visible.isEmpty()) {
+                    return 0;
+                }
+                for (Long id : visible) {
+                    if (!state.exceptions.contains(Math.toIntExact(id))) {
+                        stripeOf(id).add(id, 1);
+                    }
+                }
+                state.watermark = visible.get(0);
+                state.exceptions.remove(0L, state.watermark + 1);
+                dirty.add(user.getId());
+                return 0;
+            } finally {
+                state.lock.unlock();
+            }
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getUnreadCount(User user) {
+        ReadState state = states().get(user.getId());
+        if (state == null) {
+            return noticeService.getVisibleNoticeIds(user, 0).size();
+        }
+        state.lock.lock();
+        try {
+            return state.unread(noticeService.getVisibleNoticeIds(user, state.watermark));
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * Stored count plus the reads not flushed yet. While a flush is writing, its share is briefly
+     * in neither.
+     */
+    @Override
+    public NoticeReadReceipt getReceipt(Long noticeId) {
+        long stored = noticeRepository.findReadCount(noticeId).orElse(0L);
+        return new NoticeReadReceipt(noticeId, stored + stripeOf(noticeId).get(noticeId));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${notice.read.flush-ms:5000}")
+    public void flush() {
+        if (states == null) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            flushDirty();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushDirty() {
+        List<NoticeReadState> rows;
+        Map<Long, Long> counts = new TreeMap<>();
+        snapshotLock.writeLock().lock();
+        try {
+            // Counters only move together with a read state, so nothing dirty means nothing to count.
+            if (dirty.isEmpty()) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            rows = new ArrayList<>(dirty.size());
+            for (Long userId : dirty) {
+                ReadState state = states.get(userId);
+                state.lock.lock();
+                try {
+                    rows.add(NoticeReadState.builder()
+                            .userId(userId)
+                            .watermark(state.watermark)
+                            .exceptions(NoticeServiceImpl.serialize(state.exceptions))
+                            .updatedAt(now)
+                            .build());
+                } finally {
+                    state.lock.unlock();
+                }
+            }
+            dirty.clear();
+            for (CounterStripe stripe : stripes) {
+                stripe.drain().forEach((id, delta) -> counts.merge(id, delta, Long::sum));
+            }
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(rows, counts));
+        } catch (RuntimeException e) {
+            logger.warn("Could not flush {} notice read states, retrying with the next flush", rows.size(), e);
+            rows.forEach(row -> dirty.add(row.getUserId()));
+            counts.forEach((id, delta) -> stripeOf(id).add(id, delta));
+            return;
+        }
+        // write() left the merged state in each row; adopt what other instances had stored.
+        for (NoticeReadState row : rows) {
+            ReadState state = states.get(row.getUserId());
+            state.lock.lock();
+            try {
+                state.merge(row.getWatermark(), NoticeServiceImpl.deserialize(row.getExceptions()));
+            } finally {
+                state.lock.unlock();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Stores the rows, merged with what is already stored, and leaves the merged state in each row.
+     * Two instances creating the same row at once fail one flush, which is retried and then merges.
+     */
+    private void write(List<NoticeReadState> rows, Map<Long, Long> counts) {
+        Map<Long, NoticeReadState> stored = new HashMap<>();
+        noticeReadStateRepository.findAllForUpdate(rows.stream().map(NoticeReadState::getUserId).toList())
+                .forEach(row -> stored.put(row.getUserId(), row));
+        List<NoticeReadState> created = new ArrayList<>();
+        for (NoticeReadState row : rows) {
+            NoticeReadState current = stored.get(row.getUserId());
+            if (current == null) {
+                row.setCreated(true);
+                created.add(row);
+            } else {
+                ReadState merged = new ReadState(current.getWatermark(), NoticeServiceImpl.deserialize(current.getExceptions()));
+                merged.merge(row.getWatermark(), NoticeServiceImpl.deserialize(row.getExceptions()));
+                current.setWatermark(merged.watermark);
+                current.setExceptions(NoticeServiceImpl.serialize(merged.exceptions));
+                current.setUpdatedAt(row.getUpdatedAt());
+                row.setWatermark(current.getWatermark());
+                row.setExceptions(current.getExceptions());
+            }
+        }
+        noticeReadStateRepository.saveAll(created);
+        // In id order, so concurrent flushes from several instances lock the notice rows in the same order.
+        counts.forEach(noticeRepository::addReadCount);
+    }
+
+    private Map<Long, ReadState> states() {
+        Map<Long, ReadState> current = states;
+        if (current != null) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            if (states == null) {
+                Map<Long, ReadState> loaded = new ConcurrentHashMap<>();
+                Page<NoticeReadState> page;
+                int number = 0;
+                do {
+                    page = noticeReadStateRepository.findAll(PageRequest.of(number++, loadPageSize, Sort.by("userId")));
+                    for (NoticeReadState row : page) {
+                        loaded.put(row.getUserId(), new ReadState(row.getWatermark(), NoticeServiceImpl.deserialize(row.getExceptions())));
+                    }
+                } while (page.hasNext());
+                states = loaded;
+            }
+            return states;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private CounterStripe stripeOf(Long noticeId) {
+        return stripes[Math.floorMod(noticeId.hashCode(), stripes.length)];
+    }
+
+    /**
+     * Read state of one user, guarded by its own lock: every notice up to the watermark is read,
+     * and so are the newer ids in the exception set.
+     */
+    private static final class ReadState {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long watermark;
+        private final RoaringBitmap exceptions;
+
+        private ReadState(long watermark, RoaringBitmap exceptions) {
+            this.watermark = watermark;
+            this.exceptions = exceptions;
+        }
+
+        /**
+         * Moves the watermark over the oldest visible notices that are read.
+         *
+         * @param visible the visible notice ids newer than the watermark, newest first
+         */
+        private void compact(List<Long> visible) {
+            for (int i = visible.size() - 1; i >= 0 && exceptions.contains(Math.toIntExact(visible.get(i))); i--) {
+                watermark = visible.get(i);
+            }
+            exceptions.remove(0L, watermark + 1);
+        }
+
+        /**
+         * Adds the reads of another copy of this state: the higher watermark and both exception sets.
+         */
+        private void merge(long otherWatermark, RoaringBitmap otherExceptions) {
+            watermark = Math.max(watermark, otherWatermark);
+            exceptions.or(otherExceptions);
+            exceptions.remove(0L, watermark + 1);
+        }
+
+        private int unread(List<Long> visible) {
+            int unread = 0;
+            for (Long id : visible) {
+                if (!exceptions.contains(Math.toIntExact(id))) {
+                    unread++;
+                }
+            }
+            return unread;
+        }
+    }
+
+    private static final class CounterStripe {
+        private Map<Long, Long> pending = new HashMap<>();
+
+        private synchronized void add(Long noticeId, long delta) {
+            pending.merge(noticeId, delta, Long::sum);
+        }
+
+        private synchronized long get(Long noticeId) {
+            return pending.getOrDefault(noticeId, 0L);
+        }
+
+        private synchronized Map<Long, Long> drain() {
+            Map<Long, Long> drained = pending;
+            pending = new HashMap<>();
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.nam.service;
+
+import com.nam.model.Notice;
+import com.nam.model.User;
+import com.nam.payload.response.NoticeFeedPage;
+
+import java.util.List;
+
+public interface NoticeService {
+    public Notice createNotice(Notice notice);
+
+    public NoticeFeedPage getFeed(int page, int size);
+
+    public NoticeFeedPage getFeed(User user, int page, int size);
+
+    /**
+     * Ids of the recent notices visible to the user that are newer than {@code afterId}, newest first.
+     */
+    public List<Long> getVisibleNoticeIds(User user, long afterId);
+}
@@ -0,0 +1,342 @@
+package com.nam.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nam.model.Notice;
+import com.nam.model.User;
+import com.nam.payload.response.LiveEvent;
+import com.nam.payload.response.NoticeFeedPage;
+import com.nam.repository.NoticeRepository;
+import com.nam.repository.StudentRepository;
+import com.nam.repository.UserRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Newest-first notice feeds.
+ * <p>
+ * The public feed holds untargeted notices only. Its first page, which every dashboard load asks
+ * for, is kept serialized in memory until the next untargeted notice is created here or found by
+ * the refresh below; other pages are read through the (broadcast, created_at) index.
+ * <p>
+ * Per-user feeds are answered from memory over the most recent {@code notice.feed.active-limit}
+ * notices: each one carries its audience as a RoaringBitmap of user ids, so visibility is a
+ * bitmap lookup per notice instead of a join over the targeting tables. Other instances create
+ * notices too, so every read first asks the (created_at, id) index for the ids created in the last
+ * {@code notice.feed.commit-lag-seconds} before the newest notice held here, and pulls in the ones
+ * it does not hold yet. The lag covers notices committed a little after a newer one.
+ */
+@Service
+public class NoticeServiceImpl implements NoticeService {
+
+    private final NoticeRepository noticeRepository;
+    private final UserRepository userRepository;
+    private final StudentRepository studentRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${notice.feed.page-size:20}")
+    private int defaultPageSize = 20;
+
+    @Value("${notice.feed.max-page-size:100}")
+    private int maxPageSize = 100;
+
+    @Value("${notice.feed.active-limit:5000}")
+    private int activeLimit = 5000;
+
+    @Value("${notice.feed.commit-lag-seconds:30}")
+    private long commitLagSeconds = 30;
+
+    // Bumped by every untargeted notice created or pulled in; a first page built under an older
+    // version is never cached.
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<NoticeFeedPage> firstPage = new AtomicReference<>();
+
+    // Replaced as a whole under the lock; null until first used.
+    private volatile ActiveWindow active;
+    private final ReentrantLock activeLock = new ReentrantLock();
+
+    public NoticeServiceImpl(NoticeRepository noticeRepository, UserRepository userRepository,
+                             StudentRepository studentRepository, ObjectMapper objectMapper,
+                             ApplicationEventPublisher eventPublisher) {
+        this.noticeRepository = noticeRepository;
+        this.userRepository = userRepository;
+        this.studentRepository = studentRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Notice createNotice(Notice notice) {
+        activeNotices();
+
+        RoaringBitmap audience = null;
+        notice.setBroadcast(!notice.hasTargets());
+        if (!notice.isBroadcast()) {
+            audience = resolveAudience(notice);
+            notice.setAudience(serialize(audience));
+        }
+        notice.setId(null);
+        notice.setCreatedAt(LocalDateTime.now());
+        Notice saved = noticeRepository.save(notice);
+
+        activeLock.lock();
+        try {
+            active = active.with(List.of(new ActiveNotice(saved, audience)), activeLimit);
+        } finally {
+            activeLock.unlock();
+        }
+        if (saved.isBroadcast()) {
+            version.incrementAndGet();
+            firstPage.set(null);
+            eventPublisher.publishEvent(new LiveEvent(LiveEvent.TOPIC_ALL, "notice", saved));
+        } else if (targetsClassesOnly(saved)) {
+            // Students subscribe to their class topic, so nobody else's connection is looked at.
+            for (String studentClass : saved.getTargetClasses()) {
+                eventPublisher.publishEvent(new LiveEvent(LiveEvent.classTopic(studentClass), "notice", saved));
+            }
+        } else {
+            RoaringBitmap recipients = audience;
+            eventPublisher.publishEvent(new LiveEvent(LiveEvent.TOPIC_ALL, "notice", saved,
+                    userId -> userId <= Integer.MAX_VALUE && recipients.contains((int) userId)));
+        }
+        return saved;
+    }
+
+    @Override
+    public NoticeFeedPage getFeed(int page, int size) {
+        int pageSize = pageSize(size);
+        int pageNumber = Math.max(page, 0);
+        if (pageNumber != 0 || pageSize != defaultPageSize) {
+            return load(pageNumber, pageSize);
+        }
+
+        // Drops the cached page if another instance created an untargeted notice since.
+        activeNotices();
+        NoticeFeedPage cached = firstPage.get();
+        if (cached != null) {
+            return cached;
+        }
+        long loadedAt = version.get();
+        NoticeFeedPage loaded = load(0, pageSize);
+        if (version.get() == loadedAt) {
+            firstPage.compareAndSet(null, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public NoticeFeedPage getFeed(User user, int page, int size) {
+        int pageSize = pageSize(size);
+        int skip = Math.max(page, 0) * pageSize;
+        int userId = Math.toIntExact(user.getId());
+
+        List<Notice> notices = new ArrayList<>(pageSize);
+        for (ActiveNotice notice : activeNotices().notices) {
+            if (notice.audience != null && !notice.audience.contains(userId)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            notices.add(notice.notice);
+            if (notices.size() == pageSize) {
+                break;
+            }
+        }
+        return page(Math.max(page, 0), pageSize, notices);
+    }
+
+    @Override
+    public List<Long> getVisibleNoticeIds(User user, long afterId) {
+        int userId = Math.toIntExact(user.getId());
+        List<Long> ids = new ArrayList<>();
+        for (ActiveNotice notice : activeNotices().notices) {
+            long id = notice.notice.getId();
+            if (id <= afterId) {
+                break;
+            }
+            if (notice.audience == null || notice.audience.contains(userId)) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private int pageSize(int size) {
+        return size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+    }
+
+    private NoticeFeedPage load(int page, int size) {
+        return page(page, size, noticeRepository.findByBroadcastTrueOrderByCreatedAtDescIdDesc(PageRequest.of(page, size)));
+    }
+
+    private NoticeFeedPage page(int page, int size, List<Notice> notices) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(notices);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize notice feed", e);
+        }
+        return new NoticeFeedPage(page, size, body, TranscriptServiceImpl.etagOf(body));
+    }
+
+    private ActiveWindow activeNotices() {
+        ActiveWindow current = active;
+        if (current == null) {
+            activeLock.lock();
+            try {
+                if (active == null) {
+                    List<ActiveNotice> loaded = new ArrayList<>();
+                    for (Notice notice : noticeRepository.findAllByOrderByCreatedAtDescIdDesc(PageRequest.of(0, activeLimit))) {
+                        loaded.add(active(notice));
+                    }
+                    active = new ActiveWindow(List.of()).with(loaded, activeLimit);
+                }
+                return active;
+            } finally {
+                activeLock.unlock();
+            }
+        }
+        return refresh(current);
+    }
+
+    /**
+     * Pulls in the notices another instance created since the window was built.
+     */
+    private ActiveWindow refresh(ActiveWindow current) {
+        LocalDateTime since = current.newestCreatedAt == null
+                ? LocalDateTime.of(1970, 1, 1, 0, 0) : current.newestCreatedAt.minusSeconds(commitLagSeconds);
+        List<Long> missing = noticeRepository.findIdsCreatedSince(since).stream()
+                .filter(id -> !current.ids.contains(id))
+                .toList();
+        if (missing.isEmpty()) {
+            return current;
+        }
+        List<ActiveNotice> created = new ArrayList<>(missing.size());
+        for (Notice notice : noticeRepository.findAllById(missing)) {
+            created.add(active(notice));
+        }
+        activeLock.lock();
+        try {
+            active = active.with(created, activeLimit);
+        } finally {
+            activeLock.unlock();
+        }
+        if (created.stream().anyMatch(notice -> notice.audience == null)) {
+            version.incrementAndGet();
+            firstPage.set(null);
+        }
+        return active;
+    }
+
+    private static ActiveNotice active(Notice notice) {
+        return new ActiveNotice(notice, notice.isBroadcast() ? null : deserialize(notice.getAudience()));
+    }
+
+    /**
+     * Union of every user holding a targeted role, every student in a targeted class and every listed student.
+     */
+    private RoaringBitmap resolveAudience(Notice notice) {
+        RoaringBitmap audience = new RoaringBitmap();
+        if (notice.getTargetRoles() != null && !notice.getTargetRoles().isEmpty()) {
+            userRepository.findIdsByRoles(notice.getTargetRoles()).forEach(id -> audience.add(Math.toIntExact(id)));
+        }
+        if (notice.getTargetClasses() != null && !notice.getTargetClasses().isEmpty()) {
+            studentRepository.findIdsByStudentClasses(notice.getTargetClasses()).forEach(id -> audience.add(Math.toIntExact(id)));
+        }
+        if (notice.getTargetStudentIds() != null && !notice.getTargetStudentIds().isEmpty()) {
+            studentRepository.findIdsByStudentIds(notice.getTargetStudentIds()).forEach(id -> audience.add(Math.toIntExact(id)));
+        }
+        audience.runOptimize();
+        return audience;
+    }
+
+    static byte[] serialize(RoaringBitmap bitmap) {
+        ByteBuffer buffer = ByteBuffer.allocate(bitmap.serializedSizeInBytes());
+        bitmap.serialize(buffer);
+        return buffer.array();
+    }
+
+    private static boolean targetsClassesOnly(Notice notice) {
+        return (notice.getTargetRoles() == null || notice.getTargetRoles().isEmpty())
+                && (notice.getTargetStudentIds() == null || notice.getTargetStudentIds().isEmpty());
+    }
+
+    static RoaringBitmap deserialize(byte[] bytes) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        if (bytes != null) {
+            try {
+                bitmap.deserialize(ByteBuffer.wrap(bytes));
+            } catch (IOException e) {
+                throw new IllegalStateException("Corrupt notice audience", e);
+            }
+        }
+        return bitmap;
+    }
+
+    /**
+     * The most recent notices, sorted by id so readers may stop at the first id they have already seen.
+     */
+    private static final class ActiveWindow {
+        private final List<ActiveNotice> notices;
+        private final Set<Long> ids;
+        private final LocalDateTime newestCreatedAt;
+
+        private ActiveWindow(List<ActiveNotice> notices) {
+            this.notices = notices;
+            this.ids = new HashSet<>();
+            LocalDateTime newest = null;
+            for (ActiveNotice notice : notices) {
+                ids.add(notice.notice.getId());
+                LocalDateTime createdAt = notice.notice.getCreatedAt();
+                if (createdAt != null && (newest == null || createdAt.isAfter(newest))) {
+                    newest = createdAt;
+                }
+            }
+            this.newestCreatedAt = newest;
+        }
+
+        /**
+         * This window with the given notices added, skipping those already held, newest {@code limit} kept.
+         */
+        private ActiveWindow with(List<ActiveNotice> added, int limit) {
+            List<ActiveNotice> merged = new ArrayList<>(notices.size() + added.size());
+            merged.addAll(notices);
+            for (ActiveNotice notice : added) {
+                if (!ids.contains(notice.notice.getId())) {
+                    merged.add(notice);
+                }
+            }
+            merged.sort(Comparator.comparing((ActiveNotice notice) -> notice.notice.getId()).reversed());
+            return new ActiveWindow(merged.size() > limit ? merged.subList(0, limit) : merged);
+        }
+    }
+
+    private static final class ActiveNotice {
+        private final Notice notice;
+        // null for untargeted notices
+        private final RoaringBitmap audience;
+
+        private ActiveNotice(Notice notice, RoaringBitmap audience) {
+            this.notice = notice;
+            this.audience = audience;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.nam.service;
+
+import com.nam.exception.PaymentGatewayException;
+import com.nam.exception.TuitionException;
+import com.nam.payload.response.PaymentLinkResponse;
+
+public interface PaymentLinkService {
+    public PaymentLinkResponse getOrCreatePaymentLink(Long tuitionId) throws TuitionException, PaymentGatewayException;
+}
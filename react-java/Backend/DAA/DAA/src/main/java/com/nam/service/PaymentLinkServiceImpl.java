@@ -0,0 +1,145 @@
+package com.nam.service;
+
+import com.nam.exception.PaymentGatewayException;
+import com.nam.exception.TuitionException;
+import com.nam.gateway.PaymentGateway;
+import com.nam.model.EPaymentStatus;
+import com.nam.model.Tuition;
+import com.nam.payload.response.PaymentLinkResponse;
+import com.nam.repository.TuitionRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Hands out one payment link per tuition for as long as it stays valid. Links are persisted on
+ * the tuition and cached in memory; concurrent requests for the same tuition wait for the first
+ * one instead of each creating a link at the gateway. A link is for the balance at the time it was
+ * created, so once a payment lands after that it is no longer handed out, on any instance.
+ */
+@Service
+public class PaymentLinkServiceImpl implements PaymentLinkService {
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedLink {
+        private final String id;
+        private final String url;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime expiresAt;
+    }
+
+    private final TuitionRepository tuitionRepository;
+    private final PaymentGateway paymentGateway;
+
+    private final Map<Long, CachedLink> links = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<PaymentLinkResponse>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${payment.callback-url:http://localhost:3000/payment/}")
+    private String callbackUrl = "http://localhost:3000/payment/";
+
+    @Value("${payment.link.ttl-minutes:1440}")
+    private long ttlMinutes = 1440;
+
+    // A link this close to expiry is not handed out any more: the student needs time to pay.
+    @Value("${payment.link.reuse-margin-minutes:15}")
+    private long reuseMarginMinutes = 15;
+
+    public PaymentLinkServiceImpl(TuitionRepository tuitionRepository, PaymentGateway paymentGateway) {
+        this.tuitionRepository = tuitionRepository;
+        this.paymentGateway = paymentGateway;
+    }
+
+    @Override
+    public PaymentLinkResponse getOrCreatePaymentLink(Long tuitionId) throws TuitionException, PaymentGatewayException {
+        CachedLink cached = links.get(tuitionId);
+        if (isReusable(cached)) {
+            // One column read: a payment recorded by any instance since the link was made invalidates it.
+            if (!isPaidSince(tuitionRepository.findPayAt(tuitionId), cached)) {
+                return new PaymentLinkResponse(cached.getId(), cached.getUrl());
+            }
+            links.remove(tuitionId, cached);
+        }
+
+        CompletableFuture<PaymentLinkResponse> mine = new CompletableFuture<>();
+        CompletableFuture<PaymentLinkResponse> leader = inFlight.putIfAbsent(tuitionId, mine);
+        if (leader != null) {
+            return await(leader);
+        }
+        try {
+            PaymentLinkResponse response = loadOrCreate(tuitionId);
+            mine.complete(response);
+            return response;
+        } catch (TuitionException | PaymentGatewayException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(tuitionId, mine);
+        }
+    }
+
+    private PaymentLinkResponse loadOrCreate(Long tuitionId) throws TuitionException, PaymentGatewayException {
+        Tuition tuition = tuitionRepository.findById(tuitionId)
+                .orElseThrow(() -> new TuitionException("Tuition not found with id " + tuitionId));
+        if (tuition.getPaymentStatus() == EPaymentStatus.PAID) {
+            links.remove(tuitionId);
+            throw new TuitionException("Tuition " + tuitionId + " is already paid");
+        }
+
+        // Stored links only keep their expiry; their creation time is derived from the configured TTL.
+        CachedLink stored = tuition.getPaymentLinkUrl() == null || tuition.getPaymentLinkExpiresAt() == null ? null
+                : new CachedLink(tuition.getPaymentLinkId(), tuition.getPaymentLinkUrl(),
+                tuition.getPaymentLinkExpiresAt().minusMinutes(ttlMinutes), tuition.getPaymentLinkExpiresAt());
+        if (isReusable(stored) && !isPaidSince(tuition.getPayAt(), stored)) {
+            links.put(tuitionId, stored);
+            return new PaymentLinkResponse(stored.getId(), stored.getUrl());
+        }
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        LocalDateTime expiresAt = createdAt.plusMinutes(ttlMinutes);
+        PaymentLinkResponse created = paymentGateway.createPaymentLink(tuition, callbackUrl + tuitionId, expiresAt);
+        tuitionRepository.updatePaymentLink(tuitionId, created.getGetPayment_link_id(), created.getPayment_link_url(), expiresAt);
+        links.put(tuitionId, new CachedLink(created.getGetPayment_link_id(), created.getPayment_link_url(), createdAt, expiresAt));
+        return created;
+    }
+
+    private boolean isReusable(CachedLink link) {
+        return link != null && link.getExpiresAt() != null
+                && link.getExpiresAt().isAfter(LocalDateTime.now().plusMinutes(reuseMarginMinutes));
+    }
+
+    /**
+     * Whether a payment landed after the link was created, which leaves the link asking for a stale amount.
+     */
+    private static boolean isPaidSince(LocalDateTime payAt, CachedLink link) {
+        return payAt != null && !payAt.isBefore(link.getCreatedAt());
+    }
+
+    private static PaymentLinkResponse await(CompletableFuture<PaymentLinkResponse> leader) throws TuitionException, PaymentGatewayException {
+        try {
+            return leader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Interrupted while waiting for the payment link");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TuitionException tuitionException) {
+                throw tuitionException;
+            }
+            if (cause instanceof PaymentGatewayException gatewayException) {
+                throw gatewayException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new PaymentGatewayException(String.valueOf(cause.getMessage()), cause);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.nam.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nam.exception.PaymentGatewayException;
+import com.nam.exception.TuitionException;
+import com.nam.gateway.PaymentGateway;
+import com.nam.gateway.PaymentLinkState;
+import com.nam.gateway.PaymentState;
+import com.nam.model.EPaymentStatus;
+import com.nam.payload.response.JobProgress;
+import com.nam.payload.response.ReconciliationReport;
+import com.nam.payload.response.TuitionLinkRow;
+import com.nam.repository.TuitionRepository;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Compares every unpaid tuition that has a payment link with the link's state at the gateway.
+ * Tuitions are paged with keyset iteration; each page is checked by a bounded pool under a
+ * shared rate limit. Every captured payment found at the gateway is appended to the ledger under
+ * its own payment id, one tuition per transaction, so payments a webhook already recorded are
+ * skipped and one failing tuition does not undo the others.
+ * Every mismatch lands in {@code report.output-dir/<jobId>/reconciliation.json}.
+ */
+@Service
+public class PaymentReconciliationServiceImpl implements PaymentReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentReconciliationServiceImpl.class);
+
+    private final TuitionRepository tuitionRepository;
+    private final TuitionPaymentService tuitionPaymentService;
+    private final PaymentGateway paymentGateway;
+    private final JobRegistry jobRegistry;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor paymentReconcileJobExecutor;
+    private final ThreadPoolTaskExecutor paymentReconcileExecutor;
+    private final RateLimiter rateLimiter;
+
+    private final AtomicReference<JobProgress> running = new AtomicReference<>();
+
+    @Value("${payment.reconcile.page-size:500}")
+    private int pageSize = 500;
+
+    @Value("${report.output-dir:reports}")
+    private String outputDir = "reports";
+
+    public PaymentReconciliationServiceImpl(TuitionRepository tuitionRepository, TuitionPaymentService tuitionPaymentService,
+                                            PaymentGateway paymentGateway, JobRegistry jobRegistry, ObjectMapper objectMapper,
+                                            @Qualifier("paymentReconcileJobExecutor") ThreadPoolTaskExecutor paymentReconcileJobExecutor,
+                                            @Qualifier("paymentReconcileExecutor") ThreadPoolTaskExecutor paymentReconcileExecutor,
+                                            @Value("${payment.reconcile.calls-per-second:50}") int callsPerSecond) {
+        this.tuitionRepository = tuitionRepository;
+        this.tuitionPaymentService = tuitionPaymentService;
+        this.paymentGateway = paymentGateway;
+        this.jobRegistry = jobRegistry;
+        this.objectMapper = objectMapper;
+        this.paymentReconcileJobExecutor = paymentReconcileJobExecutor;
+        this.paymentReconcileExecutor = paymentReconcileExecutor;
+        this.rateLimiter = RateLimiter.of("payment-reconcile", RateLimiterConfig.custom()
+                .limitForPeriod(callsPerSecond)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ofMinutes(1))
+                .build());
+    }
+
+    @Scheduled(cron = "${payment.reconcile.cron:0 0 2 * * *}")
+    public void nightly() {
+        reconcile();
+    }
+
+    @Override
+    public JobProgress reconcile() {
+        JobProgress current = running.get();
+        if (current != null && !current.isFinished()) {
+            return current;
+        }
+        JobProgress progress = jobRegistry.start("payment-reconcile");
+        if (!running.compareAndSet(current, progress)) {
+            progress.complete();
+            return running.get();
+        }
+
+        paymentReconcileJobExecutor.execute(() -> {
+            ReconciliationReport report = ReconciliationReport.builder()
+                    .jobId(progress.getJobId())
+                    .startedAt(progress.getStartedAt())
+                    .build();
+            try {
+                run(progress, report);
+            } catch (RuntimeException e) {
+                logger.error("Payment reconciliation {} failed", progress.getJobId(), e);
+                progress.fail(e);
+            }
+            report.setFinishedAt(LocalDateTime.now());
+            writeReport(report);
+            progress.complete();
+        });
+        return progress;
+    }
+
+    private void run(JobProgress progress, ReconciliationReport report) {
+        Queue<ReconciliationReport.Discrepancy> discrepancies = new ConcurrentLinkedQueue<>();
+        AtomicLong corrected = new AtomicLong();
+        report.setDiscrepancies(new ArrayList<>());
+
+        Long afterId = 0L;
+        while (true) {
+            long started = System.nanoTime();
+            List<TuitionLinkRow> rows = tuitionRepository.findUnpaidWithPaymentLink(afterId, EPaymentStatus.PAID, PageRequest.of(0, pageSize));
+            progress.addTiming("select", (System.nanoTime() - started) / 1_000_000);
+            if (rows.isEmpty()) {
+                break;
+            }
+            progress.addSteps(1);
+
+            started = System.nanoTime();
+            List<CompletableFuture<PaymentLinkState>> checks = new ArrayList<>(rows.size());
+            for (TuitionLinkRow row : rows) {
+                checks.add(CompletableFuture.supplyAsync(() -> check(row, progress, discrepancies), paymentReconcileExecutor));
+            }
+            Map<Long, PaymentLinkState> withPayments = new LinkedHashMap<>();
+            for (int i = 0; i < rows.size(); i++) {
+                PaymentLinkState link = checks.get(i).join();
+                if (link != null && !link.getPayments().isEmpty()) {
+                    withPayments.put(rows.get(i).getTuitionId(), link);
+                }
+            }
+            progress.addTiming("gateway", (System.nanoTime() - started) / 1_000_000);
+
+            if (!withPayments.isEmpty()) {
+                started = System.nanoTime();
+                withPayments.forEach((tuitionId, link) -> {
+                    if (record(tuitionId, link, discrepancies)) {
+                        corrected.incrementAndGet();
+                    }
+                });
+                progress.addTiming("update", (System.nanoTime() - started) / 1_000_000);
+            }
+
+            progress.stepDone(rows.size());
+            afterId = rows.get(rows.size() - 1).getTuitionId();
+        }
+
+        report.setChecked(progress.getProcessedItems().get());
+        report.setCorrected(corrected.get());
+        report.setGatewayErrors(progress.getFailedItems().get());
+        report.getDiscrepancies().addAll(discrepancies);
+    }
+
+    /**
+     * Records each captured payment of the link in its own {@code recordPayment} transaction; the
+     * ledger skips the ones already recorded, e.g. by a webhook.
+     */
+    private boolean record(Long tuitionId, PaymentLinkState link, Queue<ReconciliationReport.Discrepancy> discrepancies) {
+        boolean recorded = false;
+        for (PaymentState payment : link.getPayments()) {
+            if (!payment.isCaptured() || payment.getAmount() <= 0 || payment.getId() == null) {
+                continue;
+            }
+            try {
+                tuitionPaymentService.recordPayment(tuitionId, payment.getAmount(), payment.getId());
+                recorded = true;
+            } catch (TuitionException | RuntimeException e) {
+                discrepancies.add(new ReconciliationReport.Discrepancy(tuitionId, link.getId(), link.getStatus(),
+                        ReconciliationReport.Action.REPORTED, "Payment " + payment.getId() + ": " + e.getMessage()));
+            }
+        }
+        return recorded;
+    }
+
+    private PaymentLinkState check(TuitionLinkRow row, JobProgress progress, Queue<ReconciliationReport.Discrepancy> discrepancies) {
+        try {
+            rateLimiter.acquirePermission();
+            PaymentLinkState link = paymentGateway.fetchPaymentLink(row.getPaymentLinkId());
+            if (link.isPaid()) {
+                discrepancies.add(new ReconciliationReport.Discrepancy(row.getTuitionId(), row.getPaymentLinkId(),
+                        link.getStatus(), ReconciliationReport.Action.MARKED_PAID, "Paid at the gateway, payments " + link.getPayments().stream().map(PaymentState::getId).toList()));
+            } else if (!"created".equals(link.getStatus())) {
+                discrepancies.add(new ReconciliationReport.Discrepancy(row.getTuitionId(), row.getPaymentLinkId(),
+                        link.getStatus(), ReconciliationReport.Action.REPORTED, "Unpaid tuition with a " + link.getStatus() + " link"));
+            }
+            return link;
+        } catch (PaymentGatewayException | RuntimeException e) {
+            progress.itemsFailed(1);
+            discrepancies.add(new ReconciliationReport.Discrepancy(row.getTuitionId(), row.getPaymentLinkId(),
+                    null, ReconciliationReport.Action.GATEWAY_ERROR, e.getMessage()));
+            return null;
+        }
+    }
+
+    private void writeReport(ReconciliationReport report) {
+        try {
+            Path jobDir = Paths.get(outputDir, report.getJobId());
+            Files.createDirectories(jobDir);
+            objectMapper.writeValue(jobDir.resolve("reconciliation.json").toFile(), report);
+        } catch (IOException e) {
+            logger.error("Could not write reconciliation report {}", report.getJobId(), e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.nam.service;
+
+public interface PaymentWebhookService {
+    public void receive(String payload, String signature, String eventId);
+
+    public void processPending();
+}
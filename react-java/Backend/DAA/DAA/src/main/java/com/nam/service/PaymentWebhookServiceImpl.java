@@ -0,0 +1,197 @@
+package com.nam.service;
+
+import com.nam.exception.InvalidWebhookSignatureException;
+import com.nam.exception.TuitionException;
+import com.nam.gateway.WebhookSignatureVerifier;
+import com.nam.model.EWebhookStatus;
+import com.nam.model.PaymentWebhookEvent;
+import com.nam.repository.PaymentWebhookEventRepository;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Webhook inbox. {@link #receive} only verifies the signature and inserts the raw event, so the
+ * provider is acknowledged within milliseconds; a bounded worker pool then applies each event
+ * exactly once to the tuition payment ledger. Redeliveries hit the unique event id and are dropped, and a periodic sweep picks
+ * up events whose hand-off was rejected, failed transiently or was lost in a restart.
+ */
+@Service
+public class PaymentWebhookServiceImpl implements PaymentWebhookService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentWebhookServiceImpl.class);
+
+    private static final Set<String> PAID_EVENTS = Set.of("payment_link.paid", "payment.captured", "order.paid");
+    private static final String REFUND_EVENT = "refund.processed";
+
+    private final PaymentWebhookEventRepository paymentWebhookEventRepository;
+    private final TuitionPaymentService tuitionPaymentService;
+    private final WebhookSignatureVerifier webhookSignatureVerifier;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor paymentWebhookExecutor;
+
+    @Value("${payment.webhook.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${payment.webhook.stale-after-seconds:300}")
+    private long staleAfterSeconds = 300;
+
+    @Value("${payment.webhook.sweep-batch-size:500}")
+    private int sweepBatchSize = 500;
+
+    public PaymentWebhookServiceImpl(PaymentWebhookEventRepository paymentWebhookEventRepository,
+                                     TuitionPaymentService tuitionPaymentService,
+                                     WebhookSignatureVerifier webhookSignatureVerifier,
+                                     PlatformTransactionManager transactionManager,
+                                     @Qualifier("paymentWebhookExecutor") ThreadPoolTaskExecutor paymentWebhookExecutor) {
+        this.paymentWebhookEventRepository = paymentWebhookEventRepository;
+        this.tuitionPaymentService = tuitionPaymentService;
+        this.webhookSignatureVerifier = webhookSignatureVerifier;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.paymentWebhookExecutor = paymentWebhookExecutor;
+    }
+
+    @Override
+    public void receive(String payload, String signature, String eventId) {
+        if (!webhookSignatureVerifier.verify(payload, signature)) {
+            throw new InvalidWebhookSignatureException();
+        }
+
+        PaymentWebhookEvent event = PaymentWebhookEvent.builder()
+                .eventId(eventId != null && !eventId.isBlank() ? eventId : sha256(payload))
+                .eventType(eventTypeOf(payload))
+                .payload(payload)
+                .status(EWebhookStatus.PENDING)
+                .receivedAt(LocalDateTime.now())
+                .build();
+        try {
+            event = paymentWebhookEventRepository.saveAndFlush(event);
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Duplicate payment webhook {} ignored", event.getEventId());
+            return;
+        }
+        dispatch(event.getId());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${payment.webhook.sweep-ms:30000}")
+    public void processPending() {
+        paymentWebhookEventRepository.releaseStale(LocalDateTime.now().minusSeconds(staleAfterSeconds),
+                EWebhookStatus.PENDING, EWebhookStatus.PROCESSING);
+        for (Long id : paymentWebhookEventRepository.findIdsByStatus(EWebhookStatus.PENDING, PageRequest.of(0, sweepBatchSize))) {
+            dispatch(id);
+        }
+    }
+
+    private void dispatch(Long id) {
+        try {
+            paymentWebhookExecutor.execute(() -> process(id));
+        } catch (TaskRejectedException e) {
+            logger.debug("Payment webhook worker queue full, event {} left for the sweep", id);
+        }
+    }
+
+    void process(Long id) {
+        if (paymentWebhookEventRepository.claim(id, LocalDateTime.now(), EWebhookStatus.PENDING, EWebhookStatus.PROCESSING) == 0) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(id));
+        } catch (RuntimeException e) {
+            logger.warn("Payment webhook event {} failed", id, e);
+            transactionTemplate.executeWithoutResult(status -> paymentWebhookEventRepository.findById(id).ifPresent(event -> {
+                event.setStatus(event.getAttempts() >= maxAttempts ? EWebhookStatus.FAILED : EWebhookStatus.PENDING);
+                event.setLastError(LastErrors.truncate(e.getMessage()));
+            }));
+        }
+    }
+
+    private void apply(Long id) {
+        PaymentWebhookEvent event = paymentWebhookEventRepository.findById(id).orElseThrow();
+        event.setStatus(EWebhookStatus.PROCESSED);
+        event.setProcessedAt(LocalDateTime.now());
+
+        try {
+            if (PAID_EVENTS.contains(event.getEventType())) {
+                JSONObject json = new JSONObject(event.getPayload());
+                Long tuitionId = tuitionIdOf(json);
+                if (tuitionId == null) {
+                    throw new TuitionException("No tuition_id in event");
+                }
+                // Each payment is recorded under its own id, never under the link's, so a link's
+                // cumulative amount_paid can not be counted again next to its payments.
+                JSONObject payment = entityOf(json, "payment");
+                if (payment == null) {
+                    throw new TuitionException("No payment entity in event");
+                }
+                tuitionPaymentService.recordPayment(tuitionId, payment.optDouble("amount", 0), payment.optString("id", null));
+            } else if (REFUND_EVENT.equals(event.getEventType())) {
+                JSONObject refund = entityOf(new JSONObject(event.getPayload()), "refund");
+                if (refund == null) {
+                    throw new TuitionException("No refund entity in event");
+                }
+                tuitionPaymentService.recordRefund(refund.optString("payment_id", null), refund.optDouble("amount", 0),
+                        refund.optString("id", null));
+            }
+        } catch (TuitionException e) {
+            // Not retryable: the event itself does not match our data.
+            event.setStatus(EWebhookStatus.FAILED);
+            event.setLastError(LastErrors.truncate(e.getMessage()));
+        }
+    }
+
+    /**
+     * Payment links are created with {@code notes.tuition_id}; the link's notes are checked first,
+     * then the payment's.
+     */
+    static Long tuitionIdOf(JSONObject event) {
+        for (String name : new String[]{"payment_link", "payment", "order"}) {
+            JSONObject entity = entityOf(event, name);
+            JSONObject notes = entity == null ? null : entity.optJSONObject("notes");
+            if (notes != null && notes.has("tuition_id")) {
+                return notes.optLong("tuition_id");
+            }
+        }
+        return null;
+    }
+
+    private static JSONObject entityOf(JSONObject event, String name) {
+        JSONObject payload = event.optJSONObject("payload");
+        JSONObject wrapper = payload == null ? null : payload.optJSONObject(name);
+        return wrapper == null ? null : wrapper.optJSONObject("entity");
+    }
+
+    private static String eventTypeOf(String payload) {
+        try {
+            return new JSONObject(payload).optString("event", null);
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+
+    private static String sha256(String payload) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,11 +1,25 @@
 package com.nam.service;
 
+import com.nam.exception.SemesterClosedException;
+import com.nam.model.Course;
 import com.nam.model.StudentPoint;
 import com.nam.model.Subject;
+import com.nam.payload.response.LiveEvent;
 import com.nam.repository.StudentPointRepository;
 import com.nam.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -13,36 +27,95 @@ public class StudentPointServiceImpl implements StudentPointService {
 
     private final StudentPointRepository studentPointRepository;
     private final StudentRepository studentRepository;
+    private final GradeWeightingService gradeWeightingService;
+    private final CourseService courseService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Upserts the semester keyed by (student, semester) and its subjects keyed by subjectId.
+     * A concurrent writer either trips the unique constraints or the {@code @Version} check;
+     * the whole transaction is then retried with jittered backoff and lands on the update path.
+     */
     @Override
+    @Transactional
+    @Retryable(retryFor = {ConcurrencyFailureException.class, DataIntegrityViolationException.class},
+            maxAttemptsExpression = "${grade.upsert.max-attempts:10}",
+            backoff = @Backoff(delayExpression = "${grade.upsert.backoff-ms:20}",
+                    maxDelayExpression = "${grade.upsert.max-backoff-ms:1000}",
+                    multiplier = 2, random = true))
     public StudentPoint createStudentPoint(StudentPoint studentPoint, String studentId, String semester) {
 
-        // StudentPoint existStudentPoint = studentRepository.findByStudentId(studentId).getStudentPointsBySemester(semester);//
-
         StudentPoint existStudentPoint = studentPointRepository.getStudentPointBySemesterAndStudentId(studentId, semester);
 
         if (existStudentPoint == null) {
+            List<Subject> subjects = studentPoint.getSubjects() == null ? new ArrayList<>() : new ArrayList<>(studentPoint.getSubjects());
+
+            studentPoint.setId(null);
+            studentPoint.setVersion(null);
+            studentPoint.setClosed(false);
             studentPoint.setSemester(semester);
             studentPoint.setStudent(studentRepository.findByStudentId(studentId));
+            studentPoint.setSubjects(new ArrayList<>());
 
-            for (Subject subject : studentPoint.getSubjects()) {
-                subject.setStudentPoint(studentPoint);
-                subject.setPointAverage((subject.getPoint1() + subject.getPoint2() + subject.getPoint3() + subject.getPoint4()) / 4);
-            }
+            mergeSubjects(studentPoint, subjects);
 
             studentPointRepository.save(studentPoint);
+            publishGradesPosted(studentPoint);
             return studentPoint;
         } else {
-            for (Subject subject : studentPoint.getSubjects()) {
-                subject.setStudentPoint(existStudentPoint);
-                subject.setPointAverage((subject.getPoint1() + subject.getPoint2() + subject.getPoint3() + subject.getPoint4()) / 4);
-
-                existStudentPoint.getSubjects().add(subject);
+            if (existStudentPoint.isClosed()) {
+                throw new SemesterClosedException(studentId, semester);
+            }
+            if (studentPoint.getYear() != null) {
+                existStudentPoint.setYear(studentPoint.getYear());
+            }
+            if (studentPoint.getSubjects() != null) {
+                mergeSubjects(existStudentPoint, studentPoint.getSubjects());
             }
 
             studentPointRepository.save(existStudentPoint);
+            publishGradesPosted(existStudentPoint);
             return existStudentPoint;
         }
     }
 
-}
\ No newline at end of file
+    // Delivered after commit, so a retried or rolled-back attempt never reaches the student.
+    private void publishGradesPosted(StudentPoint studentPoint) {
+        if (studentPoint.getStudent() == null) {
+            return;
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("studentId", studentPoint.getStudent().getStudentId());
+        data.put("year", studentPoint.getYear());
+        data.put("semester", studentPoint.getSemester());
+        eventPublisher.publishEvent(new LiveEvent(LiveEvent.userTopic(studentPoint.getStudent().getId()), "grade", data));
+    }
+
+    private void mergeSubjects(StudentPoint target, List<Subject> incoming) {
+        Map<String, Subject> bySubjectId = new HashMap<>();
+        for (Subject subject : target.getSubjects()) {
+            bySubjectId.put(subject.getSubjectId(), subject);
+        }
+
+        for (Subject subject : incoming) {
+            Subject existSubject = bySubjectId.get(subject.getSubjectId());
+
+            if (existSubject == null) {
+                Course course = courseService.resolve(subject.getSubjectId(), subject.getSubjectName(), subject.getCredits());
+
+                // Always insert a fresh instance: a rolled-back attempt may have stamped an id on the incoming one.
+                existSubject = Subject.builder().course(course).studentPoint(target).build();
+                target.getSubjects().add(existSubject);
+                bySubjectId.put(existSubject.getSubjectId(), existSubject);
+            }
+
+            existSubject.setPoint1(subject.getPoint1());
+            existSubject.setPoint2(subject.getPoint2());
+            existSubject.setPoint3(subject.getPoint3());
+            existSubject.setPoint4(subject.getPoint4());
+            existSubject.setNote(subject.getNote());
+            existSubject.setPointAverage(gradeWeightingService.computeAverage(existSubject, target.getYear()));
+        }
+    }
+
+}
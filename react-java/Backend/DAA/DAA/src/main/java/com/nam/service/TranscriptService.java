@@ -0,0 +1,15 @@
+package com.nam.service;
+
+import com.nam.exception.GradeException;
+import com.nam.model.SemesterSnapshot;
+import com.nam.model.StudentPoint;
+
+import java.util.Optional;
+
+public interface TranscriptService {
+    public SemesterSnapshot closeSemester(String studentId, String semester) throws GradeException;
+
+    public Optional<SemesterSnapshot> findSnapshot(String studentId, String semester);
+
+    public StudentPoint getLiveTranscript(String studentId, String semester) throws GradeException;
+}
@@ -0,0 +1,138 @@
+package com.nam.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nam.exception.GradeException;
+import com.nam.model.SemesterSnapshot;
+import com.nam.model.StudentPoint;
+import com.nam.repository.SemesterSnapshotRepository;
+import com.nam.repository.StudentPointRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.retry.annotation.Retryable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class TranscriptServiceImpl implements TranscriptService {
+
+    private final StudentPointRepository studentPointRepository;
+    private final SemesterSnapshotRepository semesterSnapshotRepository;
+    private final ObjectMapper objectMapper;
+
+    // Snapshots never change once written, so cached bytes never need invalidation; LRU bounds the heap.
+    private final Map<String, SemesterSnapshot> snapshotCache;
+
+    public TranscriptServiceImpl(StudentPointRepository studentPointRepository,
+                                 SemesterSnapshotRepository semesterSnapshotRepository,
+                                 ObjectMapper objectMapper,
+                                 @Value("${transcript.snapshot-cache-size:10000}") int snapshotCacheSize) {
+        this.studentPointRepository = studentPointRepository;
+        this.semesterSnapshotRepository = semesterSnapshotRepository;
+        this.objectMapper = objectMapper;
+        this.snapshotCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SemesterSnapshot> eldest) {
+                return size() > snapshotCacheSize;
+            }
+        });
+    }
+
+    /**
+     * Idempotent: closing an already closed semester returns its existing snapshot. A racing close or
+     * grade upsert makes this attempt fail on a constraint or version check; the retry then sees the outcome.
+     */
+    @Override
+    @Transactional
+    @Retryable(retryFor = {ConcurrencyFailureException.class, DataIntegrityViolationException.class}, maxAttempts = 3)
+    public SemesterSnapshot closeSemester(String studentId, String semester) throws GradeException {
+        Optional<SemesterSnapshot> existSnapshot = findSnapshot(studentId, semester);
+        if (existSnapshot.isPresent()) {
+            return existSnapshot.get();
+        }
+
+        StudentPoint studentPoint = getLiveTranscript(studentId, semester);
+        studentPoint.setClosed(true);
+        studentPointRepository.save(studentPoint);
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(studentPoint);
+        } catch (JsonProcessingException e) {
+            throw new GradeException("Could not serialize transcript: " + e.getMessage());
+        }
+
+        SemesterSnapshot snapshot = SemesterSnapshot.builder()
+                .studentId(studentId)
+                .semester(semester)
+                .year(studentPoint.getYear())
+                .body(body)
+                .gzipBody(gzip(body))
+                .etag(etagOf(body))
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        // Not cached here: this transaction may still roll back or be retried. The first
+        // findSnapshot after the commit loads it.
+        return semesterSnapshotRepository.save(snapshot);
+    }
+
+    @Override
+    public Optional<SemesterSnapshot> findSnapshot(String studentId, String semester) {
+        String key = key(studentId, semester);
+        SemesterSnapshot snapshot = snapshotCache.get(key);
+        if (snapshot != null) {
+            return Optional.of(snapshot);
+        }
+
+        Optional<SemesterSnapshot> stored = semesterSnapshotRepository.findByStudentIdAndSemester(studentId, semester);
+        stored.ifPresent(s -> snapshotCache.put(key, s));
+        return stored;
+    }
+
+    @Override
+    public StudentPoint getLiveTranscript(String studentId, String semester) throws GradeException {
+        StudentPoint studentPoint = studentPointRepository.getStudentPointBySemesterAndStudentId(studentId, semester);
+        if (studentPoint == null) {
+            throw new GradeException("No points found for student " + studentId + " in semester " + semester);
+        }
+        return studentPoint;
+    }
+
+    private static String key(String studentId, String semester) {
+        return studentId + '|' + semester;
+    }
+
+    static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static String etagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
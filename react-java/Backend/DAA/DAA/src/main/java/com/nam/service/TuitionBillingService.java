@@ -0,0 +1,12 @@
+package com.nam.service;
+
+import com.nam.exception.TuitionException;
+import com.nam.exception.UserException;
+import com.nam.model.Tuition;
+import com.nam.payload.response.JobProgress;
+
+public interface TuitionBillingService {
+    public Tuition createTuition(String studentId, String semester, Tuition tuition) throws UserException;
+
+    public JobProgress billSemester(String year, String semester) throws TuitionException;
+}
@@ -0,0 +1,171 @@
+package com.nam.service;
+
+import com.nam.exception.TuitionException;
+import com.nam.exception.UserException;
+import com.nam.model.EPaymentStatus;
+import com.nam.model.Student;
+import com.nam.model.Tuition;
+import com.nam.payload.response.JobProgress;
+import com.nam.payload.response.TuitionBillingRow;
+import com.nam.repository.StudentRepository;
+import com.nam.repository.TuitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bills a whole semester in one background job. Registered credits are summed in the database,
+ * a keyset page of unbilled students at a time, and each page is written as one batched insert
+ * transaction. Students that already have a tuition for the semester are skipped, so the job is
+ * idempotent and a failed run is resumed by simply starting it again.
+ */
+@Service
+public class TuitionBillingServiceImpl implements TuitionBillingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TuitionBillingServiceImpl.class);
+
+    private final TuitionRepository tuitionRepository;
+    private final StudentRepository studentRepository;
+    private final CreditPriceService creditPriceService;
+    private final TuitionSummaryService tuitionSummaryService;
+    private final JobRegistry jobRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor tuitionBillingExecutor;
+
+    // At most one run per (year, semester) on this node; a second request joins the running job.
+    private final Map<String, JobProgress> runningJobs = new HashMap<>();
+
+    @Value("${tuition.billing.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${tuition.billing.due-after-days:30}")
+    private int dueAfterDays = 30;
+
+    public TuitionBillingServiceImpl(TuitionRepository tuitionRepository, StudentRepository studentRepository,
+                                     CreditPriceService creditPriceService, TuitionSummaryService tuitionSummaryService,
+                                     JobRegistry jobRegistry, PlatformTransactionManager transactionManager,
+                                     @Qualifier("tuitionBillingExecutor") ThreadPoolTaskExecutor tuitionBillingExecutor) {
+        this.tuitionRepository = tuitionRepository;
+        this.studentRepository = studentRepository;
+        this.creditPriceService = creditPriceService;
+        this.tuitionSummaryService = tuitionSummaryService;
+        this.jobRegistry = jobRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tuitionBillingExecutor = tuitionBillingExecutor;
+    }
+
+    /**
+     * Bills one student by hand. Nothing is paid yet: amounts paid only ever come from the ledger,
+     * so whatever the request claims was paid is ignored. The tuition and its class summary are
+     * written in one transaction.
+     */
+    @Override
+    @Transactional
+    public Tuition createTuition(String studentId, String semester, Tuition tuition) throws UserException {
+        Student student = studentRepository.findByStudentId(studentId);
+        if (student == null) {
+            throw new UserException("Student not found with id: " + studentId);
+        }
+
+        tuition.setId(null);
+        tuition.setStudent(student);
+        tuition.setSemester(semester);
+        tuition.setAmountPaid(0);
+        tuition.setBalance(tuition.getTotalPay());
+        tuition.setPaymentStatus(EPaymentStatus.UNPAID);
+        tuition.setPayAt(null);
+        tuition.setPaymentLinkId(null);
+        tuition.setPaymentLinkUrl(null);
+        tuition.setPaymentLinkExpiresAt(null);
+
+        tuitionRepository.save(tuition);
+        tuitionSummaryService.recordCreated(student.getStudentClass(), List.of(tuition));
+        return tuition;
+    }
+
+    @Override
+    public JobProgress billSemester(String year, String semester) throws TuitionException {
+        double pricePerCredit = creditPriceService.getCreditPrice(year).getPricePerCredit();
+
+        String key = year + '|' + semester;
+        JobProgress progress;
+        synchronized (runningJobs) {
+            JobProgress running = runningJobs.get(key);
+            if (running != null && !running.isFinished()) {
+                return running;
+            }
+            progress = jobRegistry.start("tuition-billing " + year + " " + semester);
+            runningJobs.put(key, progress);
+        }
+        progress.addSteps(1);
+
+        tuitionBillingExecutor.execute(() -> {
+            try {
+                bill(year, semester, pricePerCredit, progress);
+                progress.complete();
+            } catch (RuntimeException e) {
+                logger.error("Tuition billing {} failed for {} {}", progress.getJobId(), year, semester, e);
+                progress.fail(e);
+            } finally {
+                synchronized (runningJobs) {
+                    runningJobs.remove(key, progress);
+                }
+            }
+        });
+        return progress;
+    }
+
+    private void bill(String year, String semester, double pricePerCredit, JobProgress progress) {
+        LocalDate dueDate = LocalDate.now().plusDays(dueAfterDays);
+        Long afterId = 0L;
+        while (true) {
+            long started = System.nanoTime();
+            List<TuitionBillingRow> rows = tuitionRepository.findUnbilledCredits(year, semester, afterId, PageRequest.of(0, batchSize));
+            progress.addTiming("select", (System.nanoTime() - started) / 1_000_000);
+            if (rows.isEmpty()) {
+                progress.stepDone(0);
+                return;
+            }
+
+            started = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<String, List<Tuition>> byClass = new HashMap<>();
+                for (TuitionBillingRow row : rows) {
+                    int totalCredits = row.getTotalCredits().intValue();
+                    byClass.computeIfAbsent(row.getStudentClass(), k -> new ArrayList<>()).add(Tuition.builder()
+                            .student(studentRepository.getReferenceById(row.getStudentId()))
+                            .totalCredits(totalCredits)
+                            .totalPay(totalCredits * pricePerCredit)
+                            .balance(totalCredits * pricePerCredit)
+                            .year(year)
+                            .semester(semester)
+                            .dueDate(dueDate)
+                            .paymentStatus(EPaymentStatus.UNPAID)
+                            .build());
+                }
+                byClass.forEach((studentClass, tuitions) -> {
+                    tuitionRepository.saveAll(tuitions);
+                    tuitionSummaryService.recordCreated(studentClass, tuitions);
+                });
+            });
+            progress.addTiming("insert", (System.nanoTime() - started) / 1_000_000);
+
+            progress.addSteps(1);
+            progress.stepDone(rows.size());
+            afterId = rows.get(rows.size() - 1).getStudentId();
+        }
+    }
+}
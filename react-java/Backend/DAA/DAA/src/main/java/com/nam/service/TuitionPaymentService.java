@@ -0,0 +1,14 @@
+package com.nam.service;
+
+import com.nam.exception.TuitionException;
+import com.nam.model.TuitionPayment;
+
+import java.util.List;
+
+public interface TuitionPaymentService {
+    public TuitionPayment recordPayment(Long tuitionId, double amount, String gatewayReference) throws TuitionException;
+
+    public TuitionPayment recordRefund(String paymentReference, double amount, String refundReference) throws TuitionException;
+
+    public List<TuitionPayment> getLedger(Long tuitionId);
+}
@@ -0,0 +1,137 @@
+package com.nam.service;
+
+import com.nam.exception.TuitionException;
+import com.nam.model.EPaymentStatus;
+import com.nam.model.ETuitionPaymentType;
+import com.nam.model.Tuition;
+import com.nam.model.TuitionPayment;
+import com.nam.payload.response.LiveEvent;
+import com.nam.repository.TuitionPaymentRepository;
+import com.nam.repository.TuitionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The only writer of a tuition's payment state. Each payment or refund is appended to the
+ * ledger and applied to the running totals on the locked {@link Tuition} row and its class summary
+ * in one transaction, so the balance is always read straight off the tuition.
+ */
+@Service
+@RequiredArgsConstructor
+public class TuitionPaymentServiceImpl implements TuitionPaymentService {
+
+    // Amounts are doubles throughout the tuition model; anything below a cent counts as settled.
+    private static final double EPSILON = 0.005;
+
+    private final TuitionRepository tuitionRepository;
+    private final TuitionPaymentRepository tuitionPaymentRepository;
+    private final TuitionSummaryService tuitionSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public TuitionPayment recordPayment(Long tuitionId, double amount, String gatewayReference) throws TuitionException {
+        if (amount <= 0) {
+            throw new TuitionException("Payment amount must be positive");
+        }
+        Optional<TuitionPayment> recorded = findRecorded(gatewayReference, ETuitionPaymentType.PAYMENT);
+        if (recorded.isPresent()) {
+            return recorded.get();
+        }
+
+        Tuition tuition = tuitionRepository.findByIdForUpdate(tuitionId)
+                .orElseThrow(() -> new TuitionException("Tuition not found with id " + tuitionId));
+        // Re-check under the lock: a concurrent confirmation of the same payment may just have committed.
+        recorded = findRecorded(gatewayReference, ETuitionPaymentType.PAYMENT);
+        if (recorded.isPresent()) {
+            return recorded.get();
+        }
+        return append(tuition, ETuitionPaymentType.PAYMENT, amount, gatewayReference);
+    }
+
+    @Override
+    @Transactional
+    public TuitionPayment recordRefund(String paymentReference, double amount, String refundReference) throws TuitionException {
+        if (amount <= 0) {
+            throw new TuitionException("Refund amount must be positive");
+        }
+        Optional<TuitionPayment> recorded = findRecorded(refundReference, ETuitionPaymentType.REFUND);
+        if (recorded.isPresent()) {
+            return recorded.get();
+        }
+
+        TuitionPayment payment = findRecorded(paymentReference, ETuitionPaymentType.PAYMENT)
+                .orElseThrow(() -> new TuitionException("No recorded payment " + paymentReference + " to refund"));
+        Tuition tuition = tuitionRepository.findByIdForUpdate(payment.getTuition().getId()).orElseThrow();
+        recorded = findRecorded(refundReference, ETuitionPaymentType.REFUND);
+        if (recorded.isPresent()) {
+            return recorded.get();
+        }
+        return append(tuition, ETuitionPaymentType.REFUND, amount, refundReference);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TuitionPayment> getLedger(Long tuitionId) {
+        return tuitionPaymentRepository.findLedger(tuitionId);
+    }
+
+    private TuitionPayment append(Tuition tuition, ETuitionPaymentType type, double amount, String gatewayReference) {
+        LocalDateTime now = LocalDateTime.now();
+        double signedAmount = type == ETuitionPaymentType.REFUND ? -amount : amount;
+        EPaymentStatus previousStatus = tuition.getPaymentStatus();
+
+        tuition.setAmountPaid(tuition.getAmountPaid() + signedAmount);
+        tuition.setBalance(tuition.getTotalPay() - tuition.getAmountPaid());
+        tuition.setPaymentStatus(statusOf(tuition));
+        if (type == ETuitionPaymentType.PAYMENT) {
+            tuition.setPayAt(now);
+        }
+        tuitionSummaryService.recordPayment(tuition, previousStatus, signedAmount);
+
+        TuitionPayment entry = tuitionPaymentRepository.save(TuitionPayment.builder()
+                .tuition(tuition)
+                .type(type)
+                .amount(amount)
+                .gatewayReference(gatewayReference)
+                .balanceAfter(tuition.getBalance())
+                .createdAt(now)
+                .build());
+        publishPayment(tuition, entry);
+        return entry;
+    }
+
+    private void publishPayment(Tuition tuition, TuitionPayment entry) {
+        if (tuition.getStudent() == null) {
+            return;
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("tuitionId", tuition.getId());
+        data.put("type", entry.getType());
+        data.put("amount", entry.getAmount());
+        data.put("amountPaid", tuition.getAmountPaid());
+        data.put("balance", tuition.getBalance());
+        data.put("paymentStatus", tuition.getPaymentStatus());
+        eventPublisher.publishEvent(new LiveEvent(LiveEvent.userTopic(tuition.getStudent().getId()), "payment", data));
+    }
+
+    private Optional<TuitionPayment> findRecorded(String gatewayReference, ETuitionPaymentType type) {
+        return gatewayReference == null ? Optional.empty()
+                : tuitionPaymentRepository.findByGatewayReferenceAndType(gatewayReference, type);
+    }
+
+    static EPaymentStatus statusOf(Tuition tuition) {
+        if (tuition.getBalance() <= EPSILON) {
+            return EPaymentStatus.PAID;
+        }
+        return tuition.getAmountPaid() > EPSILON ? EPaymentStatus.PARTIAL : EPaymentStatus.UNPAID;
+    }
+}
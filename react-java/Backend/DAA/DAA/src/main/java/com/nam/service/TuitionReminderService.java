@@ -0,0 +1,7 @@
+package com.nam.service;
+
+import com.nam.payload.response.JobProgress;
+
+public interface TuitionReminderService {
+    public JobProgress sendReminders();
+}
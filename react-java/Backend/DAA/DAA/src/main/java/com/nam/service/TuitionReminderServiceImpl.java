@@ -0,0 +1,259 @@
+package com.nam.service;
+
+import com.nam.model.EPaymentStatus;
+import com.nam.model.EReminderStatus;
+import com.nam.model.TuitionReminder;
+import com.nam.payload.response.JobProgress;
+import com.nam.payload.response.TuitionReminderRow;
+import com.nam.repository.TuitionReminderRepository;
+import com.nam.repository.TuitionRepository;
+import com.nam.template.MailTemplate;
+import com.nam.template.MailTemplateRegistry;
+import com.nam.template.RenderedMail;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mails a payment reminder to every student whose tuition is still owed and falls due soon.
+ * Recipients are paged with keyset iteration and claimed in the database before anything is sent;
+ * each page is split into chunks that a small pool of senders delivers, one SMTP connection per
+ * chunk, under the global {@code mailRateLimiter}. Reminders that failed, or were stranded in
+ * {@code SENDING} by a crash, are retried by later campaigns up to a limit.
+ */
+@Service
+public class TuitionReminderServiceImpl implements TuitionReminderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TuitionReminderServiceImpl.class);
+
+    private final TuitionRepository tuitionRepository;
+    private final TuitionReminderRepository tuitionReminderRepository;
+    private final JavaMailSender javaMailSender;
+    private final JobRegistry jobRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor tuitionReminderJobExecutor;
+    private final ThreadPoolTaskExecutor tuitionReminderMailExecutor;
+    private final RateLimiter mailRateLimiter;
+    private final MailTemplate reminderTemplate;
+
+    private final AtomicReference<JobProgress> running = new AtomicReference<>();
+
+    @Value("${tuition.reminder.days-before-due:7}")
+    private int daysBeforeDue = 7;
+
+    @Value("${tuition.reminder.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${tuition.reminder.messages-per-connection:50}")
+    private int messagesPerConnection = 50;
+
+    @Value("${tuition.reminder.max-attempts:3}")
+    private int maxAttempts = 3;
+
+    // A SENDING row older than this belongs to a campaign that died mid-send.
+    @Value("${tuition.reminder.stuck-after-seconds:600}")
+    private long stuckAfterSeconds = 600;
+
+    @Value("${tuition.reminder.from:no-reply@daa.edu.vn}")
+    private String from = "no-reply@daa.edu.vn";
+
+    public TuitionReminderServiceImpl(TuitionRepository tuitionRepository, TuitionReminderRepository tuitionReminderRepository,
+                                      JavaMailSender javaMailSender, MailTemplateRegistry mailTemplateRegistry, JobRegistry jobRegistry,
+                                      PlatformTransactionManager transactionManager,
+                                      @Qualifier("tuitionReminderJobExecutor") ThreadPoolTaskExecutor tuitionReminderJobExecutor,
+                                      @Qualifier("tuitionReminderMailExecutor") ThreadPoolTaskExecutor tuitionReminderMailExecutor,
+                                      RateLimiter mailRateLimiter) {
+        this.tuitionRepository = tuitionRepository;
+        this.tuitionReminderRepository = tuitionReminderRepository;
+        this.javaMailSender = javaMailSender;
+        this.reminderTemplate = mailTemplateRegistry.get("tuition-reminder");
+        this.jobRegistry = jobRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tuitionReminderJobExecutor = tuitionReminderJobExecutor;
+        this.tuitionReminderMailExecutor = tuitionReminderMailExecutor;
+        this.mailRateLimiter = mailRateLimiter;
+    }
+
+    @Scheduled(cron = "${tuition.reminder.cron:0 0 8 * * *}")
+    public void daily() {
+        sendReminders();
+    }
+
+    @Override
+    public JobProgress sendReminders() {
+        JobProgress current = running.get();
+        if (current != null && !current.isFinished()) {
+            return current;
+        }
+        JobProgress progress = jobRegistry.start("tuition-reminder");
+        if (!running.compareAndSet(current, progress)) {
+            progress.complete();
+            return running.get();
+        }
+
+        tuitionReminderJobExecutor.execute(() -> {
+            try {
+                run(progress);
+                progress.complete();
+            } catch (RuntimeException e) {
+                logger.error("Tuition reminder campaign {} failed", progress.getJobId(), e);
+                progress.fail(e);
+            }
+        });
+        return progress;
+    }
+
+    private void run(JobProgress progress) {
+        LocalDate today = LocalDate.now();
+        LocalDate until = today.plusDays(daysBeforeDue);
+        Integer released = transactionTemplate.execute(status -> tuitionReminderRepository.releaseStale(
+                LocalDateTime.now().minusSeconds(stuckAfterSeconds), "Campaign stopped while sending",
+                EReminderStatus.SENDING, EReminderStatus.FAILED));
+        if (released != null && released > 0) {
+            logger.warn("{} tuition reminders were stuck in SENDING and will be retried", released);
+        }
+
+        Long afterId = 0L;
+        while (true) {
+            long started = System.nanoTime();
+            List<TuitionReminderRow> rows = tuitionRepository.findReminderCandidates(today, until, EPaymentStatus.PAID,
+                    EReminderStatus.FAILED, maxAttempts, afterId, PageRequest.of(0, batchSize));
+            progress.addTiming("select", (System.nanoTime() - started) / 1_000_000);
+            if (rows.isEmpty()) {
+                return;
+            }
+            progress.addSteps(1);
+
+            started = System.nanoTime();
+            Map<Long, TuitionReminderRow> claimed = claim(rows);
+            progress.addTiming("claim", (System.nanoTime() - started) / 1_000_000);
+
+            started = System.nanoTime();
+            List<Long> reminderIds = new ArrayList<>(claimed.keySet());
+            List<CompletableFuture<Map<Long, String>>> chunks = new ArrayList<>();
+            for (int from = 0; from < reminderIds.size(); from += messagesPerConnection) {
+                List<Long> chunk = reminderIds.subList(from, Math.min(from + messagesPerConnection, reminderIds.size()));
+                chunks.add(CompletableFuture.supplyAsync(() -> send(chunk, claimed), tuitionReminderMailExecutor));
+            }
+            Map<Long, String> failed = new HashMap<>();
+            chunks.forEach(chunk -> failed.putAll(chunk.join()));
+            progress.addTiming("send", (System.nanoTime() - started) / 1_000_000);
+
+            List<Long> sent = reminderIds.stream().filter(id -> !failed.containsKey(id)).toList();
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!sent.isEmpty()) {
+                    tuitionReminderRepository.markSent(sent, EReminderStatus.SENT, LocalDateTime.now());
+                }
+                failed.forEach((id, error) -> tuitionReminderRepository.markFailed(id, EReminderStatus.FAILED, error));
+            });
+            progress.itemsFailed(failed.size());
+            progress.stepDone(sent.size());
+            afterId = rows.get(rows.size() - 1).getTuitionId();
+        }
+    }
+
+    /**
+     * Commits a {@code SENDING} row per recipient before any mail leaves, keyed by reminder id. A
+     * FAILED reminder is claimed again in place; one another campaign claimed first is left out.
+     */
+    private Map<Long, TuitionReminderRow> claim(List<TuitionReminderRow> rows) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            Map<Long, TuitionReminderRow> claimed = new HashMap<>();
+            List<TuitionReminderRow> fresh = new ArrayList<>(rows.size());
+            List<TuitionReminder> reminders = new ArrayList<>(rows.size());
+            for (TuitionReminderRow row : rows) {
+                if (row.getReminderId() != null) {
+                    if (tuitionReminderRepository.reclaim(row.getReminderId(), row.getEmail(), now,
+                            EReminderStatus.SENDING, EReminderStatus.FAILED) == 1) {
+                        claimed.put(row.getReminderId(), row);
+                    }
+                    continue;
+                }
+                fresh.add(row);
+                reminders.add(TuitionReminder.builder()
+                        .tuition(tuitionRepository.getReferenceById(row.getTuitionId()))
+                        .dueDate(row.getDueDate())
+                        .email(row.getEmail())
+                        .status(EReminderStatus.SENDING)
+                        .attempts(1)
+                        .createdAt(now)
+                        .claimedAt(now)
+                        .build());
+            }
+            reminders = tuitionReminderRepository.saveAll(reminders);
+
+            for (int i = 0; i < fresh.size(); i++) {
+                claimed.put(reminders.get(i).getId(), fresh.get(i));
+            }
+            return claimed;
+        });
+    }
+
+    /**
+     * Sends one chunk over a single SMTP connection and returns the reminders that failed, with the reason.
+     */
+    private Map<Long, String> send(List<Long> reminderIds, Map<Long, TuitionReminderRow> rows) {
+        Map<SimpleMailMessage, Long> messages = new IdentityHashMap<>();
+        for (Long reminderId : reminderIds) {
+            mailRateLimiter.acquirePermission();
+            messages.put(message(rows.get(reminderId)), reminderId);
+        }
+
+        Map<Long, String> failed = new HashMap<>();
+        try {
+            javaMailSender.send(messages.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                reminderIds.forEach(id -> failed.put(id, LastErrors.truncate(e.getMessage())));
+            }
+            e.getFailedMessages().forEach((message, cause) -> failed.put(messages.get(message), LastErrors.truncate(cause.getMessage())));
+        } catch (MailException e) {
+            reminderIds.forEach(id -> failed.put(id, LastErrors.truncate(e.getMessage())));
+        }
+        if (!failed.isEmpty()) {
+            logger.warn("{} of {} tuition reminders failed to send", failed.size(), reminderIds.size());
+        }
+        return failed;
+    }
+
+    private SimpleMailMessage message(TuitionReminderRow row) {
+        String name = row.getLastName() != null && row.getFirstName() != null
+                ? row.getLastName() + " " + row.getFirstName() : row.getEmail();
+        RenderedMail mail = reminderTemplate.render(Map.of(
+                "name", name,
+                "semester", row.getSemester(),
+                "year", row.getYear(),
+                "balance", String.format("%,.0f", row.getBalance()),
+                "dueDate", row.getDueDate()));
+
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(EmailServiceImpl.cleanEmail(row.getEmail()));
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getBody());
+        return message;
+    }
+}
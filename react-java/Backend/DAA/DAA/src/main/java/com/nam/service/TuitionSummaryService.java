@@ -0,0 +1,23 @@
+package com.nam.service;
+
+import com.nam.exception.TuitionException;
+import com.nam.model.EPaymentStatus;
+import com.nam.model.Tuition;
+import com.nam.model.TuitionSummary;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TuitionSummaryService {
+    public void recordCreated(String studentClass, Collection<Tuition> tuitions);
+
+    public void recordPayment(Tuition tuition, EPaymentStatus previousStatus, double collected);
+
+    public TuitionSummary getSummary(String year, String semester, String studentClass) throws TuitionException;
+
+    public List<TuitionSummary> getSummaries(String year, String semester);
+
+    public List<TuitionSummary> getSummaries(String year);
+
+    public List<TuitionSummary> rebuild();
+}
@@ -0,0 +1,187 @@
+package com.nam.service;
+
+import com.nam.exception.TuitionException;
+import com.nam.model.EPaymentStatus;
+import com.nam.model.Tuition;
+import com.nam.model.TuitionSummary;
+import com.nam.payload.response.TuitionSummaryRow;
+import com.nam.repository.TuitionRepository;
+import com.nam.repository.TuitionSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps {@link TuitionSummary} rows in step with the tuitions they count. Callers pass the change
+ * they just made inside their own transaction; it is applied as one additive UPDATE per summary row,
+ * so the dashboard totals commit or roll back together with the tuition change.
+ */
+@Service
+public class TuitionSummaryServiceImpl implements TuitionSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TuitionSummaryServiceImpl.class);
+
+    // Students without a class are summarized under this key; NULL would never match the row in SQL.
+    static final String NO_CLASS = "";
+
+    private final TuitionSummaryRepository tuitionSummaryRepository;
+    private final TuitionRepository tuitionRepository;
+    private final TransactionTemplate newTransaction;
+
+    public TuitionSummaryServiceImpl(TuitionSummaryRepository tuitionSummaryRepository, TuitionRepository tuitionRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.tuitionSummaryRepository = tuitionSummaryRepository;
+        this.tuitionRepository = tuitionRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional
+    public void recordCreated(String studentClass, Collection<Tuition> tuitions) {
+        Map<String, Delta> deltas = new LinkedHashMap<>();
+        for (Tuition tuition : tuitions) {
+            Delta delta = deltas.computeIfAbsent(tuition.getYear() + '|' + tuition.getSemester(),
+                    k -> new Delta(tuition.getYear(), tuition.getSemester(), classOf(studentClass)));
+            delta.tuitions++;
+            delta.count(statusOf(tuition.getPaymentStatus()), 1);
+            delta.billed += tuition.getTotalPay();
+            delta.collected += tuition.getAmountPaid();
+        }
+        deltas.values().forEach(this::apply);
+    }
+
+    @Override
+    @Transactional
+    public void recordPayment(Tuition tuition, EPaymentStatus previousStatus, double collected) {
+        Delta delta = new Delta(tuition.getYear(), tuition.getSemester(), classOf(tuition.getStudent().getStudentClass()));
+        EPaymentStatus status = statusOf(tuition.getPaymentStatus());
+        if (status != statusOf(previousStatus)) {
+            delta.count(statusOf(previousStatus), -1);
+            delta.count(status, 1);
+        }
+        delta.collected = collected;
+        apply(delta);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TuitionSummary getSummary(String year, String semester, String studentClass) throws TuitionException {
+        return tuitionSummaryRepository.findByYearAndSemesterAndStudentClass(year, semester, classOf(studentClass))
+                .orElseThrow(() -> new TuitionException("No tuition summary for class " + studentClass + " in " + year + " " + semester));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TuitionSummary> getSummaries(String year, String semester) {
+        return tuitionSummaryRepository.findByYearAndSemesterOrderByStudentClass(year, semester);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TuitionSummary> getSummaries(String year) {
+        return tuitionSummaryRepository.findByYearOrderBySemesterAscStudentClassAsc(year);
+    }
+
+    /**
+     * Replaces every summary row with totals recomputed from the tuition table. Increments that
+     * commit while the rebuild runs can be lost, so run it when no billing or payments are in flight.
+     */
+    @Override
+    @Transactional
+    public List<TuitionSummary> rebuild() {
+        List<TuitionSummaryRow> rows = tuitionRepository.summarize(EPaymentStatus.UNPAID, EPaymentStatus.PARTIAL, EPaymentStatus.PAID);
+        LocalDateTime now = LocalDateTime.now();
+        List<TuitionSummary> summaries = new ArrayList<>(rows.size());
+        for (TuitionSummaryRow row : rows) {
+            summaries.add(TuitionSummary.builder()
+                    .year(row.getYear())
+                    .semester(row.getSemester())
+                    .studentClass(row.getStudentClass())
+                    .tuitionCount(row.getTuitionCount())
+                    .unpaidCount(row.getUnpaidCount())
+                    .partialCount(row.getPartialCount())
+                    .paidCount(row.getPaidCount())
+                    .totalBilled(row.getTotalBilled())
+                    .totalPaid(row.getTotalPaid())
+                    .outstanding(row.getTotalBilled() - row.getTotalPaid())
+                    .updatedAt(now)
+                    .build());
+        }
+        tuitionSummaryRepository.deleteAllInBatch();
+        tuitionSummaryRepository.flush();
+        logger.info("Rebuilt {} tuition summaries", summaries.size());
+        return tuitionSummaryRepository.saveAll(summaries);
+    }
+
+    private void apply(Delta delta) {
+        if (!tuitionSummaryRepository.existsByYearAndSemesterAndStudentClass(delta.year, delta.semester, delta.studentClass)) {
+            createRow(delta);
+        }
+        tuitionSummaryRepository.addDelta(delta.year, delta.semester, delta.studentClass, delta.tuitions,
+                delta.unpaid, delta.partial, delta.paid, delta.billed, delta.collected, LocalDateTime.now());
+    }
+
+    /**
+     * Inserts the empty row in its own transaction, so a concurrent writer that created it first
+     * only costs a unique-key violation here instead of rolling back the caller.
+     */
+    private void createRow(Delta delta) {
+        try {
+            newTransaction.executeWithoutResult(status -> tuitionSummaryRepository.saveAndFlush(TuitionSummary.builder()
+                    .year(delta.year)
+                    .semester(delta.semester)
+                    .studentClass(delta.studentClass)
+                    .updatedAt(LocalDateTime.now())
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Tuition summary {} {} {} already created", delta.year, delta.semester, delta.studentClass);
+        }
+    }
+
+    private static String classOf(String studentClass) {
+        return studentClass == null ? NO_CLASS : studentClass;
+    }
+
+    private static EPaymentStatus statusOf(EPaymentStatus status) {
+        return status == null ? EPaymentStatus.UNPAID : status;
+    }
+
+    private static final class Delta {
+        private final String year;
+        private final String semester;
+        private final String studentClass;
+        private long tuitions;
+        private long unpaid;
+        private long partial;
+        private long paid;
+        private double billed;
+        private double collected;
+
+        private Delta(String year, String semester, String studentClass) {
+            this.year = year;
+            this.semester = semester;
+            this.studentClass = studentClass;
+        }
+
+        private void count(EPaymentStatus status, int by) {
+            switch (status) {
+                case UNPAID -> unpaid += by;
+                case PARTIAL -> partial += by;
+                case PAID -> paid += by;
+            }
+        }
+    }
+}
@@ -12,6 +12,8 @@ public interface UserService {
 
     public User findUserProfileByJwt(String jwt) throws UserException;
 
+    public User findUserProfileByLiveTicket(String ticket) throws UserException;
+
     public void deleteUser(Long id) throws UserException;
 
     public Student createStudent(SignupStudentRequest studentRequest) throws UserException;
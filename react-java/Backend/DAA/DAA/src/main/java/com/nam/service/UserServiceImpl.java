@@ -7,6 +7,7 @@ import com.nam.payload.request.SignupTeacherRequest;
 import com.nam.repository.RoleRepository;
 import com.nam.repository.UserRepository;
 import com.nam.security.jwt.JwtProvider;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -44,6 +45,19 @@ public class UserServiceImpl implements UserService {
         return user;
     }
 
+    @Override
+    public User findUserProfileByLiveTicket(String ticket) throws UserException {
+        String email;
+        try {
+            email = jwtProvider.getEmailFromLiveTicket(ticket);
+        } catch (JwtException e) {
+            throw new UserException("Invalid or expired live ticket");
+        }
+
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserException("User Not Found with email: " + email));
+    }
+
     @Override
     public void deleteUser(Long id) throws UserException {
         userRepository.deleteById(id);
@@ -0,0 +1,85 @@
+package com.nam.template;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A text with {@code {{name}}} placeholders, split once into literals and variable names so that
+ * rendering only looks up the values and joins the parts. {@link #render} lets
+ * {@link String#join} size the output buffer exactly from the parts and build the string from it
+ * without a second copy, which a growing {@link StringBuilder} cannot do.
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String name;
+    // literals.length == variables.length + 1; literals[i] comes before variables[i]
+    private final String[] literals;
+    private final String[] variables;
+
+    private CompiledTemplate(String name, String[] literals, String[] variables) {
+        this.name = name;
+        this.literals = literals;
+        this.variables = variables;
+    }
+
+    public static CompiledTemplate compile(String name, String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open + " in template " + name);
+            }
+            String variable = source.substring(open + OPEN.length(), close).trim();
+            if (variable.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder at offset " + open + " in template " + name);
+            }
+            literals.add(source.substring(position, open));
+            variables.add(variable);
+            position = close + CLOSE.length();
+        }
+        return new CompiledTemplate(name, literals.toArray(new String[0]), variables.toArray(new String[0]));
+    }
+
+    public String render(Map<String, ?> values) {
+        if (variables.length == 0) {
+            return literals[0];
+        }
+        String[] parts = new String[literals.length + variables.length];
+        for (int i = 0; i < variables.length; i++) {
+            parts[2 * i] = literals[i];
+            parts[2 * i + 1] = valueOf(variables[i], values);
+        }
+        parts[parts.length - 1] = literals[variables.length];
+        return String.join("", parts);
+    }
+
+    private String valueOf(String variable, Map<String, ?> values) {
+        Object value = values.get(variable);
+        if (value == null) {
+            throw new IllegalArgumentException("No value for {{" + variable + "}} in template " + name);
+        }
+        return value.toString();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Set<String> getVariables() {
+        return new LinkedHashSet<>(Arrays.asList(variables));
+    }
+}
@@ -0,0 +1,42 @@
+package com.nam.template;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compiled subject and body of one mail type in one locale.
+ */
+public final class MailTemplate {
+
+    private final String name;
+    private final Locale locale;
+    private final CompiledTemplate subject;
+    private final CompiledTemplate body;
+
+    MailTemplate(String name, Locale locale, CompiledTemplate subject, CompiledTemplate body) {
+        this.name = name;
+        this.locale = locale;
+        this.subject = subject;
+        this.body = body;
+    }
+
+    public RenderedMail render(Map<String, ?> values) {
+        return new RenderedMail(subject.render(values), body.render(values));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    public CompiledTemplate getSubject() {
+        return subject;
+    }
+
+    public CompiledTemplate getBody() {
+        return body;
+    }
+}
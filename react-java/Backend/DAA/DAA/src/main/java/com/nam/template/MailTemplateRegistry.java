@@ -0,0 +1,107 @@
+package com.nam.template;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mail templates, compiled once at startup from {@code email.template.location}. A file named
+ * {@code <name>.txt} is the default for a mail type and {@code <name>_<locale>.txt}, e.g.
+ * {@code tuition-reminder_vi.txt}, its translation. The first line holds {@code Subject: ...},
+ * followed by one blank line and the body.
+ * <p>
+ * Lookups fall back from {@code vi_VN} to {@code vi} to the default and are cached per name and
+ * locale, so a bulk job pays for resolution once.
+ */
+@Component
+public class MailTemplateRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailTemplateRegistry.class);
+
+    private static final String SUBJECT = "Subject:";
+
+    private final Locale defaultLocale;
+    // "<name>" or "<name>_<locale>" -> template, fixed after construction
+    private final Map<String, MailTemplate> templates;
+    private final Map<String, MailTemplate> resolved = new ConcurrentHashMap<>();
+
+    public MailTemplateRegistry(@Value("${email.template.location:classpath*:mail-templates/*.txt}") String location,
+                                @Value("${email.template.default-locale:en}") Locale defaultLocale) {
+        this.defaultLocale = defaultLocale;
+        this.templates = load(location);
+        logger.info("Compiled {} mail templates from {}", templates.size(), location);
+    }
+
+    public MailTemplate get(String name) {
+        return get(name, defaultLocale);
+    }
+
+    public MailTemplate get(String name, Locale locale) {
+        Locale effective = locale == null ? defaultLocale : locale;
+        return resolved.computeIfAbsent(name + '|' + effective.toLanguageTag(), key -> resolve(name, effective));
+    }
+
+    public RenderedMail render(String name, Map<String, ?> values) {
+        return get(name).render(values);
+    }
+
+    private MailTemplate resolve(String name, Locale locale) {
+        for (String candidate : new String[]{
+                name + '_' + locale.getLanguage() + '_' + locale.getCountry(),
+                name + '_' + locale.getLanguage(),
+                name}) {
+            MailTemplate template = templates.get(candidate);
+            if (template != null) {
+                return template;
+            }
+        }
+        throw new IllegalArgumentException("No mail template " + name + " for locale " + locale);
+    }
+
+    private static Map<String, MailTemplate> load(String location) {
+        Map<String, MailTemplate> loaded = new HashMap<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(location)) {
+                String file = resource.getFilename();
+                if (file == null || !file.endsWith(".txt")) {
+                    continue;
+                }
+                String key = file.substring(0, file.length() - ".txt".length());
+                loaded.put(key, parse(key, resource.getContentAsString(StandardCharsets.UTF_8)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load mail templates from " + location, e);
+        }
+        return Map.copyOf(loaded);
+    }
+
+    static MailTemplate parse(String key, String source) {
+        String text = source.replace("\r\n", "\n");
+        int endOfSubject = text.indexOf('\n');
+        if (!text.startsWith(SUBJECT) || endOfSubject < 0 || !text.startsWith("\n", endOfSubject + 1)) {
+            throw new IllegalArgumentException("Mail template " + key + " must start with a Subject: line and a blank line");
+        }
+        String subject = text.substring(SUBJECT.length(), endOfSubject).trim();
+        String body = text.substring(endOfSubject + 2);
+        if (body.endsWith("\n")) {
+            body = body.substring(0, body.length() - 1);
+        }
+
+        int separator = key.indexOf('_');
+        String name = separator < 0 ? key : key.substring(0, separator);
+        Locale locale = separator < 0 ? Locale.ROOT : Locale.forLanguageTag(key.substring(separator + 1).replace('_', '-'));
+        return new MailTemplate(name, locale, CompiledTemplate.compile(key + ":subject", subject),
+                CompiledTemplate.compile(key, body));
+    }
+}
@@ -0,0 +1,11 @@
+package com.nam.template;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RenderedMail {
+    private final String subject;
+    private final String body;
+}
@@ -0,0 +1,49 @@
+-- One-off migration from denormalized subject rows to the course catalog.
+-- Run once against an existing PostgreSQL or MySQL schema, after the application
+-- (ddl-auto=update) has created the course table and subject.course_id column,
+-- and before the old subject columns are dropped. Restart the application afterwards so
+-- ddl-auto=update can add the unique constraints on student_point and subject.
+
+-- 1. One catalog row per distinct course code.
+INSERT INTO course (code, name, credits)
+SELECT s.subject_id, MAX(s.subject_name), MAX(s.credits)
+FROM subject s
+WHERE s.subject_id IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM course c WHERE c.code = s.subject_id)
+GROUP BY s.subject_id;
+
+-- 2. Point every subject row at its course.
+UPDATE subject
+SET course_id = (SELECT c.id FROM course c WHERE c.code = subject.subject_id)
+WHERE course_id IS NULL;
+
+-- 3. Merge duplicate student_point rows of the same (student, semester) onto the newest one, so
+--    their grades are deduplicated together below and the unique constraint can be created
+--    (same as db/student-point-dedup.sql; a no-op if that has already run).
+UPDATE subject
+SET id_studentpoint = (SELECT MAX(keeper.id)
+                       FROM student_point sp
+                                JOIN student_point keeper ON keeper.id_student = sp.id_student
+                           AND keeper.semester = sp.semester
+                       WHERE sp.id = subject.id_studentpoint)
+WHERE id_studentpoint IS NOT NULL;
+
+DELETE FROM student_point
+WHERE id IN (SELECT id FROM (SELECT sp1.id
+                             FROM student_point sp1
+                                      JOIN student_point sp2 ON sp1.id_student = sp2.id_student
+                                 AND sp1.semester = sp2.semester
+                                 AND sp1.id < sp2.id) duplicates);
+
+-- 4. Drop duplicate grade rows of the same course in the same semester, keeping the newest.
+DELETE FROM subject
+WHERE id IN (SELECT id FROM (SELECT s1.id
+                             FROM subject s1
+                                      JOIN subject s2 ON s1.id_studentpoint = s2.id_studentpoint
+                                 AND s1.course_id = s2.course_id
+                                 AND s1.id < s2.id) duplicates);
+
+-- 5. Remove the denormalized columns.
+ALTER TABLE subject DROP COLUMN subject_id;
+ALTER TABLE subject DROP COLUMN subject_name;
+ALTER TABLE subject DROP COLUMN credits;
@@ -0,0 +1,29 @@
+-- One-off cleanup for the unique (id_student, semester) constraint on student_point and the
+-- unique (id_studentpoint, subject_id) constraint on subject. Run once against an existing
+-- PostgreSQL or MySQL schema before starting the version that adds them; ddl-auto=update cannot
+-- create either constraint while duplicate rows remain.
+
+-- 1. Move every subject row onto the newest student_point of its (student, semester).
+UPDATE subject
+SET id_studentpoint = (SELECT MAX(keeper.id)
+                       FROM student_point sp
+                                JOIN student_point keeper ON keeper.id_student = sp.id_student
+                           AND keeper.semester = sp.semester
+                       WHERE sp.id = subject.id_studentpoint)
+WHERE id_studentpoint IS NOT NULL;
+
+-- 2. Drop duplicate grade rows of the same subject in the same semester, keeping the newest.
+DELETE FROM subject
+WHERE id IN (SELECT id FROM (SELECT s1.id
+                             FROM subject s1
+                                      JOIN subject s2 ON s1.id_studentpoint = s2.id_studentpoint
+                                 AND s1.subject_id = s2.subject_id
+                                 AND s1.id < s2.id) duplicates);
+
+-- 3. Drop the older, now empty, student_point rows.
+DELETE FROM student_point
+WHERE id IN (SELECT id FROM (SELECT sp1.id
+                             FROM student_point sp1
+                                      JOIN student_point sp2 ON sp1.id_student = sp2.id_student
+                                 AND sp1.semester = sp2.semester
+                                 AND sp1.id < sp2.id) duplicates);
@@ -0,0 +1,34 @@
+-- One-off migration of tuition.payment_status from free text ("Chưa thanh toán", "Đã thanh toán", ...)
+-- to the EPaymentStatus names UNPAID, PARTIAL and PAID. Run once against an existing PostgreSQL or
+-- MySQL schema before starting the version that maps the column as an enum; rows still holding the
+-- old labels fail to load. Then call POST /tuition/summary/rebuild so the per-class summaries are
+-- recomputed from the migrated rows.
+
+-- 1. Tuitions marked paid before the ledger existed only got the label; settle their amounts.
+UPDATE tuition
+SET amount_paid = total_pay
+WHERE payment_status = 'Đã thanh toán'
+  AND amount_paid < total_pay;
+
+-- 2. The balance column is new; derive it from the amounts.
+UPDATE tuition
+SET balance = total_pay - amount_paid
+WHERE balance IS NULL
+   OR payment_status NOT IN ('UNPAID', 'PARTIAL', 'PAID')
+   OR payment_status IS NULL;
+
+-- 3. Map the old labels.
+UPDATE tuition SET payment_status = 'PAID' WHERE payment_status = 'Đã thanh toán';
+UPDATE tuition SET payment_status = 'PARTIAL' WHERE payment_status = 'Thanh toán một phần';
+UPDATE tuition SET payment_status = 'UNPAID' WHERE payment_status = 'Chưa thanh toán';
+
+-- 4. Anything else (other free text, or no status at all) is derived from the amounts, the same
+--    way TuitionPaymentServiceImpl.statusOf does.
+UPDATE tuition
+SET payment_status = CASE
+                         WHEN balance <= 0.005 THEN 'PAID'
+                         WHEN amount_paid > 0.005 THEN 'PARTIAL'
+                         ELSE 'UNPAID'
+    END
+WHERE payment_status IS NULL
+   OR payment_status NOT IN ('UNPAID', 'PARTIAL', 'PAID');
@@ -14,6 +14,9 @@ public class AbstractContainerBaseTest {
         registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
         registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.H2Dialect");
         registry.add("spring.jpa.properties.hibernate.globally_quoted_identifiers", () -> "true");
+        registry.add("payment.gateway.provider", () -> "stub");
+        // Cached contexts share the database; keep their outbox workers from claiming each other's mail.
+        registry.add("email.outbox.poll-ms", () -> "3600000");
     }
 
 }
\ No newline at end of file
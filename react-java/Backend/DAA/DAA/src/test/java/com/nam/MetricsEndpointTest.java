@@ -0,0 +1,60 @@
+package com.nam;
+
+import com.nam.payload.request.LoginRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MetricsEndpointTest extends AbstractContainerBaseTest {
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    @DisplayName("The Prometheus scrape on the management port covers HTTP, JPA, the pool and password hashing")
+    void givenSignInAttempt_whenScraped_thenMetricsPublished() {
+        // given - precondition or setup
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail("nobody" + System.nanoTime() + "@gmail.com");
+        loginRequest.setPassword("password123");
+        restTemplate.postForEntity("http://localhost:" + port + "/auth/signin", loginRequest, String.class);
+
+        // when - action or the behaviour that we are going to test
+        ResponseEntity<String> scrape = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+        ResponseEntity<String> publicScrape = restTemplate.getForEntity(
+                "http://localhost:" + port + "/actuator/prometheus", String.class);
+
+        // then - verify the output
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(scrape.getBody())
+                .contains("http_server_requests_seconds_bucket{application=\"daa\"")
+                .contains("uri=\"/auth/signin\"")
+                .contains("hibernate_statements_total")
+                .contains("hibernate_entities_loads_total")
+                .contains("hikaricp_connections_acquire_seconds_bucket")
+                .contains("hikaricp_connections_usage_seconds_bucket")
+                .contains("security_password_seconds_count{application=\"daa\",operation=\"matches\",outcome=\"mismatch\"")
+                .contains("mail_send_seconds_count");
+        assertThat(publicScrape.getStatusCode()).isNotEqualTo(HttpStatus.OK);
+    }
+}
@@ -0,0 +1,246 @@
+package com.nam;
+
+import com.nam.model.Course;
+import com.nam.model.EPaymentStatus;
+import com.nam.model.ERole;
+import com.nam.model.Notice;
+import com.nam.model.Role;
+import com.nam.model.Student;
+import com.nam.model.StudentPoint;
+import com.nam.model.Subject;
+import com.nam.model.Tuition;
+import com.nam.reactive.ReactiveReadServer;
+import com.nam.repository.CourseRepository;
+import com.nam.repository.RoleRepository;
+import com.nam.repository.StudentPointRepository;
+import com.nam.repository.TuitionRepository;
+import com.nam.repository.UserRepository;
+import com.nam.security.jwt.JwtProvider;
+import com.nam.service.NoticeService;
+import com.nam.service.TranscriptService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "reactive.read.enabled=true",
+        "reactive.read.port=0",
+        "reactive.read.event-loop-threads=2",
+        "reactive.read.pool-size=4"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReactiveReadModeTest {
+
+    private static final int CONCURRENT_CLIENTS = 500;
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        // Lower-case unquoted names so the same hand-written SQL runs on H2 as on PostgreSQL and MySQL.
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:reactivedb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR,VALUE");
+        registry.add("spring.datasource.driver-class-name", () -> "org.h2.Driver");
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.H2Dialect");
+        registry.add("spring.jpa.properties.hibernate.globally_quoted_identifiers", () -> "true");
+        registry.add("payment.gateway.provider", () -> "stub");
+        registry.add("email.outbox.poll-ms", () -> "3600000");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ReactiveReadServer reactiveReadServer;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentPointRepository studentPointRepository;
+
+    @Autowired
+    private TuitionRepository tuitionRepository;
+
+    @Autowired
+    private NoticeService noticeService;
+
+    @Autowired
+    private TranscriptService transcriptService;
+
+    @Autowired
+    private JwtProvider jwtProvider;
+
+    private WebClient webClient;
+    private String jwt;
+    private Notice targeted;
+
+    @BeforeAll
+    void seed() throws Exception {
+        Role studentRole = roleRepository.save(new Role(null, ERole.ROLE_STUDENT));
+        Student student = Student.builder()
+                .firstName("Nam").lastName("Nguyen").password("hash").email("reactive@gmail.com")
+                .studentId("21522001").studentClass("KTPM2021")
+                .roles(Set.of(studentRole))
+                .createdAt(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS))
+                .studentPoints(new ArrayList<>()).tuitions(new ArrayList<>())
+                .build();
+        student = userRepository.save(student);
+        userRepository.save(Student.builder()
+                .firstName("Other").lastName("Student").password("hash").email("other@gmail.com")
+                .studentId("21522002").studentClass("KTPM2022")
+                .roles(Set.of(studentRole))
+                .studentPoints(new ArrayList<>()).tuitions(new ArrayList<>())
+                .build());
+
+        Course course = courseRepository.save(Course.builder().code("IT001").name("OOP").credits(4).build());
+        for (String semester : List.of("HK1", "HK2")) {
+            StudentPoint point = StudentPoint.builder().semester(semester).year("2023-2024").student(student).subjects(new ArrayList<>()).build();
+            point.getSubjects().add(Subject.builder().course(course).studentPoint(point)
+                    .point1(5).point2(6).point3(7).point4(8).pointAverage(6.5).note("ok").build());
+            studentPointRepository.save(point);
+        }
+        tuitionRepository.save(Tuition.builder().student(student).totalCredits(4).totalPay(1000).amountPaid(400)
+                .balance(600).year("2023-2024").semester("HK1").dueDate(LocalDate.of(2024, 1, 15))
+                .paymentStatus(EPaymentStatus.PARTIAL).build());
+        transcriptService.closeSemester("21522001", "HK1");
+
+        for (int i = 0; i < 3; i++) {
+            Notice notice = new Notice();
+            notice.setTitle("Everyone " + i);
+            notice.setDescription("Broadcast notice " + i);
+            noticeService.createNotice(notice);
+        }
+        Notice forStudent = new Notice();
+        forStudent.setTitle("Only KTPM2021");
+        forStudent.setDescription("Targeted notice");
+        forStudent.setTargetClasses(Set.of("KTPM2021"));
+        targeted = noticeService.createNotice(forStudent);
+
+        jwt = "Bearer " + jwtProvider.generateTokenByEmail("reactive@gmail.com");
+        webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + reactiveReadServer.getPort())
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(ConnectionProvider.builder("reactive-read-test")
+                        .maxConnections(CONCURRENT_CLIENTS)
+                        .pendingAcquireMaxCount(-1)
+                        .build())))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Notices, student list, profile and transcripts match the MVC responses byte for byte")
+    void givenSeededData_whenReadReactively_thenSameBodiesAsMvc() {
+        // given - precondition or setup
+        List<String> uris = List.of(
+                "/notice/all",
+                "/notice/all?page=1&size=2",
+                "/student/getStudentList?pageNumber=0&pageSize=10",
+                "/api/users/profile",
+                "/student/transcript/21522001/HK1",
+                "/student/transcript/21522001/HK2");
+
+        for (String uri : uris) {
+            // when - action or the behaviour that we are going to test
+            ResponseEntity<byte[]> mvc = restTemplate.exchange("http://localhost:" + port + uri, HttpMethod.GET,
+                    new HttpEntity<>(authorized()), byte[].class);
+            ResponseEntity<byte[]> reactive = webClient.get().uri(uri)
+                    .headers(headers -> headers.addAll(authorized()))
+                    .retrieve().toEntity(byte[].class).block(Duration.ofSeconds(10));
+
+            // then - verify the output
+            assertThat(reactive.getStatusCode()).as(uri).isEqualTo(mvc.getStatusCode());
+            assertThat(new String(reactive.getBody())).as(uri).isEqualTo(new String(mvc.getBody()));
+            assertThat(reactive.getHeaders().getETag()).as(uri).isEqualTo(mvc.getHeaders().getETag());
+        }
+    }
+
+    @Test
+    @DisplayName("The feed includes notices targeted at the caller, without their targets, and revalidates with its ETag")
+    void givenTargetedNotice_whenFeedRead_thenVisibleAndNotModifiedOnRevalidation() {
+        // given - precondition or setup
+        String otherJwt = "Bearer " + jwtProvider.generateTokenByEmail("other@gmail.com");
+
+        // when - action or the behaviour that we are going to test
+        ResponseEntity<String> feed = webClient.get().uri("/notice/feed?size=2")
+                .header(HttpHeaders.AUTHORIZATION, jwt)
+                .retrieve().toEntity(String.class).block(Duration.ofSeconds(10));
+        ResponseEntity<String> otherFeed = webClient.get().uri("/notice/feed?size=2")
+                .header(HttpHeaders.AUTHORIZATION, otherJwt)
+                .retrieve().toEntity(String.class).block(Duration.ofSeconds(10));
+        ResponseEntity<Void> revalidated = webClient.get().uri("/notice/feed?size=2")
+                .header(HttpHeaders.AUTHORIZATION, jwt)
+                .header(HttpHeaders.IF_NONE_MATCH, feed.getHeaders().getETag())
+                .retrieve().toBodilessEntity().block(Duration.ofSeconds(10));
+        ResponseEntity<Void> anonymous = webClient.get().uri("/notice/feed")
+                .exchangeToMono(response -> response.toBodilessEntity()).block(Duration.ofSeconds(10));
+
+        // then - verify the output
+        assertThat(feed.getBody()).contains("\"id\":" + targeted.getId()).doesNotContain("targetClasses")
+                .contains("Everyone 2").doesNotContain("Everyone 1");
+        assertThat(otherFeed.getBody()).doesNotContain("Only KTPM2021").contains("Everyone 2").contains("Everyone 1");
+        assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(anonymous.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    @DisplayName("Hundreds of concurrent clients are served by two event-loop threads and four connections")
+    void givenConcurrentClients_whenFeedRead_thenAllServed() {
+        // when - action or the behaviour that we are going to test
+        List<HttpStatus> statuses = Flux.range(0, CONCURRENT_CLIENTS)
+                .flatMap(i -> webClient.get().uri(i % 2 == 0 ? "/notice/feed" : "/student/transcript/21522001/HK2")
+                        .header(HttpHeaders.AUTHORIZATION, jwt)
+                        .retrieve().toBodilessEntity()
+                        .map(response -> HttpStatus.valueOf(response.getStatusCode().value())), CONCURRENT_CLIENTS)
+                .collectList()
+                .block(Duration.ofSeconds(60));
+
+        // then - verify the output
+        assertThat(statuses).hasSize(CONCURRENT_CLIENTS).containsOnly(HttpStatus.OK);
+    }
+
+    private HttpHeaders authorized() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, jwt);
+        // The MVC client would otherwise ask for, and transparently unzip, the gzip snapshot.
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "identity");
+        return headers;
+    }
+}
@@ -0,0 +1,39 @@
+package com.nam;
+
+import com.nam.model.EPaymentStatus;
+import com.nam.model.Student;
+import com.nam.model.Tuition;
+import com.nam.repository.TuitionRepository;
+import com.nam.repository.UserRepository;
+
+/**
+ * Stores a fresh student with one unpaid 300 tuition; ids and emails carry the prefix and a
+ * timestamp, so tests sharing the database do not collide.
+ */
+public final class TuitionFixtures {
+
+    private TuitionFixtures() {
+    }
+
+    public static Tuition newTuition(UserRepository userRepository, TuitionRepository tuitionRepository, String prefix) {
+        return newTuition(userRepository, tuitionRepository, prefix, null, "2023-2024");
+    }
+
+    public static Tuition newTuition(UserRepository userRepository, TuitionRepository tuitionRepository, String prefix,
+                                     String studentClass, String year) {
+        Student student = userRepository.save(Student.builder()
+                .studentId(prefix + System.nanoTime())
+                .email(prefix.toLowerCase() + System.nanoTime() + "@gmail.com")
+                .studentClass(studentClass)
+                .build());
+        return tuitionRepository.save(Tuition.builder()
+                .student(student)
+                .totalCredits(3)
+                .totalPay(300)
+                .balance(300)
+                .year(year)
+                .semester("HK1")
+                .paymentStatus(EPaymentStatus.UNPAID)
+                .build());
+    }
+}
@@ -0,0 +1,75 @@
+package com.nam;
+
+import com.nam.config.ConnectionPermitDataSource;
+import com.nam.payload.request.LoginRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import javax.sql.DataSource;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+@AutoConfigureObservability
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class VirtualThreadModeTest extends AbstractContainerBaseTest {
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ServletWebServerApplicationContext webServerContext;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Requests run on virtual threads and database access goes through the connection permits")
+    void givenVirtualThreadsEnabled_whenRequestServed_thenVirtualThreadAndPermitsUsed() throws Exception {
+        // given - precondition or setup
+        Executor requestExecutor = ((TomcatWebServer) webServerContext.getWebServer()).getTomcat()
+                .getConnector().getProtocolHandler().getExecutor();
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail("nobody" + System.nanoTime() + "@gmail.com");
+        loginRequest.setPassword("password123");
+
+        // when - action or the behaviour that we are going to test
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+        requestExecutor.execute(() -> virtual.complete(Thread.currentThread().isVirtual()));
+        restTemplate.postForEntity("http://localhost:" + port + "/auth/signin", loginRequest, String.class);
+        ResponseEntity<String> scrape = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        // then - verify the output
+        assertThat(virtual.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(dataSource).isInstanceOf(ConnectionPermitDataSource.class);
+        ConnectionPermitDataSource permits = (ConnectionPermitDataSource) dataSource;
+        assertThat(permits.getAvailablePermits()).isEqualTo(permits.getMaxPermits());
+        assertThat(scrape.getBody())
+                .contains("db_connection_permits_available")
+                .contains("db_connection_permits_waiting")
+                .contains("jvm_threads_virtual_pinned_seconds_count")
+                .contains("hikaricp_connections_acquire_seconds_bucket")
+                .contains("uri=\"/auth/signin\"");
+    }
+}
@@ -0,0 +1,77 @@
+package com.nam.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionPermitDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Test
+    @DisplayName("Callers beyond the pool size wait for a permit and time out")
+    void givenAllPermitsTaken_whenGetConnection_thenTimesOut() throws SQLException {
+        // given - precondition or setup
+        given(target.getConnection()).willReturn(mock(Connection.class));
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(target, 2, 50);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("2 in use");
+        assertThat(dataSource.getAvailablePermits()).isZero();
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Closing a connection returns its permit once, however often it is closed")
+    void givenConnection_whenClosedTwice_thenPermitReturnedOnce() throws SQLException {
+        // given - precondition or setup
+        Connection pooled = mock(Connection.class);
+        given(target.getConnection()).willReturn(pooled);
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(target, 2, 50);
+        Connection connection = dataSource.getConnection();
+        dataSource.getConnection();
+
+        // when - action or the behaviour that we are going to test
+        connection.close();
+        connection.close();
+
+        // then - verify the output
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+        verify(pooled, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("A failed checkout gives its permit back")
+    void givenPoolFailure_whenGetConnection_thenPermitReturned() throws SQLException {
+        // given - precondition or setup
+        given(target.getConnection()).willThrow(new SQLTransientConnectionException("pool exhausted"));
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(target, 1, 50);
+
+        // when - action or the behaviour that we are going to test
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+
+        // then - verify the output
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+}
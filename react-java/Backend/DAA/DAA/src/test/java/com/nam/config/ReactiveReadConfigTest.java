@@ -0,0 +1,33 @@
+package com.nam.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReactiveReadConfigTest {
+
+    @Test
+    @DisplayName("The R2DBC URL is derived from the JDBC URL of the same database")
+    void givenJdbcUrl_whenDerived_thenSameDatabaseOverR2dbc() {
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        assertThat(ReactiveReadConfig.r2dbcUrl("jdbc:postgresql://localhost:5432/daa?sslmode=disable"))
+                .isEqualTo("r2dbc:postgresql://localhost:5432/daa");
+        assertThat(ReactiveReadConfig.r2dbcUrl("jdbc:mysql://db:3306/daa?useSSL=false&serverTimezone=UTC"))
+                .isEqualTo("r2dbc:mysql://db:3306/daa");
+        assertThat(ReactiveReadConfig.r2dbcUrl("jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1"))
+                .isEqualTo("r2dbc:h2:mem:///testdb;DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    @DisplayName("Databases without a known R2DBC driver need an explicit URL")
+    void givenUnknownJdbcUrl_whenDerived_thenAsksForExplicitUrl() {
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        assertThatThrownBy(() -> ReactiveReadConfig.r2dbcUrl("jdbc:oracle:thin:@db:1521/daa"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("reactive.read.r2dbc-url");
+    }
+}
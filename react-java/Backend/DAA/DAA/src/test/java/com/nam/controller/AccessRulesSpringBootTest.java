@@ -0,0 +1,55 @@
+package com.nam.controller;
+
+import com.nam.AbstractContainerBaseTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Operations that sit under the public {@code /student/**} and {@code /api/**} paths but must not be
+ * open to anonymous callers.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AccessRulesSpringBootTest extends AbstractContainerBaseTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("POST /student/transcript/{studentId}/{semester}/close - Should reject an anonymous caller")
+    void givenNoToken_whenCloseSemester_thenReturn401() throws Exception {
+        // when & then
+        mockMvc.perform(post("/student/transcript/21522001/HK1/close"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("POST /api/payments/reconcile and GET /api/payments/gateway/health - Should reject an anonymous caller")
+    void givenNoToken_whenReconcileOrGatewayHealth_thenReturn401() throws Exception {
+        // when & then
+        mockMvc.perform(post("/api/payments/reconcile"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/payments/gateway/health"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    @DisplayName("POST /api/payments/reconcile - Should be refused to anyone but an admin")
+    void givenStudent_whenReconcile_thenReturn403() throws Exception {
+        // when & then
+        mockMvc.perform(post("/api/payments/reconcile"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,130 @@
+package com.nam.gateway;
+
+import com.nam.exception.GatewayUnavailableException;
+import com.nam.exception.PaymentGatewayException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GuardedPaymentGatewayTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private GuardedPaymentGateway guardedGateway;
+
+    @AfterEach
+    void tearDown() {
+        if (guardedGateway != null) {
+            guardedGateway.close();
+        }
+    }
+
+    @Test
+    @DisplayName("A successful call is passed through and its latency recorded")
+    void givenHealthyGateway_whenFetchPayment_thenReturnsPaymentAndRecordsLatency() throws Exception {
+        // given - precondition or setup
+        guardedGateway = guard(new StubPaymentGateway(0), Duration.ofSeconds(1), 2, 10);
+
+        // when - action or the behaviour that we are going to test
+        PaymentState payment = guardedGateway.fetchPayment("pay_1");
+
+        // then - verify the output
+        assertThat(payment.isCaptured()).isTrue();
+        assertThat(meterRegistry.get(GuardedPaymentGateway.METRIC_NAME)
+                .tag("operation", "fetchPayment").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(guardedGateway.health().getTotalCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A gateway slower than the timeout is abandoned instead of holding the caller")
+    void givenSlowGateway_whenFetchPayment_thenTimesOut() {
+        // given - precondition or setup
+        guardedGateway = guard(new StubPaymentGateway(2000), Duration.ofMillis(100), 2, 10);
+
+        // when - action or the behaviour that we are going to test
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> guardedGateway.fetchPayment("pay_1"))
+                .isInstanceOf(GatewayUnavailableException.class);
+
+        // then - verify the output
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(1000);
+    }
+
+    @Test
+    @DisplayName("Calls beyond the bulkhead are rejected immediately")
+    void givenAllSlotsBusy_whenFetchPayment_thenRejected() throws Exception {
+        // given - precondition or setup
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch entered = new CountDownLatch(1);
+        guardedGateway = guard(new StubPaymentGateway(0) {
+            @Override
+            public PaymentState fetchPayment(String paymentId) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new PaymentState(paymentId, PaymentState.CAPTURED, 0, null);
+            }
+        }, Duration.ofSeconds(5), 1, 10);
+
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        caller.submit(() -> guardedGateway.fetchPayment("pay_1"));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        assertThatThrownBy(() -> guardedGateway.fetchPayment("pay_2"))
+                .isInstanceOf(GatewayUnavailableException.class)
+                .hasMessageContaining("busy");
+
+        release.countDown();
+        caller.shutdown();
+    }
+
+    @Test
+    @DisplayName("Repeated failures open the circuit so later calls fail fast")
+    void givenFailingGateway_whenCalledRepeatedly_thenCircuitOpens() {
+        // given - precondition or setup
+        guardedGateway = guard(new StubPaymentGateway(0) {
+            @Override
+            public PaymentState fetchPayment(String paymentId) throws PaymentGatewayException {
+                throw new PaymentGatewayException("boom");
+            }
+        }, Duration.ofSeconds(1), 2, 4);
+
+        // when - action or the behaviour that we are going to test
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> guardedGateway.fetchPayment("pay"))
+                    .isExactlyInstanceOf(PaymentGatewayException.class);
+        }
+
+        // then - verify the output
+        assertThat(guardedGateway.health().getCircuitState()).isEqualTo("OPEN");
+        assertThatThrownBy(() -> guardedGateway.fetchPayment("pay"))
+                .isInstanceOf(GatewayUnavailableException.class);
+    }
+
+    private GuardedPaymentGateway guard(PaymentGateway delegate, Duration timeout, int maxConcurrentCalls, int window) {
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+                .slidingWindowSize(window)
+                .minimumNumberOfCalls(window)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        return new GuardedPaymentGateway(delegate, circuitBreaker, meterRegistry, timeout, maxConcurrentCalls);
+    }
+}
@@ -0,0 +1,42 @@
+package com.nam.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object monitor = new Object();
+
+    @Test
+    @DisplayName("A virtual thread sleeping inside synchronized is reported as pinned")
+    void givenSleepInsideSynchronized_whenRunOnVirtualThread_thenPinRecorded() throws InterruptedException {
+        // given - precondition or setup
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        try (VirtualThreadPinningMonitor pinningMonitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(10))) {
+            pinningMonitor.start();
+
+            // when - action or the behaviour that we are going to test
+            Thread.ofVirtual().start(() -> {
+                synchronized (monitor) {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }).join();
+
+            // then - verify the output
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (meterRegistry.timer(VirtualThreadPinningMonitor.METRIC_NAME).count() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+            assertThat(meterRegistry.timer(VirtualThreadPinningMonitor.METRIC_NAME).count()).isGreaterThanOrEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.nam.service;
+
+import com.nam.payload.response.ClassReport;
+import com.nam.payload.response.ClassReportRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class ClassReportServiceTest {
+
+    @DisplayName("JUnit test for buildReport method")
+    @Test
+    void givenReportRows_whenBuildReport_thenComputeCreditWeightedAveragesAndClassStatistics() {
+        // given - precondition or setup
+        List<ClassReportRow> rows = List.of(
+                new ClassReportRow(1L, "S1", "An", "Nguyen", "CNTT1", "HK1", "2023-2024", "IT001", 3, 8.0),
+                new ClassReportRow(1L, "S1", "An", "Nguyen", "CNTT1", "HK1", "2023-2024", "IT002", 1, 2.0),
+                new ClassReportRow(2L, "S2", "Binh", "Tran", "CNTT1", "HK1", "2023-2024", "IT001", 3, 6.0),
+                new ClassReportRow(3L, "S3", "Chi", "Le", "CNTT1", null, null, null, null, null));
+
+        // when -  action or the behaviour that we are going to test
+        ClassReport report = ClassReportServiceImpl.buildReport("CNTT1", "HK1", rows, 4.0);
+
+        // then - verify the output
+        assertThat(report.getStudents()).hasSize(3);
+
+        ClassReport.SemesterSummary first = report.getStudents().get(0).getSemesters().get(0);
+        assertThat(first.getAverage()).isCloseTo(6.5, offset(1e-9));
+        assertThat(first.getTotalCredits()).isEqualTo(4);
+        assertThat(first.getEarnedCredits()).isEqualTo(3);
+        assertThat(first.getFailingSubjects()).containsExactly("IT002");
+        assertThat(report.getStudents().get(2).getSemesters()).isEmpty();
+
+        ClassReport.Statistics statistics = report.getStatistics();
+        assertThat(statistics.getStudentCount()).isEqualTo(3);
+        assertThat(statistics.getGradedStudentCount()).isEqualTo(2);
+        assertThat(statistics.getClassAverage()).isCloseTo(6.25, offset(1e-9));
+        assertThat(statistics.getMinAverage()).isEqualTo(6.0);
+        assertThat(statistics.getMaxAverage()).isCloseTo(6.5, offset(1e-9));
+        assertThat(statistics.getStudentsWithFailingSubjects()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for buildReport method over every semester")
+    @Test
+    void givenSeveralSemestersPerStudent_whenBuildReport_thenCountDistinctGradedStudents() {
+        // given - precondition or setup
+        List<ClassReportRow> rows = List.of(
+                new ClassReportRow(1L, "S1", "An", "Nguyen", "CNTT1", "HK1", "2023-2024", "IT001", 3, 8.0),
+                new ClassReportRow(1L, "S1", "An", "Nguyen", "CNTT1", "HK2", "2023-2024", "IT002", 3, 6.0),
+                new ClassReportRow(2L, "S2", "Binh", "Tran", "CNTT1", "HK1", "2023-2024", "IT001", 3, 7.0));
+
+        // when -  action or the behaviour that we are going to test
+        ClassReport report = ClassReportServiceImpl.buildReport("CNTT1", null, rows, 4.0);
+
+        // then - verify the output
+        assertThat(report.getStudents().get(0).getSemesters()).hasSize(2);
+        assertThat(report.getStatistics().getGradedStudentCount()).isEqualTo(2);
+        assertThat(report.getStatistics().getClassAverage()).isCloseTo(7.0, offset(1e-9));
+    }
+}
@@ -0,0 +1,86 @@
+package com.nam.service;
+
+import com.nam.exception.UnknownCourseException;
+import com.nam.model.Course;
+import com.nam.repository.CourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CourseServiceTest {
+
+    @Mock
+    CourseRepository courseRepository;
+
+    CourseServiceImpl courseService;
+
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        courseService = new CourseServiceImpl(courseRepository);
+        course = Course.builder().id(1L).code("IT001").name("OOP").credits(3).build();
+    }
+
+    @DisplayName("JUnit test for resolve method with a warmed catalog")
+    @Test
+    void givenWarmedCatalog_whenResolve_thenReturnCachedCourseWithoutQuery() {
+        // given - precondition or setup
+        given(courseRepository.findAll()).willReturn(List.of(course));
+        courseService.warmUp();
+
+        // when -  action or the behaviour that we are going to test
+        Course result = courseService.resolve("IT001", null, 0);
+
+        // then - verify the output
+        assertThat(result).isNotSameAs(course).usingRecursiveComparison().isEqualTo(course);
+        verify(courseRepository, never()).findByCode(anyString());
+    }
+
+    @DisplayName("JUnit test for resolve method registering a new course")
+    @Test
+    void givenUnknownCodeWithName_whenResolve_thenRegisterCourseOnce() {
+        // given - precondition or setup
+        given(courseRepository.findByCode("IT002")).willReturn(Optional.empty());
+        given(courseRepository.saveAndFlush(any(Course.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when -  action or the behaviour that we are going to test
+        Course first = courseService.resolve("IT002", "DSA", 4);
+        Course second = courseService.resolve("IT002", "DSA", 4);
+
+        // then - verify the output
+        assertThat(first.getName()).isEqualTo("DSA");
+        assertThat(first.getCredits()).isEqualTo(4);
+        assertThat(second).usingRecursiveComparison().isEqualTo(first);
+        verify(courseRepository, times(1)).saveAndFlush(any(Course.class));
+    }
+
+    @DisplayName("JUnit test for resolve method with an unknown code and no name")
+    @Test
+    void givenUnknownCodeWithoutName_whenResolve_thenThrowUnknownCourseException() {
+        // given - precondition or setup
+        given(courseRepository.findByCode("XX999")).willReturn(Optional.empty());
+
+        // when -  action or the behaviour that we are going to test
+        assertThrows(UnknownCourseException.class, () -> courseService.resolve("XX999", null, 0));
+
+        // then - verify the output
+        verify(courseRepository, never()).saveAndFlush(any(Course.class));
+    }
+}
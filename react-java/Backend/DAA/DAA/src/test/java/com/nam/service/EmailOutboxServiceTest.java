@@ -0,0 +1,112 @@
+package com.nam.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.nam.AbstractContainerBaseTest;
+import com.nam.model.EOutboxStatus;
+import com.nam.model.Email;
+import com.nam.model.EmailOutbox;
+import com.nam.repository.EmailOutboxRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "email.smtp.timeout-ms=2000",
+        "email.outbox.max-attempts=2",
+        "email.outbox.backoff-ms=60000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EmailOutboxServiceTest extends AbstractContainerBaseTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Test
+    @DisplayName("A queued registration mail is delivered by the worker over SMTP and marked sent")
+    void givenRegistration_whenWorkerRuns_thenMailDeliveredAndSent() throws Exception {
+        // given - precondition or setup
+        String address = "outbox" + System.nanoTime() + "@gmail.com";
+
+        emailService.sendEmail(Email.builder().registerEmail(address).build());
+
+        // when - action or the behaviour that we are going to test
+        int attempted = emailOutboxService.drain();
+
+        // then - verify the output
+        assertThat(attempted).isEqualTo(1);
+        assertThat(greenMail.waitForIncomingEmail(5_000, 1)).isTrue();
+        MimeMessage received = Arrays.stream(greenMail.getReceivedMessages())
+                .filter(message -> address.equals(recipientOf(message)))
+                .findFirst()
+                .orElseThrow();
+        assertThat(received.getSubject()).isEqualTo("Thank you for registering");
+        assertThat(outboxTo(address).getStatus()).isEqualTo(EOutboxStatus.SENT);
+        assertThat(outboxTo(address).getSentAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("While the SMTP server is down a mail is retried with backoff and parked as dead after the last attempt")
+    void givenSmtpDown_whenSendFails_thenBackoffThenDead() throws Exception {
+        // given - precondition or setup
+        greenMail.stop();
+        String address = "down" + System.nanoTime() + "@gmail.com";
+        emailOutboxService.enqueue(address, "Exam schedule", "See the portal");
+
+        // when - action or the behaviour that we are going to test
+        emailOutboxService.drain();
+        EmailOutbox retried = outboxTo(address);
+        LocalDateTime backedOffUntil = retried.getNextAttemptAt();
+        retried.setNextAttemptAt(LocalDateTime.now());
+        emailOutboxRepository.save(retried);
+        emailOutboxService.drain();
+        EmailOutbox dead = outboxTo(address);
+
+        // then - verify the output
+        assertThat(retried.getStatus()).isEqualTo(EOutboxStatus.PENDING);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getLastError()).isNotBlank();
+        assertThat(dead.getStatus()).isEqualTo(EOutboxStatus.DEAD);
+        assertThat(backedOffUntil).isAfter(LocalDateTime.now().plusSeconds(30));
+        assertThat(dead.getAttempts()).isEqualTo(2);
+        assertThat(dead.getSentAt()).isNull();
+    }
+
+    private EmailOutbox outboxTo(String recipient) {
+        return emailOutboxRepository.findAll().stream()
+                .filter(row -> recipient.equals(row.getRecipient()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static String recipientOf(MimeMessage message) {
+        try {
+            return message.getAllRecipients()[0].toString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,16 +2,16 @@ package com.nam.service;
 
 import com.nam.model.Email;
 import com.nam.repository.EmailRepository;
+import com.nam.template.MailTemplateRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.Locale;
 
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -23,15 +23,16 @@ class EmailServiceTest {
     EmailRepository emailRepository;
 
     @Mock
-    private JavaMailSender javaMailSender;
+    private EmailOutboxService emailOutboxService;
 
-    @InjectMocks
     EmailServiceImpl emailService;
 
     private Email registerEmail;
 
     @BeforeEach
     void setUp() {
+        emailService = new EmailServiceImpl(emailOutboxService, emailRepository,
+                new MailTemplateRegistry("classpath*:mail-templates/*.txt", Locale.ENGLISH));
         registerEmail = Email.builder().registerEmail("BrockLesnar@gmail.com")
                 .build();
     }
@@ -42,25 +43,22 @@ class EmailServiceTest {
 
     @DisplayName("JUnit test for sendEmail method")
     @Test
-    void givenEmailObject_whenSendEmail_thenVerifyEmailRepositorySaveAndJavaMailSenderSend() {
+    void givenEmailObject_whenSendEmail_thenVerifyEmailRepositorySaveAndOutboxEnqueue() {
 
-        SimpleMailMessage expectedEmail = new SimpleMailMessage();
-        expectedEmail.setTo(registerEmail.getRegisterEmail());
-        expectedEmail.setSubject("Thank you for registering");
-        expectedEmail.setText("Dear " + registerEmail.getRegisterEmail() + ",\n\n" +
+        String expectedText = "Dear " + registerEmail.getRegisterEmail() + ",\n\n" +
                 "Thank you for registering to the Student Application project" + ".\n\n" +
                 "We will keep you informed about any updates regarding the project student application.\n\n" +
                 "If there are any changes or important information, we will notify you promptly.\n\n" +
                 "Please feel free to contact us if you have any questions or concerns.\n\n" +
                 "Thank you again for your participation!\n\n" +
                 "Best regards,\n" +
-                "Nguyen Hoang Nam");
+                "Nguyen Hoang Nam";
 
         // when -  action or the behaviour that we are going to test
         emailService.sendEmail(registerEmail);
 
         // then - verify the output
         verify(emailRepository, times(1)).save(registerEmail);
-        verify(javaMailSender, times(1)).send(expectedEmail);
+        verify(emailOutboxService, times(1)).enqueue(registerEmail.getRegisterEmail(), "Thank you for registering", expectedText);
     }
 }
\ No newline at end of file
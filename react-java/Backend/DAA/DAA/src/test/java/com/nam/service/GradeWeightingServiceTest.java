@@ -0,0 +1,91 @@
+package com.nam.service;
+
+import com.nam.exception.GradeException;
+import com.nam.model.GradeWeightPolicy;
+import com.nam.model.Subject;
+import com.nam.repository.GradeWeightPolicyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class GradeWeightingServiceTest {
+
+    @Mock
+    GradeWeightPolicyRepository gradeWeightPolicyRepository;
+
+    @InjectMocks
+    GradeWeightingServiceImpl gradeWeightingService;
+
+    private Subject subject;
+
+    @BeforeEach
+    void setUp() {
+        subject = Subject.builder()
+                .subjectId("IT001").subjectName("OOP")
+                .point1(4).point2(6).point3(8).point4(10)
+                .build();
+    }
+
+    @DisplayName("JUnit test for computeAverage method without a policy")
+    @Test
+    void givenNoPolicy_whenComputeAverage_thenReturnPlainMeanAndCacheTheMiss() {
+        // given - precondition or setup
+        given(gradeWeightPolicyRepository.findBySubjectIdAndYear("IT001", "2023-2024")).willReturn(Optional.empty());
+
+        // when -  action or the behaviour that we are going to test
+        double first = gradeWeightingService.computeAverage(subject, "2023-2024");
+        double second = gradeWeightingService.computeAverage(subject, "2023-2024");
+
+        // then - verify the output
+        assertThat(first).isEqualTo(7.0);
+        assertThat(second).isEqualTo(7.0);
+        verify(gradeWeightPolicyRepository, times(1)).findBySubjectIdAndYear("IT001", "2023-2024");
+    }
+
+    @DisplayName("JUnit test for computeAverage method with a saved policy")
+    @Test
+    void givenSavedPolicy_whenComputeAverage_thenReturnWeightedMean() throws GradeException {
+        // given - precondition or setup
+        GradeWeightPolicy policy = GradeWeightPolicy.builder()
+                .weight1(0.1).weight2(0.1).weight3(0.3).weight4(0.5)
+                .build();
+        given(gradeWeightPolicyRepository.findBySubjectIdAndYear("IT001", "2023-2024")).willReturn(Optional.empty());
+        given(gradeWeightPolicyRepository.save(any(GradeWeightPolicy.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when -  action or the behaviour that we are going to test
+        gradeWeightingService.savePolicy("IT001", "2023-2024", policy);
+        double average = gradeWeightingService.computeAverage(subject, "2023-2024");
+
+        // then - verify the output
+        assertThat(average).isCloseTo(8.4, offset(1e-9));
+    }
+
+    @DisplayName("JUnit test for savePolicy method with invalid weights")
+    @Test
+    void givenZeroWeights_whenSavePolicy_thenThrowGradeException() {
+        // given - precondition or setup
+        GradeWeightPolicy policy = GradeWeightPolicy.builder().build();
+
+        // when -  action or the behaviour that we are going to test
+        assertThrows(GradeException.class, () -> gradeWeightingService.savePolicy("IT001", "2023-2024", policy));
+
+        // then - verify the output
+        verify(gradeWeightPolicyRepository, never()).save(any(GradeWeightPolicy.class));
+    }
+}
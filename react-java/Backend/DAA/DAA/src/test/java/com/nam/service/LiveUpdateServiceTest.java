@@ -0,0 +1,102 @@
+package com.nam.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nam.model.Student;
+import com.nam.model.Teacher;
+import com.nam.payload.response.LiveEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveUpdateServiceTest {
+
+    @Test
+    @DisplayName("Events reach only the connections subscribed to their topic")
+    void givenSubscribers_whenEventPublished_thenRoutedByTopic() {
+        // given - precondition or setup
+        RecordingLiveUpdateService liveUpdateService = new RecordingLiveUpdateService(Runnable::run, 16);
+        Student student = Student.builder().id(1L).studentId("ST1").studentClass("CNTT1").build();
+        Student classmate = Student.builder().id(2L).studentId("ST2").studentClass("CNTT1").build();
+        Teacher teacher = Teacher.builder().id(3L).build();
+        RecordingEmitter studentStream = (RecordingEmitter) liveUpdateService.subscribe(student);
+        RecordingEmitter classmateStream = (RecordingEmitter) liveUpdateService.subscribe(classmate);
+        RecordingEmitter teacherStream = (RecordingEmitter) liveUpdateService.subscribe(teacher);
+
+        // when - action or the behaviour that we are going to test
+        liveUpdateService.onLiveEvent(new LiveEvent(LiveEvent.userTopic(1L), "grade", Map.of("semester", "HK1")));
+        liveUpdateService.onLiveEvent(new LiveEvent(LiveEvent.classTopic("CNTT1"), "notice", Map.of("title", "Class meeting")));
+        liveUpdateService.onLiveEvent(new LiveEvent(LiveEvent.TOPIC_ALL, "notice", Map.of("title", "Holiday")));
+
+        // then - verify the output
+        assertThat(studentStream.sent()).containsExactly("ready", "grade", "Class meeting", "Holiday");
+        assertThat(classmateStream.sent()).containsExactly("ready", "Class meeting", "Holiday");
+        assertThat(teacherStream.sent()).containsExactly("ready", "Holiday");
+        assertThat(liveUpdateService.getConnectionCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("A connection whose buffer fills up is dropped without holding up the others")
+    void givenStalledConnection_whenBufferFull_thenConnectionDropped() {
+        // given - precondition or setup
+        List<Runnable> stalled = new ArrayList<>();
+        Executor neverRuns = stalled::add;
+        RecordingLiveUpdateService liveUpdateService = new RecordingLiveUpdateService(neverRuns, 2);
+        Student student = Student.builder().id(1L).studentId("ST1").build();
+        RecordingEmitter stream = (RecordingEmitter) liveUpdateService.subscribe(student);
+
+        // when - action or the behaviour that we are going to test
+        liveUpdateService.onLiveEvent(new LiveEvent(LiveEvent.TOPIC_ALL, "notice", Map.of("title", "first")));
+        liveUpdateService.onLiveEvent(new LiveEvent(LiveEvent.TOPIC_ALL, "notice", Map.of("title", "second")));
+
+        // then - verify the output
+        assertThat(liveUpdateService.getConnectionCount()).isZero();
+        assertThat(stream.completed).isTrue();
+        assertThat(stalled).hasSize(1);
+    }
+
+    private static class RecordingLiveUpdateService extends LiveUpdateServiceImpl {
+        RecordingLiveUpdateService(Executor executor, int bufferSize) {
+            super(new ObjectMapper(), executor, bufferSize, 60_000);
+        }
+
+        @Override
+        protected SseEmitter createEmitter(long timeoutMs) {
+            return new RecordingEmitter();
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> sent = new ArrayList<>();
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            String event = builder.build().stream()
+                    .map(part -> part.getData().toString())
+                    .reduce("", String::concat);
+            if (event.contains("event:ready")) {
+                sent.add("ready");
+            } else if (event.contains("event:grade")) {
+                sent.add("grade");
+            } else {
+                sent.add(event.replaceAll("(?s).*\"title\":\"([^\"]*)\".*", "$1"));
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        List<String> sent() {
+            return sent;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.nam.service;
+
+import com.nam.AbstractContainerBaseTest;
+import com.nam.model.EBroadcastStatus;
+import com.nam.model.Email;
+import com.nam.model.Notice;
+import com.nam.model.NoticeBroadcast;
+import com.nam.model.Student;
+import com.nam.repository.EmailRepository;
+import com.nam.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+@SpringBootTest(properties = {
+        "notice.broadcast.page-size=3",
+        "notice.broadcast.recipients-per-message=2",
+        "notice.broadcast.messages-per-connection=1",
+        "notice.broadcast.heartbeat-ms=100",
+        "email.rate.recipients-per-second=1000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class NoticeBroadcastServiceTest extends AbstractContainerBaseTest {
+
+    @MockBean
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private NoticeBroadcastService noticeBroadcastService;
+
+    @Autowired
+    private NoticeService noticeService;
+
+    @Autowired
+    private EmailRepository emailRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        reset(javaMailSender);
+        delivered.clear();
+        doAnswer(this::deliver).when(javaMailSender).send(any(SimpleMailMessage[].class));
+    }
+
+    @Test
+    @DisplayName("An untargeted notice reaches every registered address once, in Bcc batches")
+    void givenRegisteredAddresses_whenBroadcast_thenEachMailedOnce() throws Exception {
+        // given - precondition or setup
+        List<String> addresses = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            String address = "fanout" + i + "_" + System.nanoTime() + "@gmail.com";
+            emailRepository.save(Email.builder().registerEmail(address).build());
+            addresses.add(address);
+        }
+        Notice notice = noticeService.createNotice(notice("Holiday", "The campus is closed on Monday"));
+
+        // when - action or the behaviour that we are going to test
+        noticeBroadcastService.start(notice.getId());
+        NoticeBroadcast broadcast = await(notice.getId());
+
+        // then - verify the output
+        assertThat(broadcast.getStatus()).isEqualTo(EBroadcastStatus.COMPLETED);
+        assertThat(broadcast.getSentCount()).isGreaterThanOrEqualTo(7);
+        assertThat(delivered).containsAll(addresses);
+        assertThat(delivered.stream().filter(addresses::contains)).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("A broadcast stopped by an SMTP outage resumes and reaches only the targeted students")
+    void givenSmtpOutage_whenStartedAgain_thenResumesToAudience() throws Exception {
+        // given - precondition or setup
+        Student first = student();
+        Student second = student();
+        Student outsider = student();
+        Notice targeted = notice("Lab moved", "The lab is in room B2 this week");
+        targeted.setTargetStudentIds(Set.of(first.getStudentId(), second.getStudentId()));
+        Notice notice = noticeService.createNotice(targeted);
+        doThrow(new MailSendException("Connection refused")).when(javaMailSender).send(any(SimpleMailMessage[].class));
+
+        // when - action or the behaviour that we are going to test
+        noticeBroadcastService.start(notice.getId());
+        NoticeBroadcast failed = await(notice.getId());
+        doAnswer(this::deliver).when(javaMailSender).send(any(SimpleMailMessage[].class));
+        noticeBroadcastService.start(notice.getId());
+        NoticeBroadcast resumed = await(notice.getId());
+
+        // then - verify the output
+        assertThat(failed.getStatus()).isEqualTo(EBroadcastStatus.FAILED);
+        assertThat(failed.getLastError()).contains("Connection refused");
+        assertThat(resumed.getStatus()).isEqualTo(EBroadcastStatus.COMPLETED);
+        assertThat(resumed.getSentCount()).isEqualTo(2);
+        assertThat(delivered).containsExactlyInAnyOrder(first.getEmail(), second.getEmail())
+                .doesNotContain(outsider.getEmail());
+    }
+
+    @Test
+    @DisplayName("A page that sends for longer than the heartbeat keeps the broadcast fresh for the sweep")
+    void givenSlowSmtp_whenPageSending_thenUpdatedAtMovesBeforePageEnds() throws Exception {
+        // given - precondition or setup
+        Student student = student();
+        Notice targeted = notice("Slow mail", "The mail server is slow today");
+        targeted.setTargetStudentIds(Set.of(student.getStudentId()));
+        Notice notice = noticeService.createNotice(targeted);
+        doAnswer(invocation -> {
+            Thread.sleep(1000);
+            return deliver(invocation);
+        }).when(javaMailSender).send(any(SimpleMailMessage[].class));
+
+        // when - action or the behaviour that we are going to test
+        NoticeBroadcast started = noticeBroadcastService.start(notice.getId());
+        Thread.sleep(600);
+        NoticeBroadcast sending = noticeBroadcastService.getBroadcast(notice.getId());
+        NoticeBroadcast finished = await(notice.getId());
+
+        // then - verify the output
+        assertThat(sending.getStatus()).isEqualTo(EBroadcastStatus.RUNNING);
+        assertThat(sending.getCursor()).isZero();
+        assertThat(sending.getUpdatedAt()).isAfter(started.getUpdatedAt());
+        assertThat(finished.getStatus()).isEqualTo(EBroadcastStatus.COMPLETED);
+    }
+
+    private NoticeBroadcast await(Long noticeId) throws Exception {
+        NoticeBroadcast broadcast = noticeBroadcastService.getBroadcast(noticeId);
+        for (int i = 0; i < 100 && broadcast.getStatus() == EBroadcastStatus.RUNNING; i++) {
+            Thread.sleep(100);
+            broadcast = noticeBroadcastService.getBroadcast(noticeId);
+        }
+        return broadcast;
+    }
+
+    private Object deliver(InvocationOnMock invocation) {
+        for (Object argument : invocation.getArguments()) {
+            SimpleMailMessage[] messages = argument instanceof SimpleMailMessage[] array
+                    ? array : new SimpleMailMessage[]{(SimpleMailMessage) argument};
+            for (SimpleMailMessage message : messages) {
+                delivered.addAll(Arrays.asList(message.getBcc()));
+            }
+        }
+        return null;
+    }
+
+    private Student student() {
+        return userRepository.save(Student.builder()
+                .studentId("BCAST" + System.nanoTime())
+                .email("bcast" + System.nanoTime() + "@gmail.com")
+                .build());
+    }
+
+    private static Notice notice(String title, String description) {
+        Notice notice = new Notice();
+        notice.setTitle(title);
+        notice.setDescription(description);
+        return notice;
+    }
+}
@@ -0,0 +1,163 @@
+package com.nam.service;
+
+import com.nam.AbstractContainerBaseTest;
+import com.nam.model.Notice;
+import com.nam.model.NoticeReadState;
+import com.nam.model.Student;
+import com.nam.repository.NoticeReadStateRepository;
+import com.nam.repository.NoticeRepository;
+import com.nam.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.roaringbitmap.RoaringBitmap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class NoticeReadServiceTest extends AbstractContainerBaseTest {
+
+    @Autowired
+    private NoticeReadService noticeReadService;
+
+    @Autowired
+    private NoticeService noticeService;
+
+    @Autowired
+    private NoticeRepository noticeRepository;
+
+    @Autowired
+    private NoticeReadStateRepository noticeReadStateRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Student student;
+    private Notice first;
+    private Notice second;
+    private Notice third;
+
+    @BeforeEach
+    void setUp() {
+        student = userRepository.save(Student.builder()
+                .studentId("READ" + System.nanoTime())
+                .email("read" + System.nanoTime() + "@gmail.com")
+                .build());
+        first = targetedNotice("Exam room");
+        second = targetedNotice("Exam time");
+        third = targetedNotice("Exam rules");
+    }
+
+    @Test
+    @DisplayName("Reads move the badge in memory and are written once by the next flush")
+    void givenReads_whenFlush_thenStateAndCountsStoredOnce() {
+        // given - precondition or setup
+        int before = noticeReadService.getUnreadCount(student);
+
+        // when - action or the behaviour that we are going to test
+        noticeReadService.markRead(student, List.of(first.getId()));
+        noticeReadService.markRead(student, List.of(first.getId()));
+        int after = noticeReadService.markRead(student, List.of(third.getId()));
+        noticeReadService.flush();
+
+        // then - verify the output
+        assertThat(after).isEqualTo(before - 2);
+        NoticeReadState state = noticeReadStateRepository.findById(student.getId()).orElseThrow();
+        assertThat(state.getWatermark()).isLessThan(third.getId());
+        assertThat(noticeRepository.findReadCount(first.getId())).contains(1L);
+        assertThat(noticeRepository.findReadCount(second.getId())).contains(0L);
+        assertThat(noticeReadService.getReceipt(third.getId()).getReadCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("After a restart the stored read state is reloaded and earlier reads are not counted again")
+    void givenFlushedReads_whenRestartedAndReadAgain_thenNotDoubleCounted() {
+        // given - precondition or setup
+        noticeReadService.markRead(student, List.of(first.getId(), second.getId()));
+        noticeReadService.flush();
+        int unread = noticeReadService.getUnreadCount(student);
+        NoticeReadServiceImpl restarted = new NoticeReadServiceImpl(noticeService, noticeRepository,
+                noticeReadStateRepository, transactionManager, 4);
+
+        // when - action or the behaviour that we are going to test
+        int reloaded = restarted.getUnreadCount(student);
+        restarted.markRead(student, List.of(first.getId(), second.getId()));
+        int remaining = restarted.markAllRead(student);
+        restarted.flush();
+
+        // then - verify the output
+        assertThat(reloaded).isEqualTo(unread);
+        assertThat(remaining).isZero();
+        assertThat(noticeRepository.findReadCount(first.getId())).contains(1L);
+        assertThat(noticeRepository.findReadCount(second.getId())).contains(1L);
+        assertThat(noticeRepository.findReadCount(third.getId())).contains(1L);
+        assertThat(noticeReadStateRepository.findById(student.getId()).orElseThrow().getWatermark())
+                .isGreaterThanOrEqualTo(third.getId());
+    }
+
+    @Test
+    @DisplayName("Flushes from two instances merge into the stored read state instead of overwriting it")
+    void givenReadsOnTwoInstances_whenBothFlush_thenNeitherReadIsLost() {
+        // given - precondition or setup
+        NoticeReadServiceImpl otherInstance = new NoticeReadServiceImpl(noticeService, noticeRepository,
+                noticeReadStateRepository, transactionManager, 4);
+        int unread = noticeReadService.getUnreadCount(student);
+        otherInstance.getUnreadCount(student);
+
+        // when - action or the behaviour that we are going to test
+        noticeReadService.markRead(student, List.of(third.getId()));
+        otherInstance.markRead(student, List.of(second.getId()));
+        noticeReadService.flush();
+        otherInstance.flush();
+        NoticeReadServiceImpl restarted = new NoticeReadServiceImpl(noticeService, noticeRepository,
+                noticeReadStateRepository, transactionManager, 4);
+        restarted.markRead(student, List.of(second.getId(), third.getId()));
+        restarted.flush();
+
+        // then - verify the output
+        assertThat(restarted.getUnreadCount(student)).isEqualTo(unread - 2);
+        assertThat(otherInstance.getUnreadCount(student)).isEqualTo(unread - 2);
+        assertThat(noticeRepository.findReadCount(second.getId())).contains(1L);
+        assertThat(noticeRepository.findReadCount(third.getId())).contains(1L);
+    }
+
+    @Test
+    @DisplayName("A notice stored by another instance shows up in the feed and the unread count")
+    void givenNoticeStoredElsewhere_whenFeedRead_thenIncluded() {
+        // given - precondition or setup
+        int unread = noticeReadService.getUnreadCount(student);
+        Notice stored = new Notice();
+        stored.setTitle("Room change");
+        stored.setDescription("Stored without going through this instance");
+        stored.setAudience(NoticeServiceImpl.serialize(RoaringBitmap.bitmapOf(Math.toIntExact(student.getId()))));
+        stored.setCreatedAt(LocalDateTime.now());
+
+        // when - action or the behaviour that we are going to test
+        stored = noticeRepository.save(stored);
+        String feed = new String(noticeService.getFeed(student, 0, 0).getBody());
+
+        // then - verify the output
+        assertThat(feed).contains("\"id\":" + stored.getId());
+        assertThat(noticeReadService.getUnreadCount(student)).isEqualTo(unread + 1);
+    }
+
+    private Notice targetedNotice(String title) {
+        Notice notice = new Notice();
+        notice.setTitle(title);
+        notice.setDescription(title + " for " + student.getStudentId());
+        notice.setTargetStudentIds(Set.of(student.getStudentId()));
+        return noticeService.createNotice(notice);
+    }
+}
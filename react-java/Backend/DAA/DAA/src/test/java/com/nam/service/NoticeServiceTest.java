@@ -0,0 +1,191 @@
+package com.nam.service;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.nam.model.ERole;
+import com.nam.model.Notice;
+import com.nam.model.Student;
+import com.nam.payload.response.LiveEvent;
+import com.nam.payload.response.NoticeFeedPage;
+import com.nam.repository.NoticeRepository;
+import com.nam.repository.StudentRepository;
+import com.nam.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NoticeServiceTest {
+
+    @Mock
+    NoticeRepository noticeRepository;
+
+    @Mock
+    UserRepository userRepository;
+
+    @Mock
+    StudentRepository studentRepository;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    NoticeServiceImpl noticeService;
+
+    private Notice notice;
+
+    @BeforeEach
+    void setUp() {
+        noticeService = new NoticeServiceImpl(noticeRepository, userRepository, studentRepository,
+                JsonMapper.builder().findAndAddModules().build(), eventPublisher);
+        notice = notice("Exam schedule", "HK1 exams start next week");
+        notice.setId(1L);
+        notice.setBroadcast(true);
+        notice.setCreatedAt(LocalDateTime.of(2023, 12, 1, 8, 0));
+    }
+
+    @DisplayName("The first page is served from memory until a notice is created")
+    @Test
+    void givenCachedFirstPage_whenCreateNotice_thenFeedReloadedWithNewEtag() {
+        // given - precondition or setup
+        givenSaveAssignsIds();
+        given(noticeRepository.findByBroadcastTrueOrderByCreatedAtDescIdDesc(PageRequest.of(0, 20))).willReturn(List.of(notice));
+
+        // when - action or the behaviour that we are going to test
+        NoticeFeedPage first = noticeService.getFeed(0, 0);
+        NoticeFeedPage cached = noticeService.getFeed(0, 20);
+        Notice created = noticeService.createNotice(notice("Tuition", "Tuition is due"));
+        given(noticeRepository.findByBroadcastTrueOrderByCreatedAtDescIdDesc(PageRequest.of(0, 20))).willReturn(List.of(created, notice));
+        NoticeFeedPage reloaded = noticeService.getFeed(0, 0);
+
+        // then - verify the output
+        assertThat(cached).isSameAs(first);
+        assertThat(created.getCreatedAt()).isNotNull();
+        assertThat(created.isBroadcast()).isTrue();
+        assertThat(reloaded.getEtag()).isNotEqualTo(first.getEtag());
+        assertThat(new String(reloaded.getBody())).contains("Tuition is due", "Exam schedule");
+        verify(noticeRepository, times(2)).findByBroadcastTrueOrderByCreatedAtDescIdDesc(PageRequest.of(0, 20));
+    }
+
+    @DisplayName("The cached first page is dropped once another instance has created a notice")
+    @Test
+    void givenCachedFirstPage_whenNoticeCreatedElsewhere_thenFeedReloadedWithNewEtag() {
+        // given - precondition or setup
+        Notice elsewhere = notice("Holiday", "Created on another instance");
+        elsewhere.setId(2L);
+        elsewhere.setBroadcast(true);
+        elsewhere.setCreatedAt(LocalDateTime.of(2023, 12, 2, 8, 0));
+        given(noticeRepository.findByBroadcastTrueOrderByCreatedAtDescIdDesc(PageRequest.of(0, 20))).willReturn(List.of(notice));
+        NoticeFeedPage first = noticeService.getFeed(0, 0);
+        given(noticeRepository.findIdsCreatedSince(any(LocalDateTime.class))).willReturn(List.of(2L));
+        given(noticeRepository.findAllById(List.of(2L))).willReturn(List.of(elsewhere));
+        given(noticeRepository.findByBroadcastTrueOrderByCreatedAtDescIdDesc(PageRequest.of(0, 20))).willReturn(List.of(elsewhere, notice));
+
+        // when - action or the behaviour that we are going to test
+        NoticeFeedPage reloaded = noticeService.getFeed(0, 0);
+        NoticeFeedPage cached = noticeService.getFeed(0, 0);
+
+        // then - verify the output
+        assertThat(reloaded.getEtag()).isNotEqualTo(first.getEtag());
+        assertThat(new String(reloaded.getBody())).contains("Holiday");
+        assertThat(cached).isSameAs(reloaded);
+    }
+
+    @DisplayName("Later pages are read from the repository and the page size is capped")
+    @Test
+    void givenLaterPage_whenGetFeed_thenNotCachedAndSizeCapped() {
+        // given - precondition or setup
+        given(noticeRepository.findByBroadcastTrueOrderByCreatedAtDescIdDesc(PageRequest.of(2, 100))).willReturn(List.of(notice));
+
+        // when - action or the behaviour that we are going to test
+        NoticeFeedPage page = noticeService.getFeed(2, 5000);
+        noticeService.getFeed(2, 5000);
+
+        // then - verify the output
+        assertThat(page.getSize()).isEqualTo(100);
+        assertThat(page.getEtag()).startsWith("\"").endsWith("\"");
+        verify(noticeRepository, times(2)).findByBroadcastTrueOrderByCreatedAtDescIdDesc(PageRequest.of(2, 100));
+    }
+
+    @DisplayName("A targeted notice reaches the union of its roles, classes and students, and stays out of the public feed")
+    @Test
+    void givenTargetedNotice_whenGetUserFeed_thenOnlyAudienceSeesIt() {
+        // given - precondition or setup
+        givenSaveAssignsIds();
+        given(noticeRepository.findAllByOrderByCreatedAtDescIdDesc(PageRequest.of(0, 5000))).willReturn(List.of(notice));
+        given(userRepository.findIdsByRoles(Set.of(ERole.ROLE_TEACHER))).willReturn(List.of(30L));
+        given(studentRepository.findIdsByStudentClasses(Set.of("CNTT1"))).willReturn(List.of(10L, 11L));
+        given(studentRepository.findIdsByStudentIds(Set.of("ST99"))).willReturn(List.of(99L));
+
+        Notice targeted = notice("Class meeting", "CNTT1 meets on Friday");
+        targeted.setTargetRoles(Set.of(ERole.ROLE_TEACHER));
+        targeted.setTargetClasses(Set.of("CNTT1"));
+        targeted.setTargetStudentIds(Set.of("ST99"));
+
+        // when - action or the behaviour that we are going to test
+        Notice saved = noticeService.createNotice(targeted);
+
+        // then - verify the output
+        assertThat(saved.isBroadcast()).isFalse();
+        assertThat(NoticeServiceImpl.deserialize(saved.getAudience()).toArray()).containsExactly(10, 11, 30, 99);
+        assertThat(feedOf(10L)).contains("Class meeting", "Exam schedule");
+        assertThat(feedOf(30L)).contains("Class meeting");
+        assertThat(feedOf(99L)).contains("Class meeting");
+        assertThat(feedOf(12L)).doesNotContain("Class meeting").contains("Exam schedule");
+    }
+
+    @DisplayName("A notice targeting only classes is pushed on their class topics")
+    @Test
+    void givenClassOnlyNotice_whenCreateNotice_thenPublishedOnClassTopics() {
+        // given - precondition or setup
+        givenSaveAssignsIds();
+        given(studentRepository.findIdsByStudentClasses(Set.of("CNTT1", "CNTT2"))).willReturn(List.of(10L, 20L));
+        Notice targeted = notice("Class meeting", "Both classes meet on Friday");
+        targeted.setTargetClasses(Set.of("CNTT1", "CNTT2"));
+
+        // when - action or the behaviour that we are going to test
+        noticeService.createNotice(targeted);
+
+        // then - verify the output
+        ArgumentCaptor<LiveEvent> events = ArgumentCaptor.forClass(LiveEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(LiveEvent::getTopic)
+                .containsExactlyInAnyOrder(LiveEvent.classTopic("CNTT1"), LiveEvent.classTopic("CNTT2"));
+        assertThat(events.getAllValues()).extracting(LiveEvent::getAudience).containsOnlyNulls();
+    }
+
+    private String feedOf(Long userId) {
+        return new String(noticeService.getFeed(Student.builder().id(userId).build(), 0, 0).getBody());
+    }
+
+    private void givenSaveAssignsIds() {
+        AtomicLong ids = new AtomicLong(100);
+        given(noticeRepository.save(any(Notice.class))).willAnswer(invocation -> {
+            Notice saved = invocation.getArgument(0);
+            saved.setId(ids.incrementAndGet());
+            return saved;
+        });
+    }
+
+    private static Notice notice(String title, String description) {
+        Notice notice = new Notice();
+        notice.setTitle(title);
+        notice.setDescription(description);
+        return notice;
+    }
+}
@@ -0,0 +1,142 @@
+package com.nam.service;
+
+import com.nam.AbstractContainerBaseTest;
+import com.nam.TuitionFixtures;
+import com.nam.exception.TuitionException;
+import com.nam.gateway.StubPaymentGateway;
+import com.nam.model.EPaymentStatus;
+import com.nam.model.Tuition;
+import com.nam.payload.response.PaymentLinkResponse;
+import com.nam.repository.TuitionRepository;
+import com.nam.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "payment.gateway.stub.latency-ms=200")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PaymentLinkServiceTest extends AbstractContainerBaseTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private PaymentLinkService paymentLinkService;
+
+    @Autowired
+    private StubPaymentGateway stubPaymentGateway;
+
+    @Autowired
+    private TuitionPaymentService tuitionPaymentService;
+
+    @Autowired
+    private TuitionRepository tuitionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Concurrent and repeated requests for one tuition share a single gateway payment link")
+    void givenConcurrentRequests_whenGetOrCreatePaymentLink_thenOneLinkCreated() throws Exception {
+        // given - precondition or setup
+        Tuition tuition = newTuition();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<PaymentLinkResponse>> futures = new ArrayList<>();
+
+        // when - action or the behaviour that we are going to test
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return paymentLinkService.getOrCreatePaymentLink(tuition.getId());
+            }));
+        }
+        start.countDown();
+        List<String> linkIds = new ArrayList<>();
+        for (Future<PaymentLinkResponse> future : futures) {
+            linkIds.add(future.get(30, TimeUnit.SECONDS).getGetPayment_link_id());
+        }
+        executor.shutdown();
+        linkIds.add(paymentLinkService.getOrCreatePaymentLink(tuition.getId()).getGetPayment_link_id());
+
+        // then - verify the output
+        assertThat(linkIds).containsOnly(linkIds.get(0));
+        assertThat(linksCreatedFor(tuition)).isEqualTo(1);
+
+        Tuition stored = tuitionRepository.findById(tuition.getId()).orElseThrow();
+        assertThat(stored.getPaymentLinkId()).isEqualTo(linkIds.get(0));
+        assertThat(stored.getPaymentLinkUrl()).isNotBlank();
+        assertThat(stored.getPaymentLinkExpiresAt()).isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("An expired stored link is replaced by a new one")
+    void givenExpiredStoredLink_whenGetOrCreatePaymentLink_thenNewLinkCreated() throws Exception {
+        // given - precondition or setup
+        Tuition tuition = newTuition();
+        tuition.setPaymentLinkId("plink_old");
+        tuition.setPaymentLinkUrl("http://localhost/old");
+        tuition.setPaymentLinkExpiresAt(LocalDateTime.now().minusMinutes(1));
+        tuitionRepository.save(tuition);
+
+        // when - action or the behaviour that we are going to test
+        PaymentLinkResponse response = paymentLinkService.getOrCreatePaymentLink(tuition.getId());
+
+        // then - verify the output
+        assertThat(response.getGetPayment_link_id()).isNotEqualTo("plink_old");
+        assertThat(linksCreatedFor(tuition)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A paid tuition gets no payment link")
+    void givenPaidTuition_whenGetOrCreatePaymentLink_thenThrowsTuitionException() {
+        Tuition tuition = newTuition();
+        tuition.setPaymentStatus(EPaymentStatus.PAID);
+        tuitionRepository.save(tuition);
+
+        assertThatThrownBy(() -> paymentLinkService.getOrCreatePaymentLink(tuition.getId()))
+                .isInstanceOf(TuitionException.class);
+        assertThat(linksCreatedFor(tuition)).isZero();
+    }
+
+    @Test
+    @DisplayName("A payment recorded after a link was handed out retires the cached link")
+    void givenPaymentAfterLink_whenGetOrCreatePaymentLink_thenNewLinkOrPaid() throws Exception {
+        // given - precondition or setup
+        Tuition tuition = newTuition();
+        String first = paymentLinkService.getOrCreatePaymentLink(tuition.getId()).getGetPayment_link_id();
+        tuitionPaymentService.recordPayment(tuition.getId(), 100, "pay_partial_" + System.nanoTime());
+
+        // when - action or the behaviour that we are going to test
+        String second = paymentLinkService.getOrCreatePaymentLink(tuition.getId()).getGetPayment_link_id();
+        tuitionPaymentService.recordPayment(tuition.getId(), 200, "pay_rest_" + System.nanoTime());
+
+        // then - verify the output
+        assertThat(second).isNotEqualTo(first);
+        assertThat(linksCreatedFor(tuition)).isEqualTo(2);
+        assertThatThrownBy(() -> paymentLinkService.getOrCreatePaymentLink(tuition.getId()))
+                .isInstanceOf(TuitionException.class);
+    }
+
+    private long linksCreatedFor(Tuition tuition) {
+        String prefix = "plink_stub_" + tuition.getId() + "_";
+        return stubPaymentGateway.links().stream().filter(link -> link.getId().startsWith(prefix)).count();
+    }
+
+    private Tuition newTuition() {
+        return TuitionFixtures.newTuition(userRepository, tuitionRepository, "LINK");
+    }
+}
@@ -0,0 +1,107 @@
+package com.nam.service;
+
+import com.nam.AbstractContainerBaseTest;
+import com.nam.TuitionFixtures;
+import com.nam.gateway.PaymentState;
+import com.nam.gateway.StubPaymentGateway;
+import com.nam.model.EPaymentStatus;
+import com.nam.model.Tuition;
+import com.nam.payload.response.JobProgress;
+import com.nam.repository.TuitionRepository;
+import com.nam.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "report.output-dir=target/test-reports")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PaymentReconciliationServiceTest extends AbstractContainerBaseTest {
+
+    @Autowired
+    private PaymentReconciliationService paymentReconciliationService;
+
+    @Autowired
+    private StubPaymentGateway stubPaymentGateway;
+
+    @Autowired
+    private TuitionPaymentService tuitionPaymentService;
+
+    @Autowired
+    private TuitionRepository tuitionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Reconciliation marks tuitions paid at the gateway, leaves open ones alone and reports gateway errors")
+    void givenMixedGatewayState_whenReconcile_thenPaidLinksCorrected() throws Exception {
+        // given - precondition or setup
+        Tuition paidAtGateway = newTuitionWithLink(true);
+        Tuition stillOpen = newTuitionWithLink(false);
+        Tuition unknownLink = newTuition();
+        unknownLink.setPaymentLinkId("plink_missing_" + System.nanoTime());
+        tuitionRepository.save(unknownLink);
+
+        // when - action or the behaviour that we are going to test
+        JobProgress progress = paymentReconciliationService.reconcile();
+        for (int i = 0; i < 300 && !progress.isFinished(); i++) {
+            Thread.sleep(100);
+        }
+
+        // then - verify the output
+        assertThat(progress.getStatus()).isEqualTo(JobProgress.Status.COMPLETED);
+        assertThat(progress.getFailedItems().get()).isGreaterThanOrEqualTo(1);
+        assertThat(tuitionRepository.findById(paidAtGateway.getId()).orElseThrow().getPaymentStatus()).isEqualTo(EPaymentStatus.PAID);
+        assertThat(tuitionRepository.findById(stillOpen.getId()).orElseThrow().getPaymentStatus()).isEqualTo(EPaymentStatus.UNPAID);
+        assertThat(tuitionRepository.findById(unknownLink.getId()).orElseThrow().getPaymentStatus()).isEqualTo(EPaymentStatus.UNPAID);
+
+        Path report = Path.of("target/test-reports", progress.getJobId(), "reconciliation.json");
+        assertThat(report).exists();
+        assertThat(Files.readString(report)).contains("MARKED_PAID", "GATEWAY_ERROR", unknownLink.getPaymentLinkId());
+    }
+
+    @Test
+    @DisplayName("Reconciliation records each gateway payment once, next to one a webhook already recorded")
+    void givenPartialPaymentAlreadyRecorded_whenReconcile_thenEachPaymentCreditedOnce() throws Exception {
+        // given - precondition or setup
+        Tuition tuition = newTuitionWithLink(false);
+        PaymentState first = stubPaymentGateway.payLink(tuition.getPaymentLinkId(), 100);
+        tuitionPaymentService.recordPayment(tuition.getId(), first.getAmount(), first.getId());
+        stubPaymentGateway.payLink(tuition.getPaymentLinkId());
+
+        // when - action or the behaviour that we are going to test
+        JobProgress progress = paymentReconciliationService.reconcile();
+        for (int i = 0; i < 300 && !progress.isFinished(); i++) {
+            Thread.sleep(100);
+        }
+
+        // then - verify the output
+        Tuition reconciled = tuitionRepository.findById(tuition.getId()).orElseThrow();
+        assertThat(reconciled.getPaymentStatus()).isEqualTo(EPaymentStatus.PAID);
+        assertThat(reconciled.getAmountPaid()).isEqualTo(300.0);
+        assertThat(tuitionPaymentService.getLedger(tuition.getId())).hasSize(2)
+                .noneMatch(entry -> tuition.getPaymentLinkId().equals(entry.getGatewayReference()));
+    }
+
+    private Tuition newTuitionWithLink(boolean paid) throws Exception {
+        Tuition tuition = newTuition();
+        String linkId = stubPaymentGateway.createPaymentLink(tuition, "http://localhost", LocalDateTime.now().plusDays(1)).getGetPayment_link_id();
+        if (paid) {
+            stubPaymentGateway.payLink(linkId);
+        }
+        tuition.setPaymentLinkId(linkId);
+        return tuitionRepository.save(tuition);
+    }
+
+    private Tuition newTuition() {
+        return TuitionFixtures.newTuition(userRepository, tuitionRepository, "RECON");
+    }
+}
@@ -0,0 +1,96 @@
+package com.nam.service;
+
+import com.nam.AbstractContainerBaseTest;
+import com.nam.TuitionFixtures;
+import com.nam.exception.InvalidWebhookSignatureException;
+import com.nam.gateway.WebhookSignatureVerifier;
+import com.nam.model.EPaymentStatus;
+import com.nam.model.EWebhookStatus;
+import com.nam.model.PaymentWebhookEvent;
+import com.nam.model.Tuition;
+import com.nam.repository.PaymentWebhookEventRepository;
+import com.nam.repository.TuitionRepository;
+import com.nam.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PaymentWebhookServiceTest extends AbstractContainerBaseTest {
+
+    @Autowired
+    private PaymentWebhookService paymentWebhookService;
+
+    @Autowired
+    private WebhookSignatureVerifier webhookSignatureVerifier;
+
+    @Autowired
+    private PaymentWebhookEventRepository paymentWebhookEventRepository;
+
+    @Autowired
+    private TuitionRepository tuitionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("A redelivered webhook is stored once and marks the tuition paid once")
+    void givenSameEventTwice_whenReceive_thenTuitionPaidOnce() throws Exception {
+        // given - precondition or setup
+        Tuition tuition = newTuition();
+        String eventId = "evt_" + System.nanoTime();
+        String payload = "{\"event\":\"payment_link.paid\",\"payload\":{\"payment_link\":{\"entity\":{\"id\":\"plink_1\","
+                + "\"notes\":{\"tuition_id\":\"" + tuition.getId() + "\"}}},"
+                + "\"payment\":{\"entity\":{\"id\":\"pay_" + eventId + "\",\"amount\":300}}}}";
+        String signature = HexFormat.of().formatHex(webhookSignatureVerifier.sign(payload));
+
+        // when - action or the behaviour that we are going to test
+        paymentWebhookService.receive(payload, signature, eventId);
+        paymentWebhookService.receive(payload, signature, eventId);
+        PaymentWebhookEvent event = awaitProcessed(eventId);
+
+        // then - verify the output
+        assertThat(event.getStatus()).isEqualTo(EWebhookStatus.PROCESSED);
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(paymentWebhookEventRepository.findAll().stream()
+                .filter(e -> eventId.equals(e.getEventId()))).hasSize(1);
+
+        Tuition paid = tuitionRepository.findById(tuition.getId()).orElseThrow();
+        assertThat(paid.getPaymentStatus()).isEqualTo(EPaymentStatus.PAID);
+        assertThat(paid.getPayAt()).isNotNull();
+        assertThat(paid.getBalance()).isZero();
+    }
+
+    @Test
+    @DisplayName("A webhook with a bad signature is rejected and not stored")
+    void givenBadSignature_whenReceive_thenRejected() {
+        String eventId = "evt_" + System.nanoTime();
+
+        assertThatThrownBy(() -> paymentWebhookService.receive("{\"event\":\"payment.captured\"}", "deadbeef", eventId))
+                .isInstanceOf(InvalidWebhookSignatureException.class);
+        assertThat(paymentWebhookEventRepository.findByEventId(eventId)).isEmpty();
+    }
+
+    private Tuition newTuition() {
+        return TuitionFixtures.newTuition(userRepository, tuitionRepository, "HOOK");
+    }
+
+    private PaymentWebhookEvent awaitProcessed(String eventId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            PaymentWebhookEvent event = paymentWebhookEventRepository.findByEventId(eventId).orElseThrow();
+            if (event.getStatus() == EWebhookStatus.PROCESSED || event.getStatus() == EWebhookStatus.FAILED) {
+                return event;
+            }
+            Thread.sleep(100);
+        }
+        return paymentWebhookEventRepository.findByEventId(eventId).orElseThrow();
+    }
+}
@@ -0,0 +1,104 @@
+package com.nam.service;
+
+import com.nam.AbstractContainerBaseTest;
+import com.nam.model.Student;
+import com.nam.model.StudentPoint;
+import com.nam.model.Subject;
+import com.nam.repository.StudentPointRepository;
+import com.nam.repository.SubjectRepository;
+import com.nam.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StudentPointConcurrencyTest extends AbstractContainerBaseTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private StudentPointService studentPointService;
+
+    @Autowired
+    private StudentPointRepository studentPointRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        student = userRepository.save(Student.builder()
+                .studentId("CONC" + System.nanoTime())
+                .email("conc" + System.nanoTime() + "@gmail.com")
+                .build());
+    }
+
+    @Test
+    @DisplayName("Concurrent createStudentPoint calls for the same semester leave exactly one StudentPoint and one Subject per subjectId")
+    void givenConcurrentTeachers_whenCreateStudentPoint_thenExactlyOneRowSurvives() throws Exception {
+        // given - precondition or setup
+        String semester = "HK1";
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<StudentPoint>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS * ROUNDS; i++) {
+            int point = i % 10;
+            futures.add(executor.submit(() -> {
+                start.await();
+                return studentPointService.createStudentPoint(newStudentPoint(point), student.getStudentId(), semester);
+            }));
+        }
+
+        // when - action or the behaviour that we are going to test
+        start.countDown();
+        for (Future<StudentPoint> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then - verify the output
+        List<StudentPoint> studentPoints = studentPointRepository.findAll().stream()
+                .filter(sp -> sp.getStudent() != null && sp.getStudent().getId().equals(student.getId()))
+                .toList();
+        assertThat(studentPoints).hasSize(1);
+
+        List<Subject> subjects = subjectRepository.findAll().stream()
+                .filter(subject -> subject.getStudentPoint().getId().equals(studentPoints.get(0).getId()))
+                .toList();
+        assertThat(subjects).extracting(Subject::getSubjectId).containsExactlyInAnyOrder("IT001", "IT002");
+    }
+
+    private StudentPoint newStudentPoint(int point) {
+        List<Subject> subjects = new ArrayList<>();
+        subjects.add(Subject.builder().subjectId("IT001").subjectName("OOP")
+                .point1(point).point2(point).point3(point).point4(point).build());
+        subjects.add(Subject.builder().subjectId("IT002").subjectName("DSA")
+                .point1(point).point2(point).point3(point).point4(point).build());
+
+        return StudentPoint.builder()
+                .year("2023-2024")
+                .subjects(subjects)
+                .build();
+    }
+}
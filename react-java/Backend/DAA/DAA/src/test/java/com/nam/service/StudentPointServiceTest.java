@@ -1,5 +1,6 @@
 package com.nam.service;
 
+import com.nam.model.Course;
 import com.nam.model.Student;
 import com.nam.model.StudentPoint;
 import com.nam.model.Subject;
@@ -14,13 +15,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -33,6 +39,15 @@ class StudentPointServiceTest {
     @Mock
     StudentPointRepository studentPointRepository;
 
+    @Mock
+    GradeWeightingService gradeWeightingService;
+
+    @Mock
+    CourseService courseService;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     StudentPointServiceImpl studentPointService;
 
@@ -65,11 +80,16 @@ class StudentPointServiceTest {
                 .id(1L)
                 .studentPoints(studentPointList)
                 .build();
+
+        lenient().when(courseService.resolve(anyString(), nullable(String.class), anyInt()))
+                .thenAnswer(invocation -> Course.builder()
+                        .code(invocation.getArgument(0)).name(invocation.getArgument(1)).credits(invocation.getArgument(2))
+                        .build());
     }
 
     @AfterEach
     void tearDown() {
-        Mockito.reset(studentRepository, studentPointRepository);
+        Mockito.reset(studentRepository, studentPointRepository, gradeWeightingService, courseService);
     }
 
     @DisplayName("JUnit test for createStudentPoint method when Student Point is Null")
@@ -0,0 +1,100 @@
+package com.nam.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nam.exception.GradeException;
+import com.nam.model.SemesterSnapshot;
+import com.nam.model.StudentPoint;
+import com.nam.model.Subject;
+import com.nam.repository.SemesterSnapshotRepository;
+import com.nam.repository.StudentPointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TranscriptServiceTest {
+
+    @Mock
+    StudentPointRepository studentPointRepository;
+
+    @Mock
+    SemesterSnapshotRepository semesterSnapshotRepository;
+
+    TranscriptServiceImpl transcriptService;
+
+    private StudentPoint studentPoint;
+
+    @BeforeEach
+    void setUp() {
+        transcriptService = new TranscriptServiceImpl(studentPointRepository, semesterSnapshotRepository, new ObjectMapper(), 100);
+
+        List<Subject> subjects = new ArrayList<>();
+        subjects.add(Subject.builder()
+                .id(1L).subjectId("IT001").subjectName("OOP")
+                .point1(5).point2(6).point3(7).point4(8).pointAverage(6.5)
+                .build());
+
+        studentPoint = StudentPoint.builder()
+                .id(1L)
+                .year("2023-2024")
+                .semester("HK1")
+                .subjects(subjects)
+                .build();
+    }
+
+    @DisplayName("JUnit test for closeSemester method")
+    @Test
+    void givenOpenSemester_whenCloseSemester_thenFreezeSerializedAndGzippedSnapshot() throws GradeException, IOException {
+        // given - precondition or setup
+        given(semesterSnapshotRepository.findByStudentIdAndSemester("215223xx", "HK1")).willReturn(Optional.empty());
+        given(studentPointRepository.getStudentPointBySemesterAndStudentId("215223xx", "HK1")).willReturn(studentPoint);
+        given(semesterSnapshotRepository.save(any(SemesterSnapshot.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when -  action or the behaviour that we are going to test
+        SemesterSnapshot snapshot = transcriptService.closeSemester("215223xx", "HK1");
+
+        // then - verify the output
+        assertThat(studentPoint.isClosed()).isTrue();
+        verify(studentPointRepository, times(1)).save(studentPoint);
+        assertThat(snapshot.getBody()).isEqualTo(new ObjectMapper().writeValueAsBytes(studentPoint));
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(snapshot.getGzipBody())).readAllBytes()).isEqualTo(snapshot.getBody());
+        assertThat(snapshot.getEtag()).startsWith("\"").endsWith("\"");
+    }
+
+    @DisplayName("JUnit test for findSnapshot method serving from the byte cache")
+    @Test
+    void givenClosedSemester_whenFindSnapshotTwice_thenLoadFromDatabaseOnce() {
+        // given - precondition or setup
+        SemesterSnapshot stored = SemesterSnapshot.builder()
+                .studentId("215223xx").semester("HK1")
+                .body(new byte[]{'{', '}'}).etag("\"abc\"")
+                .build();
+        given(semesterSnapshotRepository.findByStudentIdAndSemester("215223xx", "HK1")).willReturn(Optional.of(stored));
+
+        // when -  action or the behaviour that we are going to test
+        transcriptService.findSnapshot("215223xx", "HK1");
+        Optional<SemesterSnapshot> result = transcriptService.findSnapshot("215223xx", "HK1");
+
+        // then - verify the output
+        assertThat(result).containsSame(stored);
+        verify(semesterSnapshotRepository, times(1)).findByStudentIdAndSemester("215223xx", "HK1");
+        verify(studentPointRepository, never()).getStudentPointBySemesterAndStudentId(any(), any());
+    }
+}
@@ -0,0 +1,132 @@
+package com.nam.service;
+
+import com.nam.AbstractContainerBaseTest;
+import com.nam.exception.TuitionException;
+import com.nam.model.EPaymentStatus;
+import com.nam.model.CreditPrice;
+import com.nam.model.Student;
+import com.nam.model.StudentPoint;
+import com.nam.model.Subject;
+import com.nam.model.Tuition;
+import com.nam.payload.response.JobProgress;
+import com.nam.repository.TuitionRepository;
+import com.nam.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TuitionBillingServiceTest extends AbstractContainerBaseTest {
+
+    @Autowired
+    private TuitionBillingService tuitionBillingService;
+
+    @Autowired
+    private CreditPriceService creditPriceService;
+
+    @Autowired
+    private StudentPointService studentPointService;
+
+    @Autowired
+    private TuitionRepository tuitionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String year;
+
+    @BeforeEach
+    void setUp() {
+        year = "BILL" + System.nanoTime();
+    }
+
+    @Test
+    @DisplayName("Billing a semester creates one tuition per registered student and a second run bills nobody twice")
+    void givenRegisteredStudents_whenBillSemesterTwice_thenOneTuitionPerStudent() throws Exception {
+        // given - precondition or setup
+        creditPriceService.saveCreditPrice(year, CreditPrice.builder().pricePerCredit(100).build());
+        registerStudent(List.of(subject("BILL01", 3), subject("BILL02", 2)));
+        registerStudent(List.of(subject("BILL01", 3)));
+
+        // when - action or the behaviour that we are going to test
+        JobProgress firstRun = awaitFinished(tuitionBillingService.billSemester(year, "HK1"));
+        JobProgress secondRun = awaitFinished(tuitionBillingService.billSemester(year, "HK1"));
+
+        // then - verify the output
+        assertThat(firstRun.getStatus()).isEqualTo(JobProgress.Status.COMPLETED);
+        assertThat(firstRun.getProcessedItems().get()).isEqualTo(2);
+        assertThat(secondRun.getStatus()).isEqualTo(JobProgress.Status.COMPLETED);
+        assertThat(secondRun.getProcessedItems().get()).isZero();
+
+        List<Tuition> tuitions = tuitionRepository.findAll().stream()
+                .filter(tuition -> year.equals(tuition.getYear()))
+                .toList();
+        assertThat(tuitions).hasSize(2);
+        assertThat(tuitions).allSatisfy(tuition -> {
+            assertThat(tuition.getSemester()).isEqualTo("HK1");
+            assertThat(tuition.getPaymentStatus()).isEqualTo(EPaymentStatus.UNPAID);
+        });
+        assertThat(tuitions).extracting(Tuition::getTotalCredits).containsExactlyInAnyOrder(5, 3);
+        assertThat(tuitions).extracting(Tuition::getTotalPay).containsExactlyInAnyOrder(500.0, 300.0);
+    }
+
+    @Test
+    @DisplayName("Billing a year without a credit price is rejected before any job starts")
+    void givenNoCreditPrice_whenBillSemester_thenThrowsTuitionException() {
+        assertThatThrownBy(() -> tuitionBillingService.billSemester(year, "HK1"))
+                .isInstanceOf(TuitionException.class);
+    }
+
+    @Test
+    @DisplayName("A tuition created by hand starts unpaid whatever amount the request claims was paid")
+    void givenClaimedPayment_whenCreateTuition_thenUnpaidWithFullBalance() throws Exception {
+        // given - precondition or setup
+        Student student = userRepository.save(Student.builder()
+                .studentId("BILL" + System.nanoTime())
+                .email("bill" + System.nanoTime() + "@gmail.com")
+                .build());
+        Tuition claimed = Tuition.builder().totalCredits(3).totalPay(300).amountPaid(300).balance(0)
+                .year(year).paymentStatus(EPaymentStatus.PAID).build();
+
+        // when - action or the behaviour that we are going to test
+        Tuition created = tuitionBillingService.createTuition(student.getStudentId(), "HK1", claimed);
+
+        // then - verify the output
+        Tuition stored = tuitionRepository.findById(created.getId()).orElseThrow();
+        assertThat(stored.getSemester()).isEqualTo("HK1");
+        assertThat(stored.getAmountPaid()).isZero();
+        assertThat(stored.getBalance()).isEqualTo(300.0);
+        assertThat(stored.getPaymentStatus()).isEqualTo(EPaymentStatus.UNPAID);
+    }
+
+    private void registerStudent(List<Subject> subjects) throws Exception {
+        Student student = userRepository.save(Student.builder()
+                .studentId("BILL" + System.nanoTime())
+                .email("bill" + System.nanoTime() + "@gmail.com")
+                .build());
+        studentPointService.createStudentPoint(StudentPoint.builder().year(year).subjects(new ArrayList<>(subjects)).build(),
+                student.getStudentId(), "HK1");
+    }
+
+    private static Subject subject(String code, int credits) {
+        return Subject.builder().subjectId(code).subjectName(code).credits(credits)
+                .point1(5).point2(5).point3(5).point4(5).build();
+    }
+
+    private static JobProgress awaitFinished(JobProgress progress) throws InterruptedException {
+        for (int i = 0; i < 300 && !progress.isFinished(); i++) {
+            Thread.sleep(100);
+        }
+        return progress;
+    }
+}
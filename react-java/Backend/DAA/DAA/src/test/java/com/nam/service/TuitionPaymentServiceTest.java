@@ -0,0 +1,113 @@
+package com.nam.service;
+
+import com.nam.AbstractContainerBaseTest;
+import com.nam.exception.TuitionException;
+import com.nam.model.EPaymentStatus;
+import com.nam.model.ETuitionPaymentType;
+import com.nam.model.Student;
+import com.nam.model.Tuition;
+import com.nam.model.TuitionPayment;
+import com.nam.repository.TuitionRepository;
+import com.nam.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TuitionPaymentServiceTest extends AbstractContainerBaseTest {
+
+    @Autowired
+    private TuitionPaymentService tuitionPaymentService;
+
+    @Autowired
+    private TuitionRepository tuitionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Tuition tuition;
+
+    @BeforeEach
+    void setUp() {
+        Student student = userRepository.save(Student.builder()
+                .studentId("LEDGER" + System.nanoTime())
+                .email("ledger" + System.nanoTime() + "@gmail.com")
+                .build());
+        tuition = tuitionRepository.save(Tuition.builder()
+                .student(student)
+                .totalCredits(3)
+                .totalPay(300)
+                .balance(300)
+                .year("2023-2024")
+                .semester("HK1")
+                .paymentStatus(EPaymentStatus.UNPAID)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Installments update the running balance and status, and a repeated reference is recorded once")
+    void givenInstallments_whenRecordPayment_thenBalanceAndStatusFollow() throws Exception {
+        // given - precondition or setup
+        String first = "pay_a" + System.nanoTime();
+        String second = "pay_b" + System.nanoTime();
+
+        // when - action or the behaviour that we are going to test
+        tuitionPaymentService.recordPayment(tuition.getId(), 100, first);
+        Tuition partial = tuitionRepository.findById(tuition.getId()).orElseThrow();
+        tuitionPaymentService.recordPayment(tuition.getId(), 100, first);
+        tuitionPaymentService.recordPayment(tuition.getId(), 200, second);
+
+        // then - verify the output
+        assertThat(partial.getPaymentStatus()).isEqualTo(EPaymentStatus.PARTIAL);
+        assertThat(partial.getBalance()).isEqualTo(200);
+
+        Tuition paid = tuitionRepository.findById(tuition.getId()).orElseThrow();
+        assertThat(paid.getPaymentStatus()).isEqualTo(EPaymentStatus.PAID);
+        assertThat(paid.getAmountPaid()).isEqualTo(300);
+        assertThat(paid.getBalance()).isZero();
+
+        List<TuitionPayment> ledger = tuitionPaymentService.getLedger(tuition.getId());
+        assertThat(ledger).extracting(TuitionPayment::getGatewayReference).containsExactly(first, second);
+        assertThat(ledger).extracting(TuitionPayment::getBalanceAfter).containsExactly(200.0, 0.0);
+    }
+
+    @Test
+    @DisplayName("A refund is appended as its own entry and reopens the balance")
+    void givenPaidTuition_whenRecordRefund_thenBackToPartial() throws Exception {
+        // given - precondition or setup
+        String payment = "pay_" + System.nanoTime();
+        String refund = "rfnd_" + System.nanoTime();
+        tuitionPaymentService.recordPayment(tuition.getId(), 300, payment);
+
+        // when - action or the behaviour that we are going to test
+        tuitionPaymentService.recordRefund(payment, 50, refund);
+        tuitionPaymentService.recordRefund(payment, 50, refund);
+
+        // then - verify the output
+        Tuition refunded = tuitionRepository.findById(tuition.getId()).orElseThrow();
+        assertThat(refunded.getPaymentStatus()).isEqualTo(EPaymentStatus.PARTIAL);
+        assertThat(refunded.getBalance()).isEqualTo(50);
+        assertThat(tuitionPaymentService.getLedger(tuition.getId()))
+                .extracting(TuitionPayment::getType)
+                .containsExactly(ETuitionPaymentType.PAYMENT, ETuitionPaymentType.REFUND);
+    }
+
+    @Test
+    @DisplayName("Non-positive amounts and refunds of unknown payments are rejected")
+    void givenInvalidInput_whenRecord_thenTuitionException() {
+        assertThatThrownBy(() -> tuitionPaymentService.recordPayment(tuition.getId(), 0, "pay_zero"))
+                .isInstanceOf(TuitionException.class);
+        assertThatThrownBy(() -> tuitionPaymentService.recordRefund("pay_unknown" + System.nanoTime(), 10, "rfnd_x"))
+                .isInstanceOf(TuitionException.class);
+        assertThat(tuitionPaymentService.getLedger(tuition.getId())).isEmpty();
+    }
+}
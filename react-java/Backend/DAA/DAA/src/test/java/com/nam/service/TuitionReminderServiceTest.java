@@ -0,0 +1,196 @@
+package com.nam.service;
+
+import com.nam.AbstractContainerBaseTest;
+import com.nam.model.EPaymentStatus;
+import com.nam.model.EReminderStatus;
+import com.nam.model.Student;
+import com.nam.model.Tuition;
+import com.nam.model.TuitionReminder;
+import com.nam.payload.response.JobProgress;
+import com.nam.repository.TuitionReminderRepository;
+import com.nam.repository.TuitionRepository;
+import com.nam.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+@SpringBootTest(properties = {
+        "tuition.reminder.messages-per-connection=2",
+        "email.rate.recipients-per-second=1000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TuitionReminderServiceTest extends AbstractContainerBaseTest {
+
+    @MockBean
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private TuitionReminderService tuitionReminderService;
+
+    @Autowired
+    private TuitionReminderRepository tuitionReminderRepository;
+
+    @Autowired
+    private TuitionRepository tuitionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<SimpleMailMessage> sent = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        reset(javaMailSender);
+        sent.clear();
+        doAnswer(invocation -> {
+            sent.addAll(messagesOf(invocation));
+            return null;
+        }).when(javaMailSender).send(any(SimpleMailMessage[].class));
+    }
+
+    @Test
+    @DisplayName("Unpaid tuitions due soon are reminded once, even when the campaign runs again")
+    void givenDueTuitions_whenCampaignRunsTwice_thenEachStudentMailedOnce() throws Exception {
+        // given - precondition or setup
+        Tuition dueSoon1 = newTuition(EPaymentStatus.UNPAID, LocalDate.now().plusDays(3));
+        Tuition dueSoon2 = newTuition(EPaymentStatus.PARTIAL, LocalDate.now().plusDays(1));
+        Tuition dueSoon3 = newTuition(EPaymentStatus.UNPAID, LocalDate.now());
+        Tuition paid = newTuition(EPaymentStatus.PAID, LocalDate.now().plusDays(2));
+        Tuition dueLater = newTuition(EPaymentStatus.UNPAID, LocalDate.now().plusDays(60));
+
+        // when - action or the behaviour that we are going to test
+        await(tuitionReminderService.sendReminders());
+        await(tuitionReminderService.sendReminders());
+
+        // then - verify the output
+        List<String> recipients = sent.stream().map(message -> message.getTo()[0]).toList();
+        assertThat(recipients).contains(emailOf(dueSoon1), emailOf(dueSoon2), emailOf(dueSoon3))
+                .doesNotContain(emailOf(paid), emailOf(dueLater))
+                .doesNotHaveDuplicates();
+        assertThat(tuitionReminderRepository.findByTuitionId(dueSoon1.getId()))
+                .singleElement()
+                .extracting(TuitionReminder::getStatus)
+                .isEqualTo(EReminderStatus.SENT);
+    }
+
+    @Test
+    @DisplayName("A message rejected by the mail server is recorded as failed and the rest of the chunk as sent")
+    void givenRejectedMessage_whenCampaignRuns_thenOnlyThatReminderFailed() throws Exception {
+        // given - precondition or setup
+        Tuition rejected = newTuition(EPaymentStatus.UNPAID, LocalDate.now().plusDays(2));
+        Tuition accepted = newTuition(EPaymentStatus.UNPAID, LocalDate.now().plusDays(2));
+        doAnswer(invocation -> {
+            for (SimpleMailMessage message : messagesOf(invocation)) {
+                if (emailOf(rejected).equals(message.getTo()[0])) {
+                    throw new MailSendException(Map.of(message, new IllegalStateException("mailbox unavailable")));
+                }
+            }
+            return null;
+        }).when(javaMailSender).send(any(SimpleMailMessage[].class));
+
+        // when - action or the behaviour that we are going to test
+        await(tuitionReminderService.sendReminders());
+
+        // then - verify the output
+        TuitionReminder failed = tuitionReminderRepository.findByTuitionId(rejected.getId()).get(0);
+        assertThat(failed.getStatus()).isEqualTo(EReminderStatus.FAILED);
+        assertThat(failed.getLastError()).contains("mailbox unavailable");
+        assertThat(tuitionReminderRepository.findByTuitionId(accepted.getId()).get(0).getStatus())
+                .isEqualTo(EReminderStatus.SENT);
+    }
+
+    @Test
+    @DisplayName("Failed reminders and ones stranded in SENDING are retried by the next campaign")
+    void givenFailedAndStuckReminders_whenCampaignRunsAgain_thenBothRetried() throws Exception {
+        // given - precondition or setup
+        Tuition failedOnce = newTuition(EPaymentStatus.UNPAID, LocalDate.now().plusDays(2));
+        Tuition stuck = newTuition(EPaymentStatus.UNPAID, LocalDate.now().plusDays(2));
+        LocalDateTime longAgo = LocalDateTime.now().minusHours(1);
+        tuitionReminderRepository.save(TuitionReminder.builder().tuition(stuck).dueDate(stuck.getDueDate())
+                .email(emailOf(stuck)).status(EReminderStatus.SENDING).attempts(1).createdAt(longAgo).claimedAt(longAgo).build());
+        doAnswer(invocation -> {
+            throw new MailSendException("connection refused");
+        }).when(javaMailSender).send(any(SimpleMailMessage[].class));
+        await(tuitionReminderService.sendReminders());
+        setUp();
+
+        // when - action or the behaviour that we are going to test
+        await(tuitionReminderService.sendReminders());
+
+        // then - verify the output
+        assertThat(sent.stream().map(message -> message.getTo()[0]).toList()).contains(emailOf(failedOnce), emailOf(stuck));
+        assertThat(tuitionReminderRepository.findByTuitionId(failedOnce.getId())).singleElement()
+                .satisfies(reminder -> {
+                    assertThat(reminder.getStatus()).isEqualTo(EReminderStatus.SENT);
+                    assertThat(reminder.getAttempts()).isEqualTo(2);
+                });
+        assertThat(tuitionReminderRepository.findByTuitionId(stuck.getId())).singleElement()
+                .extracting(TuitionReminder::getStatus)
+                .isEqualTo(EReminderStatus.SENT);
+    }
+
+    private void await(JobProgress progress) throws InterruptedException {
+        for (int i = 0; i < 300 && !progress.isFinished(); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(progress.getStatus()).isEqualTo(JobProgress.Status.COMPLETED);
+    }
+
+    // Mockito may hand the varargs over expanded or as the raw array.
+    private static List<SimpleMailMessage> messagesOf(InvocationOnMock invocation) {
+        List<SimpleMailMessage> messages = new ArrayList<>();
+        for (Object argument : invocation.getArguments()) {
+            if (argument instanceof SimpleMailMessage[] array) {
+                messages.addAll(Arrays.asList(array));
+            } else {
+                messages.add((SimpleMailMessage) argument);
+            }
+        }
+        return messages;
+    }
+
+    private String emailOf(Tuition tuition) {
+        return tuition.getStudent().getEmail();
+    }
+
+    private Tuition newTuition(EPaymentStatus status, LocalDate dueDate) {
+        Student student = userRepository.save(Student.builder()
+                .studentId("REMIND" + System.nanoTime())
+                .email("remind" + System.nanoTime() + "@gmail.com")
+                .firstName("Nam")
+                .lastName("Nguyen")
+                .build());
+        return tuitionRepository.save(Tuition.builder()
+                .student(student)
+                .totalCredits(3)
+                .totalPay(300)
+                .amountPaid(status == EPaymentStatus.PAID ? 300 : 0)
+                .balance(status == EPaymentStatus.PAID ? 0 : 300)
+                .year("2023-2024")
+                .semester("HK1")
+                .dueDate(dueDate)
+                .paymentStatus(status)
+                .build());
+    }
+}
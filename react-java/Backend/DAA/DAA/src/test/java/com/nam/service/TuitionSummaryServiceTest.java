@@ -0,0 +1,97 @@
+package com.nam.service;
+
+import com.nam.AbstractContainerBaseTest;
+import com.nam.TuitionFixtures;
+import com.nam.model.Tuition;
+import com.nam.model.TuitionSummary;
+import com.nam.repository.TuitionRepository;
+import com.nam.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TuitionSummaryServiceTest extends AbstractContainerBaseTest {
+
+    private static final String YEAR = "2030-2031";
+
+    @Autowired
+    private TuitionSummaryService tuitionSummaryService;
+
+    @Autowired
+    private TuitionPaymentService tuitionPaymentService;
+
+    @Autowired
+    private TuitionRepository tuitionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String studentClass;
+
+    @BeforeEach
+    void setUp() {
+        studentClass = "SUM" + System.nanoTime();
+    }
+
+    @Test
+    @DisplayName("Creating tuitions and recording payments keep the class summary in step")
+    void givenTuitionsAndPayments_whenRecorded_thenSummaryUpdatedIncrementally() throws Exception {
+        // given - precondition or setup
+        Tuition first = newTuition();
+        Tuition second = newTuition();
+        newTuition();
+
+        // when - action or the behaviour that we are going to test
+        tuitionPaymentService.recordPayment(first.getId(), 300, "pay_full" + System.nanoTime());
+        tuitionPaymentService.recordPayment(second.getId(), 100, "pay_part" + System.nanoTime());
+
+        // then - verify the output
+        TuitionSummary summary = tuitionSummaryService.getSummary(YEAR, "HK1", studentClass);
+        assertThat(summary.getTuitionCount()).isEqualTo(3);
+        assertThat(summary.getPaidCount()).isEqualTo(1);
+        assertThat(summary.getPartialCount()).isEqualTo(1);
+        assertThat(summary.getUnpaidCount()).isEqualTo(1);
+        assertThat(summary.getTotalBilled()).isEqualTo(900);
+        assertThat(summary.getTotalPaid()).isEqualTo(400);
+        assertThat(summary.getOutstanding()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("A rebuild reproduces the incrementally maintained totals")
+    void givenIncrementalSummary_whenRebuild_thenSameTotals() throws Exception {
+        // given - precondition or setup
+        Tuition tuition = newTuition();
+        newTuition();
+        tuitionPaymentService.recordPayment(tuition.getId(), 120, "pay_" + System.nanoTime());
+        TuitionSummary incremental = tuitionSummaryService.getSummary(YEAR, "HK1", studentClass);
+
+        // when - action or the behaviour that we are going to test
+        List<TuitionSummary> rebuilt = tuitionSummaryService.rebuild();
+
+        // then - verify the output
+        TuitionSummary summary = rebuilt.stream()
+                .filter(s -> studentClass.equals(s.getStudentClass()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(summary.getTuitionCount()).isEqualTo(incremental.getTuitionCount());
+        assertThat(summary.getUnpaidCount()).isEqualTo(incremental.getUnpaidCount());
+        assertThat(summary.getPartialCount()).isEqualTo(incremental.getPartialCount());
+        assertThat(summary.getTotalBilled()).isEqualTo(incremental.getTotalBilled());
+        assertThat(summary.getOutstanding()).isEqualTo(incremental.getOutstanding());
+    }
+
+    private Tuition newTuition() {
+        Tuition tuition = TuitionFixtures.newTuition(userRepository, tuitionRepository, "SUMST", studentClass, YEAR);
+        tuitionSummaryService.recordCreated(studentClass, List.of(tuition));
+        return tuition;
+    }
+}
@@ -6,6 +6,8 @@ import com.nam.model.Role;
 import com.nam.model.User;
 import com.nam.repository.UserRepository;
 import com.nam.security.jwt.JwtProvider;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -131,6 +133,25 @@ class UserServiceTest {
         assertThat(actualMessage).isEqualTo(expectedMessage);
     }
 
+    @DisplayName("JUnit test for findUserProfileByLiveTicket method")
+    @Test
+    void givenLiveTicket_whenFindUserProfileByLiveTicket_thenOnlyTicketsAccepted() throws UserException {
+        // given - precondition or setup
+        JwtProvider realJwtProvider = new JwtProvider(new SimpleMeterRegistry());
+        UserServiceImpl ticketUserService = new UserServiceImpl(userRepository, realJwtProvider, null, null);
+        String ticket = realJwtProvider.generateLiveTicket(user.getEmail());
+        String accessToken = realJwtProvider.generateTokenByEmail(user.getEmail());
+        given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.of(user));
+
+        // when -  action or the behaviour that we are going test
+        User findUser = ticketUserService.findUserProfileByLiveTicket(ticket);
+
+        // then - verify the output
+        assertThat(findUser).isEqualTo(user);
+        assertThrows(UserException.class, () -> ticketUserService.findUserProfileByLiveTicket(accessToken));
+        assertThrows(JwtException.class, () -> realJwtProvider.getEmailFromToken("Bearer " + ticket));
+    }
+
     @DisplayName("JUnit test for deleteUser method")
     @Test
     void givenUserId_whenDeleteUser_thenNothing() throws UserException {
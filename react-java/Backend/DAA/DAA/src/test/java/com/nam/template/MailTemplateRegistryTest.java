@@ -0,0 +1,65 @@
+package com.nam.template;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MailTemplateRegistryTest {
+
+    private final MailTemplateRegistry registry = new MailTemplateRegistry("classpath*:mail-templates/*.txt", Locale.ENGLISH);
+
+    @Test
+    @DisplayName("Templates render subject and body with every placeholder substituted")
+    void givenCompiledTemplate_whenRender_thenPlaceholdersSubstituted() {
+        // when - action or the behaviour that we are going to test
+        RenderedMail mail = registry.render("tuition-reminder", Map.of(
+                "name", "Nguyen Nam",
+                "semester", "HK1",
+                "year", "2023-2024",
+                "balance", "300",
+                "dueDate", "2023-12-01"));
+
+        // then - verify the output
+        assertThat(mail.getSubject()).isEqualTo("Tuition payment reminder - HK1 2023-2024");
+        assertThat(mail.getBody()).startsWith("Dear Nguyen Nam,\n\n")
+                .contains("HK1 2023-2024 has an outstanding balance of 300.", "before 2023-12-01.")
+                .endsWith("Nguyen Hoang Nam");
+    }
+
+    @Test
+    @DisplayName("Lookups fall back to the default template and are cached per name and locale")
+    void givenMissingTranslation_whenGet_thenDefaultReturnedAndCached() {
+        // when - action or the behaviour that we are going to test
+        MailTemplate vietnamese = registry.get("notice", new Locale("vi", "VN"));
+
+        // then - verify the output
+        assertThat(vietnamese).isSameAs(registry.get("notice"));
+        assertThat(vietnamese).isSameAs(registry.get("notice", new Locale("vi", "VN")));
+        assertThat(vietnamese.getBody().getVariables()).containsExactly("description");
+    }
+
+    @Test
+    @DisplayName("A translation is picked over the default, and malformed or unknown templates are rejected")
+    void givenTranslationAndBadInput_whenResolve_thenTranslationOrError() {
+        // given - precondition or setup
+        MailTemplate translated = MailTemplateRegistry.parse("notice_vi", "Subject: Thông báo: {{title}}\n\n{{description}}\n");
+
+        // then - verify the output
+        assertThat(translated.getName()).isEqualTo("notice");
+        assertThat(translated.getLocale()).isEqualTo(new Locale("vi"));
+        assertThat(translated.render(Map.of("title", "Lịch thi", "description", "x")).getSubject()).isEqualTo("Thông báo: Lịch thi");
+        assertThatThrownBy(() -> MailTemplateRegistry.parse("broken", "Dear {{name}}"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompiledTemplate.compile("broken", "Dear {{name"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.get("unknown"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.render("notice", Map.of("title", "x")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}